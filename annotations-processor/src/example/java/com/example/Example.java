@@ -12,6 +12,8 @@
  */
 package com.example;
 
+import java.util.Map;
+
 import com.netflix.conductor.annotations.protogen.ProtoField;
 import com.netflix.conductor.annotations.protogen.ProtoMessage;
 
@@ -22,4 +24,7 @@ public class Example {
 
     @ProtoField(id = 2)
     public Long count;
+
+    @ProtoField(id = 3, bytesId = 4)
+    public Map<String, Object> attributes;
 }
@@ -22,6 +22,7 @@ import com.netflix.conductor.annotations.protogen.ProtoField;
 import com.netflix.conductor.annotations.protogen.ProtoMessage;
 import com.netflix.conductor.annotationsprocessor.protogen.types.AbstractType;
 import com.netflix.conductor.annotationsprocessor.protogen.types.MessageType;
+import com.netflix.conductor.annotationsprocessor.protogen.types.PayloadType;
 import com.netflix.conductor.annotationsprocessor.protogen.types.TypeMapper;
 
 import com.squareup.javapoet.ClassName;
@@ -36,7 +37,11 @@ public class Message extends AbstractMessage {
             ProtoField ann = field.getAnnotation(ProtoField.class);
             if (ann == null) continue;
 
-            fields.add(new MessageField(ann.id(), field));
+            MessageField messageField = new MessageField(ann.id(), field, ann.bytesId());
+            fields.add(messageField);
+            if (ann.bytesId() > 0) {
+                fields.add(new BytesField(messageField));
+            }
         }
     }
 
@@ -97,14 +102,19 @@ public class Message extends AbstractMessage {
 
     public static class MessageField extends Field {
         protected AbstractType type;
+        protected int bytesIndex;
 
-        protected MessageField(int index, java.lang.reflect.Field field) {
+        protected MessageField(int index, java.lang.reflect.Field field, int bytesIndex) {
             super(index, field);
+            this.bytesIndex = bytesIndex;
         }
 
         public AbstractType getAbstractType() {
             if (type == null) {
                 type = TypeMapper.INSTANCE.get(field.getGenericType());
+                if (bytesIndex > 0) {
+                    type = new PayloadType(type);
+                }
             }
             return type;
         }
@@ -138,4 +148,26 @@ public class Message extends AbstractMessage {
             getAbstractType().generateAbstractMethods(specs);
         }
     }
+
+    /**
+     * The pre-serialized {@code bytes} counterpart of a {@link MessageField} with a {@link
+     * ProtoField#bytesId()}. It is only declared in the proto file; both fields are mapped by the
+     * {@link PayloadType} of the message field.
+     */
+    public static class BytesField extends Field {
+        protected BytesField(MessageField messageField) {
+            super(messageField.bytesIndex, messageField.field);
+        }
+
+        @Override
+        public String getName() {
+            return super.getName() + PayloadType.FIELD_SUFFIX;
+        }
+
+        @Override
+        public String getProtoTypeDeclaration() {
+            return String.format(
+                    "bytes %s = %d", MessageField.toUnderscoreCase(getName()), getProtoIndex());
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.annotationsprocessor.protogen.types;
+
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.google.protobuf.ByteString;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+
+/**
+ * A field which is also exposed as a pre-serialized {@code bytes} field. The generated mapper
+ * populates the bytes field when {@code isPayloadEncoded()} is true, and reads it back whenever it
+ * is set; otherwise the field is mapped as its real type.
+ */
+public class PayloadType extends AbstractType {
+    public static final String FIELD_SUFFIX = "Bytes";
+
+    private AbstractType realType;
+
+    public PayloadType(AbstractType realType) {
+        super(realType.getJavaType(), realType.getJavaProtoType());
+        this.realType = realType;
+    }
+
+    @Override
+    public String getProtoType() {
+        return realType.getProtoType();
+    }
+
+    @Override
+    public TypeName getRawJavaType() {
+        return realType.getRawJavaType();
+    }
+
+    @Override
+    public TypeName getJavaProtoType() {
+        return realType.getJavaProtoType();
+    }
+
+    @Override
+    public void mapToProto(String field, MethodSpec.Builder method) {
+        method.beginControlFlow("if (isPayloadEncoded())");
+        method.addStatement(
+                "to.$L( toPayload( from.$L() ) )",
+                protoMethodName("set", field + FIELD_SUFFIX),
+                javaMethodName("get", field));
+        method.nextControlFlow("else");
+        realType.mapToProto(field, method);
+        method.endControlFlow();
+    }
+
+    @Override
+    public void mapFromProto(String field, MethodSpec.Builder method) {
+        method.beginControlFlow(
+                "if (!from.$L().isEmpty())", protoMethodName("get", field + FIELD_SUFFIX));
+        method.addStatement(
+                "to.$L( fromPayload( from.$L() ) )",
+                javaMethodName("set", field),
+                protoMethodName("get", field + FIELD_SUFFIX));
+        method.nextControlFlow("else");
+        realType.mapFromProto(field, method);
+        method.endControlFlow();
+    }
+
+    @Override
+    public void getDependencies(Set<String> deps) {
+        realType.getDependencies(deps);
+    }
+
+    @Override
+    public void generateAbstractMethods(Set<MethodSpec> specs) {
+        realType.generateAbstractMethods(specs);
+
+        MethodSpec isPayloadEncoded =
+                MethodSpec.methodBuilder("isPayloadEncoded")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(boolean.class)
+                        .build();
+
+        MethodSpec fromPayload =
+                MethodSpec.methodBuilder("fromPayload")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(this.getJavaType())
+                        .addParameter(ByteString.class, "in")
+                        .build();
+
+        MethodSpec toPayload =
+                MethodSpec.methodBuilder("toPayload")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(ByteString.class)
+                        .addParameter(this.getJavaType(), "in")
+                        .build();
+
+        specs.add(isPayloadEncoded);
+        specs.add(fromPayload);
+        specs.add(toPayload);
+    }
+}
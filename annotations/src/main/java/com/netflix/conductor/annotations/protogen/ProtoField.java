@@ -33,4 +33,14 @@ public @interface ProtoField {
      * @return the numeric ID for the field
      */
     int id();
+
+    /**
+     * Optional. When set, the field is also exposed as a {@code bytes} field with this ID, which
+     * carries the value pre-serialized (e.g. as JSON) instead of mapped to Protocol Buffers
+     * messages. The mapper decides at runtime which of the two fields is populated. The same
+     * compatibility rules as for {@link #id()} apply.
+     *
+     * @return the numeric ID for the bytes field, or 0 for none
+     */
+    int bytesId() default 0;
 }
@@ -14,6 +14,7 @@ package com.netflix.conductor.cassandra.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -23,10 +24,12 @@ import com.netflix.conductor.cassandra.dao.CassandraEventHandlerDAO;
 import com.netflix.conductor.cassandra.dao.CassandraExecutionDAO;
 import com.netflix.conductor.cassandra.dao.CassandraMetadataDAO;
 import com.netflix.conductor.cassandra.dao.CassandraPollDataDAO;
+import com.netflix.conductor.cassandra.dao.CassandraQueueDAO;
 import com.netflix.conductor.cassandra.util.Statements;
 import com.netflix.conductor.dao.EventHandlerDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.MetadataDAO;
+import com.netflix.conductor.dao.QueueDAO;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Metadata;
@@ -95,6 +98,17 @@ public class CassandraConfiguration {
         return new CassandraEventHandlerDAO(session, objectMapper, properties, statements);
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "conductor.cassandra.queue-enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public QueueDAO cassandraQueueDAO(
+            Session session,
+            ObjectMapper objectMapper,
+            CassandraProperties properties,
+            Statements statements) {
+        return new CassandraQueueDAO(session, objectMapper, properties, statements);
+    }
+
     @Bean
     public CassandraPollDataDAO cassandraPollDataDAO() {
         return new CassandraPollDataDAO();
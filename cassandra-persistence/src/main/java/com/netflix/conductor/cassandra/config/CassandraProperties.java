@@ -14,6 +14,8 @@ package com.netflix.conductor.cassandra.config;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
@@ -68,6 +70,31 @@ public class CassandraProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration eventExecutionPersistenceTtl = Duration.ZERO;
 
+    /**
+     * Whether the queues are kept in Cassandra, instead of the QueueDAO of another module. The
+     * queue owned shards must then be set
+     */
+    private boolean queueEnabled = false;
+
+    /** The number of shards the messages of every queue are spread over */
+    private int queueShardCount = 1;
+
+    /**
+     * The queue shards from which this instance pops messages, which must be set. Every shard must
+     * be owned by exactly one instance, and must be reassigned to another instance by hand when its
+     * owner goes away, as the messages of a shard without an owner are not delivered. A single
+     * shard is only enough for a single instance
+     */
+    private List<Integer> queueOwnedShards = new ArrayList<>();
+
+    /** The time in seconds covered by a single time bucket partition of a queue shard */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration queueBucketWidth = Duration.ofSeconds(60);
+
+    /** The time in seconds after which a popped but unacknowledged message is redelivered */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration queueUnackTimeout = Duration.ofSeconds(60);
+
     public String getHostAddress() {
         return hostAddress;
     }
@@ -171,4 +198,44 @@ public class CassandraProperties {
     public void setEventExecutionPersistenceTtl(Duration eventExecutionPersistenceTtl) {
         this.eventExecutionPersistenceTtl = eventExecutionPersistenceTtl;
     }
+
+    public boolean isQueueEnabled() {
+        return queueEnabled;
+    }
+
+    public void setQueueEnabled(boolean queueEnabled) {
+        this.queueEnabled = queueEnabled;
+    }
+
+    public int getQueueShardCount() {
+        return queueShardCount;
+    }
+
+    public void setQueueShardCount(int queueShardCount) {
+        this.queueShardCount = queueShardCount;
+    }
+
+    public List<Integer> getQueueOwnedShards() {
+        return queueOwnedShards;
+    }
+
+    public void setQueueOwnedShards(List<Integer> queueOwnedShards) {
+        this.queueOwnedShards = queueOwnedShards;
+    }
+
+    public Duration getQueueBucketWidth() {
+        return queueBucketWidth;
+    }
+
+    public void setQueueBucketWidth(Duration queueBucketWidth) {
+        this.queueBucketWidth = queueBucketWidth;
+    }
+
+    public Duration getQueueUnackTimeout() {
+        return queueUnackTimeout;
+    }
+
+    public void setQueueUnackTimeout(Duration queueUnackTimeout) {
+        this.queueUnackTimeout = queueUnackTimeout;
+    }
 }
@@ -27,7 +27,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
+import static com.netflix.conductor.cassandra.util.Constants.BUCKET_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.DAO_NAME;
+import static com.netflix.conductor.cassandra.util.Constants.DELIVER_ON_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.ENTITY_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.EVENT_EXECUTION_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.EVENT_HANDLER_KEY;
@@ -35,9 +37,18 @@ import static com.netflix.conductor.cassandra.util.Constants.EVENT_HANDLER_NAME_
 import static com.netflix.conductor.cassandra.util.Constants.HANDLERS_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.MESSAGE_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.PAYLOAD_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PENDING_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PRIORITY_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUES_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUE_NAME_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.SHARD_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_EVENT_EXECUTIONS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_EVENT_HANDLERS;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUES;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_MESSAGES;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_MESSAGE_LOOKUP;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_SHARD_COUNTS;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_SHARD_CURSORS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_DEFS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_DEF_LIMIT;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_LOOKUP;
@@ -50,6 +61,7 @@ import static com.netflix.conductor.cassandra.util.Constants.TASK_DEF_NAME_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TASK_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TOTAL_PARTITIONS_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TOTAL_TASKS_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.UNACKED_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEFINITION_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEF_INDEX_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEF_INDEX_VALUE;
@@ -90,6 +102,23 @@ import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_VERSION_KE
  * <p>CREATE TABLE IF NOT EXISTS conductor.event_executions( message_id text, event_handler_name
  * text, event_execution_id text, payload text, PRIMARY KEY ((message_id, event_handler_name),
  * event_execution_id) );
+ *
+ * <p>CREATE TABLE IF NOT EXISTS conductor.queues( queues text, queue_name text, PRIMARY KEY
+ * ((queues), queue_name) );
+ *
+ * <p>CREATE TABLE IF NOT EXISTS conductor.queue_messages( queue_name text, shard_id int, bucket
+ * bigint, deliver_on bigint, message_id text, priority int, payload text, PRIMARY KEY ((queue_name,
+ * shard_id, bucket), deliver_on, message_id) );
+ *
+ * <p>CREATE TABLE IF NOT EXISTS conductor.queue_message_lookup( queue_name text, shard_id int,
+ * message_id text, bucket bigint, deliver_on bigint, unacked boolean, PRIMARY KEY ((queue_name,
+ * shard_id), message_id) );
+ *
+ * <p>CREATE TABLE IF NOT EXISTS conductor.queue_shard_counts( queue_name text, shard_id int,
+ * pending counter, unacked counter, PRIMARY KEY ((queue_name), shard_id) );
+ *
+ * <p>CREATE TABLE IF NOT EXISTS conductor.queue_shard_cursors( queue_name text, shard_id int,
+ * bucket bigint, PRIMARY KEY ((queue_name), shard_id) );
  */
 public abstract class CassandraBaseDAO {
 
@@ -122,6 +151,11 @@ public abstract class CassandraBaseDAO {
                 session.execute(getCreateTaskDefsTableStatement());
                 session.execute(getCreateEventHandlersTableStatement());
                 session.execute(getCreateEventExecutionsTableStatement());
+                session.execute(getCreateQueuesTableStatement());
+                session.execute(getCreateQueueMessagesTableStatement());
+                session.execute(getCreateQueueMessageLookupTableStatement());
+                session.execute(getCreateQueueShardCountsTableStatement());
+                session.execute(getCreateQueueShardCursorsTableStatement());
                 LOGGER.info(
                         "{} initialization complete! Tables created!", getClass().getSimpleName());
                 initialized = true;
@@ -222,6 +256,58 @@ public abstract class CassandraBaseDAO {
                 .getQueryString();
     }
 
+    private String getCreateQueuesTableStatement() {
+        return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_QUEUES)
+                .ifNotExists()
+                .addPartitionKey(QUEUES_KEY, DataType.text())
+                .addClusteringColumn(QUEUE_NAME_KEY, DataType.text())
+                .getQueryString();
+    }
+
+    private String getCreateQueueMessagesTableStatement() {
+        return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_QUEUE_MESSAGES)
+                .ifNotExists()
+                .addPartitionKey(QUEUE_NAME_KEY, DataType.text())
+                .addPartitionKey(SHARD_ID_KEY, DataType.cint())
+                .addPartitionKey(BUCKET_KEY, DataType.bigint())
+                .addClusteringColumn(DELIVER_ON_KEY, DataType.bigint())
+                .addClusteringColumn(MESSAGE_ID_KEY, DataType.text())
+                .addColumn(PRIORITY_KEY, DataType.cint())
+                .addColumn(PAYLOAD_KEY, DataType.text())
+                .getQueryString();
+    }
+
+    private String getCreateQueueMessageLookupTableStatement() {
+        return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_QUEUE_MESSAGE_LOOKUP)
+                .ifNotExists()
+                .addPartitionKey(QUEUE_NAME_KEY, DataType.text())
+                .addPartitionKey(SHARD_ID_KEY, DataType.cint())
+                .addClusteringColumn(MESSAGE_ID_KEY, DataType.text())
+                .addColumn(BUCKET_KEY, DataType.bigint())
+                .addColumn(DELIVER_ON_KEY, DataType.bigint())
+                .addColumn(UNACKED_KEY, DataType.cboolean())
+                .getQueryString();
+    }
+
+    private String getCreateQueueShardCountsTableStatement() {
+        return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_QUEUE_SHARD_COUNTS)
+                .ifNotExists()
+                .addPartitionKey(QUEUE_NAME_KEY, DataType.text())
+                .addClusteringColumn(SHARD_ID_KEY, DataType.cint())
+                .addColumn(PENDING_KEY, DataType.counter())
+                .addColumn(UNACKED_KEY, DataType.counter())
+                .getQueryString();
+    }
+
+    private String getCreateQueueShardCursorsTableStatement() {
+        return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_QUEUE_SHARD_CURSORS)
+                .ifNotExists()
+                .addPartitionKey(QUEUE_NAME_KEY, DataType.text())
+                .addClusteringColumn(SHARD_ID_KEY, DataType.cint())
+                .addColumn(BUCKET_KEY, DataType.bigint())
+                .getQueryString();
+    }
+
     String toJson(Object value) {
         try {
             return objectMapper.writeValueAsString(value);
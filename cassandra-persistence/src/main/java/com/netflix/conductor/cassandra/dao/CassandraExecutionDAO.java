@@ -14,9 +14,11 @@ package com.netflix.conductor.cassandra.dao;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +35,7 @@ import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.utils.RetryUtil;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.utils.ConcurrencyLimitUtils;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.metrics.Monitors;
@@ -274,10 +277,10 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                             taskPayload));
             if (task.getTaskDefinition().isPresent()
                     && task.getTaskDefinition().get().concurrencyLimit() > 0) {
-                if (task.getStatus().isTerminal()) {
-                    removeTaskFromLimit(task);
-                } else if (task.getStatus() == IN_PROGRESS) {
+                if (task.getStatus() == IN_PROGRESS) {
                     addTaskToLimit(task);
+                } else {
+                    removeTaskFromLimit(task);
                 }
             }
         } catch (Exception e) {
@@ -340,6 +343,62 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         return false;
     }
 
+    /**
+     * Reads the task def limit once per task definition. As tasks are only added to the limit when
+     * they are updated, the free slots are handed out to the batch in order.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        return ConcurrencyLimitUtils.getTaskIdsExceedingLimit(
+                tasks, this::getTaskIdsExceedingLimit);
+    }
+
+    private Set<String> getTaskIdsExceedingLimit(String taskDefName, List<Task> tasks) {
+        Task firstTask = tasks.get(0);
+        int limit = firstTask.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+        try {
+            recordCassandraDaoRequests(
+                    "selectTaskDefLimit", firstTask.getTaskType(), firstTask.getWorkflowType());
+            ResultSet resultSet =
+                    session.execute(selectTasksFromTaskDefLimitStatement.bind(taskDefName));
+            Set<String> taskIds =
+                    resultSet.all().stream()
+                            .map(row -> row.getUUID(TASK_ID_KEY).toString())
+                            .collect(Collectors.toSet());
+            long current = taskIds.size();
+
+            Set<String> limitedTaskIds = new HashSet<>();
+            for (Task task : tasks) {
+                if (taskIds.contains(task.getTaskId())) {
+                    continue;
+                }
+                if (current >= limit) {
+                    limitedTaskIds.add(task.getTaskId());
+                } else {
+                    current++;
+                }
+            }
+            if (!limitedTaskIds.isEmpty()) {
+                LOGGER.info(
+                        "Task execution count limited. tasks - {}:{}, limit: {}, current: {}",
+                        limitedTaskIds,
+                        taskDefName,
+                        limit,
+                        taskIds.size());
+                Monitors.recordTaskConcurrentExecutionLimited(taskDefName, limit);
+            }
+            return limitedTaskIds;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "getTaskIdsExceedingLimit");
+            String errorMsg =
+                    String.format(
+                            "Failed to get in progress limit - %s for %d tasks",
+                            taskDefName, tasks.size());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg);
+        }
+    }
+
     @Override
     public boolean removeTask(String taskId) {
         Task task = getTask(taskId);
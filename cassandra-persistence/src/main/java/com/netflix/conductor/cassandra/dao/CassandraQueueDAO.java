@@ -0,0 +1,750 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.cassandra.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.annotations.Trace;
+import com.netflix.conductor.cassandra.config.CassandraProperties;
+import com.netflix.conductor.cassandra.util.Statements;
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import static com.netflix.conductor.cassandra.util.Constants.BUCKET_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.DELIVER_ON_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.MESSAGE_ID_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PAYLOAD_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PENDING_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PRIORITY_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUES_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUE_NAME_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.SHARD_ID_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.UNACKED_KEY;
+
+/**
+ * A {@link QueueDAO} that keeps the queues in cassandra, so that a cassandra backed Conductor does
+ * not need a separate datastore for its queues.
+ *
+ * <p>The messages of a queue are hashed to {@link CassandraProperties#getQueueShardCount()} shards,
+ * and every shard is split into time bucket partitions of the "queue_messages" table by the time at
+ * which the message is due. A pop only reads the buckets that are due, and a bucket that has been
+ * drained is never read again, so the tombstones left behind by acknowledged messages do not slow
+ * down later pops. The "queue_message_lookup" table locates a message by its id.
+ *
+ * <p>Popping a message leases it instead of locking it: the message is moved to the bucket of its
+ * unack timeout and is delivered again unless it is acknowledged first. No lightweight transactions
+ * are needed because every shard is popped by a single instance only, see {@link
+ * CassandraProperties#getQueueOwnedShards()}, which serializes the pops of a queue locally. Pushes,
+ * acks and timeout changes may come from any instance; a message moved by another instance while it
+ * is being popped may be delivered more than once.
+ *
+ * <p>The numbers of pending and leased messages of every shard are kept in the counters of the
+ * "queue_shard_counts" table, so that the size of a queue is read without scanning its messages.
+ * The counters are updated after the messages and counter updates are not idempotent, so they are
+ * approximate: a failed or retried update, or a message moved by two instances at once, leaves them
+ * off. A leased message is counted as such until it is popped again after its unack timeout. The
+ * oldest bucket of a shard that may still hold messages is kept in the "queue_shard_cursors" table,
+ * so that the messages of a shard are only scanned for it when the shard is popped for the first
+ * time.
+ *
+ * <p>Shard ownership is static: the shards of an instance that goes away are not taken over by the
+ * remaining instances, and must be added to the owned shards of another instance by hand.
+ */
+@Trace
+public class CassandraQueueDAO extends CassandraBaseDAO implements QueueDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CassandraQueueDAO.class);
+    private static final String CLASS_NAME = CassandraQueueDAO.class.getSimpleName();
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private static final int PENDING = 0;
+    private static final int UNACKED = 1;
+
+    private final PreparedStatement insertQueueStatement;
+    private final PreparedStatement insertQueueMessageStatement;
+    private final PreparedStatement insertQueueMessageLookupStatement;
+    private final PreparedStatement insertQueueShardCursorStatement;
+    private final PreparedStatement selectAllQueuesStatement;
+    private final PreparedStatement selectDueQueueMessagesStatement;
+    private final PreparedStatement selectQueueMessageStatement;
+    private final PreparedStatement selectQueueMessageLookupStatement;
+    private final PreparedStatement selectAllQueueMessageLookupsStatement;
+    private final PreparedStatement selectQueueShardCountsStatement;
+    private final PreparedStatement selectQueueShardCursorStatement;
+    private final PreparedStatement updateQueueShardCountsStatement;
+    private final PreparedStatement deleteQueueMessageStatement;
+    private final PreparedStatement deleteQueueMessageLookupStatement;
+
+    private final int shardCount;
+    private final List<Integer> ownedShards;
+    private final long bucketWidthMillis;
+    private final long unackTimeoutMillis;
+
+    /** The queues that are known to be registered in the "queues" table. */
+    private final Set<String> registeredQueues = ConcurrentHashMap.newKeySet();
+
+    /** The oldest time bucket of every owned queue shard that may still hold messages. */
+    private final Map<String, Long> bucketCursors = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> queueLocks = new ConcurrentHashMap<>();
+
+    public CassandraQueueDAO(
+            Session session,
+            ObjectMapper objectMapper,
+            CassandraProperties properties,
+            Statements statements) {
+        super(session, objectMapper, properties);
+
+        this.shardCount = properties.getQueueShardCount();
+        Preconditions.checkArgument(shardCount > 0, "Queue shard count must be positive");
+        // every instance owning shard 0 by default would pop it concurrently with the others
+        Preconditions.checkArgument(
+                properties.getQueueOwnedShards() != null
+                        && !properties.getQueueOwnedShards().isEmpty(),
+                "conductor.cassandra.queue-owned-shards must be set");
+        this.ownedShards = new ArrayList<>(properties.getQueueOwnedShards());
+        ownedShards.forEach(
+                shardId ->
+                        Preconditions.checkArgument(
+                                shardId >= 0 && shardId < shardCount,
+                                "Owned queue shard %s is not in [0, %s)",
+                                shardId,
+                                shardCount));
+        this.bucketWidthMillis = properties.getQueueBucketWidth().toMillis();
+        Preconditions.checkArgument(bucketWidthMillis > 0, "Queue bucket width must be positive");
+        this.unackTimeoutMillis = properties.getQueueUnackTimeout().toMillis();
+
+        this.insertQueueStatement =
+                session.prepare(statements.getInsertQueueStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+        this.insertQueueMessageStatement =
+                session.prepare(statements.getInsertQueueMessageStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+        this.insertQueueMessageLookupStatement =
+                session.prepare(statements.getInsertQueueMessageLookupStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+        this.insertQueueShardCursorStatement =
+                session.prepare(statements.getInsertQueueShardCursorStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+
+        this.selectAllQueuesStatement =
+                session.prepare(statements.getSelectAllQueuesStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectDueQueueMessagesStatement =
+                session.prepare(statements.getSelectDueQueueMessagesStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectQueueMessageStatement =
+                session.prepare(statements.getSelectQueueMessageStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectQueueMessageLookupStatement =
+                session.prepare(statements.getSelectQueueMessageLookupStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectAllQueueMessageLookupsStatement =
+                session.prepare(statements.getSelectAllQueueMessageLookupsStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectQueueShardCountsStatement =
+                session.prepare(statements.getSelectQueueShardCountsStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectQueueShardCursorStatement =
+                session.prepare(statements.getSelectQueueShardCursorStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
+
+        this.updateQueueShardCountsStatement =
+                session.prepare(statements.getUpdateQueueShardCountsStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+
+        this.deleteQueueMessageStatement =
+                session.prepare(statements.getDeleteQueueMessageStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+        this.deleteQueueMessageLookupStatement =
+                session.prepare(statements.getDeleteQueueMessageLookupStatement())
+                        .setConsistencyLevel(properties.getWriteConsistencyLevel());
+    }
+
+    @Override
+    public void push(String queueName, String id, long offsetTimeInSecond) {
+        push(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    @Override
+    public void push(String queueName, String id, int priority, long offsetTimeInSecond) {
+        pushMessages(
+                queueName,
+                Collections.singletonList(new Message(id, null, null, priority)),
+                offsetTimeInSecond);
+    }
+
+    @Override
+    public void push(String queueName, List<Message> messages) {
+        pushMessages(queueName, messages, 0);
+    }
+
+    @Override
+    public boolean pushIfNotExists(String queueName, String id, long offsetTimeInSecond) {
+        return pushIfNotExists(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    /**
+     * The existence check is not atomic with the push, a message pushed concurrently by another
+     * instance is overwritten.
+     */
+    @Override
+    public boolean pushIfNotExists(
+            String queueName, String id, int priority, long offsetTimeInSecond) {
+        if (containsMessage(queueName, id)) {
+            return false;
+        }
+        push(queueName, id, priority, offsetTimeInSecond);
+        return true;
+    }
+
+    @Override
+    public List<String> pop(String queueName, int count, int timeout) {
+        return pollMessages(queueName, count, timeout).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
+    /** Pops and deletes the messages in a single batch. */
+    @Override
+    public List<String> popAndAck(String queueName, int count, int timeout) {
+        return popMessages(queueName, count, timeout, true).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Message> pollMessages(String queueName, int count, int timeout) {
+        return popMessages(queueName, count, timeout, false);
+    }
+
+    @Override
+    public void remove(String queueName, String messageId) {
+        removeMessage(queueName, messageId, "remove");
+    }
+
+    @Override
+    public int getSize(String queueName) {
+        try {
+            recordCassandraDaoRequests("getSize");
+            long size = 0;
+            for (Row counts : session.execute(selectQueueShardCountsStatement.bind(queueName))) {
+                size += Math.max(0, counts.getLong(PENDING_KEY));
+            }
+            return (int) size;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "getSize");
+            String errorMsg = String.format("Failed to get the size of queue: %s", queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    @Override
+    public boolean ack(String queueName, String messageId) {
+        return removeMessage(queueName, messageId, "ack");
+    }
+
+    @Override
+    public boolean setUnackTimeout(String queueName, String messageId, long unackTimeout) {
+        return moveMessage(
+                queueName,
+                messageId,
+                System.currentTimeMillis() + unackTimeout,
+                true,
+                "setUnackTimeout");
+    }
+
+    @Override
+    public void flush(String queueName) {
+        try {
+            recordCassandraDaoRequests("flush");
+            for (int shardId = 0; shardId < shardCount; shardId++) {
+                Map<Integer, long[]> counts = new HashMap<>();
+                for (Row lookup :
+                        session.execute(
+                                selectAllQueueMessageLookupsStatement.bind(queueName, shardId))) {
+                    session.execute(deleteMessage(queueName, shardId, lookup));
+                    countMove(counts, shardId, lookup, null);
+                }
+                updateCounts(queueName, counts);
+                bucketCursors.remove(getCursorKey(queueName, shardId));
+            }
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "flush");
+            String errorMsg = String.format("Failed to flush queue: %s", queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> queuesDetail() {
+        Map<String, Long> detail = new HashMap<>();
+        getAllQueues().forEach(queueName -> detail.put(queueName, (long) getSize(queueName)));
+        return detail;
+    }
+
+    @Override
+    public Map<String, Map<String, Map<String, Long>>> queuesDetailVerbose() {
+        try {
+            recordCassandraDaoRequests("queuesDetailVerbose");
+            Map<String, Map<String, Map<String, Long>>> result = new HashMap<>();
+            for (String queueName : getAllQueues()) {
+                Map<String, Map<String, Long>> shards = new HashMap<>();
+                for (int shardId = 0; shardId < shardCount; shardId++) {
+                    shards.put(String.valueOf(shardId), getShardDetail(0, 0));
+                }
+                for (Row counts :
+                        session.execute(selectQueueShardCountsStatement.bind(queueName))) {
+                    shards.put(
+                            String.valueOf(counts.getInt(SHARD_ID_KEY)),
+                            getShardDetail(
+                                    counts.getLong(PENDING_KEY), counts.getLong(UNACKED_KEY)));
+                }
+                result.put(queueName, shards);
+            }
+            return result;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "queuesDetailVerbose");
+            String errorMsg = "Failed to get the details of all queues";
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    @Override
+    public boolean resetOffsetTime(String queueName, String id) {
+        return moveMessage(queueName, id, System.currentTimeMillis(), false, "resetOffsetTime");
+    }
+
+    @Override
+    public boolean containsMessage(String queueName, String messageId) {
+        try {
+            recordCassandraDaoRequests("containsMessage");
+            return getMessageLookup(queueName, getShardId(messageId), messageId) != null;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "containsMessage");
+            String errorMsg =
+                    String.format("Failed to check message: %s in queue: %s", messageId, queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private Map<String, Long> getShardDetail(long size, long unacked) {
+        Map<String, Long> shardDetail = new HashMap<>();
+        shardDetail.put("size", Math.max(0, size));
+        shardDetail.put("uacked", Math.max(0, unacked));
+        return shardDetail;
+    }
+
+    private void pushMessages(String queueName, List<Message> messages, long offsetTimeInSecond) {
+        try {
+            registerQueue(queueName);
+            long deliverOn =
+                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(offsetTimeInSecond);
+            for (Message message : messages) {
+                int shardId = getShardId(message.getId());
+                Row lookup = getMessageLookup(queueName, shardId, message.getId());
+                BatchStatement batchStatement = new BatchStatement();
+                if (lookup == null) {
+                    addMessage(batchStatement, queueName, shardId, message, deliverOn, false);
+                } else {
+                    relocateMessage(
+                            batchStatement, queueName, shardId, message, lookup, deliverOn, false);
+                }
+                session.execute(batchStatement);
+                updateCounts(queueName, shardId, lookup, false);
+            }
+            recordCassandraDaoRequests("push");
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "push");
+            String errorMsg = String.format("Failed to push messages to queue: %s", queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private List<Message> popMessages(String queueName, int count, int timeout, boolean ack) {
+        try {
+            long start = System.currentTimeMillis();
+            List<Message> messages = popDueMessages(queueName, count, ack);
+            while (messages.size() < count && ((System.currentTimeMillis() - start) < timeout)) {
+                Uninterruptibles.sleepUninterruptibly(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                messages.addAll(popDueMessages(queueName, count - messages.size(), ack));
+            }
+            recordCassandraDaoRequests("pop");
+            return messages;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "pop");
+            String errorMsg = String.format("Failed to pop messages from queue: %s", queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    /**
+     * Leases, or deletes when they are acknowledged at the same time, up to count due messages of
+     * the owned shards of the queue in a single batch. Messages with a higher priority are popped
+     * first.
+     */
+    private List<Message> popDueMessages(String queueName, int count, boolean ack) {
+        if (count < 1) {
+            return new ArrayList<>();
+        }
+        synchronized (queueLocks.computeIfAbsent(queueName, name -> new Object())) {
+            long now = System.currentTimeMillis();
+            List<Row> dueMessages = new ArrayList<>();
+            for (int shardId : ownedShards) {
+                dueMessages.addAll(peekMessages(queueName, shardId, now, count));
+            }
+            dueMessages.sort(
+                    Comparator.comparingInt((Row row) -> row.getInt(PRIORITY_KEY))
+                            .reversed()
+                            .thenComparingLong(row -> row.getLong(DELIVER_ON_KEY)));
+
+            List<Row> candidates = dueMessages.subList(0, Math.min(count, dueMessages.size()));
+            List<ResultSetFuture> lookups =
+                    candidates.stream()
+                            .map(
+                                    row ->
+                                            session.executeAsync(
+                                                    selectQueueMessageLookupStatement.bind(
+                                                            queueName,
+                                                            row.getInt(SHARD_ID_KEY),
+                                                            row.getString(MESSAGE_ID_KEY))))
+                            .collect(Collectors.toList());
+
+            List<Message> messages = new ArrayList<>();
+            BatchStatement batchStatement = new BatchStatement();
+            Map<Integer, long[]> counts = new HashMap<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                Row row = candidates.get(i);
+                int shardId = row.getInt(SHARD_ID_KEY);
+                Row lookup = lookups.get(i).getUninterruptibly().one();
+                if (lookup == null
+                        || lookup.getLong(BUCKET_KEY) != row.getLong(BUCKET_KEY)
+                        || lookup.getLong(DELIVER_ON_KEY) != row.getLong(DELIVER_ON_KEY)) {
+                    // the message was removed or moved concurrently, drop the stale copy
+                    batchStatement.add(
+                            deleteQueueMessageStatement.bind(
+                                    queueName,
+                                    shardId,
+                                    row.getLong(BUCKET_KEY),
+                                    row.getLong(DELIVER_ON_KEY),
+                                    row.getString(MESSAGE_ID_KEY)));
+                    continue;
+                }
+                Message message = toMessage(row);
+                countMove(counts, shardId, lookup, ack ? null : true);
+                if (ack) {
+                    batchStatement.add(deleteMessage(queueName, shardId, lookup));
+                } else {
+                    relocateMessage(
+                            batchStatement,
+                            queueName,
+                            shardId,
+                            message,
+                            lookup,
+                            now + unackTimeoutMillis,
+                            true);
+                }
+                messages.add(message);
+            }
+            if (batchStatement.size() > 0) {
+                session.execute(batchStatement);
+                updateCounts(queueName, counts);
+            }
+            return messages;
+        }
+    }
+
+    /**
+     * Reads up to limit due messages of a queue shard, starting at its oldest bucket that may still
+     * hold messages. The cursor only moves past drained buckets that are at least one bucket old,
+     * so that messages pushed by an instance with a slightly late clock are not skipped.
+     */
+    private List<Row> peekMessages(String queueName, int shardId, long now, int limit) {
+        String cursorKey = getCursorKey(queueName, shardId);
+        long currentBucket = getBucket(now);
+        long storedCursor =
+                bucketCursors.computeIfAbsent(
+                        cursorKey, key -> loadBucketCursor(queueName, shardId, currentBucket));
+        long cursor = storedCursor;
+
+        List<Row> messages = new ArrayList<>();
+        for (long bucket = cursor; bucket <= currentBucket && messages.size() < limit; bucket++) {
+            List<Row> rows =
+                    session.execute(
+                                    selectDueQueueMessagesStatement.bind(
+                                            queueName,
+                                            shardId,
+                                            bucket,
+                                            now,
+                                            limit - messages.size()))
+                            .all();
+            if (rows.isEmpty() && bucket == cursor && bucket < currentBucket - 1) {
+                cursor = bucket + 1;
+            }
+            messages.addAll(rows);
+        }
+        if (cursor != storedCursor) {
+            session.execute(insertQueueShardCursorStatement.bind(queueName, shardId, cursor));
+            bucketCursors.put(cursorKey, cursor);
+        }
+        return messages;
+    }
+
+    /**
+     * Reads the stored cursor of a queue shard when this instance pops the shard for the first
+     * time, or finds and stores it when the shard has never been popped.
+     */
+    private long loadBucketCursor(String queueName, int shardId, long currentBucket) {
+        Row cursor =
+                session.execute(selectQueueShardCursorStatement.bind(queueName, shardId)).one();
+        if (cursor != null) {
+            return cursor.getLong(BUCKET_KEY);
+        }
+        long oldestBucket = getOldestBucket(queueName, shardId, currentBucket);
+        session.execute(insertQueueShardCursorStatement.bind(queueName, shardId, oldestBucket));
+        return oldestBucket;
+    }
+
+    /** Finds the oldest bucket of a queue shard that holds messages. */
+    private long getOldestBucket(String queueName, int shardId, long currentBucket) {
+        long oldestBucket = currentBucket - 1;
+        for (Row lookup :
+                session.execute(selectAllQueueMessageLookupsStatement.bind(queueName, shardId))) {
+            oldestBucket = Math.min(oldestBucket, lookup.getLong(BUCKET_KEY));
+        }
+        return oldestBucket;
+    }
+
+    private boolean removeMessage(String queueName, String messageId, String action) {
+        try {
+            recordCassandraDaoRequests(action);
+            int shardId = getShardId(messageId);
+            Row lookup = getMessageLookup(queueName, shardId, messageId);
+            if (lookup == null) {
+                return false;
+            }
+            session.execute(deleteMessage(queueName, shardId, lookup));
+            updateCounts(queueName, shardId, lookup, null);
+            return true;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, action);
+            String errorMsg =
+                    String.format(
+                            "Failed to remove message: %s from queue: %s", messageId, queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private boolean moveMessage(
+            String queueName, String messageId, long deliverOn, boolean unacked, String action) {
+        try {
+            recordCassandraDaoRequests(action);
+            int shardId = getShardId(messageId);
+            Row lookup = getMessageLookup(queueName, shardId, messageId);
+            if (lookup == null) {
+                return false;
+            }
+            Row row =
+                    session.execute(
+                                    selectQueueMessageStatement.bind(
+                                            queueName,
+                                            shardId,
+                                            lookup.getLong(BUCKET_KEY),
+                                            lookup.getLong(DELIVER_ON_KEY),
+                                            messageId))
+                            .one();
+            if (row == null) {
+                return false;
+            }
+            BatchStatement batchStatement = new BatchStatement();
+            relocateMessage(
+                    batchStatement, queueName, shardId, toMessage(row), lookup, deliverOn, unacked);
+            session.execute(batchStatement);
+            updateCounts(queueName, shardId, lookup, unacked);
+            return true;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, action);
+            String errorMsg =
+                    String.format("Failed to move message: %s in queue: %s", messageId, queueName);
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private void addMessage(
+            BatchStatement batchStatement,
+            String queueName,
+            int shardId,
+            Message message,
+            long deliverOn,
+            boolean unacked) {
+        long bucket = getBucket(deliverOn);
+        // the payload is left unset rather than bound to null, which would write a tombstone
+        BoundStatement insertMessage =
+                insertQueueMessageStatement.bind(
+                        queueName,
+                        shardId,
+                        bucket,
+                        deliverOn,
+                        message.getId(),
+                        message.getPriority());
+        if (message.getPayload() != null) {
+            insertMessage.setString(PAYLOAD_KEY, message.getPayload());
+        }
+        batchStatement.add(insertMessage);
+        batchStatement.add(
+                insertQueueMessageLookupStatement.bind(
+                        queueName, shardId, message.getId(), bucket, deliverOn, unacked));
+    }
+
+    /** Moves a message from the location recorded in its lookup row to a new delivery time. */
+    private void relocateMessage(
+            BatchStatement batchStatement,
+            String queueName,
+            int shardId,
+            Message message,
+            Row lookup,
+            long deliverOn,
+            boolean unacked) {
+        long bucket = lookup.getLong(BUCKET_KEY);
+        long previousDeliverOn = lookup.getLong(DELIVER_ON_KEY);
+        // statements of a batch share a timestamp, and a delete wins over an insert of the same row
+        if (bucket != getBucket(deliverOn) || previousDeliverOn != deliverOn) {
+            batchStatement.add(
+                    deleteQueueMessageStatement.bind(
+                            queueName, shardId, bucket, previousDeliverOn, message.getId()));
+        }
+        addMessage(batchStatement, queueName, shardId, message, deliverOn, unacked);
+    }
+
+    private BatchStatement deleteMessage(String queueName, int shardId, Row lookup) {
+        String messageId = lookup.getString(MESSAGE_ID_KEY);
+        BatchStatement batchStatement = new BatchStatement();
+        batchStatement.add(
+                deleteQueueMessageStatement.bind(
+                        queueName,
+                        shardId,
+                        lookup.getLong(BUCKET_KEY),
+                        lookup.getLong(DELIVER_ON_KEY),
+                        messageId));
+        batchStatement.add(deleteQueueMessageLookupStatement.bind(queueName, shardId, messageId));
+        return batchStatement;
+    }
+
+    /**
+     * Counts a message of a queue shard moving from the state recorded in its lookup row, or from
+     * not being in the queue when there is none, to being leased, pending or removed when unacked
+     * is true, false or null.
+     */
+    private void countMove(Map<Integer, long[]> counts, int shardId, Row lookup, Boolean unacked) {
+        long[] shardCounts = counts.computeIfAbsent(shardId, id -> new long[2]);
+        if (lookup != null) {
+            shardCounts[lookup.getBool(UNACKED_KEY) ? UNACKED : PENDING]--;
+        }
+        if (unacked != null) {
+            shardCounts[unacked ? UNACKED : PENDING]++;
+        }
+    }
+
+    private void updateCounts(String queueName, int shardId, Row lookup, Boolean unacked) {
+        Map<Integer, long[]> counts = new HashMap<>();
+        countMove(counts, shardId, lookup, unacked);
+        updateCounts(queueName, counts);
+    }
+
+    private void updateCounts(String queueName, Map<Integer, long[]> counts) {
+        counts.forEach(
+                (shardId, shardCounts) -> {
+                    if (shardCounts[PENDING] != 0 || shardCounts[UNACKED] != 0) {
+                        session.execute(
+                                updateQueueShardCountsStatement.bind(
+                                        shardCounts[PENDING],
+                                        shardCounts[UNACKED],
+                                        queueName,
+                                        shardId));
+                    }
+                });
+    }
+
+    private Row getMessageLookup(String queueName, int shardId, String messageId) {
+        return session.execute(
+                        selectQueueMessageLookupStatement.bind(queueName, shardId, messageId))
+                .one();
+    }
+
+    private void registerQueue(String queueName) {
+        if (!registeredQueues.contains(queueName)) {
+            session.execute(insertQueueStatement.bind(queueName));
+            registeredQueues.add(queueName);
+        }
+    }
+
+    private List<String> getAllQueues() {
+        return session.execute(selectAllQueuesStatement.bind(QUEUES_KEY)).all().stream()
+                .map(row -> row.getString(QUEUE_NAME_KEY))
+                .collect(Collectors.toList());
+    }
+
+    private Message toMessage(Row row) {
+        return new Message(
+                row.getString(MESSAGE_ID_KEY),
+                row.getString(PAYLOAD_KEY),
+                null,
+                row.getInt(PRIORITY_KEY));
+    }
+
+    private int getShardId(String messageId) {
+        return Math.floorMod(messageId.hashCode(), shardCount);
+    }
+
+    private long getBucket(long deliverOn) {
+        return Math.floorDiv(deliverOn, bucketWidthMillis);
+    }
+
+    private String getCursorKey(String queueName, int shardId) {
+        return queueName + ":" + shardId;
+    }
+}
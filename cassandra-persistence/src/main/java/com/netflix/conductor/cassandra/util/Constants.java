@@ -24,6 +24,11 @@ public interface Constants {
     String TABLE_TASK_DEFS = "task_definitions";
     String TABLE_EVENT_HANDLERS = "event_handlers";
     String TABLE_EVENT_EXECUTIONS = "event_executions";
+    String TABLE_QUEUES = "queues";
+    String TABLE_QUEUE_MESSAGES = "queue_messages";
+    String TABLE_QUEUE_MESSAGE_LOOKUP = "queue_message_lookup";
+    String TABLE_QUEUE_SHARD_COUNTS = "queue_shard_counts";
+    String TABLE_QUEUE_SHARD_CURSORS = "queue_shard_cursors";
 
     String WORKFLOW_ID_KEY = "workflow_id";
     String SHARD_ID_KEY = "shard_id";
@@ -46,6 +51,13 @@ public interface Constants {
     String EVENT_HANDLER_KEY = "event_handler";
     String MESSAGE_ID_KEY = "message_id";
     String EVENT_EXECUTION_ID_KEY = "event_execution_id";
+    String QUEUES_KEY = "queues";
+    String QUEUE_NAME_KEY = "queue_name";
+    String BUCKET_KEY = "bucket";
+    String DELIVER_ON_KEY = "deliver_on";
+    String PRIORITY_KEY = "priority";
+    String UNACKED_KEY = "unacked";
+    String PENDING_KEY = "pending";
 
     String ENTITY_TYPE_WORKFLOW = "workflow";
     String ENTITY_TYPE_TASK = "task";
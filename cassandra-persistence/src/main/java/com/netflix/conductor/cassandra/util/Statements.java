@@ -14,6 +14,8 @@ package com.netflix.conductor.cassandra.util;
 
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 
+import static com.netflix.conductor.cassandra.util.Constants.BUCKET_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.DELIVER_ON_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.ENTITY_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.ENTITY_TYPE_TASK;
 import static com.netflix.conductor.cassandra.util.Constants.ENTITY_TYPE_WORKFLOW;
@@ -23,9 +25,18 @@ import static com.netflix.conductor.cassandra.util.Constants.EVENT_HANDLER_NAME_
 import static com.netflix.conductor.cassandra.util.Constants.HANDLERS_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.MESSAGE_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.PAYLOAD_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PENDING_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.PRIORITY_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUES_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.QUEUE_NAME_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.SHARD_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_EVENT_EXECUTIONS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_EVENT_HANDLERS;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUES;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_MESSAGES;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_MESSAGE_LOOKUP;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_SHARD_COUNTS;
+import static com.netflix.conductor.cassandra.util.Constants.TABLE_QUEUE_SHARD_CURSORS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_DEFS;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_DEF_LIMIT;
 import static com.netflix.conductor.cassandra.util.Constants.TABLE_TASK_LOOKUP;
@@ -38,6 +49,7 @@ import static com.netflix.conductor.cassandra.util.Constants.TASK_DEF_NAME_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TASK_ID_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TOTAL_PARTITIONS_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.TOTAL_TASKS_KEY;
+import static com.netflix.conductor.cassandra.util.Constants.UNACKED_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEFINITION_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEF_INDEX_KEY;
 import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_DEF_INDEX_VALUE;
@@ -48,6 +60,8 @@ import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_VERSION_KE
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.incr;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.lte;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
 
 /**
@@ -124,6 +138,33 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
  *   <li>SELECT * FROM conductor.event_handlers WHERE handlers=?;
  *   <li>DELETE FROM conductor.event_handlers WHERE handlers='handlers' AND event_handler_name=?;
  * </ul>
+ *
+ * <em>QueueDAO</em>
+ *
+ * <ul>
+ *   <li>INSERT INTO conductor.queues (queues,queue_name) VALUES ('queues',?);
+ *   <li>INSERT INTO conductor.queue_messages
+ *       (queue_name,shard_id,bucket,deliver_on,message_id,priority,payload) VALUES (?,?,?,?,?,?,?);
+ *   <li>INSERT INTO conductor.queue_message_lookup
+ *       (queue_name,shard_id,message_id,bucket,deliver_on,unacked) VALUES (?,?,?,?,?,?);
+ *   <li>INSERT INTO conductor.queue_shard_cursors (queue_name,shard_id,bucket) VALUES (?,?,?);
+ *   <li>SELECT * FROM conductor.queues WHERE queues=?;
+ *   <li>SELECT * FROM conductor.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND
+ *       deliver_on<=? LIMIT ?;
+ *   <li>SELECT * FROM conductor.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND
+ *       deliver_on=? AND message_id=?;
+ *   <li>SELECT * FROM conductor.queue_message_lookup WHERE queue_name=? AND shard_id=? AND
+ *       message_id=?;
+ *   <li>SELECT * FROM conductor.queue_message_lookup WHERE queue_name=? AND shard_id=?;
+ *   <li>SELECT * FROM conductor.queue_shard_counts WHERE queue_name=?;
+ *   <li>SELECT * FROM conductor.queue_shard_cursors WHERE queue_name=? AND shard_id=?;
+ *   <li>UPDATE conductor.queue_shard_counts SET pending=pending+?,unacked=unacked+? WHERE
+ *       queue_name=? AND shard_id=?;
+ *   <li>DELETE FROM conductor.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND
+ *       deliver_on=? AND message_id=?;
+ *   <li>DELETE FROM conductor.queue_message_lookup WHERE queue_name=? AND shard_id=? AND
+ *       message_id=?;
+ * </ul>
  */
 public class Statements {
 
@@ -571,4 +612,192 @@ public class Statements {
                 .and(eq(EVENT_HANDLER_NAME_KEY, bindMarker()))
                 .getQueryString();
     }
+
+    // QueueDAO
+    // Insert Statements
+
+    /** @return cql query statement to register a queue name in the "queues" table */
+    public String getInsertQueueStatement() {
+        return QueryBuilder.insertInto(keyspace, TABLE_QUEUES)
+                .value(QUEUES_KEY, QUEUES_KEY)
+                .value(QUEUE_NAME_KEY, bindMarker())
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to insert a message into its time bucket in the "queue_messages"
+     *     table
+     */
+    public String getInsertQueueMessageStatement() {
+        return QueryBuilder.insertInto(keyspace, TABLE_QUEUE_MESSAGES)
+                .value(QUEUE_NAME_KEY, bindMarker())
+                .value(SHARD_ID_KEY, bindMarker())
+                .value(BUCKET_KEY, bindMarker())
+                .value(DELIVER_ON_KEY, bindMarker())
+                .value(MESSAGE_ID_KEY, bindMarker())
+                .value(PRIORITY_KEY, bindMarker())
+                .value(PAYLOAD_KEY, bindMarker())
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to insert the location of a message into the
+     *     "queue_message_lookup" table
+     */
+    public String getInsertQueueMessageLookupStatement() {
+        return QueryBuilder.insertInto(keyspace, TABLE_QUEUE_MESSAGE_LOOKUP)
+                .value(QUEUE_NAME_KEY, bindMarker())
+                .value(SHARD_ID_KEY, bindMarker())
+                .value(MESSAGE_ID_KEY, bindMarker())
+                .value(BUCKET_KEY, bindMarker())
+                .value(DELIVER_ON_KEY, bindMarker())
+                .value(UNACKED_KEY, bindMarker())
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to store the oldest time bucket of a queue shard that may still
+     *     hold messages in the "queue_shard_cursors" table
+     */
+    public String getInsertQueueShardCursorStatement() {
+        return QueryBuilder.insertInto(keyspace, TABLE_QUEUE_SHARD_CURSORS)
+                .value(QUEUE_NAME_KEY, bindMarker())
+                .value(SHARD_ID_KEY, bindMarker())
+                .value(BUCKET_KEY, bindMarker())
+                .getQueryString();
+    }
+
+    // Select Statements
+
+    /** @return cql query statement to retrieve all queue names from the "queues" table */
+    public String getSelectAllQueuesStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUES)
+                .where(eq(QUEUES_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to fetch the messages of a time bucket that are due for delivery
+     *     from the "queue_messages" table
+     */
+    public String getSelectDueQueueMessagesStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_MESSAGES)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(BUCKET_KEY, bindMarker()))
+                .and(lte(DELIVER_ON_KEY, bindMarker()))
+                .limit(bindMarker())
+                .getQueryString();
+    }
+
+    /** @return cql query statement to fetch a single message from the "queue_messages" table */
+    public String getSelectQueueMessageStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_MESSAGES)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(BUCKET_KEY, bindMarker()))
+                .and(eq(DELIVER_ON_KEY, bindMarker()))
+                .and(eq(MESSAGE_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to fetch the location of a message from the
+     *     "queue_message_lookup" table
+     */
+    public String getSelectQueueMessageLookupStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_MESSAGE_LOOKUP)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(MESSAGE_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to fetch the locations of all messages in a queue shard from the
+     *     "queue_message_lookup" table
+     */
+    public String getSelectAllQueueMessageLookupsStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_MESSAGE_LOOKUP)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to fetch the message counts of all shards of a queue from the
+     *     "queue_shard_counts" table
+     */
+    public String getSelectQueueShardCountsStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_SHARD_COUNTS)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to fetch the oldest time bucket of a queue shard that may still
+     *     hold messages from the "queue_shard_cursors" table
+     */
+    public String getSelectQueueShardCursorStatement() {
+        return QueryBuilder.select()
+                .all()
+                .from(keyspace, TABLE_QUEUE_SHARD_CURSORS)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    // Update Statements
+
+    /**
+     * @return cql query statement to add to the pending and unacknowledged message counts of a
+     *     queue shard in the "queue_shard_counts" table
+     */
+    public String getUpdateQueueShardCountsStatement() {
+        return QueryBuilder.update(keyspace, TABLE_QUEUE_SHARD_COUNTS)
+                .with(incr(PENDING_KEY, bindMarker()))
+                .and(incr(UNACKED_KEY, bindMarker()))
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    // Delete Statements
+
+    /** @return cql query statement to delete a message from the "queue_messages" table */
+    public String getDeleteQueueMessageStatement() {
+        return QueryBuilder.delete()
+                .from(keyspace, TABLE_QUEUE_MESSAGES)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(BUCKET_KEY, bindMarker()))
+                .and(eq(DELIVER_ON_KEY, bindMarker()))
+                .and(eq(MESSAGE_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
+    /**
+     * @return cql query statement to delete the location of a message from the
+     *     "queue_message_lookup" table
+     */
+    public String getDeleteQueueMessageLookupStatement() {
+        return QueryBuilder.delete()
+                .from(keyspace, TABLE_QUEUE_MESSAGE_LOOKUP)
+                .where(eq(QUEUE_NAME_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(MESSAGE_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
 }
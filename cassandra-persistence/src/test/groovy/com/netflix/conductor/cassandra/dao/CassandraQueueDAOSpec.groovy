@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.cassandra.dao
+
+import com.netflix.conductor.cassandra.config.CassandraProperties
+import com.netflix.conductor.core.events.queue.Message
+import spock.lang.Subject
+
+class CassandraQueueDAOSpec extends CassandraSpec {
+
+    @Subject
+    CassandraQueueDAO queueDAO
+
+    def setup() {
+        queueDAO = new CassandraQueueDAO(session, objectMapper, cassandraProperties, statements)
+    }
+
+    def "push, pop and ack messages"() {
+        given:
+        String queueName = "test_queue"
+        queueDAO.flush(queueName)
+
+        when: // push messages to the queue
+        (1..10).each { queueDAO.push(queueName, "message_" + it, 0) }
+
+        then:
+        queueDAO.getSize(queueName) == 10
+        queueDAO.containsMessage(queueName, "message_1")
+        !queueDAO.pushIfNotExists(queueName, "message_1", 0)
+        queueDAO.queuesDetail()[queueName] == 10
+
+        when: // pop messages in a batch
+        List<String> popped = queueDAO.pop(queueName, 5, 100)
+
+        then: // leased messages are not counted in the size
+        popped.size() == 5
+        queueDAO.getSize(queueName) == 5
+
+        when: // pop the remaining messages, the popped ones are leased
+        List<String> remaining = queueDAO.pop(queueName, 10, 100)
+
+        then:
+        remaining.size() == 5
+        remaining.intersect(popped).isEmpty()
+        queueDAO.getSize(queueName) == 0
+        queueDAO.queuesDetailVerbose()[queueName].values().sum { it.uacked } == 10
+
+        when: // ack all the messages
+        (popped + remaining).each { assert queueDAO.ack(queueName, it) }
+
+        then:
+        queueDAO.getSize(queueName) == 0
+        queueDAO.queuesDetailVerbose()[queueName].values().sum { it.uacked } == 0
+        !queueDAO.ack(queueName, popped[0])
+        queueDAO.pop(queueName, 10, 100).isEmpty()
+    }
+
+    def "messages with a higher priority are popped first"() {
+        given:
+        String queueName = "test_priority_queue"
+        queueDAO.flush(queueName)
+
+        when:
+        queueDAO.push(queueName, "low", 1, 0)
+        queueDAO.push(queueName, "high", 99, 0)
+        queueDAO.push(queueName, "medium", 50, 0)
+
+        then:
+        queueDAO.pop(queueName, 3, 100) == ["high", "medium", "low"]
+    }
+
+    def "messages are not delivered before they are due"() {
+        given:
+        String queueName = "test_delayed_queue"
+        queueDAO.flush(queueName)
+
+        when:
+        queueDAO.push(queueName, "delayed", 60)
+
+        then:
+        queueDAO.pop(queueName, 1, 100).isEmpty()
+        queueDAO.getSize(queueName) == 1
+
+        when: // make the message due right away
+        boolean reset = queueDAO.resetOffsetTime(queueName, "delayed")
+
+        then:
+        reset
+        queueDAO.pop(queueName, 1, 100) == ["delayed"]
+
+        when: // an unacknowledged message is redelivered after its unack timeout
+        queueDAO.setUnackTimeout(queueName, "delayed", 0)
+
+        then:
+        queueDAO.pop(queueName, 1, 100) == ["delayed"]
+        !queueDAO.setUnackTimeout(queueName, "unknown", 0)
+    }
+
+    def "poll messages with payload and pop and ack"() {
+        given:
+        String queueName = "test_event_queue"
+        queueDAO.flush(queueName)
+        List<Message> messages = (1..3).collect { new Message("event_" + it, "payload_" + it, null) }
+
+        when:
+        queueDAO.push(queueName, messages)
+        List<Message> polled = queueDAO.pollMessages(queueName, 2, 100)
+
+        then:
+        polled.size() == 2
+        polled.every { it.payload == it.id.replace("event", "payload") }
+
+        when:
+        List<String> acked = queueDAO.popAndAck(queueName, 5, 100)
+
+        then: // the polled messages are leased
+        acked.size() == 1
+        queueDAO.getSize(queueName) == 0
+        queueDAO.queuesDetailVerbose()[queueName].values().sum { it.uacked } == 2
+
+        when: // remove the leased messages and flush the queue
+        queueDAO.remove(queueName, polled[0].id)
+        queueDAO.flush(queueName)
+
+        then:
+        queueDAO.getSize(queueName) == 0
+        queueDAO.queuesDetailVerbose()[queueName].values().sum { it.uacked } == 0
+        !queueDAO.containsMessage(queueName, polled[1].id)
+    }
+
+    def "an instance taking over the shards pops from their stored cursors"() {
+        given:
+        String queueName = "test_takeover_queue"
+        queueDAO.flush(queueName)
+        (1..4).each { queueDAO.push(queueName, "message_" + it, 0) }
+        queueDAO.pop(queueName, 2, 100)
+
+        when:
+        CassandraQueueDAO otherQueueDAO = new CassandraQueueDAO(session, objectMapper, cassandraProperties, statements)
+        List<String> popped = otherQueueDAO.pop(queueName, 4, 100)
+
+        then:
+        popped.size() == 2
+        otherQueueDAO.getSize(queueName) == 0
+    }
+
+    def "queues require the owned shards to be set, even with a single shard"() {
+        given:
+        cassandraProperties = Mock(CassandraProperties.class) {
+            getKeyspace() >> "junit"
+            getReplicationStrategy() >> "SimpleStrategy"
+            getReplicationFactorKey() >> "replication_factor"
+            getReplicationFactorValue() >> 1
+            getQueueShardCount() >> 1
+            getQueueOwnedShards() >> []
+        }
+
+        when:
+        new CassandraQueueDAO(session, objectMapper, cassandraProperties, statements)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -62,6 +62,10 @@ abstract class CassandraSpec extends Specification {
             getTaskDefCacheRefreshInterval() >> Duration.ofSeconds(60)
             getEventHandlerCacheRefreshInterval() >> Duration.ofSeconds(60)
             getEventExecutionPersistenceTtl() >> Duration.ofSeconds(5)
+            getQueueShardCount() >> 2
+            getQueueOwnedShards() >> [0, 1]
+            getQueueBucketWidth() >> Duration.ofSeconds(1)
+            getQueueUnackTimeout() >> Duration.ofSeconds(60)
         }
 
         statements = new Statements(keyspaceName)
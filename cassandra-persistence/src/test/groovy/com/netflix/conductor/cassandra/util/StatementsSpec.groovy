@@ -66,6 +66,20 @@ class StatementsSpec extends Specification {
             insertEventHandlerStatement == "INSERT INTO test.event_handlers (handlers,event_handler_name,event_handler) VALUES ('handlers',?,?);"
             selectAllEventHandlersStatement == "SELECT * FROM test.event_handlers WHERE handlers=?;"
             deleteEventHandlerStatement == "DELETE FROM test.event_handlers WHERE handlers='handlers' AND event_handler_name=?;"
+            insertQueueStatement == "INSERT INTO test.queues (queues,queue_name) VALUES ('queues',?);"
+            insertQueueMessageStatement == "INSERT INTO test.queue_messages (queue_name,shard_id,bucket,deliver_on,message_id,priority,payload) VALUES (?,?,?,?,?,?,?);"
+            insertQueueMessageLookupStatement == "INSERT INTO test.queue_message_lookup (queue_name,shard_id,message_id,bucket,deliver_on,unacked) VALUES (?,?,?,?,?,?);"
+            insertQueueShardCursorStatement == "INSERT INTO test.queue_shard_cursors (queue_name,shard_id,bucket) VALUES (?,?,?);"
+            selectAllQueuesStatement == "SELECT * FROM test.queues WHERE queues=?;"
+            selectDueQueueMessagesStatement == "SELECT * FROM test.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND deliver_on<=? LIMIT ?;"
+            selectQueueMessageStatement == "SELECT * FROM test.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND deliver_on=? AND message_id=?;"
+            selectQueueMessageLookupStatement == "SELECT * FROM test.queue_message_lookup WHERE queue_name=? AND shard_id=? AND message_id=?;"
+            selectAllQueueMessageLookupsStatement == "SELECT * FROM test.queue_message_lookup WHERE queue_name=? AND shard_id=?;"
+            selectQueueShardCountsStatement == "SELECT * FROM test.queue_shard_counts WHERE queue_name=?;"
+            selectQueueShardCursorStatement == "SELECT * FROM test.queue_shard_cursors WHERE queue_name=? AND shard_id=?;"
+            updateQueueShardCountsStatement == "UPDATE test.queue_shard_counts SET pending=pending+?,unacked=unacked+? WHERE queue_name=? AND shard_id=?;"
+            deleteQueueMessageStatement == "DELETE FROM test.queue_messages WHERE queue_name=? AND shard_id=? AND bucket=? AND deliver_on=? AND message_id=?;"
+            deleteQueueMessageLookupStatement == "DELETE FROM test.queue_message_lookup WHERE queue_name=? AND shard_id=? AND message_id=?;"
         }
     }
 }
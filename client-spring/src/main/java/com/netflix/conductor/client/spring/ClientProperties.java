@@ -27,6 +27,14 @@ public class ClientProperties {
 
     private int threadCount = 1;
 
+    private int asyncThreadCount = 1;
+
+    /** Defaults to the thread count when not set. */
+    private int asyncUpdateThreadCount = -1;
+
+    /** Defaults to the thread count when not set. */
+    private int asyncInFlightLimit = -1;
+
     private Duration sleepWhenRetryDuration = Duration.ofMillis(500);
 
     private int updateRetryCount = 3;
@@ -59,6 +67,30 @@ public class ClientProperties {
         this.threadCount = threadCount;
     }
 
+    public int getAsyncThreadCount() {
+        return asyncThreadCount;
+    }
+
+    public void setAsyncThreadCount(int asyncThreadCount) {
+        this.asyncThreadCount = asyncThreadCount;
+    }
+
+    public int getAsyncUpdateThreadCount() {
+        return asyncUpdateThreadCount;
+    }
+
+    public void setAsyncUpdateThreadCount(int asyncUpdateThreadCount) {
+        this.asyncUpdateThreadCount = asyncUpdateThreadCount;
+    }
+
+    public int getAsyncInFlightLimit() {
+        return asyncInFlightLimit;
+    }
+
+    public void setAsyncInFlightLimit(int asyncInFlightLimit) {
+        this.asyncInFlightLimit = asyncInFlightLimit;
+    }
+
     public Duration getSleepWhenRetryDuration() {
         return sleepWhenRetryDuration;
     }
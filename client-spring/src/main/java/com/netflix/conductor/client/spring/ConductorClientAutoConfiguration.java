@@ -48,13 +48,23 @@ public class ConductorClientAutoConfiguration {
     @Bean(initMethod = "init", destroyMethod = "shutdown")
     public TaskRunnerConfigurer taskRunnerConfigurer(
             TaskClient taskClient, ClientProperties clientProperties) {
-        return new TaskRunnerConfigurer.Builder(taskClient, workers)
-                .withThreadCount(clientProperties.getThreadCount())
-                .withSleepWhenRetry((int) clientProperties.getSleepWhenRetryDuration().toMillis())
-                .withUpdateRetryCount(clientProperties.getUpdateRetryCount())
-                .withTaskToDomain(clientProperties.getTaskToDomain())
-                .withShutdownGracePeriodSeconds(clientProperties.getShutdownGracePeriodSeconds())
-                .withEurekaClient(eurekaClient)
-                .build();
+        TaskRunnerConfigurer.Builder builder =
+                new TaskRunnerConfigurer.Builder(taskClient, workers)
+                        .withThreadCount(clientProperties.getThreadCount())
+                        .withAsyncThreadCount(clientProperties.getAsyncThreadCount())
+                        .withSleepWhenRetry(
+                                (int) clientProperties.getSleepWhenRetryDuration().toMillis())
+                        .withUpdateRetryCount(clientProperties.getUpdateRetryCount())
+                        .withTaskToDomain(clientProperties.getTaskToDomain())
+                        .withShutdownGracePeriodSeconds(
+                                clientProperties.getShutdownGracePeriodSeconds())
+                        .withEurekaClient(eurekaClient);
+        if (clientProperties.getAsyncUpdateThreadCount() > 0) {
+            builder.withAsyncUpdateThreadCount(clientProperties.getAsyncUpdateThreadCount());
+        }
+        if (clientProperties.getAsyncInFlightLimit() > 0) {
+            builder.withAsyncInFlightLimit(clientProperties.getAsyncInFlightLimit());
+        }
+        return builder.build();
     }
 }
@@ -18,9 +18,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
@@ -31,6 +34,7 @@ import com.netflix.appinfo.InstanceInfo.InstanceStatus;
 import com.netflix.conductor.client.config.PropertyFactory;
 import com.netflix.conductor.client.http.TaskClient;
 import com.netflix.conductor.client.telemetry.MetricsContainer;
+import com.netflix.conductor.client.worker.AsyncWorker;
 import com.netflix.conductor.client.worker.Worker;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
@@ -52,6 +56,9 @@ class TaskPollExecutor {
     private final int updateRetryCount;
     private final ExecutorService executorService;
     private final PollingSemaphore pollingSemaphore;
+    private final ExecutorService asyncExecutorService;
+    private final PollingSemaphore asyncPollingSemaphore;
+    private final ExecutorService updateExecutorService;
     private final Map<String /*taskType*/, String /*domain*/> taskToDomain;
 
     private static final String DOMAIN = "domain";
@@ -65,6 +72,28 @@ class TaskPollExecutor {
             int updateRetryCount,
             Map<String, String> taskToDomain,
             String workerNamePrefix) {
+        this(
+                eurekaClient,
+                taskClient,
+                threadCount,
+                1,
+                threadCount,
+                threadCount,
+                updateRetryCount,
+                taskToDomain,
+                workerNamePrefix);
+    }
+
+    TaskPollExecutor(
+            EurekaClient eurekaClient,
+            TaskClient taskClient,
+            int threadCount,
+            int asyncThreadCount,
+            int asyncUpdateThreadCount,
+            int asyncInFlightLimit,
+            int updateRetryCount,
+            Map<String, String> taskToDomain,
+            String workerNamePrefix) {
         this.eurekaClient = eurekaClient;
         this.taskClient = taskClient;
         this.updateRetryCount = updateRetryCount;
@@ -81,6 +110,32 @@ class TaskPollExecutor {
                                 .build());
 
         this.pollingSemaphore = new PollingSemaphore(threadCount);
+
+        LOGGER.info(
+                "Initialized the async workers with {} threads, {} update threads and {} tasks in flight",
+                asyncThreadCount,
+                asyncUpdateThreadCount,
+                asyncInFlightLimit);
+
+        this.asyncExecutorService =
+                Executors.newFixedThreadPool(
+                        asyncThreadCount,
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("async-" + workerNamePrefix)
+                                .uncaughtExceptionHandler(uncaughtExceptionHandler)
+                                .build());
+
+        // the results of the async workers are updated on their own threads, so that a slow
+        // update does not hold back the start of the other executions
+        this.updateExecutorService =
+                Executors.newFixedThreadPool(
+                        asyncUpdateThreadCount,
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("update-" + workerNamePrefix)
+                                .uncaughtExceptionHandler(uncaughtExceptionHandler)
+                                .build());
+
+        this.asyncPollingSemaphore = new PollingSemaphore(asyncInFlightLimit);
     }
 
     void pollAndExecute(Worker worker) {
@@ -106,9 +161,12 @@ class TaskPollExecutor {
             return;
         }
 
+        // async workers are bounded by the tasks in flight, not by the worker threads
+        PollingSemaphore semaphore =
+                worker instanceof AsyncWorker ? asyncPollingSemaphore : pollingSemaphore;
         Task task;
         try {
-            if (!pollingSemaphore.canPoll()) {
+            if (!semaphore.canPoll()) {
                 return;
             }
 
@@ -139,24 +197,40 @@ class TaskPollExecutor {
                         domain,
                         worker.getIdentity());
 
-                CompletableFuture<Task> taskCompletableFuture =
-                        CompletableFuture.supplyAsync(
-                                () -> processTask(task, worker), executorService);
-
-                taskCompletableFuture.whenComplete(this::finalizeTask);
+                MetricsContainer.incrementTaskInFlightCount(taskType);
+                try {
+                    if (worker instanceof AsyncWorker) {
+                        processTaskAsync(task, (AsyncWorker) worker);
+                    } else {
+                        CompletableFuture<Task> taskCompletableFuture =
+                                CompletableFuture.supplyAsync(
+                                        () -> processTask(task, worker), executorService);
+
+                        taskCompletableFuture.whenComplete(this::finalizeTask);
+                    }
+                } catch (RejectedExecutionException e) {
+                    // the task never started, the permit is released below
+                    MetricsContainer.decrementTaskInFlightCount(taskType);
+                    throw e;
+                }
             } else {
                 // no task was returned in the poll, release the permit
-                pollingSemaphore.complete();
+                semaphore.complete();
             }
         } catch (Exception e) {
             // release the permit if exception is thrown during polling, because the thread would
             // not be busy
-            pollingSemaphore.complete();
+            semaphore.complete();
             MetricsContainer.incrementTaskPollErrorCount(worker.getTaskDefName(), e);
             LOGGER.error("Error when polling for tasks", e);
         }
     }
 
+    void shutdown(int timeout) {
+        shutdownExecutorService(asyncExecutorService, timeout);
+        shutdownExecutorService(updateExecutorService, timeout);
+    }
+
     void shutdownExecutorService(ExecutorService executorService, int timeout) {
         try {
             executorService.shutdown();
@@ -196,10 +270,99 @@ class TaskPollExecutor {
             handleException(t, result, worker, task);
         } finally {
             pollingSemaphore.complete();
+            MetricsContainer.decrementTaskInFlightCount(worker.getTaskDefName());
         }
         return task;
     }
 
+    /**
+     * Starts the execution of the task on the async threads, and updates the task on the update
+     * threads once the future returned by the worker completes. The permit is held until then, so
+     * that the number of tasks in flight stays bounded while no thread is blocked on the execution.
+     */
+    private void processTaskAsync(Task task, AsyncWorker worker) {
+        LOGGER.debug(
+                "Executing task: {} of type: {} in async worker: {} at {}",
+                task.getTaskId(),
+                task.getTaskDefName(),
+                worker.getClass().getSimpleName(),
+                worker.getIdentity());
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        CompletableFuture.supplyAsync(() -> worker.executeAsync(task), asyncExecutorService)
+                .thenCompose(future -> future)
+                .whenComplete(
+                        (result, throwable) -> {
+                            stopwatch.stop();
+                            MetricsContainer.getExecutionTimer(worker.getTaskDefName())
+                                    .record(
+                                            stopwatch.elapsed(TimeUnit.MILLISECONDS),
+                                            TimeUnit.MILLISECONDS);
+                            try {
+                                updateExecutorService.execute(
+                                        () -> updateTaskAsync(task, worker, result, throwable));
+                            } catch (RejectedExecutionException e) {
+                                MetricsContainer.incrementTaskUpdateErrorCount(
+                                        worker.getTaskDefName(), e);
+                                LOGGER.error(
+                                        "Unable to update task: {} of type: {}",
+                                        task.getTaskId(),
+                                        task.getTaskType(),
+                                        e);
+                                asyncPollingSemaphore.complete();
+                                MetricsContainer.decrementTaskInFlightCount(
+                                        worker.getTaskDefName());
+                            }
+                        });
+    }
+
+    private void updateTaskAsync(
+            Task task, AsyncWorker worker, TaskResult result, Throwable throwable) {
+        try {
+            completeTask(task, worker, result, throwable);
+        } catch (Throwable t) {
+            MetricsContainer.incrementTaskExecutionErrorCount(task.getTaskType(), t);
+            LOGGER.error(
+                    "Error processing task: {} of type: {}",
+                    task.getTaskId(),
+                    task.getTaskType(),
+                    t);
+        } finally {
+            asyncPollingSemaphore.complete();
+            MetricsContainer.decrementTaskInFlightCount(worker.getTaskDefName());
+        }
+    }
+
+    private void completeTask(Task task, Worker worker, TaskResult result, Throwable throwable) {
+        if (throwable == null && result == null) {
+            throwable = new NullPointerException("Async worker completed with a null result");
+        }
+        if (throwable != null) {
+            Throwable cause =
+                    throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable;
+            LOGGER.error(
+                    "Unable to execute task: {} of type: {}",
+                    task.getTaskId(),
+                    task.getTaskDefName(),
+                    cause);
+            task.setStatus(Task.Status.FAILED);
+            handleException(cause, new TaskResult(task), worker, task);
+            return;
+        }
+
+        result.setWorkflowInstanceId(task.getWorkflowInstanceId());
+        result.setTaskId(task.getTaskId());
+        result.setWorkerId(worker.getIdentity());
+        LOGGER.debug(
+                "Task: {} executed by async worker: {} at {} with status: {}",
+                task.getTaskId(),
+                worker.getClass().getSimpleName(),
+                worker.getIdentity(),
+                result.getStatus());
+        updateWithRetry(updateRetryCount, task, result, worker);
+    }
+
     private void executeTask(Worker worker, Task task) {
         Stopwatch stopwatch = Stopwatch.createStarted();
         TaskResult result = null;
@@ -268,13 +431,15 @@ class TaskPollExecutor {
                             task.getTaskDefName(), worker.getIdentity());
             String methodName = "updateWithRetry";
 
+            AtomicReference<byte[]> serializedResult = new AtomicReference<>();
             TaskResult finalResult =
                     new RetryUtil<TaskResult>()
                             .retryOnException(
                                     () -> {
                                         TaskResult taskResult = result.copy();
-                                        taskClient.evaluateAndUploadLargePayload(
-                                                taskResult, task.getTaskType());
+                                        serializedResult.set(
+                                                taskClient.evaluateAndSerializeTaskResult(
+                                                        taskResult, task.getTaskType()));
                                         return taskResult;
                                     },
                                     null,
@@ -286,7 +451,12 @@ class TaskPollExecutor {
             new RetryUtil<>()
                     .retryOnException(
                             () -> {
-                                taskClient.updateTask(finalResult);
+                                // reuse the task result serialized while evaluating its size
+                                if (serializedResult.get() != null) {
+                                    taskClient.updateSerializedTaskResult(serializedResult.get());
+                                } else {
+                                    taskClient.updateTask(finalResult);
+                                }
                                 return null;
                             },
                             null,
@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import com.netflix.conductor.client.http.TaskClient;
+import com.netflix.conductor.client.worker.AsyncWorker;
 import com.netflix.conductor.client.worker.Worker;
 import com.netflix.discovery.EurekaClient;
 
@@ -37,6 +38,9 @@ public class TaskRunnerConfigurer {
     private final int sleepWhenRetry;
     private final int updateRetryCount;
     private final int threadCount;
+    private final int asyncThreadCount;
+    private final int asyncUpdateThreadCount;
+    private final int asyncInFlightLimit;
     private final int shutdownGracePeriodSeconds;
     private final String workerNamePrefix;
     private final Map<String /*taskType*/, String /*domain*/> taskToDomain;
@@ -56,6 +60,13 @@ public class TaskRunnerConfigurer {
         this.taskToDomain = builder.taskToDomain;
         builder.workers.forEach(workers::add);
         this.threadCount = (builder.threadCount == -1) ? workers.size() : builder.threadCount;
+        this.asyncThreadCount = builder.asyncThreadCount;
+        this.asyncUpdateThreadCount =
+                (builder.asyncUpdateThreadCount == -1)
+                        ? threadCount
+                        : builder.asyncUpdateThreadCount;
+        this.asyncInFlightLimit =
+                (builder.asyncInFlightLimit == -1) ? threadCount : builder.asyncInFlightLimit;
         this.shutdownGracePeriodSeconds = builder.shutdownGracePeriodSeconds;
     }
 
@@ -66,6 +77,9 @@ public class TaskRunnerConfigurer {
         private int sleepWhenRetry = 500;
         private int updateRetryCount = 3;
         private int threadCount = -1;
+        private int asyncThreadCount = 1;
+        private int asyncUpdateThreadCount = -1;
+        private int asyncInFlightLimit = -1;
         private int shutdownGracePeriodSeconds = 10;
         private final Iterable<Worker> workers;
         private EurekaClient eurekaClient;
@@ -122,6 +136,47 @@ public class TaskRunnerConfigurer {
             return this;
         }
 
+        /**
+         * @param asyncThreadCount # of threads which start the executions of the {@link
+         *     AsyncWorker}s. Defaults to 1.
+         * @return Builder instance
+         */
+        public Builder withAsyncThreadCount(int asyncThreadCount) {
+            if (asyncThreadCount < 1) {
+                throw new IllegalArgumentException("No. of async threads cannot be less than 1");
+            }
+            this.asyncThreadCount = asyncThreadCount;
+            return this;
+        }
+
+        /**
+         * @param asyncUpdateThreadCount # of threads which update the results of the {@link
+         *     AsyncWorker}s. Defaults to the thread count.
+         * @return Builder instance
+         */
+        public Builder withAsyncUpdateThreadCount(int asyncUpdateThreadCount) {
+            if (asyncUpdateThreadCount < 1) {
+                throw new IllegalArgumentException(
+                        "No. of async update threads cannot be less than 1");
+            }
+            this.asyncUpdateThreadCount = asyncUpdateThreadCount;
+            return this;
+        }
+
+        /**
+         * @param asyncInFlightLimit max # of tasks executed by the {@link AsyncWorker}s at the same
+         *     time. Defaults to the thread count.
+         * @return Builder instance
+         */
+        public Builder withAsyncInFlightLimit(int asyncInFlightLimit) {
+            if (asyncInFlightLimit < 1) {
+                throw new IllegalArgumentException(
+                        "No. of async tasks in flight cannot be less than 1");
+            }
+            this.asyncInFlightLimit = asyncInFlightLimit;
+            return this;
+        }
+
         /**
          * @param shutdownGracePeriodSeconds waiting seconds before forcing shutdown of your worker
          * @return Builder instance
@@ -167,6 +222,21 @@ public class TaskRunnerConfigurer {
         return threadCount;
     }
 
+    /** @return Thread Count for the executor pool of the async workers */
+    public int getAsyncThreadCount() {
+        return asyncThreadCount;
+    }
+
+    /** @return Thread Count for the executor pool updating the results of the async workers */
+    public int getAsyncUpdateThreadCount() {
+        return asyncUpdateThreadCount;
+    }
+
+    /** @return max # of tasks executed by the async workers at the same time */
+    public int getAsyncInFlightLimit() {
+        return asyncInFlightLimit;
+    }
+
     /** @return seconds before forcing shutdown of worker */
     public int getShutdownGracePeriodSeconds() {
         return shutdownGracePeriodSeconds;
@@ -202,6 +272,9 @@ public class TaskRunnerConfigurer {
                         eurekaClient,
                         taskClient,
                         threadCount,
+                        asyncThreadCount,
+                        asyncUpdateThreadCount,
+                        asyncInFlightLimit,
                         updateRetryCount,
                         taskToDomain,
                         workerNamePrefix);
@@ -223,5 +296,6 @@ public class TaskRunnerConfigurer {
     public void shutdown() {
         taskPollExecutor.shutdownExecutorService(
                 scheduledExecutorService, shutdownGracePeriodSeconds);
+        taskPollExecutor.shutdown(shutdownGracePeriodSeconds);
     }
 }
@@ -47,4 +47,14 @@ public interface ConductorClientConfiguration {
      *     and the task/workflow execution fails.
      */
     boolean isExternalPayloadStorageEnabled();
+
+    /**
+     * @return the flag which controls the gzip compression of request payloads sent to the server,
+     *     and the negotiation of gzip compressed responses. The server must accept gzip encoded
+     *     requests, with <code>conductor.rest.request-decompression.enabled</code>, for this to be
+     *     enabled.
+     */
+    default boolean isCompressionEnabled() {
+        return false;
+    }
 }
@@ -50,6 +50,7 @@ import com.sun.jersey.api.client.UniformInterfaceException;
 import com.sun.jersey.api.client.WebResource.Builder;
 import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
 
 /** Abstract client for the REST template */
 public abstract class ClientBase {
@@ -98,6 +99,10 @@ public abstract class ClientBase {
             this.client = new Client(handler, config);
         }
 
+        if (clientConfiguration.isCompressionEnabled()) {
+            client.addFilter(new GZIPContentEncodingFilter(true));
+        }
+
         conductorClientConfiguration = clientConfiguration;
         payloadStorage = new PayloadStorage(this);
     }
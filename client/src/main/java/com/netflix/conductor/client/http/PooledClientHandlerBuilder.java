@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.http;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import com.netflix.conductor.client.telemetry.MetricsContainer;
+
+import com.google.common.base.Preconditions;
+import com.sun.jersey.api.client.ClientHandler;
+import com.sun.jersey.client.apache4.ApacheHttpClient4Handler;
+
+/**
+ * Builds a Jersey {@link ClientHandler} which sends the requests over a pool of persistent
+ * (keep-alive) connections, instead of the default {@link java.net.HttpURLConnection} based
+ * handler. The handler can be passed to the constructors of the clients, and should be shared by
+ * all the clients talking to the same server, e.g.
+ *
+ * <pre>
+ * ClientHandler handler = new PooledClientHandlerBuilder().withMaxConnections(100).build();
+ * TaskClient taskClient = new TaskClient(new DefaultClientConfig(), handler);
+ * </pre>
+ *
+ * <p>The number of leased, available and pending connections of the pool are reported by {@link
+ * MetricsContainer}, tagged with the pool name.
+ */
+public class PooledClientHandlerBuilder {
+
+    private String poolName = "conductor";
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private int connectTimeoutMs = 10_000;
+    private int readTimeoutMs = 60_000;
+    private int connectionRequestTimeoutMs = 10_000;
+    private long idleConnectionTimeoutMs = 30_000;
+    private long connectionTimeToLiveMs = -1;
+
+    /**
+     * @param poolName the name of the connection pool in the reported metrics. Default is
+     *     "conductor".
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withPoolName(String poolName) {
+        this.poolName = poolName;
+        return this;
+    }
+
+    /**
+     * @param maxConnections the maximum number of connections in the pool, across all servers.
+     *     Default is 200.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * @param maxConnectionsPerRoute the maximum number of connections in the pool to a single
+     *     server. Should be at least the number of threads polling and updating tasks concurrently.
+     *     Default is 100.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * @param connectTimeoutMs the timeout in milliseconds to establish a new connection. Default is
+     *     10 seconds.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+        return this;
+    }
+
+    /**
+     * @param readTimeoutMs the timeout in milliseconds to wait for data on a connection. Should be
+     *     greater than the long poll timeout of the workers. Default is 60 seconds.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withReadTimeoutMs(int readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+        return this;
+    }
+
+    /**
+     * @param connectionRequestTimeoutMs the timeout in milliseconds to wait for a connection from
+     *     the pool, when all of them are leased. Default is 10 seconds.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withConnectionRequestTimeoutMs(
+            int connectionRequestTimeoutMs) {
+        this.connectionRequestTimeoutMs = connectionRequestTimeoutMs;
+        return this;
+    }
+
+    /**
+     * @param idleConnectionTimeoutMs the time in milliseconds after which idle connections are
+     *     closed, before the server closes them. Default is 30 seconds.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withIdleConnectionTimeoutMs(long idleConnectionTimeoutMs) {
+        this.idleConnectionTimeoutMs = idleConnectionTimeoutMs;
+        return this;
+    }
+
+    /**
+     * @param connectionTimeToLiveMs the maximum time in milliseconds a connection is kept, which
+     *     spreads the connections over the servers behind a load balancer. Default is -1, no limit.
+     * @return Builder instance
+     */
+    public PooledClientHandlerBuilder withConnectionTimeToLiveMs(long connectionTimeToLiveMs) {
+        this.connectionTimeToLiveMs = connectionTimeToLiveMs;
+        return this;
+    }
+
+    /** @return a {@link ClientHandler} with a new connection pool */
+    public ClientHandler build() {
+        Preconditions.checkArgument(maxConnections > 0, "maxConnections must be greater than 0");
+        Preconditions.checkArgument(
+                maxConnectionsPerRoute > 0, "maxConnectionsPerRoute must be greater than 0");
+
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(
+                        connectionTimeToLiveMs, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        RequestConfig requestConfig =
+                RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(readTimeoutMs)
+                        .setConnectionRequestTimeout(connectionRequestTimeoutMs)
+                        .build();
+
+        HttpClientBuilder httpClientBuilder =
+                HttpClientBuilder.create()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(requestConfig)
+                        .evictExpiredConnections()
+                        .useSystemProperties();
+        if (idleConnectionTimeoutMs > 0) {
+            httpClientBuilder.evictIdleConnections(idleConnectionTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        CloseableHttpClient httpClient = httpClientBuilder.build();
+
+        MetricsContainer.registerConnectionPoolGauge(
+                poolName,
+                "leased",
+                connectionManager,
+                manager -> manager.getTotalStats().getLeased());
+        MetricsContainer.registerConnectionPoolGauge(
+                poolName,
+                "available",
+                connectionManager,
+                manager -> manager.getTotalStats().getAvailable());
+        MetricsContainer.registerConnectionPoolGauge(
+                poolName,
+                "pending",
+                connectionManager,
+                manager -> manager.getTotalStats().getPending());
+
+        return new ApacheHttpClient4Handler(httpClient, null, false);
+    }
+}
@@ -14,6 +14,7 @@ package com.netflix.conductor.client.http;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,6 +36,7 @@ import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage.PayloadType;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import com.sun.jersey.api.client.ClientHandler;
 import com.sun.jersey.api.client.GenericType;
@@ -64,6 +66,11 @@ public class TaskClient extends ClientBase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskClient.class);
 
+    private static final String OUTPUT_DATA_FIELD = "outputData";
+
+    private static final byte[] OUTPUT_DATA_FIELD_PREFIX =
+            ("\"" + OUTPUT_DATA_FIELD + "\":").getBytes(StandardCharsets.UTF_8);
+
     /** Creates a default task client */
     public TaskClient() {
         this(new DefaultClientConfig(), new DefaultConductorClientConfiguration(), null);
@@ -235,15 +242,48 @@ public class TaskClient extends ClientBase {
         postForEntityWithRequestOnly("tasks", taskResult);
     }
 
+    /**
+     * Updates the result of a task execution with a task result serialized by {@link
+     * #evaluateAndSerializeTaskResult(TaskResult, String)}, without serializing it again.
+     *
+     * @param serializedTaskResult the JSON serialized {@link TaskResult} to be updated.
+     */
+    public void updateSerializedTaskResult(byte[] serializedTaskResult) {
+        Preconditions.checkNotNull(serializedTaskResult, "Task result cannot be null");
+        postForEntityWithRequestOnly("tasks", serializedTaskResult);
+    }
+
+    /**
+     * Evaluates the size of the task output payload. If it is bigger than {@link
+     * ConductorClientConfiguration#getTaskOutputPayloadThresholdKB()}, the task output is uploaded
+     * to {@link ExternalPayloadStorage}, if enabled, else the task is marked as
+     * FAILED_WITH_TERMINAL_ERROR.
+     *
+     * @param taskResult the {@link TaskResult} of the executed task to be evaluated.
+     * @param taskType the type of the task
+     */
     public void evaluateAndUploadLargePayload(TaskResult taskResult, String taskType) {
+        evaluateAndSerializeTaskResult(taskResult, taskType);
+    }
+
+    /**
+     * Evaluates the size of the task output payload as {@link
+     * #evaluateAndUploadLargePayload(TaskResult, String)} does, and returns the serialized task
+     * result. The task output is serialized once, and the same bytes are used to measure the
+     * payload size and in the request body of {@link #updateSerializedTaskResult(byte[])}.
+     *
+     * @param taskResult the {@link TaskResult} of the executed task to be evaluated.
+     * @param taskType the type of the task
+     * @return the JSON serialized task result, as it is to be updated
+     */
+    public byte[] evaluateAndSerializeTaskResult(TaskResult taskResult, String taskType) {
         Preconditions.checkNotNull(taskResult, "Task result cannot be null");
         Preconditions.checkArgument(
                 StringUtils.isBlank(taskResult.getExternalOutputPayloadStoragePath()),
                 "External Storage Path must not be set");
 
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            objectMapper.writeValue(byteArrayOutputStream, taskResult.getOutputData());
-            byte[] taskOutputBytes = byteArrayOutputStream.toByteArray();
+        try {
+            byte[] taskOutputBytes = objectMapper.writeValueAsBytes(taskResult.getOutputData());
             long taskResultSize = taskOutputBytes.length;
             MetricsContainer.recordTaskResultPayloadSize(taskType, taskResultSize);
 
@@ -273,7 +313,10 @@ public class TaskClient extends ClientBase {
                     taskResult.setExternalOutputPayloadStoragePath(externalStoragePath);
                     taskResult.setOutputData(null);
                 }
+                // the output is no longer part of the task result
+                return objectMapper.writeValueAsBytes(taskResult);
             }
+            return writeTaskResult(taskResult, taskOutputBytes);
         } catch (IOException e) {
             String errorMsg =
                     String.format(
@@ -283,6 +326,42 @@ public class TaskClient extends ClientBase {
         }
     }
 
+    /**
+     * Serializes the task result with the given bytes of its serialized output, which are copied
+     * as they are after the other fields of the task result.
+     */
+    private byte[] writeTaskResult(TaskResult taskResult, byte[] taskOutputBytes)
+            throws IOException {
+        Map<String, Object> outputData = taskResult.getOutputData();
+        taskResult.setOutputData(null);
+        byte[] taskResultBytes;
+        boolean hasFields;
+        try {
+            ObjectNode taskResultNode = objectMapper.valueToTree(taskResult);
+            taskResultNode.remove(OUTPUT_DATA_FIELD);
+            taskResultBytes = objectMapper.writeValueAsBytes(taskResultNode);
+            hasFields = taskResultNode.size() > 0;
+        } finally {
+            taskResult.setOutputData(outputData);
+        }
+
+        ByteArrayOutputStream out =
+                new ByteArrayOutputStream(
+                        taskResultBytes.length
+                                + OUTPUT_DATA_FIELD_PREFIX.length
+                                + taskOutputBytes.length
+                                + 1);
+        // the serialized task result ends with the closing brace of its object
+        out.write(taskResultBytes, 0, taskResultBytes.length - 1);
+        if (hasFields) {
+            out.write(',');
+        }
+        out.write(OUTPUT_DATA_FIELD_PREFIX);
+        out.write(taskOutputBytes);
+        out.write('}');
+        return out.toByteArray();
+    }
+
     /**
      * Ack for the task poll.
      *
@@ -26,7 +26,10 @@ import com.netflix.conductor.client.exception.ConductorClientException;
 import com.netflix.conductor.client.telemetry.MetricsContainer;
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJob;
+import com.netflix.conductor.common.model.BulkJobRequest;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -109,6 +112,57 @@ public class WorkflowClient extends ClientBase {
      *     ConductorClientConfiguration#getWorkflowInputMaxPayloadThresholdKB()}
      */
     public String startWorkflow(StartWorkflowRequest startWorkflowRequest) {
+        String version = prepareStartWorkflowRequest(startWorkflowRequest);
+        try {
+            return postForEntity(
+                    "workflow",
+                    startWorkflowRequest,
+                    null,
+                    String.class,
+                    startWorkflowRequest.getName());
+        } catch (ConductorClientException e) {
+            String errorMsg =
+                    String.format(
+                            "Unable to send start workflow request:%s, version:%s",
+                            startWorkflowRequest.getName(), version);
+            LOGGER.error(errorMsg, e);
+            MetricsContainer.incrementWorkflowStartErrorCount(startWorkflowRequest.getName(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the workflows of the given requests in a single call. The workflow input payloads are
+     * handled as in {@link #startWorkflow(StartWorkflowRequest)}. The workflows are not decided
+     * before the call returns, their first tasks are scheduled by the server shortly after.
+     *
+     * @param startWorkflowRequests the {@link StartWorkflowRequest} objects to start the workflows
+     * @return the {@link BulkStartWorkflowResponse} with the ids of the started workflows and the
+     *     errors, by position of their request
+     * @throws ConductorClientException if one of the payloads cannot be handled, in which case no
+     *     workflow is started
+     */
+    public BulkStartWorkflowResponse startWorkflows(
+            List<StartWorkflowRequest> startWorkflowRequests) {
+        Preconditions.checkArgument(
+                startWorkflowRequests != null && !startWorkflowRequests.isEmpty(),
+                "StartWorkflowRequest list cannot be null or empty");
+        startWorkflowRequests.forEach(this::prepareStartWorkflowRequest);
+        return postForEntity(
+                "workflow/bulk/start",
+                startWorkflowRequests,
+                null,
+                BulkStartWorkflowResponse.class);
+    }
+
+    /**
+     * Validates the given request and uploads its input payload to {@link ExternalPayloadStorage}
+     * when it is bigger than {@link
+     * ConductorClientConfiguration#getWorkflowInputPayloadThresholdKB()}.
+     *
+     * @return the requested version of the workflow, for logging
+     */
+    private String prepareStartWorkflowRequest(StartWorkflowRequest startWorkflowRequest) {
         Preconditions.checkNotNull(startWorkflowRequest, "StartWorkflowRequest cannot be null");
         Preconditions.checkArgument(
                 StringUtils.isNotBlank(startWorkflowRequest.getName()),
@@ -163,22 +217,7 @@ public class WorkflowClient extends ClientBase {
             MetricsContainer.incrementWorkflowStartErrorCount(startWorkflowRequest.getName(), e);
             throw new ConductorClientException(errorMsg, e);
         }
-        try {
-            return postForEntity(
-                    "workflow",
-                    startWorkflowRequest,
-                    null,
-                    String.class,
-                    startWorkflowRequest.getName());
-        } catch (ConductorClientException e) {
-            String errorMsg =
-                    String.format(
-                            "Unable to send start workflow request:%s, version:%s",
-                            startWorkflowRequest.getName(), version);
-            LOGGER.error(errorMsg, e);
-            MetricsContainer.incrementWorkflowStartErrorCount(startWorkflowRequest.getName(), e);
-            throw e;
-        }
+        return version;
     }
 
     /**
@@ -278,6 +317,41 @@ public class WorkflowClient extends ClientBase {
                 BulkResponse.class);
     }
 
+    /**
+     * Submits an asynchronous job running an operation on all given workflows. The job is held on
+     * the server which received it, see {@link BulkJob#getServerId()}.
+     *
+     * @param request the {@link BulkJobRequest} with the operation and the ids of the workflows
+     * @return the {@link BulkJob} with the id of the job, to follow its progress
+     */
+    public BulkJob submitBulkJob(BulkJobRequest request) {
+        Preconditions.checkNotNull(request, "BulkJobRequest cannot be null");
+        Preconditions.checkArgument(
+                !request.getWorkflowIds().isEmpty(), "workflow ids cannot be empty");
+        return postForEntity("workflow/bulk/jobs", request, null, BulkJob.class);
+    }
+
+    /**
+     * Retrieves the progress of a bulk job
+     *
+     * @param jobId the id of the job
+     * @return the {@link BulkJob} with the counters of processed workflows and the errors
+     */
+    public BulkJob getBulkJob(String jobId) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(jobId), "job id cannot be blank");
+        return getForEntity("workflow/bulk/jobs/{jobId}", null, BulkJob.class, jobId);
+    }
+
+    /**
+     * Cancels a bulk job, the workflows not processed yet are skipped
+     *
+     * @param jobId the id of the job
+     */
+    public void cancelBulkJob(String jobId) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(jobId), "job id cannot be blank");
+        delete("workflow/bulk/jobs/{jobId}", jobId);
+    }
+
     /**
      * Retrieve all running workflow instances for a given name and version
      *
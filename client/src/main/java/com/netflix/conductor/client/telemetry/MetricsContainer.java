@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
 
 import com.netflix.spectator.api.BasicTag;
 import com.netflix.spectator.api.Counter;
@@ -39,6 +40,8 @@ public class MetricsContainer {
     private static final String ENTITY_NAME = "entityName";
     private static final String OPERATION = "operation";
     private static final String PAYLOAD_TYPE = "payload_type";
+    private static final String POOL_NAME = "poolName";
+    private static final String STATE = "state";
 
     private static final String TASK_EXECUTION_QUEUE_FULL = "task_execution_queue_full";
     private static final String TASK_POLL_ERROR = "task_poll_error";
@@ -50,11 +53,13 @@ public class MetricsContainer {
     private static final String TASK_POLL_COUNTER = "task_poll_counter";
     private static final String TASK_EXECUTE_TIME = "task_execute_time";
     private static final String TASK_POLL_TIME = "task_poll_time";
+    private static final String TASK_IN_FLIGHT = "task_in_flight";
     private static final String TASK_RESULT_SIZE = "task_result_size";
     private static final String WORKFLOW_INPUT_SIZE = "workflow_input_size";
     private static final String EXTERNAL_PAYLOAD_USED = "external_payload_used";
     private static final String WORKFLOW_START_ERROR = "workflow_start_error";
     private static final String THREAD_UNCAUGHT_EXCEPTION = "thread_uncaught_exceptions";
+    private static final String CONNECTION_POOL_CONNECTIONS = "connection_pool_connections";
 
     private static final Registry REGISTRY = Spectator.globalRegistry();
     private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
@@ -162,6 +167,14 @@ public class MetricsContainer {
         getCounter(TASK_POLL_COUNTER, TASK_TYPE, taskType).increment(taskCount);
     }
 
+    public static void incrementTaskInFlightCount(String taskType) {
+        getGauge(TASK_IN_FLIGHT, TASK_TYPE, taskType).incrementAndGet();
+    }
+
+    public static void decrementTaskInFlightCount(String taskType) {
+        getGauge(TASK_IN_FLIGHT, TASK_TYPE, taskType).decrementAndGet();
+    }
+
     public static void recordWorkflowInputPayloadSize(
             String workflowType, String version, long payloadSize) {
         getGauge(WORKFLOW_INPUT_SIZE, WORKFLOW_TYPE, workflowType, WORKFLOW_VERSION, version)
@@ -188,4 +201,17 @@ public class MetricsContainer {
                 EXCEPTION,
                 t.getClass().getSimpleName());
     }
+
+    /**
+     * Registers a gauge reporting the number of connections of a connection pool in the given
+     * state, polled from the pool.
+     */
+    public static <T> void registerConnectionPoolGauge(
+            String poolName, String state, T pool, ToDoubleFunction<T> connections) {
+        Id id =
+                REGISTRY.createId(
+                        CONNECTION_POOL_CONNECTIONS,
+                        getTags(new String[] {POOL_NAME, poolName, STATE, state}));
+        PolledMeter.using(REGISTRY).withId(id).monitorValue(pool, connections);
+    }
 }
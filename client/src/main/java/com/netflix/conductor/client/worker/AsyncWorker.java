@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.worker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+
+/**
+ * A {@link Worker} which executes tasks without blocking a thread for the duration of the
+ * execution, e.g. a worker calling out to a remote service with a non-blocking client.
+ *
+ * <p>When registered with the {@link com.netflix.conductor.client.automator.TaskRunnerConfigurer},
+ * the number of tasks in flight is bounded by the configured in-flight limit, not by the number of
+ * threads.
+ */
+public interface AsyncWorker extends Worker {
+
+    /**
+     * Starts the execution of a task. The method should return quickly, and complete the returned
+     * future once the task has been executed.
+     *
+     * @param task Task to be executed.
+     * @return a future of the {@link TaskResult}. If the task is not completed yet, complete the
+     *     future with the status as IN_PROGRESS.
+     */
+    CompletableFuture<TaskResult> executeAsync(Task task);
+
+    /** Executes the task synchronously, by waiting for {@link #executeAsync(Task)}. */
+    @Override
+    default TaskResult execute(Task task) {
+        return executeAsync(task).join();
+    }
+
+    static AsyncWorker create(
+            String taskType, Function<Task, CompletableFuture<TaskResult>> executor) {
+        return new AsyncWorker() {
+
+            @Override
+            public String getTaskDefName() {
+                return taskType;
+            }
+
+            @Override
+            public CompletableFuture<TaskResult> executeAsync(Task task) {
+                return executor.apply(task);
+            }
+        };
+    }
+}
@@ -13,8 +13,11 @@
 package com.netflix.conductor.client.automator;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -29,6 +32,7 @@ import org.mockito.stubbing.Answer;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.conductor.client.exception.ConductorClientException;
 import com.netflix.conductor.client.http.TaskClient;
+import com.netflix.conductor.client.worker.AsyncWorker;
 import com.netflix.conductor.client.worker.Worker;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
@@ -43,6 +47,7 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -143,6 +148,134 @@ public class TaskPollExecutorTest {
         verify(taskClient, times(3)).updateTask(any());
     }
 
+    @Test
+    public void testAsyncTasksInFlightBoundedBySemaphore() {
+        Task task = testTask();
+        List<CompletableFuture<TaskResult>> futures = new CopyOnWriteArrayList<>();
+        AsyncWorker worker =
+                AsyncWorker.create(
+                        TEST_TASK_DEF_NAME,
+                        polledTask -> {
+                            CompletableFuture<TaskResult> future = new CompletableFuture<>();
+                            futures.add(future);
+                            return future;
+                        });
+
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.pollTask(any(), any(), any())).thenReturn(task);
+        // a single async thread, but two tasks in flight
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(
+                        null, taskClient, 1, 1, 1, 2, 1, new HashMap<>(), "test-worker-%d");
+        CountDownLatch latch = new CountDownLatch(2);
+        doAnswer(
+                        invocation -> {
+                            TaskResult result = (TaskResult) invocation.getArguments()[0];
+                            assertEquals(TaskResult.Status.COMPLETED, result.getStatus());
+                            latch.countDown();
+                            return null;
+                        })
+                .when(taskClient)
+                .updateTask(any());
+
+        taskPollExecutor.pollAndExecute(worker);
+        taskPollExecutor.pollAndExecute(worker);
+        taskPollExecutor.pollAndExecute(worker);
+        while (futures.size() < 2) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+
+        // the third poll is not done while two tasks are in flight
+        verify(taskClient, times(2)).pollTask(any(), any(), any());
+
+        futures.forEach(
+                future -> {
+                    TaskResult result = new TaskResult(task);
+                    result.setStatus(TaskResult.Status.COMPLETED);
+                    future.complete(result);
+                });
+        Uninterruptibles.awaitUninterruptibly(latch);
+        verify(taskClient, times(2)).updateTask(any());
+    }
+
+    @Test
+    public void testAsyncTaskExecutionException() {
+        AsyncWorker worker =
+                AsyncWorker.create(
+                        TEST_TASK_DEF_NAME,
+                        task -> {
+                            CompletableFuture<TaskResult> future = new CompletableFuture<>();
+                            future.completeExceptionally(new IllegalStateException());
+                            return future;
+                        });
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.pollTask(any(), any(), any())).thenReturn(testTask());
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(
+                        null, taskClient, 1, 1, 1, 1, 1, new HashMap<>(), "test-worker-%d");
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            assertEquals("update-test-worker-1", Thread.currentThread().getName());
+                            TaskResult result = (TaskResult) invocation.getArguments()[0];
+                            assertEquals(TaskResult.Status.FAILED, result.getStatus());
+                            latch.countDown();
+                            return null;
+                        })
+                .when(taskClient)
+                .updateTask(any());
+
+        taskPollExecutor.pollAndExecute(worker);
+
+        Uninterruptibles.awaitUninterruptibly(latch);
+        verify(taskClient).updateTask(any());
+    }
+
+    @Test
+    public void testAsyncTaskRejectedReleasesPermit() {
+        AsyncWorker worker =
+                AsyncWorker.create(TEST_TASK_DEF_NAME, task -> new CompletableFuture<>());
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.pollTask(any(), any(), any())).thenReturn(testTask());
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(
+                        null, taskClient, 1, 1, 1, 1, 1, new HashMap<>(), "test-worker-%d");
+        taskPollExecutor.shutdown(1);
+
+        taskPollExecutor.pollAndExecute(worker);
+        taskPollExecutor.pollAndExecute(worker);
+
+        // the permit of the rejected task is released, so the second poll is done
+        verify(taskClient, times(2)).pollTask(any(), any(), any());
+        verify(taskClient, never()).updateTask(any());
+    }
+
+    @Test
+    public void testTaskUpdatedWithSerializedResult() {
+        Worker worker = Worker.create(TEST_TASK_DEF_NAME, TaskResult::new);
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.pollTask(any(), any(), any())).thenReturn(testTask());
+        byte[] serializedResult = new byte[] {'{', '}'};
+        when(taskClient.evaluateAndSerializeTaskResult(any(TaskResult.class), any()))
+                .thenReturn(serializedResult);
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(null, taskClient, 1, 1, new HashMap<>(), "test-worker-%d");
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            latch.countDown();
+                            return null;
+                        })
+                .when(taskClient)
+                .updateSerializedTaskResult(any());
+
+        taskPollExecutor.pollAndExecute(worker);
+
+        Uninterruptibles.awaitUninterruptibly(latch);
+        verify(taskClient).updateSerializedTaskResult(serializedResult);
+        verify(taskClient, never()).updateTask(any());
+    }
+
     @Test
     public void testLargePayloadCanFailUpdateWithRetry() {
         Task task = testTask();
@@ -165,7 +298,7 @@ public class TaskPollExecutorTest {
                             throw new ConductorClientException();
                         })
                 .when(taskClient)
-                .evaluateAndUploadLargePayload(any(TaskResult.class), any());
+                .evaluateAndSerializeTaskResult(any(TaskResult.class), any());
 
         TaskPollExecutor taskPollExecutor =
                 new TaskPollExecutor(null, taskClient, 1, 3, new HashMap<>(), "test-worker-");
@@ -183,7 +316,7 @@ public class TaskPollExecutorTest {
                         () -> taskPollExecutor.pollAndExecute(worker), 0, 1, TimeUnit.SECONDS);
         Uninterruptibles.awaitUninterruptibly(latch);
 
-        // When evaluateAndUploadLargePayload fails indefinitely, task update shouldn't be called.
+        // When evaluateAndSerializeTaskResult fails indefinitely, task update shouldn't be called.
         verify(taskClient, times(0)).updateTask(any());
     }
 
@@ -15,6 +15,7 @@ package com.netflix.conductor.client.http;
 import java.lang.reflect.ParameterizedType;
 import java.net.URI;
 import java.util.Collections;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -22,16 +23,21 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.netflix.conductor.client.config.DefaultConductorClientConfiguration;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.jersey.api.client.ClientHandler;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.GenericType;
 import com.sun.jersey.api.client.config.ClientConfig;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -176,4 +182,77 @@ public class TaskClientTest {
         assertEquals(1, searchResult.getTotalHits());
         assertEquals(Collections.singletonList(task), searchResult.getResults());
     }
+
+    @Test
+    public void testEvaluateAndUploadLargePayloadReturnsSerializedResult() throws Exception {
+        TaskResult taskResult = new TaskResult();
+        taskResult.setTaskId("taskId");
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        taskResult.setOutputData(Collections.singletonMap("key", "value"));
+
+        byte[] serializedResult = taskClient.evaluateAndSerializeTaskResult(taskResult, "taskType");
+
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        TaskResult deserializedResult = objectMapper.readValue(serializedResult, TaskResult.class);
+        assertEquals("taskId", deserializedResult.getTaskId());
+        assertEquals(TaskResult.Status.COMPLETED, deserializedResult.getStatus());
+        assertEquals("value", deserializedResult.getOutputData().get("key"));
+    }
+
+    @Test
+    public void testEvaluateAndUploadLargePayloadFailsTooLargeResult() throws Exception {
+        TaskClient smallPayloadTaskClient =
+                new TaskClient(
+                        clientConfig,
+                        new DefaultConductorClientConfiguration() {
+                            @Override
+                            public int getTaskOutputPayloadThresholdKB() {
+                                return 1;
+                            }
+                        },
+                        clientHandler);
+        TaskResult taskResult = new TaskResult();
+        taskResult.setTaskId("taskId");
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        Map<String, Object> outputData =
+                Collections.singletonMap("key", String.join("", Collections.nCopies(2048, "a")));
+        taskResult.setOutputData(outputData);
+
+        byte[] serializedResult =
+                smallPayloadTaskClient.evaluateAndSerializeTaskResult(taskResult, "taskType");
+
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        TaskResult deserializedResult = objectMapper.readValue(serializedResult, TaskResult.class);
+        assertEquals(TaskResult.Status.FAILED_WITH_TERMINAL_ERROR, deserializedResult.getStatus());
+        assertNull(deserializedResult.getOutputData().get("key"));
+    }
+
+    @Test
+    public void testEvaluateAndUploadLargePayloadMeasuresOutputOnly() throws Exception {
+        TaskClient smallPayloadTaskClient =
+                new TaskClient(
+                        clientConfig,
+                        new DefaultConductorClientConfiguration() {
+                            @Override
+                            public int getTaskOutputPayloadThresholdKB() {
+                                return 1;
+                            }
+                        },
+                        clientHandler);
+        TaskResult taskResult = new TaskResult();
+        taskResult.setTaskId("taskId");
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        taskResult.setOutputData(Collections.singletonMap("key", "value"));
+        taskResult.log(String.join("", Collections.nCopies(2048, "a")));
+
+        byte[] serializedResult =
+                smallPayloadTaskClient.evaluateAndSerializeTaskResult(taskResult, "taskType");
+
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        TaskResult deserializedResult = objectMapper.readValue(serializedResult, TaskResult.class);
+        assertEquals(TaskResult.Status.COMPLETED, deserializedResult.getStatus());
+        assertEquals("value", deserializedResult.getOutputData().get("key"));
+        assertEquals(1, deserializedResult.getLogs().size());
+        assertEquals("value", taskResult.getOutputData().get("key"));
+    }
 }
@@ -15,13 +15,14 @@ package com.netflix.conductor.common.config;
 import com.netflix.conductor.common.jackson.JsonProtoModule;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * A Factory class for creating a customized {@link ObjectMapper}. This is only used by the
- * conductor-client module and tests that rely on {@link ObjectMapper}. See
- * TestObjectMapperConfiguration.
+ * conductor-client module, the default payload mappers of conductor-grpc and tests that rely on
+ * {@link ObjectMapper}. See TestObjectMapperConfiguration.
  */
 public class ObjectMapperProvider {
 
@@ -38,7 +39,21 @@ public class ObjectMapperProvider {
      * @see org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration
      */
     public ObjectMapper getObjectMapper() {
-        final ObjectMapper objectMapper = new ObjectMapper();
+        return customize(new ObjectMapper());
+    }
+
+    /**
+     * Same as {@link #getObjectMapper()}, but reading and writing the data format of the given
+     * factory, e.g. a binary format such as CBOR.
+     *
+     * @param jsonFactory the factory of the parsers and generators of the data format
+     * @return the customized {@link ObjectMapper}
+     */
+    public ObjectMapper getObjectMapper(JsonFactory jsonFactory) {
+        return customize(new ObjectMapper(jsonFactory));
+    }
+
+    private ObjectMapper customize(ObjectMapper objectMapper) {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES, false);
         objectMapper.configure(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES, false);
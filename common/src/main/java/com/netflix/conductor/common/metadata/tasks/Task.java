@@ -76,7 +76,7 @@ public class Task {
     @ProtoField(id = 2)
     private Status status;
 
-    @ProtoField(id = 3)
+    @ProtoField(id = 3, bytesId = 43)
     private Map<String, Object> inputData = new HashMap<>();
 
     @ProtoField(id = 4)
@@ -149,7 +149,7 @@ public class Task {
     @ProtoField(id = 25)
     private String workerId;
 
-    @ProtoField(id = 26)
+    @ProtoField(id = 26, bytesId = 44)
     private Map<String, Object> outputData = new HashMap<>();
 
     @ProtoField(id = 27)
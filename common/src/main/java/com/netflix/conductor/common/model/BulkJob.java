@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Status of an asynchronous bulk operation on a list of workflows. The counters are updated as each
+ * workflow is processed. Only the failed workflows are reported individually, with their error
+ * message.
+ *
+ * <p>The job is held in memory on the server which received it, and can only be retrieved or
+ * cancelled on that server.
+ */
+public class BulkJob {
+
+    public enum Operation {
+        PAUSE,
+        RESUME,
+        RESTART,
+        RETRY,
+        TERMINATE
+    }
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+
+    private String jobId;
+    private String serverId;
+    private Operation operation;
+    private Status status;
+    private int total;
+    private int processed;
+    private int succeeded;
+
+    /**
+     * Key - workflowId Value - error message processing this workflow. Bounded by
+     * conductor.app.bulkJobMaxErrors, the number of failed workflows being processed - succeeded.
+     */
+    private Map<String, String> errors = new HashMap<>();
+
+    private long createTime;
+    private long endTime;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    /** @return the server holding the job, to which the requests for the job must be sent */
+    public String getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(String serverId) {
+        this.serverId = serverId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /** @return the number of workflows of the job */
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    /** @return the number of workflows processed so far, successfully or not */
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(long createTime) {
+        this.createTime = createTime;
+    }
+
+    /** @return the time the job completed or was cancelled, 0 while it is running */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkJob)) {
+            return false;
+        }
+        BulkJob bulkJob = (BulkJob) o;
+        return total == bulkJob.total
+                && processed == bulkJob.processed
+                && succeeded == bulkJob.succeeded
+                && createTime == bulkJob.createTime
+                && endTime == bulkJob.endTime
+                && Objects.equals(jobId, bulkJob.jobId)
+                && Objects.equals(serverId, bulkJob.serverId)
+                && operation == bulkJob.operation
+                && status == bulkJob.status
+                && Objects.equals(errors, bulkJob.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                jobId,
+                serverId,
+                operation,
+                status,
+                total,
+                processed,
+                succeeded,
+                errors,
+                createTime,
+                endTime);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkJob{"
+                + "jobId='"
+                + jobId
+                + '\''
+                + ", serverId='"
+                + serverId
+                + '\''
+                + ", operation="
+                + operation
+                + ", status="
+                + status
+                + ", total="
+                + total
+                + ", processed="
+                + processed
+                + ", succeeded="
+                + succeeded
+                + ", errors="
+                + errors.size()
+                + '}';
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/** Request to run an operation on a list of workflows as an asynchronous {@link BulkJob}. */
+public class BulkJobRequest {
+
+    public static final int MAX_JOB_ITEMS = 1_000_000;
+
+    @NotNull(message = "Operation cannot be null")
+    private BulkJob.Operation operation;
+
+    @NotEmpty(message = "WorkflowIds list cannot be null.")
+    @Size(
+            max = MAX_JOB_ITEMS,
+            message = "Cannot process more than {max} workflows. Please use multiple jobs.")
+    private List<String> workflowIds = new ArrayList<>();
+
+    /** Reason of the termination, used by {@link BulkJob.Operation#TERMINATE}. */
+    private String reason;
+
+    /**
+     * Whether to restart with the latest definitions, used by {@link BulkJob.Operation#RESTART}.
+     */
+    private boolean useLatestDefinitions;
+
+    public BulkJob.Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BulkJob.Operation operation) {
+        this.operation = operation;
+    }
+
+    public List<String> getWorkflowIds() {
+        return workflowIds;
+    }
+
+    public void setWorkflowIds(List<String> workflowIds) {
+        this.workflowIds = workflowIds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public boolean isUseLatestDefinitions() {
+        return useLatestDefinitions;
+    }
+
+    public void setUseLatestDefinitions(boolean useLatestDefinitions) {
+        this.useLatestDefinitions = useLatestDefinitions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkJobRequest)) {
+            return false;
+        }
+        BulkJobRequest that = (BulkJobRequest) o;
+        return useLatestDefinitions == that.useLatestDefinitions
+                && operation == that.operation
+                && Objects.equals(workflowIds, that.workflowIds)
+                && Objects.equals(reason, that.reason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, workflowIds, reason, useLatestDefinitions);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkJobRequest{"
+                + "operation="
+                + operation
+                + ", workflowIds="
+                + workflowIds.size()
+                + ", reason='"
+                + reason
+                + '\''
+                + ", useLatestDefinitions="
+                + useLatestDefinitions
+                + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Response object of a bulk workflow start. Each start request is identified by its position in the
+ * list of requests, and is either in the map of started workflows or in the map of failed ones,
+ * including the error message.
+ */
+public class BulkStartWorkflowResponse {
+
+    /** Key - position of the request Value - id of the started workflow */
+    private final Map<Integer, String> workflowIds;
+
+    /** Key - position of the request Value - error message starting this workflow */
+    private final Map<Integer, String> errors;
+
+    public BulkStartWorkflowResponse() {
+        this.workflowIds = new HashMap<>();
+        this.errors = new HashMap<>();
+    }
+
+    public Map<Integer, String> getWorkflowIds() {
+        return workflowIds;
+    }
+
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    public void appendSuccessResponse(int index, String workflowId) {
+        workflowIds.put(index, workflowId);
+    }
+
+    public void appendFailedResponse(int index, String errorMessage) {
+        errors.put(index, errorMessage);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkStartWorkflowResponse)) {
+            return false;
+        }
+        BulkStartWorkflowResponse that = (BulkStartWorkflowResponse) o;
+        return Objects.equals(workflowIds, that.workflowIds) && Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(workflowIds, errors);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkStartWorkflowResponse{"
+                + "workflowIds="
+                + workflowIds
+                + ", errors="
+                + errors
+                + '}';
+    }
+}
@@ -42,6 +42,8 @@ public class KafkaProducerManager {
     private final String requestTimeoutConfig;
     private final Cache<Properties, Producer> kafkaProducerCache;
     private final String maxBlockMsConfig;
+    private final String lingerMsConfig;
+    private final String batchSizeConfig;
 
     private static final String STRING_SERIALIZER =
             "org.apache.kafka.common.serialization.StringSerializer";
@@ -58,9 +60,13 @@ public class KafkaProducerManager {
             @Value("${conductor.tasks.kafka-publish.requestTimeout:100ms}") Duration requestTimeout,
             @Value("${conductor.tasks.kafka-publish.maxBlock:500ms}") Duration maxBlock,
             @Value("${conductor.tasks.kafka-publish.cacheSize:10}") int cacheSize,
-            @Value("${conductor.tasks.kafka-publish.cacheTime:120000ms}") Duration cacheTime) {
+            @Value("${conductor.tasks.kafka-publish.cacheTime:120000ms}") Duration cacheTime,
+            @Value("${conductor.tasks.kafka-publish.linger:5ms}") Duration linger,
+            @Value("${conductor.tasks.kafka-publish.batchSize:65536}") int batchSize) {
         this.requestTimeoutConfig = String.valueOf(requestTimeout.toMillis());
         this.maxBlockMsConfig = String.valueOf(maxBlock.toMillis());
+        this.lingerMsConfig = String.valueOf(linger.toMillis());
+        this.batchSizeConfig = String.valueOf(batchSize);
         this.kafkaProducerCache =
                 CacheBuilder.newBuilder()
                         .removalListener(LISTENER)
@@ -103,8 +109,25 @@ public class KafkaProducerManager {
             maxBlockMs = String.valueOf(input.getMaxBlockMs());
         }
 
+        // The producers are cached by their properties, so that the linger and batch size set on
+        // the input tune the producer of a given cluster, which batches the records of all the
+        // tasks publishing to it.
+        String lingerMs = lingerMsConfig;
+
+        if (Objects.nonNull(input.getLingerMs())) {
+            lingerMs = String.valueOf(input.getLingerMs());
+        }
+
+        String batchSize = batchSizeConfig;
+
+        if (Objects.nonNull(input.getBatchSize())) {
+            batchSize = String.valueOf(input.getBatchSize());
+        }
+
         configProperties.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
         configProperties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        configProperties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProperties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
         configProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, STRING_SERIALIZER);
         return configProperties;
     }
@@ -12,15 +12,24 @@
  */
 package com.netflix.conductor.contribs.tasks.kafka;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -32,16 +41,20 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
 import com.netflix.conductor.core.utils.Utils;
+import com.netflix.conductor.metrics.Monitors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_KAFKA_PUBLISH;
 
@@ -61,24 +74,41 @@ public class KafkaPublishTask extends WorkflowSystemTask {
     private static final String MISSING_KAFKA_VALUE =
             "Missing Kafka value.  See documentation for KafkaTask for required input parameters";
     private static final String FAILED_TO_INVOKE = "Failed to invoke kafka task due to: ";
+    private static final String NO_ACKNOWLEDGEMENT =
+            "No acknowledgement received for the published message";
+    private static final long UPDATE_RETRY_DELAY_MILLIS = 500;
 
     private final ObjectMapper objectMapper;
     private final String requestParameter;
     private final KafkaProducerManager producerManager;
+    private final long ackTimeoutMillis;
+    private final AtomicInteger inFlightSends = new AtomicInteger();
+    private final ScheduledExecutorService callbackExecutor;
 
     @Autowired
-    public KafkaPublishTask(KafkaProducerManager clientManager, ObjectMapper objectMapper) {
+    public KafkaPublishTask(
+            KafkaProducerManager clientManager,
+            ObjectMapper objectMapper,
+            @Value("${conductor.tasks.kafka-publish.callbackThreadCount:4}")
+                    int callbackThreadCount,
+            @Value("${conductor.tasks.kafka-publish.ackTimeout:120s}") Duration ackTimeout) {
         super(TASK_TYPE_KAFKA_PUBLISH);
         this.requestParameter = REQUEST_PARAMETER_NAME;
         this.producerManager = clientManager;
         this.objectMapper = objectMapper;
+        this.ackTimeoutMillis = ackTimeout.toMillis();
+        this.callbackExecutor =
+                Executors.newScheduledThreadPool(
+                        callbackThreadCount,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("kafka-publish-callback-%d")
+                                .build());
         LOGGER.info("KafkaTask initialized.");
     }
 
     @Override
     public void start(Workflow workflow, Task task, WorkflowExecutor executor) {
 
-        long taskStartMillis = Instant.now().toEpochMilli();
         task.setWorkerId(Utils.getServerId());
         Object request = task.getInputData().get(requestParameter);
 
@@ -104,32 +134,120 @@ public class KafkaPublishTask extends WorkflowSystemTask {
             return;
         }
 
+        // The task is updated with the result of the send by the producer callback, so that the
+        // system task worker thread does not wait for the broker acknowledgement.
+        task.setStatus(Task.Status.IN_PROGRESS);
+        String taskId = task.getTaskId();
+        boolean asyncComplete = isAsyncComplete(task);
+        long sendStartMillis = Instant.now().toEpochMilli();
+        long updateDeadlineMillis = sendStartMillis + ackTimeoutMillis;
+        Thread startThread = Thread.currentThread();
+        AtomicBoolean sendReturned = new AtomicBoolean();
+        AtomicBoolean sendCompleted = new AtomicBoolean();
+        AtomicBoolean completedWithinSend = new AtomicBoolean();
+        AtomicReference<String> sendFailure = new AtomicReference<>();
+        Monitors.recordKafkaPublishInFlight(inFlightSends.incrementAndGet());
         try {
-            Future<RecordMetadata> recordMetaDataFuture = kafkaPublish(input);
-            try {
-                recordMetaDataFuture.get();
-                if (isAsyncComplete(task)) {
-                    task.setStatus(Task.Status.IN_PROGRESS);
-                } else {
-                    task.setStatus(Task.Status.COMPLETED);
-                }
-                long timeTakenToCompleteTask = Instant.now().toEpochMilli() - taskStartMillis;
-                LOGGER.debug("Published message {}, Time taken {}", input, timeTakenToCompleteTask);
-
-            } catch (ExecutionException ec) {
-                LOGGER.error(
-                        "Failed to invoke kafka task: {} - execution exception ",
-                        task.getTaskId(),
-                        ec);
-                markTaskAsFailed(task, FAILED_TO_INVOKE + ec.getMessage());
-            }
+            kafkaPublish(
+                    input,
+                    (metadata, exception) -> {
+                        if (!sendCompleted.compareAndSet(false, true)) {
+                            return;
+                        }
+                        Monitors.recordKafkaPublishInFlight(inFlightSends.decrementAndGet());
+                        long ackTime = Instant.now().toEpochMilli() - sendStartMillis;
+                        Monitors.recordKafkaPublishAckTime(ackTime);
+                        LOGGER.debug("Published message {}, Time taken {}", input, ackTime);
+                        if (exception == null && asyncComplete) {
+                            // left IN_PROGRESS, to be completed by an external update
+                            return;
+                        }
+                        if (exception != null) {
+                            LOGGER.error(
+                                    "Failed to invoke kafka task: {} - execution exception ",
+                                    taskId,
+                                    exception);
+                        }
+                        String reasonForIncompletion =
+                                exception == null
+                                        ? null
+                                        : FAILED_TO_INVOKE + exception.getMessage();
+                        if (Thread.currentThread() == startThread && !sendReturned.get()) {
+                            // completed within the send, the result is persisted with the start
+                            sendFailure.set(reasonForIncompletion);
+                            completedWithinSend.set(true);
+                            return;
+                        }
+                        callbackExecutor.execute(
+                                () ->
+                                        updateTask(
+                                                taskId,
+                                                reasonForIncompletion,
+                                                executor,
+                                                updateDeadlineMillis));
+                    });
+            sendReturned.set(true);
         } catch (Exception e) {
             LOGGER.error(
                     "Failed to invoke kafka task:{} for input {} - unknown exception",
-                    task.getTaskId(),
+                    taskId,
                     input,
                     e);
-            markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
+            if (sendCompleted.compareAndSet(false, true)) {
+                Monitors.recordKafkaPublishInFlight(inFlightSends.decrementAndGet());
+                markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
+                return;
+            }
+        }
+        if (!completedWithinSend.get()) {
+            return;
+        }
+        if (sendFailure.get() == null) {
+            task.setStatus(Task.Status.COMPLETED);
+        } else {
+            markTaskAsFailed(task, sendFailure.get());
+        }
+    }
+
+    /**
+     * Updates the task with the result of its send through {@link WorkflowExecutor#updateTask},
+     * once the system task worker has persisted the start of the task, so that the result is not
+     * overwritten by the start. Until then, or while the update fails, the update is retried until
+     * the ack timeout has elapsed, after which the task is failed by its next execution.
+     *
+     * @param reasonForIncompletion null if the record was acknowledged
+     */
+    private void updateTask(
+            String taskId,
+            String reasonForIncompletion,
+            WorkflowExecutor executor,
+            long updateDeadlineMillis) {
+        try {
+            Task task = executor.getTask(taskId);
+            if (task == null || task.getStatus().isTerminal()) {
+                return;
+            }
+            if (task.getStatus() == Task.Status.IN_PROGRESS) {
+                TaskResult taskResult = new TaskResult(task);
+                if (reasonForIncompletion == null) {
+                    taskResult.setStatus(TaskResult.Status.COMPLETED);
+                } else {
+                    taskResult.setStatus(TaskResult.Status.FAILED);
+                    taskResult.setReasonForIncompletion(reasonForIncompletion);
+                }
+                executor.updateTask(taskResult);
+                return;
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to update kafka task: {}", taskId, e);
+        }
+        if (System.currentTimeMillis() + UPDATE_RETRY_DELAY_MILLIS < updateDeadlineMillis) {
+            callbackExecutor.schedule(
+                    () -> updateTask(taskId, reasonForIncompletion, executor, updateDeadlineMillis),
+                    UPDATE_RETRY_DELAY_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            LOGGER.warn("Gave up updating kafka task: {} with the result of its send", taskId);
         }
     }
 
@@ -140,10 +258,11 @@ public class KafkaPublishTask extends WorkflowSystemTask {
 
     /**
      * @param input Kafka Request
+     * @param callback invoked once the record is acknowledged, or failed
      * @return Future for execution.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Future<RecordMetadata> kafkaPublish(Input input) throws Exception {
+    private Future<RecordMetadata> kafkaPublish(Input input, Callback callback) throws Exception {
 
         long startPublishingEpochMillis = Instant.now().toEpochMilli();
 
@@ -172,7 +291,7 @@ public class KafkaPublishTask extends WorkflowSystemTask {
                         objectMapper.writeValueAsString(input.getValue()),
                         headers);
 
-        Future send = producer.send(rec);
+        Future send = producer.send(rec, callback);
 
         long timeTakenToPublish = Instant.now().toEpochMilli() - startPublishingEpochMillis;
 
@@ -194,9 +313,25 @@ public class KafkaPublishTask extends WorkflowSystemTask {
         }
     }
 
+    /**
+     * Called when the persisted task is still IN_PROGRESS after the system task callback time. The
+     * producer acknowledges or fails every send within its delivery timeout, so once the ack
+     * timeout has elapsed since the start of the task, the result of its send was lost (e.g. on a
+     * restart), and the task is failed to be retried as per its definition.
+     */
     @Override
     public boolean execute(Workflow workflow, Task task, WorkflowExecutor executor) {
-        return false;
+        if (isAsyncComplete(task)
+                || System.currentTimeMillis() - task.getStartTime() < ackTimeoutMillis) {
+            return false;
+        }
+        markTaskAsFailed(task, NO_ACKNOWLEDGEMENT);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callbackExecutor.shutdown();
     }
 
     @Override
@@ -218,6 +353,8 @@ public class KafkaPublishTask extends WorkflowSystemTask {
         private Object value;
         private Integer requestTimeoutMs;
         private Integer maxBlockMs;
+        private Integer lingerMs;
+        private Integer batchSize;
         private String topic;
         private String keySerializer = STRING_SERIALIZER;
 
@@ -285,6 +422,22 @@ public class KafkaPublishTask extends WorkflowSystemTask {
             this.maxBlockMs = maxBlockMs;
         }
 
+        public Integer getLingerMs() {
+            return lingerMs;
+        }
+
+        public void setLingerMs(Integer lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public Integer getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+        }
+
         @Override
         public String toString() {
             return "Input{"
@@ -301,6 +454,10 @@ public class KafkaPublishTask extends WorkflowSystemTask {
                     + requestTimeoutMs
                     + ", maxBlockMs="
                     + maxBlockMs
+                    + ", lingerMs="
+                    + lingerMs
+                    + ", batchSize="
+                    + batchSize
                     + ", topic='"
                     + topic
                     + '\''
@@ -31,6 +31,7 @@ import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.events.queue.DefaultEventQueueProcessor;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.events.queue.ObservableQueue;
@@ -49,6 +50,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("unchecked")
@@ -70,7 +73,8 @@ public class DefaultEventQueueProcessorTest {
         Map<Status, ObservableQueue> queues = new HashMap<>();
         queues.put(Status.COMPLETED, queue);
         defaultEventQueueProcessor =
-                new DefaultEventQueueProcessor(queues, executionService, objectMapper);
+                new DefaultEventQueueProcessor(
+                        queues, executionService, objectMapper, new ConductorProperties());
     }
 
     @BeforeClass
@@ -97,6 +101,7 @@ public class DefaultEventQueueProcessorTest {
         task0.setTaskId("t0");
         task0.setReferenceTaskName("t0");
         task0.setTaskType(TASK_TYPE_WAIT);
+        task0.setWorkflowInstanceId("v_0");
         Workflow workflow0 = new Workflow();
         workflow0.setWorkflowId("v_0");
         workflow0.getTasks().add(task0);
@@ -105,6 +110,7 @@ public class DefaultEventQueueProcessorTest {
         task2.setStatus(Status.IN_PROGRESS);
         task2.setTaskId("t2");
         task2.setTaskType(TASK_TYPE_WAIT);
+        task2.setWorkflowInstanceId("v_2");
         Workflow workflow2 = new Workflow();
         workflow2.setWorkflowId("v_2");
         workflow2.getTasks().add(task2);
@@ -123,8 +129,10 @@ public class DefaultEventQueueProcessorTest {
         assertNotNull(executionService);
 
         doReturn(workflow0).when(executionService).getExecutionStatus(eq("v_0"), anyBoolean());
+        doReturn(task0).when(executionService).getPendingTaskForWorkflow("t0", "v_0");
 
         doReturn(workflow2).when(executionService).getExecutionStatus(eq("v_2"), anyBoolean());
+        doReturn(task2).when(executionService).getTask("v_2", "t2");
 
         doAnswer(
                         (Answer<Void>)
@@ -143,6 +151,7 @@ public class DefaultEventQueueProcessorTest {
         Uninterruptibles.sleepUninterruptibly(1_000, TimeUnit.MILLISECONDS);
 
         assertTrue(updatedTasks.stream().anyMatch(task -> task.getTaskId().equals("t0")));
+        verify(executionService, never()).getExecutionStatus(eq("v_0"), anyBoolean());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -157,5 +166,6 @@ public class DefaultEventQueueProcessorTest {
         defaultEventQueueProcessor.updateByTaskId("v_2", "t2", new HashMap<>(), Status.COMPLETED);
         Uninterruptibles.sleepUninterruptibly(1_000, TimeUnit.MILLISECONDS);
         assertTrue(updatedTasks.stream().anyMatch(task -> task.getTaskId().equals("t2")));
+        verify(executionService, never()).getExecutionStatus(eq("v_2"), anyBoolean());
     }
 }
@@ -35,7 +35,9 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(100),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG), "100");
@@ -48,7 +50,9 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(100),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         input.setRequestTimeoutMs(200);
         Properties props = manager.getProducerProperties(input);
@@ -62,7 +66,9 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(150),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG), "150");
@@ -76,7 +82,9 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(150),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         Producer producer = manager.getProducer(input);
         assertNotNull(producer);
@@ -87,7 +95,12 @@ public class KafkaProducerManagerTest {
     public void testCacheInvalidation() {
         KafkaProducerManager manager =
                 new KafkaProducerManager(
-                        Duration.ofMillis(150), Duration.ofMillis(500), 0, Duration.ofMillis(0));
+                        Duration.ofMillis(150),
+                        Duration.ofMillis(500),
+                        0,
+                        Duration.ofMillis(0),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         input.setBootStrapServers("");
         Properties props = manager.getProducerProperties(input);
@@ -104,7 +117,9 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(150),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG), "500");
@@ -117,13 +132,37 @@ public class KafkaProducerManagerTest {
                         Duration.ofMillis(150),
                         Duration.ofMillis(500),
                         10,
-                        Duration.ofMillis(120000));
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
         KafkaPublishTask.Input input = getInput();
         input.setMaxBlockMs(600);
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG), "600");
     }
 
+    @Test
+    public void testLingerAndBatchSizeFromConfigAndInput() {
+        KafkaProducerManager manager =
+                new KafkaProducerManager(
+                        Duration.ofMillis(150),
+                        Duration.ofMillis(500),
+                        10,
+                        Duration.ofMillis(120000),
+                        Duration.ofMillis(5),
+                        65536);
+        KafkaPublishTask.Input input = getInput();
+        Properties props = manager.getProducerProperties(input);
+        assertEquals(props.getProperty(ProducerConfig.LINGER_MS_CONFIG), "5");
+        assertEquals(props.getProperty(ProducerConfig.BATCH_SIZE_CONFIG), "65536");
+
+        input.setLingerMs(20);
+        input.setBatchSize(262144);
+        props = manager.getProducerProperties(input);
+        assertEquals(props.getProperty(ProducerConfig.LINGER_MS_CONFIG), "20");
+        assertEquals(props.getProperty(ProducerConfig.BATCH_SIZE_CONFIG), "262144");
+    }
+
     private KafkaPublishTask.Input getInput() {
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setTopic("testTopic");
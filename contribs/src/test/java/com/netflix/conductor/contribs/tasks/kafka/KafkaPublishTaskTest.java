@@ -15,28 +15,38 @@ package com.netflix.conductor.contribs.tasks.kafka;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.serialization.IntegerSerializer;
 import org.apache.kafka.common.serialization.LongSerializer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_KAFKA_PUBLISH;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -44,12 +54,14 @@ import static org.mockito.Mockito.when;
 @RunWith(SpringRunner.class)
 public class KafkaPublishTaskTest {
 
+    private static final Duration ACK_TIMEOUT = Duration.ofSeconds(120);
+
     @Autowired private ObjectMapper objectMapper;
 
     @Test
     public void missingRequest_Fail() {
         KafkaPublishTask kafkaPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         Task task = new Task();
         kafkaPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
@@ -66,7 +78,7 @@ public class KafkaPublishTaskTest {
         task.getInputData().put(KafkaPublishTask.REQUEST_PARAMETER_NAME, input);
 
         KafkaPublishTask kPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
     }
@@ -84,36 +96,40 @@ public class KafkaPublishTaskTest {
         task.getInputData().put(KafkaPublishTask.REQUEST_PARAMETER_NAME, input);
 
         KafkaPublishTask kPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
     }
 
     @Test
-    public void kafkaPublishExecutionException_Fail()
-            throws ExecutionException, InterruptedException {
+    public void kafkaPublishExecutionException_Fail() {
 
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kafkaPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        KafkaPublishTask kafkaPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        Future publishingFuture = mock(Future.class);
-        when(producer.send(any())).thenReturn(publishingFuture);
-
-        ExecutionException executionException = mock(ExecutionException.class);
-
-        when(executionException.getMessage()).thenReturn("Execution exception");
-        when(publishingFuture.get()).thenThrow(executionException);
-
-        kafkaPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
+        when(producer.send(any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            ((Callback) invocation.getArgument(1))
+                                    .onCompletion(
+                                            null, new TimeoutException("Execution exception"));
+                            return mock(Future.class);
+                        });
+
+        kafkaPublishTask.start(mock(Workflow.class), task, executor);
+        // failed within the send, the result is persisted with the start of the task
         assertEquals(Task.Status.FAILED, task.getStatus());
         assertEquals(
                 "Failed to invoke kafka task due to: Execution exception",
                 task.getReasonForIncompletion());
+        verify(executor, after(100).never()).updateTask(any());
     }
 
     @Test
@@ -122,12 +138,13 @@ public class KafkaPublishTaskTest {
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenThrow(new RuntimeException("Unknown exception"));
+        when(producer.send(any(), any())).thenThrow(new RuntimeException("Unknown exception"));
 
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
@@ -142,15 +159,81 @@ public class KafkaPublishTaskTest {
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenReturn(mock(Future.class));
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        when(producer.send(any(), callback.capture())).thenReturn(mock(Future.class));
 
-        kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
-        assertEquals(Task.Status.COMPLETED, task.getStatus());
+        kPublishTask.start(mock(Workflow.class), task, executor);
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+
+        // the callback updates the persisted task, not the one being started
+        when(executor.getTask("taskId")).thenReturn(getPersistedTask(Task.Status.IN_PROGRESS));
+        callback.getValue().onCompletion(null, null);
+        ArgumentCaptor<TaskResult> taskResult = ArgumentCaptor.forClass(TaskResult.class);
+        verify(executor, timeout(1000)).updateTask(taskResult.capture());
+        assertEquals(TaskResult.Status.COMPLETED, taskResult.getValue().getStatus());
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+    }
+
+    @Test
+    public void kafkaPublishSuccess_CompletedOnceStartPersisted() {
+
+        Task task = getTask();
+
+        KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
+
+        Producer producer = mock(Producer.class);
+
+        when(producerManager.getProducer(any())).thenReturn(producer);
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        when(producer.send(any(), callback.capture())).thenReturn(mock(Future.class));
+
+        kPublishTask.start(mock(Workflow.class), task, executor);
+
+        // acknowledged before the system task worker persisted the start of the task
+        when(executor.getTask("taskId"))
+                .thenReturn(getPersistedTask(Task.Status.SCHEDULED))
+                .thenReturn(getPersistedTask(Task.Status.IN_PROGRESS));
+        callback.getValue().onCompletion(null, null);
+        verify(executor, timeout(1000).times(2)).getTask("taskId");
+        verify(executor, timeout(1000)).updateTask(any());
+    }
+
+    @Test
+    public void kafkaPublishAcknowledgementFailed_Fail() {
+
+        Task task = getTask();
+
+        KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
+
+        Producer producer = mock(Producer.class);
+
+        when(producerManager.getProducer(any())).thenReturn(producer);
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        when(producer.send(any(), callback.capture())).thenReturn(mock(Future.class));
+
+        kPublishTask.start(mock(Workflow.class), task, executor);
+        when(executor.getTask("taskId")).thenReturn(getPersistedTask(Task.Status.IN_PROGRESS));
+        callback.getValue().onCompletion(null, new TimeoutException("Execution exception"));
+        ArgumentCaptor<TaskResult> taskResult = ArgumentCaptor.forClass(TaskResult.class);
+        verify(executor, timeout(1000)).updateTask(taskResult.capture());
+        assertEquals(TaskResult.Status.FAILED, taskResult.getValue().getStatus());
+        assertEquals(
+                "Failed to invoke kafka task due to: Execution exception",
+                taskResult.getValue().getReasonForIncompletion());
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
     }
 
     @Test
@@ -160,19 +243,66 @@ public class KafkaPublishTaskTest {
         task.getInputData().put("asyncComplete", true);
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(producerManager, objectMapper, 1, ACK_TIMEOUT);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenReturn(mock(Future.class));
+        when(producer.send(any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            ((Callback) invocation.getArgument(1)).onCompletion(null, null);
+                            return mock(Future.class);
+                        });
+
+        kPublishTask.start(mock(Workflow.class), task, executor);
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        verify(executor, after(100).never()).updateTask(any());
+    }
 
-        kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
+    @Test
+    public void kafkaPublishAcknowledgementPending_InProgress() {
+
+        Task task = getTask();
+        task.setStatus(Task.Status.IN_PROGRESS);
+        task.setStartTime(System.currentTimeMillis());
+
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(
+                        mock(KafkaProducerManager.class), objectMapper, 1, ACK_TIMEOUT);
+
+        assertFalse(kPublishTask.execute(mock(Workflow.class), task, mock(WorkflowExecutor.class)));
         assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
     }
 
+    @Test
+    public void kafkaPublishAcknowledgementLost_Fail() {
+
+        Task task = getTask();
+        task.setStatus(Task.Status.IN_PROGRESS);
+        task.setStartTime(System.currentTimeMillis() - ACK_TIMEOUT.toMillis() - 1);
+
+        KafkaPublishTask kPublishTask =
+                new KafkaPublishTask(
+                        mock(KafkaProducerManager.class), objectMapper, 1, ACK_TIMEOUT);
+
+        assertTrue(kPublishTask.execute(mock(Workflow.class), task, mock(WorkflowExecutor.class)));
+        assertEquals(Task.Status.FAILED, task.getStatus());
+    }
+
+    private Task getPersistedTask(Task.Status status) {
+        Task task = getTask();
+        task.setWorkflowInstanceId("workflowId");
+        task.setStatus(status);
+        return task;
+    }
+
     private Task getTask() {
         Task task = new Task();
+        task.setTaskId("taskId");
+        task.setTaskType(TASK_TYPE_KAFKA_PUBLISH);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setBootStrapServers("localhost:9092");
 
@@ -190,7 +320,7 @@ public class KafkaPublishTaskTest {
     @Test
     public void integerSerializer_integerObject() {
         KafkaPublishTask kPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKeySerializer(IntegerSerializer.class.getCanonicalName());
         input.setKey(String.valueOf(Integer.MAX_VALUE));
@@ -200,7 +330,7 @@ public class KafkaPublishTaskTest {
     @Test
     public void longSerializer_longObject() {
         KafkaPublishTask kPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKeySerializer(LongSerializer.class.getCanonicalName());
         input.setKey(String.valueOf(Long.MAX_VALUE));
@@ -210,7 +340,7 @@ public class KafkaPublishTaskTest {
     @Test
     public void noSerializer_StringObject() {
         KafkaPublishTask kPublishTask =
-                new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+                new KafkaPublishTask(getKafkaProducerManager(), objectMapper, 1, ACK_TIMEOUT);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKey("testStringKey");
         assertEquals(kPublishTask.getKey(input), "testStringKey");
@@ -218,6 +348,11 @@ public class KafkaPublishTaskTest {
 
     private KafkaProducerManager getKafkaProducerManager() {
         return new KafkaProducerManager(
-                Duration.ofMillis(100), Duration.ofMillis(500), 120000, Duration.ofMillis(10));
+                Duration.ofMillis(100),
+                Duration.ofMillis(500),
+                120000,
+                Duration.ofMillis(10),
+                Duration.ofMillis(5),
+                65536);
     }
 }
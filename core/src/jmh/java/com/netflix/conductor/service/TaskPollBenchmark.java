@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.orchestration.ExecutionDAOFacade;
+import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.dao.PollDataDAO;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.dao.RateLimitingDAO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures the latency of {@link ExecutionService#poll(String, String, String, int, int)} for
+ * batches of tasks, against stores which pay a simulated round trip for every call. The sample mode
+ * reports the percentiles, including p99, for each batch size.
+ *
+ * <p>Run with {@code ./gradlew :conductor-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPollBenchmark {
+
+    private static final String TASK_TYPE = "task_type";
+
+    /** The number of tasks handed out by each poll. */
+    @Param({"1", "10", "100"})
+    public int tasksPerPoll;
+
+    /** The simulated duration of a store round trip. */
+    @Param({"200"})
+    public long roundTripMicros;
+
+    private final AtomicLong taskIdSequence = new AtomicLong();
+    private ExecutionService executionService;
+
+    @Setup
+    public void setUp() {
+        ConductorProperties properties = new ConductorProperties();
+        properties.setAsyncIndexingEnabled(true);
+
+        QueueDAO queueDAO =
+                store(
+                        QueueDAO.class,
+                        (method, args) -> {
+                            if (method.getName().equals("pop")) {
+                                List<String> taskIds = new ArrayList<>((int) args[1]);
+                                for (int i = 0; i < (int) args[1]; i++) {
+                                    taskIds.add("task-" + taskIdSequence.incrementAndGet());
+                                }
+                                return taskIds;
+                            }
+                            return null;
+                        });
+        ExecutionDAO executionDAO =
+                store(
+                        ExecutionDAO.class,
+                        (method, args) -> {
+                            if (method.getName().equals("getTasks")) {
+                                @SuppressWarnings("unchecked")
+                                List<String> taskIds = (List<String>) args[0];
+                                List<Task> tasks = new ArrayList<>(taskIds.size());
+                                taskIds.forEach(taskId -> tasks.add(scheduledTask(taskId)));
+                                return tasks;
+                            }
+                            return null;
+                        });
+        ExecutionDAOFacade executionDAOFacade =
+                new ExecutionDAOFacade(
+                        executionDAO,
+                        queueDAO,
+                        store(IndexDAO.class, (method, args) -> null),
+                        store(RateLimitingDAO.class, (method, args) -> null),
+                        store(ConcurrentExecutionLimitDAO.class, (method, args) -> null),
+                        store(PollDataDAO.class, (method, args) -> null),
+                        new ObjectMapper(),
+                        properties);
+        WorkflowExecutor workflowExecutor =
+                new WorkflowExecutor(
+                        null,
+                        null,
+                        queueDAO,
+                        null,
+                        null,
+                        executionDAOFacade,
+                        properties,
+                        null,
+                        null,
+                        null);
+        executionService =
+                new ExecutionService(
+                        workflowExecutor, executionDAOFacade, queueDAO, properties, null, null);
+    }
+
+    @Benchmark
+    public List<Task> poll() {
+        return executionService.poll(TASK_TYPE, "worker", null, tasksPerPoll, 100);
+    }
+
+    private static Task scheduledTask(String taskId) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setTaskType(TASK_TYPE);
+        task.setTaskDefName(TASK_TYPE);
+        task.setWorkflowInstanceId("workflow-" + taskId);
+        task.setStatus(Task.Status.SCHEDULED);
+        task.setScheduledTime(System.currentTimeMillis());
+        task.setRateLimitPerFrequency(100);
+        task.setRateLimitFrequencyInSeconds(1);
+        return task;
+    }
+
+    /**
+     * Creates a store which pays one round trip per call, including the calls to the batch
+     * operations, and answers with the given function or with an empty result.
+     */
+    private <T> T store(Class<T> type, BiFunction<Method, Object[], Object> answer) {
+        Object proxy =
+                Proxy.newProxyInstance(
+                        type.getClassLoader(),
+                        new Class<?>[] {type},
+                        (instance, method, args) -> {
+                            if (method.getDeclaringClass() == Object.class) {
+                                return method.getName().equals("hashCode")
+                                        ? System.identityHashCode(instance)
+                                        : method.getName().equals("toString")
+                                                ? type.getSimpleName()
+                                                : instance == args[0];
+                            }
+                            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+                            Object result = answer.apply(method, args);
+                            if (result != null) {
+                                return result;
+                            }
+                            return emptyResult(method.getReturnType());
+                        });
+        return type.cast(proxy);
+    }
+
+    private static Object emptyResult(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == List.class) {
+            return Collections.emptyList();
+        }
+        return null;
+    }
+}
@@ -42,12 +42,57 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration workflowOffsetTimeout = Duration.ofSeconds(30);
 
+    /**
+     * Used to enable/disable the workflow timer, which defers the next sweep of a running workflow
+     * to its next timeout deadline after every decide, instead of sweeping it every {@code
+     * workflowOffsetTimeout}. A workflow which waits on a timed system task, such as a WAIT with a
+     * duration, is deferred to its next deadline either way.
+     */
+    private boolean workflowTimerEnabled = false;
+
+    /**
+     * The maximum duration the workflow timer defers the next sweep of a running workflow, also
+     * used when the workflow has no deadline.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration workflowTimerMaxDelay = Duration.ofHours(1);
+
+    /**
+     * Used to enable/disable persisting the state changes of a decide with a single commit, which
+     * is atomic, queue messages included, with the MySQL and Postgres persistence modules. With the
+     * other modules, Redis included, the changes are persisted one after another.
+     */
+    private boolean decideCommitEnabled = false;
+
     /** The number of threads to use to do background sweep on active workflows. */
     private int sweeperThreadCount = Runtime.getRuntime().availableProcessors() * 2;
 
+    /**
+     * The fraction (between 0 and 1) of sweeps that verify and repair the queues of the tasks of a
+     * recently updated workflow, when the workflow repair service is enabled.
+     */
+    private double workflowRepairSampleRate = 1.0;
+
+    /**
+     * Sweeps of a workflow that has not been updated for at least this duration always verify and
+     * repair its queues, regardless of the sample rate.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration workflowRepairMinAge = Duration.ZERO;
+
     /** The number of threads to configure the threadpool in the event processor. */
     private int eventProcessorThreadCount = 2;
 
+    /**
+     * The maximum number of messages of an event queue handled as a batch by the event processor.
+     * The actions on a same workflow are executed together, and the messages are acknowledged at
+     * once.
+     */
+    private int eventProcessorBatchSize = 100;
+
+    /** The time window over which the messages of an event queue are gathered into a batch. */
+    private Duration eventProcessorBatchWindow = Duration.ofMillis(50);
+
     /** Used to enable/disable the indexing of messages within event payloads. */
     private boolean eventMessageIndexingEnabled = true;
 
@@ -100,6 +145,15 @@ public class ConductorProperties {
      */
     private Duration systemTaskWorkerPollInterval = Duration.ofMillis(50);
 
+    /**
+     * The upper bound of the interval (in milliseconds) at which an empty system task queue will be
+     * polled. The interval of a queue backs off from the poll interval while it stays empty.
+     */
+    private Duration systemTaskWorkerMaxPollInterval = Duration.ofMillis(1000);
+
+    /** The number of threads to be used to poll all the system task queues. */
+    private int systemTaskWorkerPollerThreadCount = Runtime.getRuntime().availableProcessors();
+
     /** The namespace for the system task workers to provide instance level isolation. */
     private String systemTaskWorkerExecutionNamespace = "";
 
@@ -109,8 +163,17 @@ public class ConductorProperties {
      */
     private int isolatedSystemTaskWorkerThreadCount = 1;
 
-    /** The max number of system tasks to be polled in a single request. */
-    private int systemTaskMaxPollCount = 1;
+    /**
+     * The max number of system tasks to be polled in a single request. The number of tasks polled
+     * from a queue adapts to its depth, from one up to this count.
+     */
+    private int systemTaskMaxPollCount = 10;
+
+    /**
+     * The weights of the system task types, by which the busy queues sharing the system task worker
+     * threads split them. Task types which are not listed have a weight of 1.
+     */
+    private Map<String, Integer> systemTaskWorkerQueueWeights = new HashMap<>();
 
     /**
      * The duration of workflow execution which qualifies a workflow as a short-running workflow
@@ -126,6 +189,12 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncUpdateDelay = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable/disable loading every search hit from the execution store. When disabled, the
+     * workflow and task summaries returned by searches are read directly from the index.
+     */
+    private boolean searchResultHydrationEnabled = false;
+
     /**
      * Used to control the validation for owner email field as mandatory within workflow and task
      * definitions.
@@ -147,6 +216,18 @@ public class ConductorProperties {
     /** The timeout (in milliseconds) for the poll operation on the default event queue. */
     private Duration eventQueueLongPollTimeout = Duration.ofMillis(1000);
 
+    /**
+     * The number of threads used by the default event queue processor to update the tasks of
+     * different workflows in parallel. The updates of a given workflow are made in order.
+     */
+    private int defaultEventQueueProcessorThreadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of messages of a default event queue processed, and acknowledged, as a
+     * batch. A batch gathers the messages received within the event queue poll interval.
+     */
+    private int defaultEventQueueProcessorBatchSize = 100;
+
     /**
      * The threshold of the workflow input payload size in KB beyond which the payload will be
      * stored in {@link com.netflix.conductor.common.utils.ExternalPayloadStorage}.
@@ -210,6 +291,26 @@ public class ConductorProperties {
     @DataSizeUnit(DataUnit.KILOBYTES)
     private DataSize maxWorkflowVariablesPayloadSizeThreshold = DataSize.ofKilobytes(256L);
 
+    /** The number of threads shared by all the bulk jobs to process their workflows. */
+    private int bulkJobThreadCount = 8;
+
+    /**
+     * The number of workflows processed by a bulk job thread before it takes the next chunk, which
+     * may belong to another job. The progress of a job is updated, and its cancellation checked,
+     * for each workflow.
+     */
+    private int bulkJobChunkSize = 100;
+
+    /**
+     * The maximum number of failed workflows reported with their error by a bulk job. The failures
+     * beyond it are only counted.
+     */
+    private int bulkJobMaxErrors = 1000;
+
+    /** The time during which a completed or cancelled bulk job can still be retrieved. */
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration bulkJobRetention = Duration.ofMinutes(60);
+
     public String getStack() {
         return stack;
     }
@@ -242,6 +343,30 @@ public class ConductorProperties {
         this.workflowOffsetTimeout = workflowOffsetTimeout;
     }
 
+    public boolean isWorkflowTimerEnabled() {
+        return workflowTimerEnabled;
+    }
+
+    public void setWorkflowTimerEnabled(boolean workflowTimerEnabled) {
+        this.workflowTimerEnabled = workflowTimerEnabled;
+    }
+
+    public Duration getWorkflowTimerMaxDelay() {
+        return workflowTimerMaxDelay;
+    }
+
+    public void setWorkflowTimerMaxDelay(Duration workflowTimerMaxDelay) {
+        this.workflowTimerMaxDelay = workflowTimerMaxDelay;
+    }
+
+    public boolean isDecideCommitEnabled() {
+        return decideCommitEnabled;
+    }
+
+    public void setDecideCommitEnabled(boolean decideCommitEnabled) {
+        this.decideCommitEnabled = decideCommitEnabled;
+    }
+
     public int getSweeperThreadCount() {
         return sweeperThreadCount;
     }
@@ -250,6 +375,22 @@ public class ConductorProperties {
         this.sweeperThreadCount = sweeperThreadCount;
     }
 
+    public double getWorkflowRepairSampleRate() {
+        return workflowRepairSampleRate;
+    }
+
+    public void setWorkflowRepairSampleRate(double workflowRepairSampleRate) {
+        this.workflowRepairSampleRate = workflowRepairSampleRate;
+    }
+
+    public Duration getWorkflowRepairMinAge() {
+        return workflowRepairMinAge;
+    }
+
+    public void setWorkflowRepairMinAge(Duration workflowRepairMinAge) {
+        this.workflowRepairMinAge = workflowRepairMinAge;
+    }
+
     public int getEventProcessorThreadCount() {
         return eventProcessorThreadCount;
     }
@@ -258,6 +399,22 @@ public class ConductorProperties {
         this.eventProcessorThreadCount = eventProcessorThreadCount;
     }
 
+    public int getEventProcessorBatchSize() {
+        return eventProcessorBatchSize;
+    }
+
+    public void setEventProcessorBatchSize(int eventProcessorBatchSize) {
+        this.eventProcessorBatchSize = eventProcessorBatchSize;
+    }
+
+    public Duration getEventProcessorBatchWindow() {
+        return eventProcessorBatchWindow;
+    }
+
+    public void setEventProcessorBatchWindow(Duration eventProcessorBatchWindow) {
+        this.eventProcessorBatchWindow = eventProcessorBatchWindow;
+    }
+
     public boolean isEventMessageIndexingEnabled() {
         return eventMessageIndexingEnabled;
     }
@@ -354,6 +511,22 @@ public class ConductorProperties {
         this.systemTaskWorkerPollInterval = systemTaskWorkerPollInterval;
     }
 
+    public Duration getSystemTaskWorkerMaxPollInterval() {
+        return systemTaskWorkerMaxPollInterval;
+    }
+
+    public void setSystemTaskWorkerMaxPollInterval(Duration systemTaskWorkerMaxPollInterval) {
+        this.systemTaskWorkerMaxPollInterval = systemTaskWorkerMaxPollInterval;
+    }
+
+    public int getSystemTaskWorkerPollerThreadCount() {
+        return systemTaskWorkerPollerThreadCount;
+    }
+
+    public void setSystemTaskWorkerPollerThreadCount(int systemTaskWorkerPollerThreadCount) {
+        this.systemTaskWorkerPollerThreadCount = systemTaskWorkerPollerThreadCount;
+    }
+
     public String getSystemTaskWorkerExecutionNamespace() {
         return systemTaskWorkerExecutionNamespace;
     }
@@ -378,6 +551,14 @@ public class ConductorProperties {
         this.systemTaskMaxPollCount = systemTaskMaxPollCount;
     }
 
+    public Map<String, Integer> getSystemTaskWorkerQueueWeights() {
+        return systemTaskWorkerQueueWeights;
+    }
+
+    public void setSystemTaskWorkerQueueWeights(Map<String, Integer> systemTaskWorkerQueueWeights) {
+        this.systemTaskWorkerQueueWeights = systemTaskWorkerQueueWeights;
+    }
+
     public Duration getAsyncUpdateShortRunningWorkflowDuration() {
         return asyncUpdateShortRunningWorkflowDuration;
     }
@@ -395,6 +576,14 @@ public class ConductorProperties {
         this.asyncUpdateDelay = asyncUpdateDelay;
     }
 
+    public boolean isSearchResultHydrationEnabled() {
+        return searchResultHydrationEnabled;
+    }
+
+    public void setSearchResultHydrationEnabled(boolean searchResultHydrationEnabled) {
+        this.searchResultHydrationEnabled = searchResultHydrationEnabled;
+    }
+
     public boolean isOwnerEmailMandatory() {
         return ownerEmailMandatory;
     }
@@ -435,6 +624,23 @@ public class ConductorProperties {
         this.eventQueueLongPollTimeout = eventQueueLongPollTimeout;
     }
 
+    public int getDefaultEventQueueProcessorThreadCount() {
+        return defaultEventQueueProcessorThreadCount;
+    }
+
+    public void setDefaultEventQueueProcessorThreadCount(
+            int defaultEventQueueProcessorThreadCount) {
+        this.defaultEventQueueProcessorThreadCount = defaultEventQueueProcessorThreadCount;
+    }
+
+    public int getDefaultEventQueueProcessorBatchSize() {
+        return defaultEventQueueProcessorBatchSize;
+    }
+
+    public void setDefaultEventQueueProcessorBatchSize(int defaultEventQueueProcessorBatchSize) {
+        this.defaultEventQueueProcessorBatchSize = defaultEventQueueProcessorBatchSize;
+    }
+
     public DataSize getWorkflowInputPayloadSizeThreshold() {
         return workflowInputPayloadSizeThreshold;
     }
@@ -510,6 +716,38 @@ public class ConductorProperties {
         this.maxWorkflowVariablesPayloadSizeThreshold = maxWorkflowVariablesPayloadSizeThreshold;
     }
 
+    public int getBulkJobThreadCount() {
+        return bulkJobThreadCount;
+    }
+
+    public void setBulkJobThreadCount(int bulkJobThreadCount) {
+        this.bulkJobThreadCount = bulkJobThreadCount;
+    }
+
+    public int getBulkJobChunkSize() {
+        return bulkJobChunkSize;
+    }
+
+    public void setBulkJobChunkSize(int bulkJobChunkSize) {
+        this.bulkJobChunkSize = bulkJobChunkSize;
+    }
+
+    public int getBulkJobMaxErrors() {
+        return bulkJobMaxErrors;
+    }
+
+    public void setBulkJobMaxErrors(int bulkJobMaxErrors) {
+        this.bulkJobMaxErrors = bulkJobMaxErrors;
+    }
+
+    public Duration getBulkJobRetention() {
+        return bulkJobRetention;
+    }
+
+    public void setBulkJobRetention(Duration bulkJobRetention) {
+        this.bulkJobRetention = bulkJobRetention;
+    }
+
     /** @return Returns all the configurations in a map. */
     public Map<String, Object> getAll() {
         Map<String, Object> map = new HashMap<>();
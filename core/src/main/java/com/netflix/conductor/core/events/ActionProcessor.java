@@ -12,7 +12,11 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import com.netflix.conductor.common.metadata.events.EventHandler;
 
@@ -20,4 +24,56 @@ public interface ActionProcessor {
 
     Map<String, Object> execute(
             EventHandler.Action action, Object payloadObject, String event, String messageId);
+
+    /**
+     * Executes the actions triggered by a batch of messages of the given event. By default, each
+     * action is executed on its own with the given executor. Implementations may override this to
+     * execute the actions on a same target together.
+     *
+     * @param requests the actions to be executed, with the messages which triggered them
+     * @param event the event of the messages
+     * @param executor the executor to execute the actions with
+     * @return the output of each action, in the order of the requests
+     */
+    default List<CompletableFuture<Map<String, Object>>> execute(
+            List<ActionRequest> requests, String event, Executor executor) {
+        return requests.stream()
+                .map(
+                        request ->
+                                CompletableFuture.supplyAsync(
+                                        () ->
+                                                execute(
+                                                        request.getAction(),
+                                                        request.getPayload(),
+                                                        event,
+                                                        request.getMessageId()),
+                                        executor))
+                .collect(Collectors.toList());
+    }
+
+    /** An action to be executed, with the payload and the id of the message which triggered it. */
+    class ActionRequest {
+
+        private final EventHandler.Action action;
+        private final Object payload;
+        private final String messageId;
+
+        public ActionRequest(EventHandler.Action action, Object payload, String messageId) {
+            this.action = action;
+            this.payload = payload;
+            this.messageId = messageId;
+        }
+
+        public EventHandler.Action getAction() {
+            return action;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+    }
 }
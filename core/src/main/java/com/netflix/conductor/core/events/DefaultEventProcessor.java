@@ -16,10 +16,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -33,6 +36,7 @@ import com.netflix.conductor.common.metadata.events.EventHandler;
 import com.netflix.conductor.common.metadata.events.EventHandler.Action;
 import com.netflix.conductor.common.utils.RetryUtil;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.events.ActionProcessor.ActionRequest;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.events.queue.ObservableQueue;
 import com.netflix.conductor.core.exception.ApplicationException;
@@ -103,44 +107,85 @@ public class DefaultEventProcessor {
     }
 
     public void handle(ObservableQueue queue, Message msg) {
-        try {
-            if (isEventMessageIndexingEnabled) {
-                executionService.addMessage(queue.getName(), msg);
+        handle(queue, Collections.singletonList(msg));
+    }
+
+    /**
+     * Handles a batch of messages received on the queue. The actions triggered by the messages are
+     * executed together, see {@link ActionProcessor#execute(List, String, Executor)}, then the
+     * messages are acknowledged at once, except for those with an action which failed due to a
+     * transient failure.
+     */
+    public void handle(ObservableQueue queue, List<Message> messages) {
+        String event = queue.getType() + ":" + queue.getName();
+        List<Message> evaluated = new ArrayList<>();
+        List<EventExecution> eventExecutions = new ArrayList<>();
+        List<ActionRequest> actionRequests = new ArrayList<>();
+        for (Message msg : messages) {
+            try {
+                if (isEventMessageIndexingEnabled) {
+                    executionService.addMessage(queue.getName(), msg);
+                }
+                LOGGER.debug("Evaluating message: {} for event: {}", msg.getId(), event);
+                evaluateEvent(event, msg, eventExecutions, actionRequests);
+                evaluated.add(msg);
+            } catch (Exception e) {
+                LOGGER.error("Error handling message: {} on queue:{}", msg, queue.getName(), e);
+                Monitors.recordEventQueueMessagesError(queue.getType(), queue.getName());
             }
-            String event = queue.getType() + ":" + queue.getName();
-            LOGGER.debug("Evaluating message: {} for event: {}", msg.getId(), event);
-            List<EventExecution> transientFailures = executeEvent(event, msg);
+        }
+
+        try {
+            Set<String> transientFailures =
+                    processTransientFailures(executeActions(event, eventExecutions, actionRequests))
+                            .stream()
+                            .map(EventExecution::getMessageId)
+                            .collect(Collectors.toSet());
 
-            if (transientFailures.isEmpty()) {
-                queue.ack(Collections.singletonList(msg));
-                LOGGER.debug("Message: {} acked on queue: {}", msg.getId(), queue.getName());
-            } else if (queue.rePublishIfNoAck()) {
-                // re-submit this message to the queue, to be retried later
+            List<Message> processed = new ArrayList<>();
+            List<Message> failed = new ArrayList<>();
+            evaluated.forEach(
+                    msg -> (transientFailures.contains(msg.getId()) ? failed : processed).add(msg));
+            if (!processed.isEmpty()) {
+                queue.ack(processed);
+                LOGGER.debug("{} messages acked on queue: {}", processed.size(), queue.getName());
+            }
+            if (!failed.isEmpty() && queue.rePublishIfNoAck()) {
+                // re-submit these messages to the queue, to be retried later
                 // This is needed for queues with no unack timeout, since messages are removed from
                 // the queue
-                queue.publish(Collections.singletonList(msg));
-                LOGGER.debug("Message: {} published to queue: {}", msg.getId(), queue.getName());
+                queue.publish(failed);
+                LOGGER.debug("{} messages published to queue: {}", failed.size(), queue.getName());
             }
         } catch (Exception e) {
-            LOGGER.error("Error handling message: {} on queue:{}", msg, queue.getName(), e);
-            Monitors.recordEventQueueMessagesError(queue.getType(), queue.getName());
+            LOGGER.error(
+                    "Error handling {} messages on queue:{}", evaluated.size(), queue.getName(), e);
+            evaluated.forEach(
+                    msg ->
+                            Monitors.recordEventQueueMessagesError(
+                                    queue.getType(), queue.getName()));
         } finally {
-            Monitors.recordEventQueueMessagesHandled(queue.getType(), queue.getName());
+            messages.forEach(
+                    msg ->
+                            Monitors.recordEventQueueMessagesHandled(
+                                    queue.getType(), queue.getName()));
         }
     }
 
     /**
-     * Executes all the actions configured on all the event handlers triggered by the {@link
-     * Message} on the queue If any of the actions on an event handler fails due to a transient
-     * failure, the execution is not persisted such that it can be retried
-     *
-     * @return a list of {@link EventExecution} that failed due to transient failures.
+     * Evaluates all the event handlers triggered by the {@link Message} on the queue, and adds an
+     * {@link EventExecution}, along with its action to be executed, for each action configured on
+     * the event handlers whose condition is met.
      */
-    protected List<EventExecution> executeEvent(String event, Message msg) throws Exception {
+    protected void evaluateEvent(
+            String event,
+            Message msg,
+            List<EventExecution> eventExecutions,
+            List<ActionRequest> actionRequests)
+            throws Exception {
         List<EventHandler> eventHandlerList = metadataService.getEventHandlersForEvent(event, true);
         Object payloadObject = getPayloadObject(msg.getPayload());
 
-        List<EventExecution> transientFailures = new ArrayList<>();
         for (EventHandler eventHandler : eventHandlerList) {
             String condition = eventHandler.getCondition();
             String evaluatorType = eventHandler.getEvaluatorType();
@@ -176,69 +221,93 @@ public class DefaultEventProcessor {
                 continue;
             }
 
-            CompletableFuture<List<EventExecution>> future =
-                    executeActionsForEventHandler(eventHandler, msg);
-            future.whenComplete(
-                            (result, error) ->
-                                    result.forEach(
-                                            eventExecution -> {
-                                                if (error != null
-                                                        || eventExecution.getStatus()
-                                                                == Status.IN_PROGRESS) {
-                                                    transientFailures.add(eventExecution);
-                                                } else {
-                                                    executionService.updateEventExecution(
-                                                            eventExecution);
-                                                }
-                                            }))
-                    .get();
+            int i = 0;
+            for (Action action : eventHandler.getActions()) {
+                String id = msg.getId() + "_" + i++;
+                EventExecution eventExecution = new EventExecution(id, msg.getId());
+                eventExecution.setCreated(System.currentTimeMillis());
+                eventExecution.setEvent(eventHandler.getEvent());
+                eventExecution.setName(eventHandler.getName());
+                eventExecution.setAction(action.getAction());
+                eventExecution.setStatus(Status.IN_PROGRESS);
+                if (executionService.addEventExecution(eventExecution)) {
+                    eventExecutions.add(eventExecution);
+                    actionRequests.add(
+                            new ActionRequest(
+                                    action, getPayloadObject(msg.getPayload()), msg.getId()));
+                } else {
+                    LOGGER.warn("Duplicate delivery/execution of message: {}", msg.getId());
+                }
+            }
         }
-        return processTransientFailures(transientFailures);
     }
 
     /**
-     * Remove the event executions which failed temporarily.
+     * Executes the actions of the given event executions together. The actions which fail are then
+     * executed again one at a time, see {@link #execute(EventExecution, Action, Object)}, which
+     * retries them on transient failures and tells these apart from the other failures.
      *
-     * @param eventExecutions The event executions which failed with a transient error.
-     * @return The event executions which failed with a transient error.
+     * @return the event executions which failed due to transient failures
      */
-    protected List<EventExecution> processTransientFailures(List<EventExecution> eventExecutions) {
-        eventExecutions.forEach(executionService::removeEventExecution);
-        return eventExecutions;
-    }
+    private List<EventExecution> executeActions(
+            String event, List<EventExecution> eventExecutions, List<ActionRequest> actionRequests)
+            throws Exception {
+        if (eventExecutions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<CompletableFuture<Map<String, Object>>> outputs;
+        try {
+            outputs = actionProcessor.execute(actionRequests, event, eventActionExecutorService);
+        } catch (RuntimeException e) {
+            LOGGER.error(
+                    "Error executing {} actions for event: {}", actionRequests.size(), event, e);
+            outputs = Collections.emptyList();
+        }
 
-    /**
-     * @param eventHandler the {@link EventHandler} for which the actions are to be executed
-     * @param msg the {@link Message} that triggered the event
-     * @return a {@link CompletableFuture} holding a list of {@link EventExecution}s for the {@link
-     *     Action}s executed in the event handler
-     */
-    protected CompletableFuture<List<EventExecution>> executeActionsForEventHandler(
-            EventHandler eventHandler, Message msg) {
-        List<CompletableFuture<EventExecution>> futuresList = new ArrayList<>();
-        int i = 0;
-        for (Action action : eventHandler.getActions()) {
-            String id = msg.getId() + "_" + i++;
-            EventExecution eventExecution = new EventExecution(id, msg.getId());
-            eventExecution.setCreated(System.currentTimeMillis());
-            eventExecution.setEvent(eventHandler.getEvent());
-            eventExecution.setName(eventHandler.getName());
-            eventExecution.setAction(action.getAction());
-            eventExecution.setStatus(Status.IN_PROGRESS);
-            if (executionService.addEventExecution(eventExecution)) {
-                futuresList.add(
+        List<CompletableFuture<EventExecution>> futures = new ArrayList<>();
+        for (int i = 0; i < eventExecutions.size(); i++) {
+            EventExecution eventExecution = eventExecutions.get(i);
+            ActionRequest actionRequest = actionRequests.get(i);
+            try {
+                if (i >= outputs.size()) {
+                    throw new IllegalStateException(
+                            "No output for the action of " + eventExecution.getId());
+                }
+                completed(eventExecution, outputs.get(i).join());
+                futures.add(CompletableFuture.completedFuture(eventExecution));
+            } catch (RuntimeException e) {
+                LOGGER.debug("Executing the action of {} again", eventExecution.getId(), e);
+                futures.add(
                         CompletableFuture.supplyAsync(
                                 () ->
                                         execute(
                                                 eventExecution,
-                                                action,
-                                                getPayloadObject(msg.getPayload())),
+                                                actionRequest.getAction(),
+                                                actionRequest.getPayload()),
                                 eventActionExecutorService));
+            }
+        }
+
+        List<EventExecution> transientFailures = new ArrayList<>();
+        for (EventExecution eventExecution : CompletableFutures.allAsList(futures).get()) {
+            if (eventExecution.getStatus() == Status.IN_PROGRESS) {
+                transientFailures.add(eventExecution);
             } else {
-                LOGGER.warn("Duplicate delivery/execution of message: {}", msg.getId());
+                executionService.updateEventExecution(eventExecution);
             }
         }
-        return CompletableFutures.allAsList(futuresList);
+        return transientFailures;
+    }
+
+    /**
+     * Remove the event executions which failed temporarily.
+     *
+     * @param eventExecutions The event executions which failed with a transient error.
+     * @return The event executions which failed with a transient error.
+     */
+    protected List<EventExecution> processTransientFailures(List<EventExecution> eventExecutions) {
+        eventExecutions.forEach(executionService::removeEventExecution);
+        return eventExecutions;
     }
 
     /**
@@ -275,14 +344,7 @@ public class DefaultEventProcessor {
                                     RETRY_COUNT,
                                     description,
                                     methodName);
-            if (output != null) {
-                eventExecution.getOutput().putAll(output);
-            }
-            eventExecution.setStatus(Status.COMPLETED);
-            Monitors.recordEventExecutionSuccess(
-                    eventExecution.getEvent(),
-                    eventExecution.getName(),
-                    eventExecution.getAction().name());
+            completed(eventExecution, output);
         } catch (RuntimeException e) {
             LOGGER.error(
                     "Error executing action: {} for event: {} with messageId: {}",
@@ -304,6 +366,17 @@ public class DefaultEventProcessor {
         return eventExecution;
     }
 
+    private void completed(EventExecution eventExecution, Map<String, Object> output) {
+        if (output != null) {
+            eventExecution.getOutput().putAll(output);
+        }
+        eventExecution.setStatus(Status.COMPLETED);
+        Monitors.recordEventExecutionSuccess(
+                eventExecution.getEvent(),
+                eventExecution.getName(),
+                eventExecution.getAction().name());
+    }
+
     /**
      * Used to determine if the exception is thrown due to a transient failure and the operation is
      * expected to succeed upon retrying.
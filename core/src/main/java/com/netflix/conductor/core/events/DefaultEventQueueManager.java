@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -19,6 +20,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -31,6 +33,7 @@ import org.springframework.stereotype.Component;
 import com.netflix.conductor.common.metadata.events.EventHandler;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.core.LifecycleAwareComponent;
+import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.events.queue.DefaultEventQueueProcessor;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.events.queue.ObservableQueue;
@@ -64,16 +67,21 @@ public class DefaultEventQueueManager extends LifecycleAwareComponent implements
     private final DefaultEventProcessor defaultEventProcessor;
     private final Map<String, ObservableQueue> eventToQueueMap = new ConcurrentHashMap<>();
     private final Map<Status, ObservableQueue> defaultQueues;
+    private final Duration batchWindow;
+    private final int batchSize;
 
     public DefaultEventQueueManager(
             Map<Status, ObservableQueue> defaultQueues,
             EventHandlerDAO eventHandlerDAO,
             EventQueues eventQueues,
-            DefaultEventProcessor defaultEventProcessor) {
+            DefaultEventProcessor defaultEventProcessor,
+            ConductorProperties properties) {
         this.defaultQueues = defaultQueues;
         this.eventHandlerDAO = eventHandlerDAO;
         this.eventQueues = eventQueues;
         this.defaultEventProcessor = defaultEventProcessor;
+        this.batchWindow = properties.getEventProcessorBatchWindow();
+        this.batchSize = properties.getEventProcessorBatchSize();
     }
 
     /**
@@ -164,6 +172,10 @@ public class DefaultEventQueueManager extends LifecycleAwareComponent implements
     }
 
     private void listen(ObservableQueue queue) {
-        queue.observe().subscribe((Message msg) -> defaultEventProcessor.handle(queue, msg));
+        queue.observe()
+                .buffer(batchWindow.toMillis(), TimeUnit.MILLISECONDS, batchSize)
+                .filter(messages -> !messages.isEmpty())
+                .subscribe(
+                        (List<Message> messages) -> defaultEventProcessor.handle(queue, messages));
     }
 }
@@ -12,9 +12,16 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -27,7 +34,11 @@ import com.netflix.conductor.common.metadata.events.EventHandler.TaskDetails;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.utils.JsonUtils;
 import com.netflix.conductor.core.utils.ParametersUtils;
@@ -90,6 +101,192 @@ public class SimpleActionProcessor implements ActionProcessor {
                 "Action not supported " + action.getAction() + " for event " + event);
     }
 
+    /**
+     * Executes the actions triggered by a batch of messages. The workflows of the start_workflow
+     * actions are started in bulk, and decided by the sweeper rather than before returning. The
+     * tasks of the complete_task and fail_task actions are updated workflow by workflow, and each
+     * workflow is decided once, after all of its tasks are updated. The other actions are executed
+     * on their own.
+     */
+    @Override
+    public List<CompletableFuture<Map<String, Object>>> execute(
+            List<ActionRequest> requests, String event, Executor executor) {
+        List<CompletableFuture<Map<String, Object>>> outputs = new ArrayList<>();
+        Map<Integer, StartWorkflowRequest> startWorkflowRequests = new LinkedHashMap<>();
+        Map<String, Map<Integer, Map<String, Object>>> taskUpdatesByTarget = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ActionRequest request = requests.get(i);
+            Action action = request.getAction();
+            CompletableFuture<Map<String, Object>> output = new CompletableFuture<>();
+            outputs.add(output);
+            try {
+                Object jsonObject = request.getPayload();
+                if (action.isExpandInlineJSON()) {
+                    jsonObject = jsonUtils.expand(jsonObject);
+                }
+                switch (action.getAction()) {
+                    case start_workflow:
+                        startWorkflowRequests.put(
+                                i,
+                                getStartWorkflowRequest(
+                                        action.getStart_workflow(),
+                                        jsonObject,
+                                        event,
+                                        request.getMessageId()));
+                        break;
+                    case complete_task:
+                    case fail_task:
+                        Map<String, Object> replaced =
+                                getTaskUpdateInput(getTaskDetails(action), jsonObject);
+                        // the updates of a workflow, or of a task when its workflow is not
+                        // given, are made together
+                        String target =
+                                StringUtils.defaultIfEmpty(
+                                        (String) replaced.get("workflowId"),
+                                        (String) replaced.get("taskId"));
+                        taskUpdatesByTarget
+                                .computeIfAbsent(
+                                        StringUtils.defaultString(target),
+                                        key -> new LinkedHashMap<>())
+                                .put(i, replaced);
+                        break;
+                    default:
+                        outputs.set(
+                                i,
+                                CompletableFuture.supplyAsync(
+                                        () ->
+                                                execute(
+                                                        action,
+                                                        request.getPayload(),
+                                                        event,
+                                                        request.getMessageId()),
+                                        executor));
+                }
+            } catch (RuntimeException e) {
+                output.completeExceptionally(e);
+            }
+        }
+
+        if (!startWorkflowRequests.isEmpty()) {
+            runBatch(
+                    startWorkflowRequests.keySet(),
+                    () -> startWorkflows(startWorkflowRequests, event, outputs),
+                    outputs,
+                    executor);
+        }
+        taskUpdatesByTarget
+                .values()
+                .forEach(
+                        taskUpdates ->
+                                runBatch(
+                                        taskUpdates.keySet(),
+                                        () -> updateTasks(taskUpdates, requests, event, outputs),
+                                        outputs,
+                                        executor));
+        return outputs;
+    }
+
+    /**
+     * Runs a batch of actions on the executor. The outputs of the batch which are still outstanding
+     * when it throws, e.g. an {@link Error}, are completed with the error, so that no caller waits
+     * on them forever.
+     */
+    private static void runBatch(
+            Set<Integer> positions,
+            Runnable batch,
+            List<CompletableFuture<Map<String, Object>>> outputs,
+            Executor executor) {
+        CompletableFuture.runAsync(batch, executor)
+                .whenComplete(
+                        (result, error) -> {
+                            if (error != null) {
+                                for (Integer position : positions) {
+                                    outputs.get(position).completeExceptionally(error);
+                                }
+                            }
+                        });
+    }
+
+    private void startWorkflows(
+            Map<Integer, StartWorkflowRequest> startWorkflowRequests,
+            String event,
+            List<CompletableFuture<Map<String, Object>>> outputs) {
+        List<Integer> positions = new ArrayList<>(startWorkflowRequests.keySet());
+        try {
+            BulkStartWorkflowResponse response =
+                    workflowExecutor.startWorkflows(
+                            new ArrayList<>(startWorkflowRequests.values()), event);
+            for (int i = 0; i < positions.size(); i++) {
+                CompletableFuture<Map<String, Object>> output = outputs.get(positions.get(i));
+                String workflowId = response.getWorkflowIds().get(i);
+                if (workflowId != null) {
+                    Map<String, Object> workflowOutput = new HashMap<>();
+                    workflowOutput.put("workflowId", workflowId);
+                    output.complete(workflowOutput);
+                } else {
+                    output.completeExceptionally(
+                            new ApplicationException(
+                                    Code.INTERNAL_ERROR, response.getErrors().get(i)));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Error starting {} workflows for event: {}", positions.size(), event, e);
+            positions.forEach(position -> outputs.get(position).completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Updates the tasks of a workflow, loading the workflow at most once, then decides the
+     * workflows of the updated tasks. The actions are completed once the workflows are decided.
+     */
+    private void updateTasks(
+            Map<Integer, Map<String, Object>> taskUpdates,
+            List<ActionRequest> requests,
+            String event,
+            List<CompletableFuture<Map<String, Object>>> outputs) {
+        Map<String, Workflow> workflows = new HashMap<>();
+        Set<String> updatedWorkflowIds = new LinkedHashSet<>();
+        Map<Integer, Map<String, Object>> completed = new LinkedHashMap<>();
+        taskUpdates.forEach(
+                (position, replaced) -> {
+                    ActionRequest request = requests.get(position);
+                    CompletableFuture<Map<String, Object>> output = outputs.get(position);
+                    try {
+                        Task task = getTask(replaced, workflows);
+                        if (task != null) {
+                            Action action = request.getAction();
+                            TaskResult taskResult =
+                                    getTaskResult(
+                                            task,
+                                            getTaskStatus(action),
+                                            replaced,
+                                            getTaskDetails(action),
+                                            event,
+                                            request.getMessageId());
+                            if (workflowExecutor.updateTaskWithoutDecide(taskResult)) {
+                                updatedWorkflowIds.add(task.getWorkflowInstanceId());
+                            }
+                        }
+                        completed.put(position, replaced);
+                    } catch (RuntimeException e) {
+                        output.completeExceptionally(e);
+                    }
+                });
+        updatedWorkflowIds.forEach(
+                workflowId -> {
+                    try {
+                        workflowExecutor.decide(workflowId);
+                    } catch (RuntimeException e) {
+                        // the tasks are updated, the workflow is decided again by the sweeper
+                        Monitors.error(getClass().getSimpleName(), "decide");
+                        LOGGER.error(
+                                "Error deciding workflow: {} for event: {}", workflowId, event, e);
+                    }
+                });
+        completed.forEach((position, replaced) -> outputs.get(position).complete(replaced));
+    }
+
     private Map<String, Object> completeTask(
             Action action,
             Object payload,
@@ -98,25 +295,86 @@ public class SimpleActionProcessor implements ActionProcessor {
             String event,
             String messageId) {
 
+        Map<String, Object> replaced = getTaskUpdateInput(taskDetails, payload);
+        String workflowId = (String) replaced.get("workflowId");
+        String taskId = (String) replaced.get("taskId");
+
+        Task task = getTask(replaced, new HashMap<>());
+        if (task == null) {
+            return replaced;
+        }
+
+        try {
+            workflowExecutor.updateTask(
+                    getTaskResult(task, status, replaced, taskDetails, event, messageId));
+            LOGGER.debug(
+                    "Updated task: {} in workflow:{} with status: {} for event: {} for message:{}",
+                    taskId,
+                    workflowId,
+                    status,
+                    event,
+                    messageId);
+        } catch (RuntimeException e) {
+            Monitors.recordEventActionError(action.getAction().name(), task.getTaskType(), event);
+            LOGGER.error(
+                    "Error updating task: {} in workflow: {} in action: {} for event: {} for message: {}",
+                    taskDetails.getTaskRefName(),
+                    taskDetails.getWorkflowId(),
+                    action.getAction(),
+                    event,
+                    messageId,
+                    e);
+            replaced.put("error", e.getMessage());
+            throw e;
+        }
+        return replaced;
+    }
+
+    private static TaskDetails getTaskDetails(Action action) {
+        return action.getAction() == Action.Type.fail_task
+                ? action.getFail_task()
+                : action.getComplete_task();
+    }
+
+    private static Status getTaskStatus(Action action) {
+        return action.getAction() == Action.Type.fail_task ? Status.FAILED : Status.COMPLETED;
+    }
+
+    private Map<String, Object> getTaskUpdateInput(TaskDetails taskDetails, Object payload) {
         Map<String, Object> input = new HashMap<>();
         input.put("workflowId", taskDetails.getWorkflowId());
         input.put("taskId", taskDetails.getTaskId());
         input.put("taskRefName", taskDetails.getTaskRefName());
         input.putAll(taskDetails.getOutput());
+        return parametersUtils.replace(input, payload);
+    }
 
-        Map<String, Object> replaced = parametersUtils.replace(input, payload);
+    /**
+     * Looks up the task to be updated, by id or by reference name in its workflow, which is loaded
+     * at most once. Puts the error in the given input if it is not found.
+     *
+     * @param replaced the input of the task update
+     * @param workflows the workflows loaded so far, by id
+     * @return the task, null if it is not found
+     */
+    private Task getTask(Map<String, Object> replaced, Map<String, Workflow> workflows) {
         String workflowId = (String) replaced.get("workflowId");
         String taskId = (String) replaced.get("taskId");
         String taskRefName = (String) replaced.get("taskRefName");
 
         Task task = null;
         if (StringUtils.isNotEmpty(taskId)) {
-            task = workflowExecutor.getTask(taskId);
+            task =
+                    StringUtils.isNotEmpty(workflowId)
+                            ? workflowExecutor.getTask(workflowId, taskId)
+                            : workflowExecutor.getTask(taskId);
         } else if (StringUtils.isNotEmpty(workflowId) && StringUtils.isNotEmpty(taskRefName)) {
-            Workflow workflow = workflowExecutor.getWorkflow(workflowId, true);
+            Workflow workflow =
+                    workflows.computeIfAbsent(
+                            workflowId, id -> workflowExecutor.getWorkflow(id, true));
             if (workflow == null) {
                 replaced.put("error", "No workflow found with ID: " + workflowId);
-                return replaced;
+                return null;
             }
             task = workflow.getTaskByRefName(taskRefName);
         }
@@ -130,38 +388,23 @@ public class SimpleActionProcessor implements ActionProcessor {
                             + taskRefName
                             + ", workflowId: "
                             + workflowId);
-            return replaced;
         }
+        return task;
+    }
 
+    private TaskResult getTaskResult(
+            Task task,
+            Status status,
+            Map<String, Object> replaced,
+            TaskDetails taskDetails,
+            String event,
+            String messageId) {
         task.setStatus(status);
         task.setOutputData(replaced);
         task.setOutputMessage(taskDetails.getOutputMessage());
         task.getOutputData().put("conductor.event.messageId", messageId);
         task.getOutputData().put("conductor.event.name", event);
-
-        try {
-            workflowExecutor.updateTask(new TaskResult(task));
-            LOGGER.debug(
-                    "Updated task: {} in workflow:{} with status: {} for event: {} for message:{}",
-                    taskId,
-                    workflowId,
-                    status,
-                    event,
-                    messageId);
-        } catch (RuntimeException e) {
-            Monitors.recordEventActionError(action.getAction().name(), task.getTaskType(), event);
-            LOGGER.error(
-                    "Error updating task: {} in workflow: {} in action: {} for event: {} for message: {}",
-                    taskDetails.getTaskRefName(),
-                    taskDetails.getWorkflowId(),
-                    action.getAction(),
-                    event,
-                    messageId,
-                    e);
-            replaced.put("error", e.getMessage());
-            throw e;
-        }
-        return replaced;
+        return new TaskResult(task);
     }
 
     private Map<String, Object> startWorkflow(
@@ -169,28 +412,18 @@ public class SimpleActionProcessor implements ActionProcessor {
         StartWorkflow params = action.getStart_workflow();
         Map<String, Object> output = new HashMap<>();
         try {
-            Map<String, Object> inputParams = params.getInput();
-            Map<String, Object> workflowInput = parametersUtils.replace(inputParams, payload);
-
-            Map<String, Object> paramsMap = new HashMap<>();
-            Optional.ofNullable(params.getCorrelationId())
-                    .ifPresent(value -> paramsMap.put("correlationId", value));
-            Map<String, Object> replaced = parametersUtils.replace(paramsMap, payload);
-
-            workflowInput.put("conductor.event.messageId", messageId);
-            workflowInput.put("conductor.event.name", event);
+            StartWorkflowRequest request =
+                    getStartWorkflowRequest(params, payload, event, messageId);
 
             String workflowId =
                     workflowExecutor.startWorkflow(
-                            params.getName(),
-                            params.getVersion(),
-                            Optional.ofNullable(replaced.get("correlationId"))
-                                    .map(Object::toString)
-                                    .orElse(params.getCorrelationId()),
-                            workflowInput,
+                            request.getName(),
+                            request.getVersion(),
+                            request.getCorrelationId(),
+                            request.getInput(),
                             null,
                             event,
-                            params.getTaskToDomain());
+                            request.getTaskToDomain());
             output.put("workflowId", workflowId);
             LOGGER.debug(
                     "Started workflow: {}/{}/{} for event: {} for message:{}",
@@ -214,4 +447,29 @@ public class SimpleActionProcessor implements ActionProcessor {
         }
         return output;
     }
+
+    private StartWorkflowRequest getStartWorkflowRequest(
+            StartWorkflow params, Object payload, String event, String messageId) {
+        Map<String, Object> inputParams = params.getInput();
+        Map<String, Object> workflowInput = parametersUtils.replace(inputParams, payload);
+
+        Map<String, Object> paramsMap = new HashMap<>();
+        Optional.ofNullable(params.getCorrelationId())
+                .ifPresent(value -> paramsMap.put("correlationId", value));
+        Map<String, Object> replaced = parametersUtils.replace(paramsMap, payload);
+
+        workflowInput.put("conductor.event.messageId", messageId);
+        workflowInput.put("conductor.event.name", event);
+
+        StartWorkflowRequest request = new StartWorkflowRequest();
+        request.setName(params.getName());
+        request.setVersion(params.getVersion());
+        request.setCorrelationId(
+                Optional.ofNullable(replaced.get("correlationId"))
+                        .map(Object::toString)
+                        .orElse(params.getCorrelationId()));
+        request.setInput(workflowInput);
+        request.setTaskToDomain(params.getTaskToDomain());
+        return request;
+    }
 }
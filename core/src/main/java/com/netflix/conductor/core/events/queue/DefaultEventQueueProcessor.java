@@ -12,12 +12,23 @@
  */
 package com.netflix.conductor.core.events.queue;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -28,6 +39,7 @@ import org.springframework.stereotype.Component;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.service.ExecutionService;
@@ -36,6 +48,7 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_WAIT;
 
@@ -58,123 +71,188 @@ public class DefaultEventQueueProcessor {
     private static final TypeReference<Map<String, Object>> _mapType =
             new TypeReference<Map<String, Object>>() {};
     private final ObjectMapper objectMapper;
+    private final ExecutorService executorService;
+    private final Duration batchInterval;
+    private final int batchSize;
 
     public DefaultEventQueueProcessor(
             Map<Status, ObservableQueue> queues,
             ExecutionService executionService,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ConductorProperties properties) {
         this.queues = queues;
         this.executionService = executionService;
         this.objectMapper = objectMapper;
+        this.batchInterval = properties.getEventQueuePollInterval();
+        this.batchSize = properties.getDefaultEventQueueProcessorBatchSize();
+        ThreadFactory threadFactory =
+                new ThreadFactoryBuilder()
+                        .setNameFormat("default-event-queue-processor-thread-%d")
+                        .build();
+        this.executorService =
+                Executors.newFixedThreadPool(
+                        properties.getDefaultEventQueueProcessorThreadCount(), threadFactory);
         queues.forEach(this::startMonitor);
         LOGGER.info(
                 "DefaultEventQueueProcessor initialized with {} queues", queues.entrySet().size());
     }
 
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
     private void startMonitor(Status status, ObservableQueue queue) {
 
         queue.observe()
+                .buffer(batchInterval.toMillis(), TimeUnit.MILLISECONDS, batchSize)
+                .filter(messages -> !messages.isEmpty())
                 .subscribe(
-                        (Message msg) -> {
-                            try {
-                                LOGGER.debug("Got message {}", msg.getPayload());
-                                String payload = msg.getPayload();
-                                JsonNode payloadJSON = objectMapper.readTree(payload);
-                                String externalId = getValue("externalId", payloadJSON);
-                                if (externalId == null || "".equals(externalId)) {
-                                    LOGGER.error("No external Id found in the payload {}", payload);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-
-                                JsonNode json = objectMapper.readTree(externalId);
-                                String workflowId = getValue("workflowId", json);
-                                String taskRefName = getValue("taskRefName", json);
-                                String taskId = getValue("taskId", json);
-                                if (workflowId == null || "".equals(workflowId)) {
-                                    // This is a bad message, we cannot process it
-                                    LOGGER.error(
-                                            "No workflow id found in the message. {}", payload);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-                                Workflow workflow =
-                                        executionService.getExecutionStatus(workflowId, true);
-                                Optional<Task> taskOptional;
-                                if (StringUtils.isNotEmpty(taskId)) {
-                                    taskOptional =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getTaskId()
-                                                                                    .equals(taskId))
-                                                    .findFirst();
-                                } else if (StringUtils.isEmpty(taskRefName)) {
-                                    LOGGER.error(
-                                            "No taskRefName found in the message. If there is only one WAIT task, will mark it as completed. {}",
-                                            payload);
-                                    taskOptional =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getTaskType()
-                                                                                    .equals(
-                                                                                            TASK_TYPE_WAIT))
-                                                    .findFirst();
-                                } else {
-                                    taskOptional =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getReferenceTaskName()
-                                                                                    .equals(
-                                                                                            taskRefName))
-                                                    .findFirst();
-                                }
-
-                                if (!taskOptional.isPresent()) {
-                                    LOGGER.error(
-                                            "No matching tasks found to be marked as completed for workflow {}, taskRefName {}, taskId {}",
-                                            workflowId,
-                                            taskRefName,
-                                            taskId);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-
-                                Task task = taskOptional.get();
-                                task.setStatus(status);
-                                task.getOutputData()
-                                        .putAll(objectMapper.convertValue(payloadJSON, _mapType));
-                                executionService.updateTask(task);
-
-                                List<String> failures = queue.ack(Collections.singletonList(msg));
-                                if (!failures.isEmpty()) {
-                                    LOGGER.error(
-                                            "Not able to ack the messages {}", failures.toString());
-                                }
-                            } catch (JsonParseException e) {
-                                LOGGER.error("Bad message? : {} ", msg, e);
-                                queue.ack(Collections.singletonList(msg));
-
-                            } catch (ApplicationException e) {
-                                if (e.getCode().equals(Code.NOT_FOUND)) {
-                                    LOGGER.error(
-                                            "Workflow ID specified is not valid for this environment");
-                                    queue.ack(Collections.singletonList(msg));
-                                }
-                                LOGGER.error("Error processing message: {}", msg, e);
-                            } catch (Exception e) {
-                                LOGGER.error("Error processing message: {}", msg, e);
-                            }
-                        },
+                        (List<Message> messages) -> processMessages(status, queue, messages),
                         (Throwable t) -> LOGGER.error(t.getMessage(), t));
         LOGGER.info("QueueListener::STARTED...listening for " + queue.getName());
     }
 
+    /**
+     * Processes the messages of different workflows in parallel, and those of a given workflow in
+     * the order they were received, then acknowledges the processed messages at once. The next
+     * batch is processed once this one is done, which keeps the order across batches.
+     */
+    private void processMessages(Status status, ObservableQueue queue, List<Message> messages) {
+        Map<String, List<Message>> messagesByWorkflow = new LinkedHashMap<>();
+        messages.forEach(
+                msg ->
+                        messagesByWorkflow
+                                .computeIfAbsent(getWorkflowId(msg), id -> new ArrayList<>())
+                                .add(msg));
+
+        List<CompletableFuture<List<Message>>> futures =
+                messagesByWorkflow.values().stream()
+                        .map(
+                                workflowMessages ->
+                                        CompletableFuture.supplyAsync(
+                                                () ->
+                                                        workflowMessages.stream()
+                                                                .filter(
+                                                                        msg ->
+                                                                                processMessage(
+                                                                                        status,
+                                                                                        msg))
+                                                                .collect(Collectors.toList()),
+                                                executorService))
+                        .collect(Collectors.toList());
+        List<Message> processed =
+                futures.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+
+        if (!processed.isEmpty()) {
+            List<String> failures = queue.ack(processed);
+            if (!failures.isEmpty()) {
+                LOGGER.error("Not able to ack the messages {}", failures.toString());
+            }
+        }
+    }
+
+    /** @return the id of the workflow the message is for, empty if it cannot be read */
+    private String getWorkflowId(Message msg) {
+        try {
+            String externalId = getValue("externalId", objectMapper.readTree(msg.getPayload()));
+            if (StringUtils.isNotEmpty(externalId)) {
+                return StringUtils.defaultString(
+                        getValue("workflowId", objectMapper.readTree(externalId)));
+            }
+        } catch (Exception e) {
+            // the message is rejected when processed
+        }
+        return "";
+    }
+
+    /**
+     * Updates the task the message is for.
+     *
+     * @return true if the message is to be acknowledged, false if it is to be received again
+     */
+    private boolean processMessage(Status status, Message msg) {
+        try {
+            LOGGER.debug("Got message {}", msg.getPayload());
+            String payload = msg.getPayload();
+            JsonNode payloadJSON = objectMapper.readTree(payload);
+            String externalId = getValue("externalId", payloadJSON);
+            if (externalId == null || "".equals(externalId)) {
+                LOGGER.error("No external Id found in the payload {}", payload);
+                return true;
+            }
+
+            JsonNode json = objectMapper.readTree(externalId);
+            String workflowId = getValue("workflowId", json);
+            String taskRefName = getValue("taskRefName", json);
+            String taskId = getValue("taskId", json);
+            if (workflowId == null || "".equals(workflowId)) {
+                // This is a bad message, we cannot process it
+                LOGGER.error("No workflow id found in the message. {}", payload);
+                return true;
+            }
+            Optional<Task> taskOptional;
+            if (StringUtils.isNotEmpty(taskId)) {
+                taskOptional =
+                        Optional.ofNullable(executionService.getTask(workflowId, taskId))
+                                .filter(
+                                        task ->
+                                                !task.getStatus().isTerminal()
+                                                        && workflowId.equals(
+                                                                task.getWorkflowInstanceId()));
+            } else if (StringUtils.isEmpty(taskRefName)) {
+                LOGGER.error(
+                        "No taskRefName found in the message. If there is only one WAIT task, will mark it as completed. {}",
+                        payload);
+                Workflow workflow = executionService.getExecutionStatus(workflowId, true);
+                taskOptional =
+                        workflow.getTasks().stream()
+                                .filter(
+                                        task ->
+                                                !task.getStatus().isTerminal()
+                                                        && task.getTaskType()
+                                                                .equals(TASK_TYPE_WAIT))
+                                .findFirst();
+            } else {
+                taskOptional =
+                        Optional.ofNullable(
+                                executionService.getPendingTaskForWorkflow(
+                                        taskRefName, workflowId));
+            }
+
+            if (!taskOptional.isPresent()) {
+                LOGGER.error(
+                        "No matching tasks found to be marked as completed for workflow {}, taskRefName {}, taskId {}",
+                        workflowId,
+                        taskRefName,
+                        taskId);
+                return true;
+            }
+
+            Task task = taskOptional.get();
+            task.setStatus(status);
+            task.getOutputData().putAll(objectMapper.convertValue(payloadJSON, _mapType));
+            executionService.updateTask(task);
+            return true;
+        } catch (JsonParseException e) {
+            LOGGER.error("Bad message? : {} ", msg, e);
+            return true;
+        } catch (ApplicationException e) {
+            LOGGER.error("Error processing message: {}", msg, e);
+            if (e.getCode().equals(Code.NOT_FOUND)) {
+                LOGGER.error("Workflow ID specified is not valid for this environment");
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            LOGGER.error("Error processing message: {}", msg, e);
+            return false;
+        }
+    }
+
     private String getValue(String fieldName, JsonNode json) {
         JsonNode node = json.findValue(fieldName);
         if (node == null) {
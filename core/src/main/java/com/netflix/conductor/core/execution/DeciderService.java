@@ -854,6 +854,103 @@ public class DeciderService {
         return true;
     }
 
+    /**
+     * Computes the next time at which the given workflow needs to be decided, without any task
+     * update, from the workflow timeout and the timeout, poll timeout and response timeout of its
+     * pending tasks, including their callbackAfterSeconds, and from the time at which its pending
+     * system tasks are due to be executed again. It mirrors {@link #checkWorkflowTimeout}, {@link
+     * #checkTaskTimeout}, {@link #checkTaskPollTimeout} and {@link #isResponseTimedOut}. Deadlines
+     * which have already passed are left out, since they have just been evaluated.
+     *
+     * @param workflow the workflow, including its tasks
+     * @return the next deadline in epoch millis, or {@link Long#MAX_VALUE} if there is none
+     */
+    public long getNextDeadline(Workflow workflow) {
+        long now = System.currentTimeMillis();
+        long nextDeadline = Long.MAX_VALUE;
+        if (workflow.getStatus().isTerminal()) {
+            return nextDeadline;
+        }
+
+        WorkflowDef workflowDef = workflow.getWorkflowDefinition();
+        if (workflowDef != null && workflowDef.getTimeoutSeconds() > 0) {
+            long startTime =
+                    workflow.getLastRetriedTime() > 0
+                            ? workflow.getLastRetriedTime()
+                            : workflow.getStartTime();
+            nextDeadline =
+                    nextDeadline(
+                            nextDeadline, startTime + 1000L * workflowDef.getTimeoutSeconds(), now);
+        }
+        if (workflow.getStatus().equals(WorkflowStatus.PAUSED)) {
+            return nextDeadline;
+        }
+
+        for (Task task : workflow.getTasks()) {
+            if (!isNonPendingTask.test(task) || task.getStatus().isTerminal()) {
+                continue;
+            }
+            if (systemTaskRegistry.isSystemTask(task.getTaskType())) {
+                Optional<Long> evaluationTime =
+                        systemTaskRegistry.get(task.getTaskType()).getEvaluationTime(task);
+                if (evaluationTime.isPresent()) {
+                    nextDeadline = nextDeadline(nextDeadline, evaluationTime.get(), now);
+                }
+            }
+            Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+            if (taskDefinition.isEmpty() && workflowDef != null) {
+                taskDefinition =
+                        Optional.ofNullable(
+                                        workflowDef.getTaskByRefName(task.getReferenceTaskName()))
+                                .map(WorkflowTask::getTaskDefinition);
+            }
+            if (taskDefinition.isEmpty()) {
+                continue;
+            }
+            TaskDef taskDef = taskDefinition.get();
+            long startDelay = 1000L * task.getStartDelayInSeconds();
+            long callbackTime = 1000L * task.getCallbackAfterSeconds();
+
+            if (taskDef.getTimeoutSeconds() > 0 && task.getStartTime() > 0) {
+                nextDeadline =
+                        nextDeadline(
+                                nextDeadline,
+                                task.getStartTime()
+                                        + startDelay
+                                        + 1000L * taskDef.getTimeoutSeconds(),
+                                now);
+            }
+            if (taskDef.getPollTimeoutSeconds() != null
+                    && taskDef.getPollTimeoutSeconds() > 0
+                    && task.getStatus().equals(SCHEDULED)) {
+                nextDeadline =
+                        nextDeadline(
+                                nextDeadline,
+                                task.getScheduledTime()
+                                        + startDelay
+                                        + 1000L * taskDef.getPollTimeoutSeconds()
+                                        + callbackTime,
+                                now);
+            }
+            if (task.getStatus().equals(IN_PROGRESS)
+                    && taskDef.getResponseTimeoutSeconds() != 0
+                    && !isAyncCompleteSystemTask(task)) {
+                nextDeadline =
+                        nextDeadline(
+                                nextDeadline,
+                                task.getUpdateTime()
+                                        + 1000L * taskDef.getResponseTimeoutSeconds()
+                                        + callbackTime,
+                                now);
+            }
+        }
+        return nextDeadline;
+    }
+
+    private static long nextDeadline(long nextDeadline, long deadline, long now) {
+        return deadline > now ? Math.min(nextDeadline, deadline) : nextDeadline;
+    }
+
     private void timeoutTask(TaskDef taskDef, Task task) {
         String reason =
                 "responseTimeout: "
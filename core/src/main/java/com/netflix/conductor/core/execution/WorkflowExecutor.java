@@ -18,14 +18,17 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -40,8 +43,10 @@ import com.netflix.conductor.common.metadata.tasks.TaskResult.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.SkipTaskRequest;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.common.utils.RetryUtil;
@@ -60,6 +65,7 @@ import com.netflix.conductor.core.orchestration.ExecutionDAOFacade;
 import com.netflix.conductor.core.utils.IDGenerator;
 import com.netflix.conductor.core.utils.ParametersUtils;
 import com.netflix.conductor.core.utils.QueueUtils;
+import com.netflix.conductor.dao.DecideCommit;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
@@ -386,34 +392,18 @@ public class WorkflowExecutor {
         // perform validations
         validateWorkflow(workflowDefinition, workflowInput, externalInputPayloadStoragePath);
 
-        // A random UUID is assigned to the work flow instance
-        String workflowId = IDGenerator.generate();
-
-        // Persist the Workflow
-        Workflow workflow = new Workflow();
-        workflow.setWorkflowId(workflowId);
-        workflow.setCorrelationId(correlationId);
-        workflow.setPriority(priority == null ? 0 : priority);
-        workflow.setWorkflowDefinition(workflowDefinition);
-        workflow.setStatus(WorkflowStatus.RUNNING);
-        workflow.setParentWorkflowId(parentWorkflowId);
-        workflow.setParentWorkflowTaskId(parentWorkflowTaskId);
-        workflow.setOwnerApp(WorkflowContext.get().getClientApp());
-        workflow.setCreateTime(System.currentTimeMillis());
-        workflow.setUpdatedBy(null);
-        workflow.setUpdateTime(null);
-        workflow.setEvent(event);
-        workflow.setTaskToDomain(taskToDomain);
-        workflow.setVariables(workflowDefinition.getVariables());
-
-        if (workflowInput != null && !workflowInput.isEmpty()) {
-            Map<String, Object> parsedInput =
-                    parametersUtils.getWorkflowInput(workflowDefinition, workflowInput);
-            workflow.setInput(parsedInput);
-            deciderService.externalizeWorkflowData(workflow);
-        } else {
-            workflow.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
-        }
+        Workflow workflow =
+                newWorkflow(
+                        workflowDefinition,
+                        workflowInput,
+                        externalInputPayloadStoragePath,
+                        correlationId,
+                        priority,
+                        parentWorkflowId,
+                        parentWorkflowTaskId,
+                        event,
+                        taskToDomain);
+        String workflowId = workflow.getWorkflowId();
 
         try {
             createWorkflow(workflow);
@@ -441,6 +431,153 @@ public class WorkflowExecutor {
         }
     }
 
+    /**
+     * Starts the workflows of the given requests in bulk. The workflow definitions are resolved
+     * once per name and version, and the workflows are created together with {@link
+     * ExecutionDAOFacade#createWorkflows(List)}. Unlike {@link #startWorkflow(WorkflowDef, Map,
+     * String, String, Integer, String, String, String, Map)}, the workflows are not decided before
+     * returning: they are pushed to the decider queue, and their first tasks are scheduled by the
+     * sweeper.
+     *
+     * @param requests the requests of the workflows to start
+     * @return the ids of the started workflows and the errors, by position of their request
+     */
+    public BulkStartWorkflowResponse startWorkflows(List<StartWorkflowRequest> requests) {
+        return startWorkflows(requests, null);
+    }
+
+    /**
+     * Starts the workflows of the given requests in bulk, as {@link #startWorkflows(List)} does,
+     * recording the event which triggered them.
+     *
+     * @param requests the requests of the workflows to start
+     * @param event the event which triggered the workflows
+     * @return the ids of the started workflows and the errors, by position of their request
+     */
+    public BulkStartWorkflowResponse startWorkflows(
+            List<StartWorkflowRequest> requests, String event) {
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        Map<Pair<String, Integer>, WorkflowDef> workflowDefinitions = new HashMap<>();
+        Map<Integer, Workflow> workflows = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            StartWorkflowRequest request = requests.get(i);
+            String workflowName =
+                    request.getWorkflowDef() == null
+                            ? request.getName()
+                            : request.getWorkflowDef().getName();
+            try {
+                WorkflowDef workflowDefinition = request.getWorkflowDef();
+                if (workflowDefinition == null) {
+                    workflowDefinition =
+                            workflowDefinitions.computeIfAbsent(
+                                    Pair.of(request.getName(), request.getVersion()),
+                                    key ->
+                                            metadataMapperService.populateTaskDefinitions(
+                                                    metadataMapperService
+                                                            .lookupForWorkflowDefinition(
+                                                                    key.getLeft(),
+                                                                    key.getRight())));
+                } else {
+                    workflowDefinition =
+                            metadataMapperService.populateTaskDefinitions(workflowDefinition);
+                }
+                checkWorkflowInput(
+                        workflowDefinition,
+                        request.getInput(),
+                        request.getExternalInputPayloadStoragePath());
+                workflows.put(
+                        i,
+                        newWorkflow(
+                                workflowDefinition,
+                                request.getInput(),
+                                request.getExternalInputPayloadStoragePath(),
+                                request.getCorrelationId(),
+                                request.getPriority(),
+                                null,
+                                null,
+                                event,
+                                request.getTaskToDomain()));
+            } catch (Exception e) {
+                Monitors.recordWorkflowStartError(
+                        workflowName, WorkflowContext.get().getClientApp());
+                LOGGER.error("Unable to start workflow: {}", workflowName, e);
+                response.appendFailedResponse(i, e.getMessage());
+            }
+        }
+
+        if (workflows.isEmpty()) {
+            return response;
+        }
+        try {
+            executionDAOFacade.createWorkflows(new ArrayList<>(workflows.values()));
+        } catch (Exception e) {
+            LOGGER.error("Unable to create {} workflows", workflows.size(), e);
+            workflows.forEach(
+                    (index, workflow) -> {
+                        Monitors.recordWorkflowStartError(
+                                workflow.getWorkflowName(), workflow.getOwnerApp());
+                        response.appendFailedResponse(index, e.getMessage());
+                        try {
+                            executionDAOFacade.removeWorkflow(workflow.getWorkflowId(), false);
+                        } catch (Exception rwe) {
+                            LOGGER.warn(
+                                    "Could not remove the workflowId: {}: {}",
+                                    workflow.getWorkflowId(),
+                                    rwe.getMessage());
+                        }
+                    });
+            return response;
+        }
+        workflows.forEach(
+                (index, workflow) -> {
+                    Monitors.recordWorkflowStartSuccess(
+                            workflow.getWorkflowName(),
+                            String.valueOf(workflow.getWorkflowVersion()),
+                            workflow.getOwnerApp());
+                    response.appendSuccessResponse(index, workflow.getWorkflowId());
+                });
+        return response;
+    }
+
+    /** Builds a new running workflow, with a random UUID assigned as its id. */
+    private Workflow newWorkflow(
+            WorkflowDef workflowDefinition,
+            Map<String, Object> workflowInput,
+            String externalInputPayloadStoragePath,
+            String correlationId,
+            Integer priority,
+            String parentWorkflowId,
+            String parentWorkflowTaskId,
+            String event,
+            Map<String, String> taskToDomain) {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(IDGenerator.generate());
+        workflow.setCorrelationId(correlationId);
+        workflow.setPriority(priority == null ? 0 : priority);
+        workflow.setWorkflowDefinition(workflowDefinition);
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        workflow.setParentWorkflowId(parentWorkflowId);
+        workflow.setParentWorkflowTaskId(parentWorkflowTaskId);
+        workflow.setOwnerApp(WorkflowContext.get().getClientApp());
+        workflow.setCreateTime(System.currentTimeMillis());
+        workflow.setUpdatedBy(null);
+        workflow.setUpdateTime(null);
+        workflow.setEvent(event);
+        workflow.setTaskToDomain(taskToDomain);
+        workflow.setVariables(workflowDefinition.getVariables());
+
+        if (workflowInput != null && !workflowInput.isEmpty()) {
+            Map<String, Object> parsedInput =
+                    parametersUtils.getWorkflowInput(workflowDefinition, workflowInput);
+            workflow.setInput(parsedInput);
+            deciderService.externalizeWorkflowData(workflow);
+        } else {
+            workflow.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        return workflow;
+    }
+
     /*
      * Acquire and hold the lock till the workflow creation action is completed (in primary and secondary datastores).
      * This is to ensure that workflow creation action precedes any other action on a given workflow.
@@ -471,13 +608,7 @@ public class WorkflowExecutor {
             Map<String, Object> workflowInput,
             String externalStoragePath) {
         try {
-            // Check if the input to the workflow is not null
-            if (workflowInput == null && StringUtils.isBlank(externalStoragePath)) {
-                LOGGER.error(
-                        "The input for the workflow '{}' cannot be NULL", workflowDef.getName());
-                throw new ApplicationException(
-                        INVALID_INPUT, "NULL input passed when starting workflow");
-            }
+            checkWorkflowInput(workflowDef, workflowInput, externalStoragePath);
         } catch (Exception e) {
             Monitors.recordWorkflowStartError(
                     workflowDef.getName(), WorkflowContext.get().getClientApp());
@@ -485,6 +616,22 @@ public class WorkflowExecutor {
         }
     }
 
+    /**
+     * Checks that the input to the workflow is not null, without recording the start error.
+     *
+     * @throws ApplicationException if the input is null
+     */
+    private void checkWorkflowInput(
+            WorkflowDef workflowDef,
+            Map<String, Object> workflowInput,
+            String externalStoragePath) {
+        if (workflowInput == null && StringUtils.isBlank(externalStoragePath)) {
+            LOGGER.error("The input for the workflow '{}' cannot be NULL", workflowDef.getName());
+            throw new ApplicationException(
+                    INVALID_INPUT, "NULL input passed when starting workflow");
+        }
+    }
+
     /**
      * @param workflowId the id of the workflow for which task callbacks are to be reset
      * @throws ApplicationException if the workflow is in terminal state
@@ -801,12 +948,7 @@ public class WorkflowExecutor {
     }
 
     public Task getPendingTaskByWorkflow(String taskReferenceName, String workflowId) {
-        return executionDAOFacade.getTasksForWorkflow(workflowId).stream()
-                .filter(NON_TERMINAL_TASK)
-                .filter(task -> task.getReferenceTaskName().equals(taskReferenceName))
-                .findFirst() // There can only be one task by a given reference name running at a
-                // time.
-                .orElse(null);
+        return executionDAOFacade.getPendingTaskByReferenceName(workflowId, taskReferenceName);
     }
 
     private void endExecution(Workflow workflow) {
@@ -1059,6 +1201,20 @@ public class WorkflowExecutor {
      * @throws ApplicationException
      */
     public void updateTask(TaskResult taskResult) {
+        if (updateTaskWithoutDecide(taskResult)) {
+            decide(taskResult.getWorkflowInstanceId());
+        }
+    }
+
+    /**
+     * Updates the task with the given result, without deciding its workflow. This allows several
+     * tasks of a workflow to be updated before it is decided once, with {@link #decide(String)}.
+     *
+     * @param taskResult the task result to be updated
+     * @return true if the task was updated, false if the task or its workflow had already finished
+     * @throws ApplicationException
+     */
+    public boolean updateTaskWithoutDecide(TaskResult taskResult) {
         if (taskResult == null) {
             throw new ApplicationException(
                     ApplicationException.Code.INVALID_INPUT, "Task object is null");
@@ -1098,7 +1254,7 @@ public class WorkflowExecutor {
                     taskQueueName);
             Monitors.recordUpdateConflict(
                     task.getTaskType(), workflowInstance.getWorkflowName(), task.getStatus());
-            return;
+            return false;
         }
 
         if (workflowInstance.getStatus().isTerminal()) {
@@ -1113,7 +1269,7 @@ public class WorkflowExecutor {
                     task.getTaskType(),
                     workflowInstance.getWorkflowName(),
                     workflowInstance.getStatus());
-            return;
+            return false;
         }
 
         // for system tasks, setting to SCHEDULED would mean restarting the task which is
@@ -1253,7 +1409,7 @@ public class WorkflowExecutor {
                     task.getTaskDefName(), lastDuration, false, task.getStatus());
         }
 
-        decide(workflowId);
+        return true;
     }
 
     public Task getTask(String taskId) {
@@ -1268,6 +1424,38 @@ public class WorkflowExecutor {
                 .orElse(null);
     }
 
+    /**
+     * Loads a task of the given workflow as {@link #getTask(String)} does, without resolving the
+     * workflow from the task id where the persistence keys the tasks by their workflow.
+     */
+    public Task getTask(String workflowId, String taskId) {
+        return Optional.ofNullable(executionDAOFacade.getTaskById(workflowId, taskId))
+                .map(
+                        task -> {
+                            if (task.getWorkflowTask() != null) {
+                                return metadataMapperService.populateTaskWithDefinition(task);
+                            }
+                            return task;
+                        })
+                .orElse(null);
+    }
+
+    /**
+     * Loads the given tasks at once, populating their definitions as {@link #getTask(String)} does.
+     * The tasks which are not found are left out.
+     */
+    public List<Task> getTasks(List<String> taskIds) {
+        return executionDAOFacade.getTasksByIds(taskIds).stream()
+                .map(
+                        task -> {
+                            if (task.getWorkflowTask() != null) {
+                                return metadataMapperService.populateTaskWithDefinition(task);
+                            }
+                            return task;
+                        })
+                .collect(Collectors.toList());
+    }
+
     public List<Task> getTasks(String taskType, String startKey, int count) {
         return executionDAOFacade.getTasksByName(taskType, startKey, count);
     }
@@ -1295,7 +1483,31 @@ public class WorkflowExecutor {
      * @throws ApplicationException If there was an error - caller should retry in this case.
      */
     public boolean decide(String workflowId) {
+        return decide(workflowId, workflow -> {}, true);
+    }
+
+    /**
+     * Same as {@link #decide(String)}, but hands the workflow loaded under the workflow lock to the
+     * given consumer before it is evaluated, so that callers which need to inspect the workflow
+     * (e.g. the sweeper repairing its queues) do not have to load it again.
+     *
+     * @param workflowId ID of the workflow to evaluate the state for
+     * @param workflowLoaded invoked with the loaded workflow, including its tasks
+     * @param sweepOnLockMiss whether to make the workflow available to the sweeper right away when
+     *     the workflow lock is held by another decide, with the workflow timer enabled. The sweeper
+     *     passes false, since the holder of the lock defers its next sweep anyway, and sweeping it
+     *     right away would only make the sweeper spin on the lock.
+     * @return true if the workflow has completed (success or failed), false otherwise.
+     * @throws ApplicationException If there was an error - caller should retry in this case.
+     */
+    public boolean decide(
+            String workflowId, Consumer<Workflow> workflowLoaded, boolean sweepOnLockMiss) {
         if (!executionLockService.acquireLock(workflowId)) {
+            if (sweepOnLockMiss && properties.isWorkflowTimerEnabled()) {
+                // The holder of the lock may have loaded the workflow before the change this
+                // decide was triggered for, and defers the next sweep to the next deadline.
+                sweepNow(workflowId);
+            }
             return false;
         }
 
@@ -1306,6 +1518,8 @@ public class WorkflowExecutor {
         // This code will be removed in a future version.
         workflow = metadataMapperService.populateWorkflowWithDefinitions(workflow);
 
+        workflowLoaded.accept(workflow);
+
         if (workflow.getStatus().isTerminal()) {
             if (!workflow.getStatus().isSuccessful()) {
                 cancelNonTerminalTasks(workflow);
@@ -1347,15 +1561,30 @@ public class WorkflowExecutor {
                 }
             }
 
-            if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
-                executionDAOFacade.updateTasks(tasksToBeUpdated);
-                executionDAOFacade.updateWorkflow(workflow);
-            }
+            if (properties.isDecideCommitEnabled()) {
+                DecideCommit commit = new DecideCommit(workflow);
+                if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
+                    commit.updateTasks(tasksToBeUpdated).updateWorkflow();
+                }
+                if (tasksToBeScheduled.isEmpty()) {
+                    executionDAOFacade.commitDecide(commit);
+                } else {
+                    stateChanged =
+                            scheduleTask(workflow, tasksToBeScheduled, commit) || stateChanged;
+                }
+            } else {
+                if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
+                    executionDAOFacade.updateTasks(tasksToBeUpdated);
+                    executionDAOFacade.updateWorkflow(workflow);
+                }
 
-            stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
+                stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
+            }
 
             if (stateChanged) {
                 decide(workflowId);
+            } else if (properties.isWorkflowTimerEnabled() || hasTimedSystemTask(workflow)) {
+                scheduleNextSweep(workflow);
             }
 
         } catch (TerminateWorkflowException twe) {
@@ -1697,24 +1926,44 @@ public class WorkflowExecutor {
 
     @VisibleForTesting
     boolean scheduleTask(Workflow workflow, List<Task> tasks) {
+        return scheduleTask(workflow, tasks, null);
+    }
+
+    /**
+     * Creates and queues the tasks, starting the synchronous system tasks. When a decide commit is
+     * given, the tasks are created and queued along with the state changes it holds, in a single
+     * {@link ExecutionDAOFacade#commitDecide(DecideCommit)}, and the synchronous system tasks are
+     * updated once started.
+     */
+    @VisibleForTesting
+    boolean scheduleTask(Workflow workflow, List<Task> tasks, DecideCommit commit) {
         List<Task> createdTasks;
         List<Task> tasksToBeQueued;
         boolean startedSystemTasks = false;
 
-        try {
-            if (tasks == null || tasks.isEmpty()) {
-                return false;
-            }
+        if (tasks == null || tasks.isEmpty()) {
+            return false;
+        }
 
-            // Get the highest seq number
-            int count = workflow.getTasks().stream().mapToInt(Task::getSeq).max().orElse(0);
+        // Get the highest seq number
+        int count = workflow.getTasks().stream().mapToInt(Task::getSeq).max().orElse(0);
 
-            for (Task task : tasks) {
-                if (task.getSeq() == 0) { // Set only if the seq was not set
-                    task.setSeq(++count);
-                }
+        for (Task task : tasks) {
+            if (task.getSeq() == 0) { // Set only if the seq was not set
+                task.setSeq(++count);
             }
+        }
 
+        List<Task> committedTasks = null;
+        if (commit != null) {
+            // The commit also holds the task and workflow updates of the decide, a failure to
+            // persist it is thrown to the caller to retry the decide, as those updates would be.
+            commit.createTasks(tasks);
+            tasks.stream().filter(this::isQueuedWhenScheduled).forEach(commit::queueTask);
+            committedTasks = executionDAOFacade.commitDecide(commit);
+        }
+
+        try {
             // metric to track the distribution of number of tasks within a workflow
             Monitors.recordNumTasksInWorkflow(
                     workflow.getTasks().size() + tasks.size(),
@@ -1722,7 +1971,7 @@ public class WorkflowExecutor {
                     String.valueOf(workflow.getWorkflowVersion()));
 
             // Save the tasks in the DAO
-            createdTasks = executionDAOFacade.createTasks(tasks);
+            createdTasks = commit == null ? executionDAOFacade.createTasks(tasks) : committedTasks;
 
             List<Task> systemTasks =
                     createdTasks.stream()
@@ -1779,6 +2028,11 @@ public class WorkflowExecutor {
             throw new TerminateWorkflowException(errorMsg);
         }
 
+        if (commit != null) {
+            // the tasks were queued with the commit
+            return startedSystemTasks;
+        }
+
         // On addTaskToQueue failures, ignore the exceptions and let WorkflowRepairService take care
         // of republishing the messages to the queue.
         try {
@@ -1796,6 +2050,11 @@ public class WorkflowExecutor {
         return startedSystemTasks;
     }
 
+    private boolean isQueuedWhenScheduled(Task task) {
+        return !systemTaskRegistry.isSystemTask(task.getTaskType())
+                || systemTaskRegistry.get(task.getTaskType()).isAsync();
+    }
+
     private void addTaskToQueue(final List<Task> tasks) {
         for (Task task : tasks) {
             addTaskToQueue(task);
@@ -2009,6 +2268,59 @@ public class WorkflowExecutor {
         }
     }
 
+    /**
+     * Defers the next sweep of a running workflow to its next deadline, capped by the workflow
+     * timer max delay. Rounded up to the second, since that is the resolution of some queues.
+     */
+    private void scheduleNextSweep(Workflow workflow) {
+        long maxDelay = properties.getWorkflowTimerMaxDelay().toMillis();
+        long nextDeadline = deciderService.getNextDeadline(workflow);
+        long delay =
+                nextDeadline == Long.MAX_VALUE
+                        ? maxDelay
+                        : Math.min(maxDelay, nextDeadline - System.currentTimeMillis());
+        delay = (delay + 999) / 1000 * 1000;
+        try {
+            queueDAO.setUnackTimeout(DECIDER_QUEUE, workflow.getWorkflowId(), delay);
+        } catch (Exception e) {
+            // the workflow is swept when its current timeout expires
+            Monitors.error(CLASS_NAME, "scheduleNextSweep");
+            LOGGER.warn(
+                    "Error scheduling the next sweep of workflow: {}", workflow.getWorkflowId(), e);
+        }
+    }
+
+    /**
+     * A workflow with a pending system task which is due at a known time, such as a WAIT with a
+     * duration or until input, is swept at its next deadline even without the workflow timer, so
+     * that a long wait is not decided again on every sweep until it is due.
+     */
+    private boolean hasTimedSystemTask(Workflow workflow) {
+        return workflow.getTasks().stream()
+                .filter(task -> !task.getStatus().isTerminal())
+                .filter(task -> systemTaskRegistry.isSystemTask(task.getTaskType()))
+                .anyMatch(
+                        task ->
+                                systemTaskRegistry
+                                        .get(task.getTaskType())
+                                        .getEvaluationTime(task)
+                                        .isPresent());
+    }
+
+    /** Makes the workflow available to the sweeper right away. */
+    private void sweepNow(String workflowId) {
+        try {
+            if (queueDAO.containsMessage(DECIDER_QUEUE, workflowId)) {
+                queueDAO.postpone(DECIDER_QUEUE, workflowId, 0, 0);
+            } else {
+                queueDAO.push(DECIDER_QUEUE, workflowId, 0);
+            }
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "sweepNow");
+            LOGGER.warn("Error pushing workflow: {} to the decider queue", workflowId, e);
+        }
+    }
+
     /** Pushes parent workflow id into the decider queue with a priority. */
     private void pushParentWorkflow(String parentWorkflowId) {
         if (queueDAO.containsMessage(DECIDER_QUEUE, parentWorkflowId)) {
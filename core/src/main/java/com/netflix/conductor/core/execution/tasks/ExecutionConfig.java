@@ -12,8 +12,11 @@
  */
 package com.netflix.conductor.core.execution.tasks;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.ToIntFunction;
 
 import com.netflix.conductor.core.utils.SemaphoreUtil;
 
@@ -23,8 +26,18 @@ class ExecutionConfig {
 
     private final ExecutorService executorService;
     private final SemaphoreUtil semaphoreUtil;
+    private final int threadCount;
+    private final ToIntFunction<String> queueWeights;
+    private final Map<String, Integer> busyQueues = new ConcurrentHashMap<>();
 
     ExecutionConfig(int threadCount, String threadNameFormat) {
+        this(threadCount, threadNameFormat, queueName -> 1);
+    }
+
+    ExecutionConfig(int threadCount, String threadNameFormat, ToIntFunction<String> queueWeights) {
+
+        this.threadCount = threadCount;
+        this.queueWeights = queueWeights;
 
         this.executorService =
                 Executors.newFixedThreadPool(
@@ -41,4 +54,28 @@ class ExecutionConfig {
     public SemaphoreUtil getSemaphoreUtil() {
         return semaphoreUtil;
     }
+
+    /**
+     * The number of threads a queue may claim in a single poll. The threads are split among the
+     * queues sharing this config which currently have work, in proportion to their weights.
+     */
+    int getFairShare(String queueName) {
+        int weight = getWeight(queueName);
+        long totalWeight =
+                busyQueues.values().stream().mapToLong(Integer::longValue).sum()
+                        + (busyQueues.containsKey(queueName) ? 0 : weight);
+        return (int) Math.max(1, threadCount * weight / totalWeight);
+    }
+
+    void setBusy(String queueName, boolean busy) {
+        if (busy) {
+            busyQueues.put(queueName, getWeight(queueName));
+        } else {
+            busyQueues.remove(queueName);
+        }
+    }
+
+    private int getWeight(String queueName) {
+        return Math.max(1, queueWeights.applyAsInt(queueName));
+    }
 }
@@ -13,10 +13,12 @@
 package com.netflix.conductor.core.execution.tasks;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
@@ -32,9 +34,9 @@ import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.core.utils.SemaphoreUtil;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
-import com.netflix.conductor.service.ExecutionService;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /** The worker that polls and executes an async system task. */
 @Component
@@ -46,32 +48,56 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskWorker.class);
 
+    private static final long INITIAL_POLL_DELAY_MS = 1000;
+    private static final int POLL_TIMEOUT_MS = 200;
+    // The queues are only checked, not long polled, so that they do not hold up the pollers.
+    private static final int CHECK_POLL_TIMEOUT_MS = 1;
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+
     private final long pollInterval;
+    private final long maxPollInterval;
+    private final ScheduledExecutorService pollerExecutorService;
     private final QueueDAO queueDAO;
 
     ExecutionConfig defaultExecutionConfig;
     private final AsyncSystemTaskExecutor asyncSystemTaskExecutor;
     private final ConductorProperties properties;
     private final int maxPollCount;
-    private final ExecutionService executionService;
 
     ConcurrentHashMap<String, ExecutionConfig> queueExecutionConfigMap = new ConcurrentHashMap<>();
+    ConcurrentHashMap<String, QueuePoller> queuePollers = new ConcurrentHashMap<>();
 
     public SystemTaskWorker(
             QueueDAO queueDAO,
             AsyncSystemTaskExecutor asyncSystemTaskExecutor,
-            ConductorProperties properties,
-            ExecutionService executionService) {
+            ConductorProperties properties) {
         this.properties = properties;
         int threadCount = properties.getSystemTaskWorkerThreadCount();
-        this.defaultExecutionConfig = new ExecutionConfig(threadCount, "system-task-worker-%d");
+        this.defaultExecutionConfig =
+                new ExecutionConfig(threadCount, "system-task-worker-%d", this::getQueueWeight);
         this.asyncSystemTaskExecutor = asyncSystemTaskExecutor;
         this.queueDAO = queueDAO;
-        this.maxPollCount = properties.getSystemTaskMaxPollCount();
+        this.maxPollCount = Math.max(1, properties.getSystemTaskMaxPollCount());
         this.pollInterval = properties.getSystemTaskWorkerPollInterval().toMillis();
-        this.executionService = executionService;
+        this.maxPollInterval =
+                Math.max(
+                        pollInterval,
+                        properties.getSystemTaskWorkerMaxPollInterval() == null
+                                ? pollInterval
+                                : properties.getSystemTaskWorkerMaxPollInterval().toMillis());
+        int pollerThreadCount = Math.max(1, properties.getSystemTaskWorkerPollerThreadCount());
+        this.pollerExecutorService =
+                Executors.newScheduledThreadPool(
+                        pollerThreadCount,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("system-task-worker-poller-%d")
+                                .setDaemon(true)
+                                .build());
 
-        LOGGER.info("SystemTaskWorker initialized with {} threads", threadCount);
+        LOGGER.info(
+                "SystemTaskWorker initialized with {} threads and {} poller threads",
+                threadCount,
+                pollerThreadCount);
     }
 
     public void startPolling(WorkflowSystemTask systemTask) {
@@ -79,20 +105,35 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     }
 
     public void startPolling(WorkflowSystemTask systemTask, String queueName) {
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleWithFixedDelay(
-                        () -> this.pollAndExecute(systemTask, queueName),
-                        1000,
-                        pollInterval,
-                        TimeUnit.MILLISECONDS);
+        QueuePoller queuePoller = new QueuePoller(systemTask, queueName);
+        if (queuePollers.putIfAbsent(queueName, queuePoller) != null) {
+            LOGGER.debug("Already listening for task: {} in queue: {}", systemTask, queueName);
+            return;
+        }
+        queuePoller.schedule(INITIAL_POLL_DELAY_MS);
         LOGGER.info("Started listening for task: {} in queue: {}", systemTask, queueName);
     }
 
     void pollAndExecute(WorkflowSystemTask systemTask, String queueName) {
+        pollAndExecute(systemTask, queueName, maxPollCount, POLL_TIMEOUT_MS);
+    }
+
+    /**
+     * Polls up to the given number of tasks, bounded by the max poll count, the available threads
+     * and the share of the threads this queue may claim. The polled tasks are acknowledged in the
+     * same call to the queue.
+     *
+     * @return the number of tasks polled from the queue
+     */
+    int pollAndExecute(
+            WorkflowSystemTask systemTask,
+            String queueName,
+            int pollCount,
+            int timeoutInMilliSecond) {
         if (!isRunning()) {
             LOGGER.debug(
                     "{} stopped. Not polling for task: {}", getClass().getSimpleName(), systemTask);
-            return;
+            return 0;
         }
 
         // get the remaining capacity of worker queue to prevent queue full exception
@@ -104,14 +145,21 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         if (!semaphoreUtil.acquireSlots(1)) {
             // no available permits, do not poll
             Monitors.recordSystemTaskWorkerPollingLimited(queueName);
-            return;
+            return 0;
         }
 
         int acquiredSlots = 1;
 
         try {
-            // Since already one slot is acquired, now try if maxSlot-1 is available
-            int slotsToAcquire = Math.min(semaphoreUtil.availableSlots(), maxPollCount - 1);
+            // Since already one slot is acquired, now try if maxSlot-1 is available, within the
+            // share of the threads this queue may claim among the queues that have work
+            int slotsToAcquire =
+                    Math.min(
+                            semaphoreUtil.availableSlots(),
+                            Math.min(
+                                            Math.min(pollCount, maxPollCount),
+                                            executionConfig.getFairShare(queueName))
+                                    - 1);
 
             // Try to acquire remaining permits to achieve maxPollCount
             if (slotsToAcquire > 0 && semaphoreUtil.acquireSlots(slotsToAcquire)) {
@@ -119,7 +167,8 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             }
             LOGGER.debug("Polling queue: {} with {} slots acquired", queueName, acquiredSlots);
 
-            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 200);
+            List<String> polledTaskIds =
+                    queueDAO.popAndAck(queueName, acquiredSlots, timeoutInMilliSecond);
 
             Monitors.recordTaskPoll(queueName);
             LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
@@ -139,8 +188,6 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
                                 queueName);
                         Monitors.recordTaskPollCount(queueName, 1);
 
-                        executionService.ackTaskReceived(taskId);
-
                         CompletableFuture<Void> taskCompletableFuture =
                                 CompletableFuture.runAsync(
                                         () -> asyncSystemTaskExecutor.execute(systemTask, taskId),
@@ -157,12 +204,15 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
                 // no task polled, release permit
                 semaphoreUtil.completeProcessing(acquiredSlots);
             }
+            executionConfig.setBusy(queueName, !polledTaskIds.isEmpty());
+            return polledTaskIds.size();
         } catch (Exception e) {
             // release the permit if exception is thrown during polling, because the thread would
             // not be busy
             semaphoreUtil.completeProcessing(acquiredSlots);
             Monitors.recordTaskPollError(taskName, e.getClass().getSimpleName());
             LOGGER.error("Error polling system task in queue:{}", queueName, e);
+            return 0;
         }
     }
 
@@ -178,6 +228,81 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private ExecutionConfig createExecutionConfig() {
         int threadCount = properties.getIsolatedSystemTaskWorkerThreadCount();
         String threadNameFormat = "isolated-system-task-worker-%d";
-        return new ExecutionConfig(threadCount, threadNameFormat);
+        return new ExecutionConfig(threadCount, threadNameFormat, this::getQueueWeight);
+    }
+
+    private int getQueueWeight(String queueName) {
+        Map<String, Integer> weights = properties.getSystemTaskWorkerQueueWeights();
+        return weights == null ? 1 : weights.getOrDefault(QueueUtils.getTaskType(queueName), 1);
+    }
+
+    /**
+     * Polls a single queue on the shared poller threads. A queue which returned tasks is polled
+     * again after the poll interval, while the interval of an empty queue doubles up to the max
+     * poll interval, so that idle queues neither hold up the pollers nor hammer the queue.
+     *
+     * <p>The number of tasks polled at once adapts to the depth of the queue: it doubles, up to the
+     * max poll count, while the polls come back full, and a full poll is followed by another one
+     * right away. It drops to the number of tasks actually polled as the queue drains, or as the
+     * threads get busy.
+     */
+    class QueuePoller implements Runnable {
+
+        private final WorkflowSystemTask systemTask;
+        private final String queueName;
+        private int emptyPolls = 0;
+        private int batchSize = 1;
+
+        QueuePoller(WorkflowSystemTask systemTask, String queueName) {
+            this.systemTask = systemTask;
+            this.queueName = queueName;
+        }
+
+        void schedule(long delay) {
+            pollerExecutorService.schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            long delay = pollInterval;
+            try {
+                // the pollers only check the queue, the back-off takes care of idle queues
+                int polled =
+                        pollAndExecute(systemTask, queueName, batchSize, CHECK_POLL_TIMEOUT_MS);
+                delay = nextDelay(polled);
+                if (adaptBatchSize(polled)) {
+                    delay = 0;
+                }
+            } catch (Exception e) {
+                LOGGER.error("Error polling system task in queue:{}", queueName, e);
+            } finally {
+                schedule(delay);
+            }
+        }
+
+        @VisibleForTesting
+        long nextDelay(int polled) {
+            if (polled > 0
+                    || getExecutionConfig(queueName).getSemaphoreUtil().availableSlots() == 0) {
+                // the queue has work, or it could not be polled since all the threads are busy
+                emptyPolls = 0;
+                return pollInterval;
+            }
+            emptyPolls = Math.min(emptyPolls + 1, MAX_BACKOFF_EXPONENT);
+            return Math.min(maxPollInterval, Math.max(1, pollInterval) << emptyPolls);
+        }
+
+        /** @return true if the poll was full, so the queue likely has more tasks ready */
+        @VisibleForTesting
+        boolean adaptBatchSize(int polled) {
+            boolean full = polled >= batchSize;
+            batchSize = full ? Math.min(maxPollCount, batchSize * 2) : Math.max(1, polled);
+            return full;
+        }
+
+        @VisibleForTesting
+        int getBatchSize() {
+            return batchSize;
+        }
     }
 }
@@ -12,34 +12,160 @@
  */
 package com.netflix.conductor.core.execution.tasks;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.metrics.Monitors;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_WAIT;
 
+/**
+ * Waits for an external update, or, with a {@code duration} (e.g. "6h", "1h 30m", "PT90S" or a
+ * number of seconds) or {@code until} (e.g. "2021-06-01T10:00:00Z", "2021-06-01 10:00 UTC" or epoch
+ * millis) input, completes itself once that time has come. The due time is exposed through {@link
+ * #getEvaluationTime(Task)}, so that the next sweep of the workflow is deferred to that time rather
+ * than polled, with or without the workflow timer.
+ */
 @Component(TASK_TYPE_WAIT)
 public class Wait extends WorkflowSystemTask {
 
+    public static final String DURATION_INPUT = "duration";
+    public static final String UNTIL_INPUT = "until";
+
+    private static final Pattern DURATION_PATTERN =
+            Pattern.compile(
+                    "\\s*(?:(\\d+)\\s*d(?:ays?)?)?"
+                            + "\\s*(?:(\\d+)\\s*h(?:ours?)?)?"
+                            + "\\s*(?:(\\d+)\\s*m(?:in(?:ute)?s?)?)?"
+                            + "\\s*(?:(\\d+)\\s*s(?:ec(?:ond)?s?)?)?\\s*",
+                    Pattern.CASE_INSENSITIVE);
+
+    private static final DateTimeFormatter UNTIL_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss] z");
+
     public Wait() {
         super(TASK_TYPE_WAIT);
     }
 
     @Override
     public void start(Workflow workflow, Task task, WorkflowExecutor workflowExecutor) {
+        Optional<Long> waitUntil;
+        try {
+            waitUntil = getWaitUntil(task);
+        } catch (IllegalArgumentException e) {
+            task.setStatus(Status.FAILED_WITH_TERMINAL_ERROR);
+            task.setReasonForIncompletion(e.getMessage());
+            return;
+        }
         task.setStatus(Status.IN_PROGRESS);
+        if (waitUntil.isPresent() && waitUntil.get() <= System.currentTimeMillis()) {
+            task.setStatus(Status.COMPLETED);
+        }
     }
 
     @Override
     public boolean execute(Workflow workflow, Task task, WorkflowExecutor workflowExecutor) {
-        return false;
+        Optional<Long> waitUntil = getEvaluationTime(task);
+        long now = System.currentTimeMillis();
+        if (waitUntil.isEmpty() || waitUntil.get() > now) {
+            return false;
+        }
+        Monitors.recordTimerLateness(task.getTaskType(), now - waitUntil.get());
+        task.setStatus(Status.COMPLETED);
+        return true;
     }
 
     @Override
     public void cancel(Workflow workflow, Task task, WorkflowExecutor workflowExecutor) {
         task.setStatus(Status.CANCELED);
     }
+
+    @Override
+    public Optional<Long> getEvaluationTime(Task task) {
+        if (task.getStatus() != Status.IN_PROGRESS) {
+            return Optional.empty();
+        }
+        try {
+            return getWaitUntil(task);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the time (epoch millis) the task waits until, empty if it waits for an external
+     *     update
+     * @throws IllegalArgumentException if the duration or until input is invalid
+     */
+    private Optional<Long> getWaitUntil(Task task) {
+        Object duration = task.getInputData().get(DURATION_INPUT);
+        Object until = task.getInputData().get(UNTIL_INPUT);
+        if (duration != null && until != null) {
+            throw new IllegalArgumentException(
+                    "Only one of the duration and until inputs can be set");
+        }
+        if (duration != null) {
+            long startTime =
+                    task.getStartTime() > 0 ? task.getStartTime() : task.getScheduledTime();
+            return Optional.of(startTime + parseDuration(duration).toMillis());
+        }
+        if (until != null) {
+            return Optional.of(parseUntil(until));
+        }
+        return Optional.empty();
+    }
+
+    private static Duration parseDuration(Object duration) {
+        if (duration instanceof Number) {
+            return Duration.ofSeconds(((Number) duration).longValue());
+        }
+        String value = duration.toString();
+        if (value.trim().toUpperCase().startsWith("P")) {
+            try {
+                return Duration.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid duration: " + value);
+            }
+        }
+        Matcher matcher = DURATION_PATTERN.matcher(value);
+        if (value.isBlank() || !matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+        return Duration.ofDays(parseLong(matcher.group(1)))
+                .plusHours(parseLong(matcher.group(2)))
+                .plusMinutes(parseLong(matcher.group(3)))
+                .plusSeconds(parseLong(matcher.group(4)));
+    }
+
+    private static long parseLong(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static long parseUntil(Object until) {
+        if (until instanceof Number) {
+            return ((Number) until).longValue();
+        }
+        String value = until.toString().trim();
+        try {
+            return ZonedDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // not ISO-8601, try the other supported format
+        }
+        try {
+            return ZonedDateTime.parse(value, UNTIL_FORMATTER).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid until: " + value);
+        }
+    }
 }
@@ -85,6 +85,14 @@ public abstract class WorkflowSystemTask {
         }
     }
 
+    /**
+     * @return the time (epoch millis) at which the task is due to be executed again, for a task
+     *     which completes itself after some time rather than on an external update.
+     */
+    public Optional<Long> getEvaluationTime(Task task) {
+        return Optional.empty();
+    }
+
     /** @return name of the system task */
     public String getTaskType() {
         return taskType;
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -32,12 +33,17 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.run.SearchResult;
+import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.common.utils.RetryUtil;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+import com.netflix.conductor.dao.DecideCommit;
+import com.netflix.conductor.dao.DecideCommitDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.dao.PollDataDAO;
@@ -243,6 +249,39 @@ public class ExecutionDAOFacade {
         return workflow.getWorkflowId();
     }
 
+    /**
+     * Creates the given workflows in the data store, and pushes them to the decider queue without
+     * any delay, so that their first tasks are scheduled by the sweeper.
+     *
+     * @param workflows the workflows to be created
+     * @return the ids of the created workflows
+     */
+    public List<String> createWorkflows(List<Workflow> workflows) {
+        long createTime = System.currentTimeMillis();
+        workflows.forEach(workflow -> workflow.setCreateTime(createTime));
+        List<String> workflowIds = executionDAO.createWorkflows(workflows);
+        for (Workflow workflow : workflows) {
+            if (properties.isAsyncIndexingEnabled()) {
+                indexDAO.asyncIndexWorkflow(workflow);
+            } else {
+                indexDAO.indexWorkflow(workflow);
+            }
+        }
+        // Add to decider queue
+        queueDAO.push(
+                DECIDER_QUEUE,
+                workflows.stream()
+                        .map(
+                                workflow ->
+                                        new Message(
+                                                workflow.getWorkflowId(),
+                                                null,
+                                                null,
+                                                workflow.getPriority()))
+                        .collect(Collectors.toList()));
+        return workflowIds;
+    }
+
     /**
      * Updates the given workflow in the data store
      *
@@ -250,11 +289,20 @@ public class ExecutionDAOFacade {
      * @return the id of the updated workflow
      */
     public String updateWorkflow(Workflow workflow) {
+        setUpdateTimes(workflow);
+        executionDAO.updateWorkflow(workflow);
+        indexUpdatedWorkflow(workflow);
+        return workflow.getWorkflowId();
+    }
+
+    private void setUpdateTimes(Workflow workflow) {
         workflow.setUpdateTime(System.currentTimeMillis());
         if (workflow.getStatus().isTerminal()) {
             workflow.setEndTime(System.currentTimeMillis());
         }
-        executionDAO.updateWorkflow(workflow);
+    }
+
+    private void indexUpdatedWorkflow(Workflow workflow) {
         if (properties.isAsyncIndexingEnabled()) {
             if (workflow.getStatus().isTerminal()
                     && workflow.getEndTime() - workflow.getStartTime()
@@ -280,7 +328,6 @@ public class ExecutionDAOFacade {
         } else {
             indexDAO.indexWorkflow(workflow);
         }
-        return workflow.getWorkflowId();
     }
 
     public void removeFromPendingWorkflow(String workflowType, String workflowId) {
@@ -404,6 +451,18 @@ public class ExecutionDAOFacade {
         return executionDAO.getTask(taskId);
     }
 
+    public Task getTaskById(String workflowId, String taskId) {
+        return executionDAO.getTask(workflowId, taskId);
+    }
+
+    public Task getPendingTaskByReferenceName(String workflowId, String taskReferenceName) {
+        return executionDAO.getPendingTaskByReferenceName(workflowId, taskReferenceName);
+    }
+
+    public List<Task> getTasksByIds(List<String> taskIds) {
+        return executionDAO.getTasks(taskIds);
+    }
+
     public List<Task> getTasksByName(String taskName, String startKey, int count) {
         return executionDAO.getTasks(taskName, startKey, count);
     }
@@ -426,25 +485,9 @@ public class ExecutionDAOFacade {
      */
     public void updateTask(Task task) {
         try {
-            if (task.getStatus() != null) {
-                if (!task.getStatus().isTerminal()
-                        || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
-                    task.setUpdateTime(System.currentTimeMillis());
-                }
-                if (task.getStatus().isTerminal() && task.getEndTime() == 0) {
-                    task.setEndTime(System.currentTimeMillis());
-                }
-            }
+            setUpdateTimes(task);
             executionDAO.updateTask(task);
-            /*
-             * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
-             * is enabled and tasks are stored in memory until a block has completed, we would lose a lot
-             * of tasks on a system failure. So only index for each update if async indexing is not enabled.
-             * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
-             */
-            if (!properties.isAsyncIndexingEnabled()) {
-                indexDAO.indexTask(task);
-            }
+            indexUpdatedTask(task);
         } catch (Exception e) {
             String errorMsg =
                     String.format(
@@ -455,8 +498,138 @@ public class ExecutionDAOFacade {
         }
     }
 
+    /**
+     * Updates the given tasks with a single {@link ExecutionDAO#updateTasks(List)} call, setting
+     * their update and end times as {@link #updateTask(Task)} does.
+     *
+     * @param tasks the tasks to be updated in the data store
+     * @throws ApplicationException if the dao operations fail
+     */
     public void updateTasks(List<Task> tasks) {
-        tasks.forEach(this::updateTask);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            tasks.forEach(this::setUpdateTimes);
+            executionDAO.updateTasks(tasks);
+            tasks.forEach(this::indexUpdatedTask);
+        } catch (Exception e) {
+            String errorMsg =
+                    String.format(
+                            "Error updating tasks: %s",
+                            tasks.stream().map(Task::getTaskId).collect(Collectors.toList()));
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    /**
+     * Persists the state changes of one decide of a workflow, setting the update times of the tasks
+     * and of the workflow as {@link #updateTask(Task)} and {@link #updateWorkflow(Workflow)} do.
+     * The changes are persisted atomically if the {@link ExecutionDAO} is a {@link
+     * DecideCommitDAO}, which only the MySQL and Postgres ones are. Else they are persisted one
+     * after another in the order the decider applies them, queue messages last, so that a failure
+     * part way leaves the same state behind as the decide without a commit does.
+     *
+     * @param commit the state changes of the decide
+     * @return the created tasks, without the ones which were already scheduled
+     * @throws ApplicationException if the dao operations fail
+     */
+    public List<Task> commitDecide(DecideCommit commit) {
+        if (commit.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Workflow workflow = commit.getWorkflow();
+        try {
+            commit.getTasksToUpdate().forEach(this::setUpdateTimes);
+            if (commit.isWorkflowUpdated()) {
+                setUpdateTimes(workflow);
+            }
+
+            List<Task> createdTasks;
+            if (executionDAO instanceof DecideCommitDAO) {
+                createdTasks = ((DecideCommitDAO) executionDAO).commitDecide(commit);
+            } else {
+                if (!commit.getTasksToUpdate().isEmpty()) {
+                    executionDAO.updateTasks(commit.getTasksToUpdate());
+                }
+                if (commit.isWorkflowUpdated()) {
+                    executionDAO.updateWorkflow(workflow);
+                }
+                createdTasks =
+                        commit.getTasksToCreate().isEmpty()
+                                ? Collections.emptyList()
+                                : executionDAO.createTasks(commit.getTasksToCreate());
+                pushAndRemoveMessages(commit, createdTasks);
+            }
+
+            commit.getTasksToUpdate().forEach(this::indexUpdatedTask);
+            if (commit.isWorkflowUpdated()) {
+                indexUpdatedWorkflow(workflow);
+            }
+            return createdTasks;
+        } catch (Exception e) {
+            String errorMsg =
+                    String.format(
+                            "Error committing decide of workflow: %s", workflow.getWorkflowId());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    /**
+     * Pushes and removes the messages of the commit, retrying them all on a failure, as pushes and
+     * removes can be repeated. A failure of the last attempt is thrown, so that the decide fails.
+     */
+    private void pushAndRemoveMessages(DecideCommit commit, List<Task> createdTasks) {
+        List<DecideCommit.QueueMessage> messagesToPush = commit.getMessagesToPush(createdTasks);
+        new RetryUtil<>()
+                .retryOnException(
+                        () -> {
+                            messagesToPush.forEach(
+                                    message ->
+                                            queueDAO.push(
+                                                    message.getQueueName(),
+                                                    message.getMessageId(),
+                                                    message.getPriority(),
+                                                    message.getOffsetTimeInSecond()));
+                            commit.getMessagesToRemove()
+                                    .forEach(
+                                            message ->
+                                                    queueDAO.remove(
+                                                            message.getQueueName(),
+                                                            message.getMessageId()));
+                            return null;
+                        },
+                        null,
+                        null,
+                        2,
+                        "Updating the queues of workflow: " + commit.getWorkflow().getWorkflowId(),
+                        "pushAndRemoveMessages");
+    }
+
+    private void setUpdateTimes(Task task) {
+        if (task.getStatus() != null) {
+            if (!task.getStatus().isTerminal()
+                    || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
+                task.setUpdateTime(System.currentTimeMillis());
+            }
+            if (task.getStatus().isTerminal() && task.getEndTime() == 0) {
+                task.setEndTime(System.currentTimeMillis());
+            }
+        }
+    }
+
+    private void indexUpdatedTask(Task task) {
+        /*
+         * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
+         * is enabled and tasks are stored in memory until a block has completed, we would lose a lot
+         * of tasks on a system failure. So only index for each update if async indexing is not enabled.
+         * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
+         */
+        if (!properties.isAsyncIndexingEnabled()) {
+            indexDAO.indexTask(task);
+        }
     }
 
     public void removeTask(String taskId) {
@@ -539,6 +712,36 @@ public class ExecutionDAOFacade {
         return rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef);
     }
 
+    /**
+     * Evaluates the concurrency limits of a batch of polled tasks at once.
+     *
+     * @param tasks the tasks about to be handed out, in poll order
+     * @return ids of the tasks that would exceed their in progress limit
+     */
+    public Set<String> getTaskIdsExceedingInProgressLimit(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return concurrentExecutionLimitDAO.getTaskIdsExceedingLimit(tasks);
+    }
+
+    /**
+     * Evaluates the rate limits of a batch of polled tasks at once.
+     *
+     * @param tasks the tasks about to be handed out, in poll order
+     * @return ids of the tasks that are rate limited
+     */
+    public Set<String> getTaskIdsExceedingRateLimit(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return rateLimitingDao.getTaskIdsExceedingRateLimit(tasks);
+    }
+
+    public boolean isRateLimited(String taskDefName) {
+        return rateLimitingDao.isRateLimited(taskDefName);
+    }
+
     public void addTaskExecLog(List<TaskExecLog> logs) {
         if (properties.isTaskExecLogIndexingEnabled()) {
             if (properties.isAsyncIndexingEnabled()) {
@@ -567,6 +770,16 @@ public class ExecutionDAOFacade {
         return indexDAO.searchTasks(query, freeText, start, count, sort);
     }
 
+    public SearchResult<WorkflowSummary> searchWorkflowSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        return indexDAO.searchWorkflowSummary(query, freeText, start, count, sort);
+    }
+
+    public SearchResult<TaskSummary> searchTaskSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        return indexDAO.searchTaskSummary(query, freeText, start, count, sort);
+    }
+
     public List<TaskExecLog> getTaskExecutionLogs(String taskId) {
         return properties.isTaskExecLogIndexingEnabled()
                 ? indexDAO.getTaskExecutionLogs(taskId)
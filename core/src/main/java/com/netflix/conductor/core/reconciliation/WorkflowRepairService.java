@@ -12,8 +12,13 @@
  */
 package com.netflix.conductor.core.reconciliation;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -107,9 +112,39 @@ public class WorkflowRepairService {
     /** Verify and repair tasks in a workflow. */
     public void verifyAndRepairWorkflowTasks(String workflowId) {
         Workflow workflow = executionDAO.getWorkflow(workflowId, true);
-        workflow.getTasks().forEach(this::verifyAndRepairTask);
+        verifyAndRepairWorkflowTasks(workflow);
+    }
+
+    /**
+     * Verify and repair tasks in an already loaded workflow. The queue membership of the repairable
+     * tasks is checked with a single lookup per task queue.
+     *
+     * @return true - if a task or the parent workflow was queued for repair
+     */
+    public boolean verifyAndRepairWorkflowTasks(Workflow workflow) {
+        Map<String, List<Task>> repairableTasksByQueue =
+                workflow.getTasks().stream()
+                        .filter(isTaskRepairable)
+                        .collect(
+                                Collectors.groupingBy(
+                                        QueueUtils::getQueueName,
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+        boolean repaired = false;
+        for (Map.Entry<String, List<Task>> entry : repairableTasksByQueue.entrySet()) {
+            String taskQueueName = entry.getKey();
+            List<String> taskIds =
+                    entry.getValue().stream().map(Task::getTaskId).collect(Collectors.toList());
+            Set<String> queuedTaskIds = queueDAO.containsMessages(taskQueueName, taskIds);
+            for (Task task : entry.getValue()) {
+                if (!queuedTaskIds.contains(task.getTaskId())) {
+                    requeueTask(taskQueueName, task);
+                    repaired = true;
+                }
+            }
+        }
         // repair the parent workflow if needed
-        verifyAndRepairWorkflow(workflow.getParentWorkflowId());
+        return verifyAndRepairWorkflow(workflow.getParentWorkflowId()) || repaired;
     }
 
     /**
@@ -136,18 +171,22 @@ public class WorkflowRepairService {
             // Ensure QueueDAO contains this taskId
             String taskQueueName = QueueUtils.getQueueName(task);
             if (!queueDAO.containsMessage(taskQueueName, task.getTaskId())) {
-                queueDAO.push(taskQueueName, task.getTaskId(), task.getCallbackAfterSeconds());
-                LOGGER.info(
-                        "Task {} in workflow {} re-queued for repairs",
-                        task.getTaskId(),
-                        task.getWorkflowInstanceId());
-                Monitors.recordQueueMessageRepushFromRepairService(task.getTaskDefName());
+                requeueTask(taskQueueName, task);
                 return true;
             }
         }
         return false;
     }
 
+    private void requeueTask(String taskQueueName, Task task) {
+        queueDAO.push(taskQueueName, task.getTaskId(), task.getCallbackAfterSeconds());
+        LOGGER.info(
+                "Task {} in workflow {} re-queued for repairs",
+                task.getTaskId(),
+                task.getWorkflowInstanceId());
+        Monitors.recordQueueMessageRepushFromRepairService(task.getTaskDefName());
+    }
+
     private boolean verifyAndRepairWorkflow(String workflowId) {
         if (StringUtils.isNotEmpty(workflowId)) {
             String queueName = WorkflowExecutor.DECIDER_QUEUE;
@@ -14,6 +14,7 @@ package com.netflix.conductor.core.reconciliation;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.WorkflowContext;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
@@ -28,6 +30,8 @@ import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import static com.netflix.conductor.core.config.SchedulerConfiguration.SWEEPER_EXECUTOR_NAME;
 import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEUE;
 
@@ -69,20 +73,21 @@ public class WorkflowSweeper {
             WorkflowContext.set(workflowContext);
             LOGGER.debug("Running sweeper for workflow {}", workflowId);
 
-            if (workflowRepairService != null) {
-                // Verify and repair tasks in the workflow.
-                workflowRepairService.verifyAndRepairWorkflowTasks(workflowId);
-            }
-
-            boolean done = workflowExecutor.decide(workflowId);
-            if (done) {
-                queueDAO.remove(DECIDER_QUEUE, workflowId);
-            } else {
+            // The workflow is loaded once, under the workflow lock, and shared by the repair and
+            // the decide of this sweep. With the workflow timer enabled, or for a workflow which
+            // waits on a timed system task, the decide itself defers the next sweep of a running
+            // workflow to its next deadline, so the offset timeout is set before the decide.
+            if (!properties.isWorkflowTimerEnabled()) {
                 queueDAO.setUnackTimeout(
                         DECIDER_QUEUE,
                         workflowId,
                         properties.getWorkflowOffsetTimeout().toMillis());
             }
+            boolean done =
+                    workflowExecutor.decide(workflowId, this::verifyAndRepairWorkflowTasks, false);
+            if (done) {
+                queueDAO.remove(DECIDER_QUEUE, workflowId);
+            }
         } catch (ApplicationException e) {
             if (e.getCode() == ApplicationException.Code.NOT_FOUND) {
                 queueDAO.remove(DECIDER_QUEUE, workflowId);
@@ -98,4 +103,41 @@ public class WorkflowSweeper {
             LOGGER.error("Error running sweep for " + workflowId, e);
         }
     }
+
+    /**
+     * Verify and repair tasks in the workflow, if the workflow repair service is enabled and the
+     * workflow is due for a repair. A failed repair does not fail the sweep.
+     */
+    private void verifyAndRepairWorkflowTasks(Workflow workflow) {
+        if (workflowRepairService == null) {
+            return;
+        }
+        if (!isRepairDue(workflow)) {
+            Monitors.recordWorkflowRepairSkipped(workflow.getWorkflowName());
+            return;
+        }
+        try {
+            boolean repaired = workflowRepairService.verifyAndRepairWorkflowTasks(workflow);
+            Monitors.recordWorkflowRepairVerified(workflow.getWorkflowName(), repaired);
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "verifyAndRepairWorkflowTasks");
+            LOGGER.error("Error repairing workflow {}", workflow.getWorkflowId(), e);
+        }
+    }
+
+    /**
+     * A workflow which has not been updated for at least the configured minimum age is always
+     * repaired, a more recently updated workflow only on the configured sample of sweeps.
+     */
+    @VisibleForTesting
+    boolean isRepairDue(Workflow workflow) {
+        Long lastUpdated =
+                Optional.ofNullable(workflow.getUpdateTime()).orElse(workflow.getCreateTime());
+        if (lastUpdated == null
+                || System.currentTimeMillis() - lastUpdated
+                        >= properties.getWorkflowRepairMinAge().toMillis()) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < properties.getWorkflowRepairSampleRate();
+    }
 }
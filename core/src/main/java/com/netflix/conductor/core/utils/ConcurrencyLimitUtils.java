@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+
+public class ConcurrencyLimitUtils {
+
+    /**
+     * Groups the tasks which have a {@link TaskDef#concurrencyLimit()} by task definition, keeping
+     * the poll order of the tasks within each group, so that a {@link ConcurrentExecutionLimitDAO}
+     * can evaluate a batch with one read of its state per task definition.
+     *
+     * @param tasks The tasks to be evaluated, in the order they were polled
+     * @param limitCheck Returns the ids of the given tasks of a task definition which exceed its
+     *     limit
+     * @return ids of the tasks which exceed the limit of their task definition
+     */
+    public static Set<String> getTaskIdsExceedingLimit(
+            List<Task> tasks, BiFunction<String, List<Task>, Set<String>> limitCheck) {
+        Map<String, List<Task>> tasksByTaskDefName =
+                tasks.stream()
+                        .filter(
+                                task ->
+                                        task.getTaskDefinition()
+                                                        .map(TaskDef::concurrencyLimit)
+                                                        .orElse(0)
+                                                > 0)
+                        .collect(
+                                Collectors.groupingBy(
+                                        Task::getTaskDefName,
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+
+        Set<String> limitedTaskIds = new HashSet<>();
+        tasksByTaskDefName.forEach(
+                (taskDefName, limitedTasks) ->
+                        limitedTaskIds.addAll(limitCheck.apply(taskDefName, limitedTasks)));
+        return limitedTaskIds;
+    }
+}
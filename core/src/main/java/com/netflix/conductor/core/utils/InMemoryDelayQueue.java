@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.netflix.conductor.core.events.queue.Message;
+
+/**
+ * A queue of messages held in memory, for the {@link com.netflix.conductor.dao.QueueDAO}s which do
+ * not run on a queueing service. Messages are popped in the order of the dyno queues, which score
+ * them with their delivery time plus a hundredth of their priority: in order of their delivery
+ * time, and of their priority within the same millisecond, the lowest value first. A pop which
+ * finds no due message waits for one to be pushed or to become due, up to the timeout. A popped
+ * message is delivered again if it is not acked within its unack timeout.
+ *
+ * <p>The queue is guarded by its own monitor, on which the callers may synchronize to update other
+ * state along with the queue.
+ */
+public class InMemoryDelayQueue {
+
+    private static final Comparator<QueuedMessage> BY_DELIVER_TIME =
+            Comparator.<QueuedMessage>comparingLong(message -> message.deliverTime)
+                    .thenComparingInt(message -> message.priority)
+                    .thenComparingLong(message -> message.sequence);
+
+    private final Map<String, QueuedMessage> messages = new HashMap<>();
+    private final TreeSet<QueuedMessage> delayed = new TreeSet<>(BY_DELIVER_TIME);
+    private final TreeSet<QueuedMessage> ready = new TreeSet<>(BY_DELIVER_TIME);
+    private final TreeSet<QueuedMessage> unacked = new TreeSet<>(BY_DELIVER_TIME);
+    private long sequence;
+
+    public synchronized QueuedMessage get(String id) {
+        return messages.get(id);
+    }
+
+    public synchronized boolean contains(String id) {
+        return messages.containsKey(id);
+    }
+
+    /**
+     * Schedules a message, replacing the message of the same id, if any.
+     *
+     * @return the scheduled message
+     */
+    public synchronized QueuedMessage schedule(
+            String id, int priority, String payload, long deliverTime) {
+        QueuedMessage message = new QueuedMessage(id, priority, payload);
+        QueuedMessage existing = messages.put(id, message);
+        if (existing != null) {
+            unschedule(existing);
+        }
+        message.deliverTime = deliverTime;
+        message.sequence = ++sequence;
+        if (deliverTime <= System.currentTimeMillis()) {
+            ready.add(message);
+            notifyAll();
+        } else {
+            boolean earliest =
+                    delayed.isEmpty() || BY_DELIVER_TIME.compare(message, delayed.first()) < 0;
+            delayed.add(message);
+            if (earliest) {
+                notifyAll();
+            }
+        }
+        return message;
+    }
+
+    /** @return the removed message, null if there is none of this id */
+    public synchronized QueuedMessage remove(String id) {
+        QueuedMessage message = messages.remove(id);
+        if (message != null) {
+            unschedule(message);
+        }
+        return message;
+    }
+
+    /**
+     * Sets the time after which a popped message is delivered again.
+     *
+     * @return false if there is no popped message of this id
+     */
+    public synchronized boolean setUnackTimeout(String id, long unackTimeout) {
+        QueuedMessage message = messages.get(id);
+        if (message == null || !message.unacked) {
+            return false;
+        }
+        unacked.remove(message);
+        message.deliverTime = System.currentTimeMillis() + unackTimeout;
+        unacked.add(message);
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Pops the due messages, waiting up to the timeout for them.
+     *
+     * @param unackTimeout the time after which the popped messages are delivered again, unless they
+     *     are acked. The messages are removed as they are popped if it is negative.
+     */
+    public synchronized List<Message> poll(int count, int timeout, long unackTimeout) {
+        List<Message> messages = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        long deadline = now + timeout;
+        while (true) {
+            promote(now);
+            while (messages.size() < count && !ready.isEmpty()) {
+                QueuedMessage message = ready.pollFirst();
+                if (unackTimeout < 0) {
+                    this.messages.remove(message.id);
+                } else {
+                    message.unacked = true;
+                    message.deliverTime = now + unackTimeout;
+                    unacked.add(message);
+                }
+                messages.add(new Message(message.id, message.payload, null, message.priority));
+            }
+            if (messages.size() >= count || now >= deadline) {
+                return messages;
+            }
+            long wait = Math.min(deadline, nextDeliverTime()) - now;
+            try {
+                wait(Math.max(wait, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return messages;
+            }
+            now = System.currentTimeMillis();
+        }
+    }
+
+    /** Delivers the popped messages whose unack timeout elapsed again. */
+    public synchronized void processUnacks() {
+        promote(System.currentTimeMillis());
+    }
+
+    /** @return the number of messages which are not popped, including the ones not yet due */
+    public synchronized int size() {
+        return messages.size() - unacked.size();
+    }
+
+    /** @return the number of popped messages which are not acked */
+    public synchronized int unackedSize() {
+        return unacked.size();
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+        delayed.clear();
+        ready.clear();
+        unacked.clear();
+    }
+
+    private void unschedule(QueuedMessage message) {
+        if (message.unacked) {
+            unacked.remove(message);
+        } else if (!ready.remove(message)) {
+            delayed.remove(message);
+        }
+    }
+
+    /** Moves the messages which became due, and the unacked ones which timed out, to ready. */
+    private void promote(long now) {
+        while (!delayed.isEmpty() && delayed.first().deliverTime <= now) {
+            ready.add(delayed.pollFirst());
+        }
+        while (!unacked.isEmpty() && unacked.first().deliverTime <= now) {
+            QueuedMessage message = unacked.pollFirst();
+            message.unacked = false;
+            ready.add(message);
+        }
+    }
+
+    private long nextDeliverTime() {
+        long next = Long.MAX_VALUE;
+        if (!delayed.isEmpty()) {
+            next = delayed.first().deliverTime;
+        }
+        if (!unacked.isEmpty()) {
+            next = Math.min(next, unacked.first().deliverTime);
+        }
+        return next;
+    }
+
+    public static class QueuedMessage {
+
+        private final String id;
+        private final int priority;
+        private final String payload;
+        private long deliverTime;
+        private long sequence;
+        private boolean unacked;
+
+        private QueuedMessage(String id, int priority, String payload) {
+            this.id = id;
+            this.priority = priority;
+            this.payload = payload;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        /** @return the time the message becomes due, or is delivered again if it is unacked */
+        public long getDeliverTime() {
+            return deliverTime;
+        }
+
+        /** @return true if the message was popped and is not yet delivered again */
+        public boolean isUnacked() {
+            return unacked;
+        }
+    }
+}
@@ -12,6 +12,10 @@
  */
 package com.netflix.conductor.dao;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 
@@ -42,4 +46,22 @@ public interface ConcurrentExecutionLimitDAO {
      * @see TaskDef#concurrencyLimit()
      */
     boolean exceedsLimit(Task task);
+
+    /**
+     * Checks a batch of tasks against their concurrency limits. The result is equivalent to calling
+     * {@link #exceedsLimit(Task)} for each task in order; implementations may override this to
+     * evaluate the whole batch in fewer round trips to the backing store.
+     *
+     * @param tasks The tasks to be executed, in the order they were polled
+     * @return ids of the tasks that would breach their limit if executed
+     */
+    default Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        Set<String> limitedTaskIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (exceedsLimit(task)) {
+                limitedTaskIds.add(task.getTaskId());
+            }
+        }
+        return limitedTaskIds;
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.QueueUtils;
+
+/**
+ * The state changes of one decide of a workflow: the tasks to create and to update, the workflow
+ * itself and the queue messages to push and remove. These are persisted together by {@link
+ * DecideCommitDAO#commitDecide(DecideCommit)}.
+ */
+public class DecideCommit {
+
+    private final Workflow workflow;
+    private boolean workflowUpdated;
+    private final List<Task> tasksToCreate = new ArrayList<>();
+    private final List<Task> tasksToUpdate = new ArrayList<>();
+    private final List<QueueMessage> messagesToPush = new ArrayList<>();
+    private final List<QueueMessage> messagesToRemove = new ArrayList<>();
+
+    public DecideCommit(Workflow workflow) {
+        this.workflow = workflow;
+    }
+
+    /** Stores the workflow, without its tasks. */
+    public DecideCommit updateWorkflow() {
+        workflowUpdated = true;
+        return this;
+    }
+
+    /**
+     * Schedules the tasks. A task of which the reference name and retry count are already scheduled
+     * in the workflow is skipped, along with the messages pushed for it.
+     */
+    public DecideCommit createTasks(Collection<Task> tasks) {
+        tasksToCreate.addAll(tasks);
+        return this;
+    }
+
+    public DecideCommit updateTasks(Collection<Task> tasks) {
+        tasksToUpdate.addAll(tasks);
+        return this;
+    }
+
+    /** Pushes the task to its queue, delayed by its callback time. */
+    public DecideCommit queueTask(Task task) {
+        return pushMessage(
+                QueueUtils.getQueueName(task),
+                task.getTaskId(),
+                task.getWorkflowPriority(),
+                task.getCallbackAfterSeconds());
+    }
+
+    public DecideCommit pushMessage(
+            String queueName, String messageId, int priority, long offsetTimeInSecond) {
+        messagesToPush.add(new QueueMessage(queueName, messageId, priority, offsetTimeInSecond));
+        return this;
+    }
+
+    public DecideCommit removeMessage(String queueName, String messageId) {
+        messagesToRemove.add(new QueueMessage(queueName, messageId, 0, 0));
+        return this;
+    }
+
+    public Workflow getWorkflow() {
+        return workflow;
+    }
+
+    public boolean isWorkflowUpdated() {
+        return workflowUpdated;
+    }
+
+    public List<Task> getTasksToCreate() {
+        return Collections.unmodifiableList(tasksToCreate);
+    }
+
+    public List<Task> getTasksToUpdate() {
+        return Collections.unmodifiableList(tasksToUpdate);
+    }
+
+    /**
+     * @param createdTasks the tasks which were created out of {@link #getTasksToCreate()}
+     * @return the messages to push, without the ones of the tasks which were skipped
+     */
+    public List<QueueMessage> getMessagesToPush(Collection<Task> createdTasks) {
+        Set<String> skippedTaskIds =
+                tasksToCreate.stream().map(Task::getTaskId).collect(Collectors.toSet());
+        createdTasks.forEach(task -> skippedTaskIds.remove(task.getTaskId()));
+        return messagesToPush.stream()
+                .filter(message -> !skippedTaskIds.contains(message.getMessageId()))
+                .collect(Collectors.toList());
+    }
+
+    public List<QueueMessage> getMessagesToRemove() {
+        return Collections.unmodifiableList(messagesToRemove);
+    }
+
+    public boolean isEmpty() {
+        return !workflowUpdated
+                && tasksToCreate.isEmpty()
+                && tasksToUpdate.isEmpty()
+                && messagesToPush.isEmpty()
+                && messagesToRemove.isEmpty();
+    }
+
+    /** A message to push to or remove from a queue. */
+    public static class QueueMessage {
+
+        private final String queueName;
+        private final String messageId;
+        private final int priority;
+        private final long offsetTimeInSecond;
+
+        QueueMessage(String queueName, String messageId, int priority, long offsetTimeInSecond) {
+            this.queueName = queueName;
+            this.messageId = messageId;
+            this.priority = priority;
+            this.offsetTimeInSecond = offsetTimeInSecond;
+        }
+
+        public String getQueueName() {
+            return queueName;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public long getOffsetTimeInSecond() {
+            return offsetTimeInSecond;
+        }
+    }
+}
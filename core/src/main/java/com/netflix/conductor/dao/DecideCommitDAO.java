@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.dao;
+
+import java.util.List;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+
+/**
+ * A contract for an {@link ExecutionDAO} which stores the queues in the same database as the
+ * executions, to persist all the state changes of a decide atomically. Without it, a crash in the
+ * middle of a decide leaves a partially written state behind, which the workflow repair has to fix.
+ *
+ * <p>It is implemented by the MySQL and Postgres modules. The Redis module does not implement it:
+ * its DAOs only issue single key commands, and its queues are kept by dyno-queues under keys of
+ * their own, which a script of the execution DAO cannot cover.
+ */
+public interface DecideCommitDAO {
+
+    /**
+     * Persists all the changes of the commit, queue messages included, in a single transaction.
+     *
+     * @param commit the state changes of one decide
+     * @return the created tasks, without the ones which were already scheduled
+     */
+    List<Task> commitDecide(DecideCommit commit);
+}
@@ -13,6 +13,7 @@
 package com.netflix.conductor.dao;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.Task;
@@ -50,6 +51,16 @@ public interface ExecutionDAO {
     /** @param task Task to be updated */
     void updateTask(Task task);
 
+    /**
+     * Updates the given tasks. Implementations may override this to update all of them in a single
+     * round-trip or transaction.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<Task> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the
      * task is scheduled to be in progress (given to the worker or for system tasks start() method
@@ -78,6 +89,18 @@ public interface ExecutionDAO {
      */
     Task getTask(String taskId);
 
+    /**
+     * Implementations which store the tasks of a workflow together can use the workflow id to
+     * look up the task without resolving it from the task id.
+     *
+     * @param workflowId id of the workflow the task belongs to
+     * @param taskId Task instance id
+     * @return Task
+     */
+    default Task getTask(String workflowId, String taskId) {
+        return getTask(taskId);
+    }
+
     /**
      * @param taskIds Task instance ids
      * @return List of tasks
@@ -96,12 +119,41 @@ public interface ExecutionDAO {
      */
     List<Task> getTasksForWorkflow(String workflowId);
 
+    /**
+     * Looks up the task with the given reference name which is not in a terminal state. There can
+     * only be one such task at a time. Implementations may override this to look the task up
+     * without loading all the tasks of the workflow.
+     *
+     * @param workflowId Workflow instance id
+     * @param taskReferenceName Reference name of the task
+     * @return the pending task, null if there is none
+     */
+    default Task getPendingTaskByReferenceName(String workflowId, String taskReferenceName) {
+        return getTasksForWorkflow(workflowId).stream()
+                .filter(task -> !task.getStatus().isTerminal())
+                .filter(task -> task.getReferenceTaskName().equals(taskReferenceName))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * @param workflow Workflow to be created
      * @return Id of the newly created workflow
      */
     String createWorkflow(Workflow workflow);
 
+    /**
+     * Creates the given workflows. Implementations may override this to create all of them in a
+     * single round-trip or transaction; the default, which the Redis stores use, creates them one
+     * at a time.
+     *
+     * @param workflows Workflows to be created
+     * @return Ids of the newly created workflows
+     */
+    default List<String> createWorkflows(List<Workflow> workflows) {
+        return workflows.stream().map(this::createWorkflow).collect(Collectors.toList());
+    }
+
     /**
      * @param workflow Workflow to be updated
      * @return Id of the updated workflow
@@ -19,7 +19,9 @@ import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.run.SearchResult;
+import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.core.events.queue.Message;
 
 /** DAO to index the workflow and task details for searching. */
@@ -74,6 +76,34 @@ public interface IndexDAO {
     SearchResult<String> searchTasks(
             String query, String freeText, int start, int count, List<String> sort);
 
+    /**
+     * Searches for workflows and returns the summaries stored in the index, without reading the
+     * workflows from the execution store.
+     *
+     * @param query SQL like query for workflow search parameters.
+     * @param freeText Additional query in free text. Lucene syntax
+     * @param start start start index for pagination
+     * @param count count # of workflow summaries to be returned
+     * @param sort sort options
+     * @return List of indexed workflow summaries for the matching query
+     */
+    SearchResult<WorkflowSummary> searchWorkflowSummary(
+            String query, String freeText, int start, int count, List<String> sort);
+
+    /**
+     * Searches for tasks and returns the summaries stored in the index, without reading the tasks
+     * from the execution store.
+     *
+     * @param query SQL like query for task search parameters.
+     * @param freeText Additional query in free text. Lucene syntax
+     * @param start start start index for pagination
+     * @param count count # of task summaries to be returned
+     * @param sort sort options
+     * @return List of indexed task summaries for the matching query
+     */
+    SearchResult<TaskSummary> searchTaskSummary(
+            String query, String freeText, int start, int count, List<String> sort);
+
     /**
      * Remove the workflow index
      *
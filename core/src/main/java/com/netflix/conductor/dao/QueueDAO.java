@@ -14,6 +14,8 @@ package com.netflix.conductor.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.netflix.conductor.core.events.queue.Message;
 
@@ -72,6 +74,22 @@ public interface QueueDAO {
      */
     List<String> pop(String queueName, int count, int timeout);
 
+    /**
+     * Pops messages from the queue and acknowledges them in the same call, for consumers which
+     * acknowledge a message as soon as they receive it. Implementations that can pop and
+     * acknowledge in a single round trip or transaction should override this method.
+     *
+     * @param queueName Name of the queue
+     * @param count number of messages to be read from the queue
+     * @param timeout timeout in milliseconds
+     * @return list of the elements popped and ack'ed from the named queue
+     */
+    default List<String> popAndAck(String queueName, int count, int timeout) {
+        List<String> messageIds = pop(queueName, count, timeout);
+        messageIds.forEach(messageId -> ack(queueName, messageId));
+        return messageIds;
+    }
+
     /**
      * @param queueName Name of the queue
      * @param count number of messages to be read from the queue
@@ -158,4 +176,18 @@ public interface QueueDAO {
         throw new UnsupportedOperationException(
                 "Please ensure your provided Queue implementation overrides and implements this method.");
     }
+
+    /**
+     * Check which of the messages with the given messageIds exist in the Queue. Implementations
+     * that can look up several messages in a single round trip should override this method.
+     *
+     * @param queueName name of the queue
+     * @param messageIds ids of the messages to look up
+     * @return the subset of messageIds that exist in the Queue
+     */
+    default Set<String> containsMessages(String queueName, List<String> messageIds) {
+        return messageIds.stream()
+                .filter(messageId -> containsMessage(queueName, messageId))
+                .collect(Collectors.toSet());
+    }
 }
@@ -12,6 +12,10 @@
  */
 package com.netflix.conductor.dao;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 
@@ -27,4 +31,35 @@ public interface RateLimitingDAO {
      *     rateLimited
      */
     boolean exceedsRateLimitPerFrequency(Task task, TaskDef taskDef);
+
+    /**
+     * Checks a batch of tasks against their rate limits. The result is equivalent to calling {@link
+     * #exceedsRateLimitPerFrequency(Task, TaskDef)} for each task in order, using the task
+     * definition attached to the task; implementations may override this to consume the rate limit
+     * for the whole batch in fewer round trips to the backing store.
+     *
+     * @param tasks The tasks to be evaluated, in the order they were polled
+     * @return ids of the tasks that are rate limited
+     */
+    default Set<String> getTaskIdsExceedingRateLimit(List<Task> tasks) {
+        Set<String> limitedTaskIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (exceedsRateLimitPerFrequency(task, task.getTaskDefinition().orElse(null))) {
+                limitedTaskIds.add(task.getTaskId());
+            }
+        }
+        return limitedTaskIds;
+    }
+
+    /**
+     * Checks whether tasks of the given definition are known to be rate limited right now, without
+     * consuming the rate limit. This is used to skip polling the queue altogether while a task
+     * definition is throttled, so implementations should answer from local state.
+     *
+     * @param taskDefName name of the task definition
+     * @return true if every task of this definition would be rate limited at this time
+     */
+    default boolean isRateLimited(String taskDefName) {
+        return false;
+    }
 }
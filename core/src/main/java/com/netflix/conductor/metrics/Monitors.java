@@ -174,6 +174,11 @@ public class Monitors {
                 .record(queueWaitTime, TimeUnit.MILLISECONDS);
     }
 
+    public static void recordTimerLateness(String taskType, long lateness) {
+        getTimer(classQualifier, "task_timer_lateness", "taskType", taskType)
+                .record(lateness, TimeUnit.MILLISECONDS);
+    }
+
     public static void recordTaskExecutionTime(
             String taskType, long duration, boolean includesRetries, Task.Status status) {
         getTimer(
@@ -380,6 +385,25 @@ public class Monitors {
         gauge(classQualifier, "task_rate_limited", limit, "taskType", taskDefName);
     }
 
+    public static void recordTaskRateLimitTokensLeased(String taskDefName, int count) {
+        distributionSummary(
+                classQualifier, "task_rate_limit_tokens_leased", count, "taskType", taskDefName);
+    }
+
+    public static void recordTaskRateLimitTokensSpent(String taskDefName, int count) {
+        getCounter(classQualifier, "task_rate_limit_tokens_spent", "taskType", taskDefName)
+                .increment(count);
+    }
+
+    public static void recordTaskRateLimitTokensExpired(String taskDefName, int count) {
+        getCounter(classQualifier, "task_rate_limit_tokens_expired", "taskType", taskDefName)
+                .increment(count);
+    }
+
+    public static void recordTaskPollRateLimited(String queueName) {
+        counter(classQualifier, "task_poll_rate_limited", "queueName", queueName);
+    }
+
     public static void recordTaskConcurrentExecutionLimited(String taskDefName, int limit) {
         gauge(classQualifier, "task_concurrent_execution_limited", limit, "taskType", taskDefName);
     }
@@ -515,6 +539,14 @@ public class Monitors {
         counter(classQualifier, "task_ack_error", "taskType", taskType);
     }
 
+    public static void recordKafkaPublishAckTime(long ackTime) {
+        getTimer(classQualifier, "kafka_publish_ack").record(ackTime, TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordKafkaPublishInFlight(int count) {
+        gauge(classQualifier, "kafka_publish_in_flight", count);
+    }
+
     public static void recordESIndexTime(String action, String docType, long val) {
         getTimer(Monitors.classQualifier, action, "docType", docType)
                 .record(val, TimeUnit.MILLISECONDS);
@@ -565,4 +597,18 @@ public class Monitors {
     public static void recordQueueMessageRepushFromRepairService(String queueName) {
         counter(classQualifier, "queue_message_repushed", "queueName", queueName);
     }
+
+    public static void recordWorkflowRepairVerified(String workflowType, boolean repaired) {
+        counter(
+                classQualifier,
+                "workflow_repair_verified",
+                "workflowName",
+                workflowType,
+                "repaired",
+                String.valueOf(repaired));
+    }
+
+    public static void recordWorkflowRepairSkipped(String workflowType) {
+        counter(classQualifier, "workflow_repair_skipped", "workflowName", workflowType);
+    }
 }
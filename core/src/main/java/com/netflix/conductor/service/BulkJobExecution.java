@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.netflix.conductor.common.model.BulkJob;
+
+/**
+ * The progress of a running {@link BulkJob}, updated concurrently by the threads processing its
+ * chunks. The chunks not yet processed are taken by the threads with {@link #nextChunk()}, under
+ * the lock of the service scheduling the jobs.
+ */
+class BulkJobExecution {
+
+    private final String jobId;
+    private final String serverId;
+    private final BulkJob.Operation operation;
+    private final Consumer<String> action;
+    private final int total;
+    private final int maxErrors;
+    private final long createTime;
+
+    private final Queue<List<String>> pendingChunks = new ArrayDeque<>();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger remainingChunks;
+    private final Map<String, String> errors = new ConcurrentHashMap<>();
+
+    private volatile boolean cancelled;
+    private volatile long endTime;
+
+    BulkJobExecution(
+            String jobId,
+            String serverId,
+            BulkJob.Operation operation,
+            Consumer<String> action,
+            List<String> workflowIds,
+            int chunkSize,
+            int maxErrors) {
+        this.jobId = jobId;
+        this.serverId = serverId;
+        this.operation = operation;
+        this.action = action;
+        this.total = workflowIds.size();
+        this.maxErrors = maxErrors;
+        for (int start = 0; start < total; start += chunkSize) {
+            pendingChunks.add(workflowIds.subList(start, Math.min(start + chunkSize, total)));
+        }
+        this.remainingChunks = new AtomicInteger(pendingChunks.size());
+        this.createTime = System.currentTimeMillis();
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    BulkJob.Operation getOperation() {
+        return operation;
+    }
+
+    Consumer<String> getAction() {
+        return action;
+    }
+
+    int getRemainingChunks() {
+        return remainingChunks.get();
+    }
+
+    List<String> nextChunk() {
+        return pendingChunks.poll();
+    }
+
+    boolean hasPendingChunks() {
+        return !pendingChunks.isEmpty();
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /** @return true if all the chunks have completed or skipped their workflows */
+    boolean isDone() {
+        return endTime > 0;
+    }
+
+    long getEndTime() {
+        return endTime;
+    }
+
+    void recordSuccess() {
+        succeeded.incrementAndGet();
+        processed.incrementAndGet();
+    }
+
+    /** Records the failure of a workflow, its error being reported up to the max errors. */
+    void recordFailure(String workflowId, String errorMessage) {
+        if (errors.size() < maxErrors) {
+            errors.put(workflowId, String.valueOf(errorMessage));
+        }
+        processed.incrementAndGet();
+    }
+
+    void chunkDone() {
+        if (remainingChunks.decrementAndGet() == 0) {
+            endTime = System.currentTimeMillis();
+        }
+    }
+
+    BulkJob toBulkJob() {
+        BulkJob bulkJob = new BulkJob();
+        bulkJob.setJobId(jobId);
+        bulkJob.setServerId(serverId);
+        bulkJob.setOperation(operation);
+        if (cancelled) {
+            bulkJob.setStatus(BulkJob.Status.CANCELLED);
+        } else if (isDone()) {
+            bulkJob.setStatus(BulkJob.Status.COMPLETED);
+        } else {
+            bulkJob.setStatus(BulkJob.Status.RUNNING);
+        }
+        bulkJob.setTotal(total);
+        bulkJob.setProcessed(processed.get());
+        bulkJob.setSucceeded(succeeded.get());
+        bulkJob.setErrors(new HashMap<>(errors));
+        bulkJob.setCreateTime(createTime);
+        bulkJob.setEndTime(endTime);
+        return bulkJob;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -32,7 +33,6 @@ import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
-import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
@@ -68,6 +68,7 @@ public class ExecutionService {
     private final SystemTaskRegistry systemTaskRegistry;
 
     private final long queueTaskMessagePostponeSecs;
+    private final boolean searchResultHydrationEnabled;
 
     private static final int MAX_POLL_TIMEOUT_MS = 5000;
     private static final int POLL_COUNT_ONE = 1;
@@ -87,6 +88,7 @@ public class ExecutionService {
 
         this.queueTaskMessagePostponeSecs =
                 properties.getTaskExecutionPostponeDuration().getSeconds();
+        this.searchResultHydrationEnabled = properties.isSearchResultHydrationEnabled();
         this.systemTaskRegistry = systemTaskRegistry;
     }
 
@@ -118,6 +120,13 @@ public class ExecutionService {
 
         List<String> taskIds = new LinkedList<>();
         List<Task> tasks = new LinkedList<>();
+        if (executionDAOFacade.isRateLimited(taskType)) {
+            // Leave the messages in the queue instead of popping and postponing them again.
+            LOGGER.debug("Task type: {} is rate limited, skipping poll of {}", taskType, queueName);
+            Monitors.recordTaskPollRateLimited(queueName);
+            executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
+            return tasks;
+        }
         try {
             taskIds = queueDAO.pop(queueName, count, timeoutInMilliSecond);
         } catch (Exception e) {
@@ -132,74 +141,160 @@ public class ExecutionService {
             Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
         }
 
-        for (String taskId : taskIds) {
+        // Load the whole batch at once, instead of paying for a round trip per task.
+        List<Task> polledTasks = new ArrayList<>(taskIds.size());
+        if (!taskIds.isEmpty()) {
             try {
-                Task task = getTask(taskId);
-                if (task == null || task.getStatus().isTerminal()) {
-                    // Remove taskId(s) without a valid Task/terminal state task from the queue
-                    queueDAO.remove(queueName, taskId);
-                    LOGGER.debug("Removed task: {} from the queue: {}", taskId, queueName);
-                    continue;
-                }
-
-                if (executionDAOFacade.exceedsInProgressLimit(task)) {
-                    // Postpone this message, so that it would be available for poll again.
-                    queueDAO.postpone(
-                            queueName,
-                            taskId,
-                            task.getWorkflowPriority(),
-                            queueTaskMessagePostponeSecs);
-                    LOGGER.debug(
-                            "Postponed task: {} in queue: {} by {} seconds",
-                            taskId,
-                            queueName,
-                            queueTaskMessagePostponeSecs);
-                    continue;
-                }
-                TaskDef taskDef =
-                        task.getTaskDefinition().isPresent()
-                                ? task.getTaskDefinition().get()
-                                : null;
-                if (task.getRateLimitPerFrequency() > 0
-                        && executionDAOFacade.exceedsRateLimitPerFrequency(task, taskDef)) {
-                    // Postpone this message, so that it would be available for poll again.
-                    queueDAO.postpone(
-                            queueName,
-                            taskId,
-                            task.getWorkflowPriority(),
-                            queueTaskMessagePostponeSecs);
-                    LOGGER.debug(
-                            "RateLimit Execution limited for {}:{}, limit:{}",
-                            taskId,
-                            task.getTaskDefName(),
-                            task.getRateLimitPerFrequency());
-                    continue;
-                }
-
-                task.setStatus(Status.IN_PROGRESS);
-                if (task.getStartTime() == 0) {
-                    task.setStartTime(System.currentTimeMillis());
-                    Monitors.recordQueueWaitTime(task.getTaskDefName(), task.getQueueWaitTime());
+                Map<String, Task> tasksById =
+                        workflowExecutor.getTasks(taskIds).stream()
+                                .collect(
+                                        Collectors.toMap(
+                                                Task::getTaskId, task -> task, (a, b) -> a));
+                for (String taskId : taskIds) {
+                    Task task = tasksById.get(taskId);
+                    if (task == null || task.getStatus().isTerminal()) {
+                        // Remove taskId(s) without a valid Task/terminal state task from the queue
+                        queueDAO.remove(queueName, taskId);
+                        LOGGER.debug("Removed task: {} from the queue: {}", taskId, queueName);
+                        continue;
+                    }
+                    polledTasks.add(task);
                 }
-                task.setCallbackAfterSeconds(
-                        0); // reset callbackAfterSeconds when giving the task to the worker
-                task.setWorkerId(workerId);
-                task.incrementPollCount();
-                executionDAOFacade.updateTask(task);
-                tasks.add(task);
             } catch (Exception e) {
-                // db operation failed for dequeued message, re-enqueue with a delay
+                // db operation failed for dequeued messages, re-enqueue with a delay
                 LOGGER.warn(
-                        "DB operation failed for task: {}, postponing task in queue", taskId, e);
+                        "DB operation failed for tasks: {}, postponing tasks in queue", taskIds, e);
                 Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
-                queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs);
+                taskIds.forEach(
+                        taskId ->
+                                queueDAO.postpone(
+                                        queueName, taskId, 0, queueTaskMessagePostponeSecs));
+                polledTasks.clear();
             }
         }
+
+        // Evaluate the concurrency and rate limits for the whole batch at once, instead of
+        // paying for a round trip per task per limit.
+        Set<String> concurrencyLimitedTaskIds = Collections.emptySet();
+        Set<String> rateLimitedTaskIds = Collections.emptySet();
+        try {
+            concurrencyLimitedTaskIds =
+                    executionDAOFacade.getTaskIdsExceedingInProgressLimit(polledTasks);
+            Set<String> excludedTaskIds = concurrencyLimitedTaskIds;
+            List<Task> rateLimitedCandidates =
+                    polledTasks.stream()
+                            .filter(task -> !excludedTaskIds.contains(task.getTaskId()))
+                            .filter(task -> task.getRateLimitPerFrequency() > 0)
+                            .collect(Collectors.toList());
+            rateLimitedTaskIds =
+                    executionDAOFacade.getTaskIdsExceedingRateLimit(rateLimitedCandidates);
+        } catch (Exception e) {
+            LOGGER.warn(
+                    "Limit evaluation failed for tasks: {}, postponing tasks in queue",
+                    polledTasks.stream().map(Task::getTaskId).collect(Collectors.toList()),
+                    e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            polledTasks.forEach(
+                    task ->
+                            queueDAO.postpone(
+                                    queueName, task.getTaskId(), 0, queueTaskMessagePostponeSecs));
+            polledTasks.clear();
+        }
+
+        for (Task task : polledTasks) {
+            String taskId = task.getTaskId();
+            if (concurrencyLimitedTaskIds.contains(taskId)) {
+                // Postpone this message, so that it would be available for poll again.
+                queueDAO.postpone(
+                        queueName,
+                        taskId,
+                        task.getWorkflowPriority(),
+                        queueTaskMessagePostponeSecs);
+                LOGGER.debug(
+                        "Postponed task: {} in queue: {} by {} seconds",
+                        taskId,
+                        queueName,
+                        queueTaskMessagePostponeSecs);
+                continue;
+            }
+            if (rateLimitedTaskIds.contains(taskId)) {
+                // Postpone this message, so that it would be available for poll again.
+                queueDAO.postpone(
+                        queueName,
+                        taskId,
+                        task.getWorkflowPriority(),
+                        queueTaskMessagePostponeSecs);
+                LOGGER.debug(
+                        "RateLimit Execution limited for {}:{}, limit:{}",
+                        taskId,
+                        task.getTaskDefName(),
+                        task.getRateLimitPerFrequency());
+                continue;
+            }
+
+            task.setStatus(Status.IN_PROGRESS);
+            if (task.getStartTime() == 0) {
+                task.setStartTime(System.currentTimeMillis());
+                Monitors.recordQueueWaitTime(task.getTaskDefName(), task.getQueueWaitTime());
+            }
+            task.setCallbackAfterSeconds(
+                    0); // reset callbackAfterSeconds when giving the task to the worker
+            task.setWorkerId(workerId);
+            task.incrementPollCount();
+            tasks.add(task);
+        }
+
+        // Write the IN_PROGRESS updates of the whole batch at once.
+        try {
+            executionDAOFacade.updateTasks(tasks);
+        } catch (Exception e) {
+            // db operation failed for dequeued messages, re-enqueue with a delay
+            LOGGER.warn(
+                    "DB operation failed for tasks: {}, postponing tasks in queue",
+                    tasks.stream().map(Task::getTaskId).collect(Collectors.toList()),
+                    e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            tasks.forEach(
+                    task ->
+                            queueDAO.postpone(
+                                    queueName, task.getTaskId(), 0, queueTaskMessagePostponeSecs));
+            tasks.clear();
+        }
         executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
         Monitors.recordTaskPoll(queueName);
         return tasks;
     }
 
+    /**
+     * Hands back polled tasks that could not be delivered to the worker, e.g. because its stream
+     * was closed while polling. The tasks are scheduled again and their messages made available for
+     * poll right away, instead of waiting for the response timeout of the tasks. The start time and
+     * poll count recorded by the poll are undone, and moving the tasks out of IN_PROGRESS releases
+     * their concurrency limit slots in the execution store.
+     *
+     * @param tasks the tasks returned by {@link #poll(String, String, String, int, int)}
+     */
+    public void requeuePolledTasks(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        tasks.forEach(
+                task -> {
+                    task.setStatus(Status.SCHEDULED);
+                    task.setWorkerId(null);
+                    task.setStartTime(0);
+                    task.setPollCount(Math.max(0, task.getPollCount() - 1));
+                });
+        executionDAOFacade.updateTasks(tasks);
+        tasks.forEach(
+                task ->
+                        queueDAO.postpone(
+                                QueueUtils.getQueueName(task),
+                                task.getTaskId(),
+                                task.getWorkflowPriority(),
+                                0));
+    }
+
     public Task getLastPollTask(String taskType, String workerId, String domain) {
         List<Task> tasks = poll(taskType, workerId, domain, POLL_COUNT_ONE, POLLING_TIMEOUT_IN_MS);
         if (tasks.isEmpty()) {
@@ -270,6 +365,10 @@ public class ExecutionService {
         return workflowExecutor.getTask(taskId);
     }
 
+    public Task getTask(String workflowId, String taskId) {
+        return workflowExecutor.getTask(workflowId, taskId);
+    }
+
     public Task getPendingTaskForWorkflow(String taskReferenceName, String workflowId) {
         return workflowExecutor.getPendingTaskByWorkflow(taskReferenceName, workflowId);
     }
@@ -395,6 +494,10 @@ public class ExecutionService {
 
     public SearchResult<WorkflowSummary> search(
             String query, String freeText, int start, int size, List<String> sortOptions) {
+        if (!searchResultHydrationEnabled) {
+            return executionDAOFacade.searchWorkflowSummary(
+                    query, freeText, start, size, sortOptions);
+        }
 
         SearchResult<String> result =
                 executionDAOFacade.searchWorkflows(query, freeText, start, size, sortOptions);
@@ -507,6 +610,9 @@ public class ExecutionService {
 
     public SearchResult<TaskSummary> searchTasks(
             String query, String freeText, int start, int size, List<String> sortOptions) {
+        if (!searchResultHydrationEnabled) {
+            return executionDAOFacade.searchTaskSummary(query, freeText, start, size, sortOptions);
+        }
 
         SearchResult<String> result =
                 executionDAOFacade.searchTasks(query, freeText, start, size, sortOptions);
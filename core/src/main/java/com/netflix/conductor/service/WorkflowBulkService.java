@@ -14,12 +14,18 @@ package com.netflix.conductor.service;
 
 import java.util.List;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 import org.springframework.validation.annotation.Validated;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJob;
+import com.netflix.conductor.common.model.BulkJobRequest;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 
 @Validated
 public interface WorkflowBulkService {
@@ -67,4 +73,20 @@ public interface WorkflowBulkService {
                                     "Cannot process more than {max} workflows. Please use multiple requests.")
                     List<String> workflowIds,
             String reason);
+
+    BulkStartWorkflowResponse startWorkflows(
+            @NotEmpty(message = "StartWorkflowRequest list cannot be null.")
+                    @Size(
+                            max = MAX_REQUEST_ITEMS,
+                            message =
+                                    "Cannot process more than {max} workflows. Please use multiple requests.")
+                    @Valid
+                    List<StartWorkflowRequest> startWorkflowRequests);
+
+    BulkJob submitJob(
+            @NotNull(message = "BulkJobRequest cannot be null") @Valid BulkJobRequest request);
+
+    BulkJob getJob(@NotEmpty(message = "JobId cannot be null or empty.") String jobId);
+
+    BulkJob cancelJob(@NotEmpty(message = "JobId cannot be null or empty.") String jobId);
 }
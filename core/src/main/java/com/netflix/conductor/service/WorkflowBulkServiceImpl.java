@@ -12,7 +12,16 @@
  */
 package com.netflix.conductor.service;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +29,19 @@ import org.springframework.stereotype.Service;
 
 import com.netflix.conductor.annotations.Audit;
 import com.netflix.conductor.annotations.Trace;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJob;
+import com.netflix.conductor.common.model.BulkJobRequest;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.utils.IDGenerator;
+import com.netflix.conductor.core.utils.Utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 @Audit
 @Trace
@@ -30,9 +50,26 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowBulkService.class);
     private final WorkflowExecutor workflowExecutor;
+    private final ConductorProperties properties;
+    private final ExecutorService jobExecutorService;
+    private final Map<String, BulkJobExecution> jobs = new ConcurrentHashMap<>();
+    // the jobs with chunks not yet taken by a thread, in the order they get their next chunk
+    private final Queue<BulkJobExecution> scheduledJobs = new ArrayDeque<>();
 
-    public WorkflowBulkServiceImpl(WorkflowExecutor workflowExecutor) {
+    public WorkflowBulkServiceImpl(
+            WorkflowExecutor workflowExecutor, ConductorProperties properties) {
         this.workflowExecutor = workflowExecutor;
+        this.properties = properties;
+        this.jobExecutorService =
+                Executors.newFixedThreadPool(
+                        properties.getBulkJobThreadCount(),
+                        new ThreadFactoryBuilder().setNameFormat("bulk-job-thread-%d").build());
+    }
+
+    @PreDestroy
+    public void shutdownExecutorService() {
+        jobs.values().forEach(BulkJobExecution::cancel);
+        jobExecutorService.shutdownNow();
     }
 
     /**
@@ -164,4 +201,168 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
         }
         return bulkResponse;
     }
+
+    /**
+     * Start the workflows of the list of requests.
+     *
+     * @param startWorkflowRequests - list of requests of the workflows to start
+     * @return bulk response object containing the ids of the started workflows and the errors, by
+     *     position of their request
+     */
+    public BulkStartWorkflowResponse startWorkflows(
+            List<StartWorkflowRequest> startWorkflowRequests) {
+        return workflowExecutor.startWorkflows(startWorkflowRequests);
+    }
+
+    /**
+     * Submit an asynchronous job running an operation on the list of workflows. The workflows are
+     * split in chunks of {@link ConductorProperties#getBulkJobChunkSize()}, which are processed in
+     * parallel by the {@link ConductorProperties#getBulkJobThreadCount()} threads shared by all the
+     * jobs. The threads take the chunks of the running jobs in turn, so that a large job does not
+     * hold back the jobs submitted after it.
+     *
+     * <p>The job is held in memory on this server, the requests for the job must be sent to the
+     * server reported by {@link BulkJob#getServerId()}.
+     *
+     * @param request - the operation and the list of workflow Ids to run it on
+     * @return the status of the submitted job
+     */
+    public BulkJob submitJob(BulkJobRequest request) {
+        evictExpiredJobs();
+
+        BulkJobExecution job =
+                new BulkJobExecution(
+                        IDGenerator.generate(),
+                        Utils.getServerId(),
+                        request.getOperation(),
+                        operation(request),
+                        request.getWorkflowIds(),
+                        Math.max(1, properties.getBulkJobChunkSize()),
+                        properties.getBulkJobMaxErrors());
+        jobs.put(job.getJobId(), job);
+        LOGGER.info(
+                "Submitting bulk job {}: {} of {} workflows",
+                job.getJobId(),
+                job.getOperation(),
+                request.getWorkflowIds().size());
+
+        int chunks = job.getRemainingChunks();
+        synchronized (scheduledJobs) {
+            scheduledJobs.add(job);
+        }
+        for (int i = 0; i < chunks; i++) {
+            jobExecutorService.submit(this::processNextChunk);
+        }
+        return job.toBulkJob();
+    }
+
+    /**
+     * Get the progress of a bulk job.
+     *
+     * @param jobId - id of the job
+     * @return the status of the job, including the failed workflows with errors
+     */
+    public BulkJob getJob(String jobId) {
+        evictExpiredJobs();
+        return getJobExecution(jobId).toBulkJob();
+    }
+
+    /**
+     * Cancel a bulk job. The workflows already processed are not reverted, the others are skipped.
+     *
+     * @param jobId - id of the job
+     * @return the status of the cancelled job
+     */
+    public BulkJob cancelJob(String jobId) {
+        BulkJobExecution job = getJobExecution(jobId);
+        if (!job.isDone()) {
+            job.cancel();
+            LOGGER.info("Cancelled bulk job {}", jobId);
+        }
+        return job.toBulkJob();
+    }
+
+    private BulkJobExecution getJobExecution(String jobId) {
+        BulkJobExecution job = jobs.get(jobId);
+        if (job == null) {
+            throw new ApplicationException(
+                    Code.NOT_FOUND,
+                    String.format(
+                            "No such bulk job found by id: %s on server: %s",
+                            jobId, Utils.getServerId()));
+        }
+        return job;
+    }
+
+    private Consumer<String> operation(BulkJobRequest request) {
+        switch (request.getOperation()) {
+            case PAUSE:
+                return workflowExecutor::pauseWorkflow;
+            case RESUME:
+                return workflowExecutor::resumeWorkflow;
+            case RESTART:
+                return workflowId ->
+                        workflowExecutor.restart(workflowId, request.isUseLatestDefinitions());
+            case RETRY:
+                return workflowId -> workflowExecutor.retry(workflowId, false);
+            case TERMINATE:
+                return workflowId ->
+                        workflowExecutor.terminateWorkflow(workflowId, request.getReason());
+            default:
+                throw new ApplicationException(
+                        Code.INVALID_INPUT,
+                        "Unsupported bulk operation: " + request.getOperation());
+        }
+    }
+
+    /**
+     * Processes the next chunk of the job at the head of the scheduled jobs, which goes back to the
+     * tail if it has more chunks. A task is submitted for each chunk, so that every chunk is taken.
+     */
+    private void processNextChunk() {
+        BulkJobExecution job;
+        List<String> chunk;
+        synchronized (scheduledJobs) {
+            job = scheduledJobs.poll();
+            if (job == null) {
+                return;
+            }
+            chunk = job.nextChunk();
+            if (job.hasPendingChunks()) {
+                scheduledJobs.add(job);
+            }
+        }
+        processChunk(job, chunk, job.getAction());
+    }
+
+    private void processChunk(
+            BulkJobExecution job, List<String> chunk, Consumer<String> operation) {
+        try {
+            for (String workflowId : chunk) {
+                if (job.isCancelled()) {
+                    return;
+                }
+                try {
+                    operation.accept(workflowId);
+                    job.recordSuccess();
+                } catch (Exception e) {
+                    LOGGER.error(
+                            "bulk job {} {} exception, workflowId {}, message: {} ",
+                            job.getJobId(),
+                            job.getOperation(),
+                            workflowId,
+                            e.getMessage(),
+                            e);
+                    job.recordFailure(workflowId, e.getMessage());
+                }
+            }
+        } finally {
+            job.chunkDone();
+        }
+    }
+
+    private void evictExpiredJobs() {
+        long expiry = System.currentTimeMillis() - properties.getBulkJobRetention().toMillis();
+        jobs.values().removeIf(job -> job.isDone() && job.getEndTime() < expiry);
+    }
 }
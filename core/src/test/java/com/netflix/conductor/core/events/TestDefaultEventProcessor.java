@@ -12,9 +12,11 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -23,6 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
@@ -38,6 +41,8 @@ import com.netflix.conductor.common.metadata.events.EventHandler.Action.Type;
 import com.netflix.conductor.common.metadata.events.EventHandler.StartWorkflow;
 import com.netflix.conductor.common.metadata.events.EventHandler.TaskDetails;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.events.queue.Message;
@@ -58,12 +63,13 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -156,36 +162,23 @@ public class TestDefaultEventProcessor {
         when(executionService.addEventExecution(any())).thenReturn(true);
         when(queue.rePublishIfNoAck()).thenReturn(false);
 
-        String id = UUID.randomUUID().toString();
-        AtomicBoolean started = new AtomicBoolean(false);
-        doAnswer(
-                        (Answer<String>)
-                                invocation -> {
-                                    started.set(true);
-                                    return id;
-                                })
-                .when(workflowExecutor)
-                .startWorkflow(
-                        eq(startWorkflowAction.getStart_workflow().getName()),
-                        eq(startWorkflowAction.getStart_workflow().getVersion()),
-                        eq(startWorkflowAction.getStart_workflow().getCorrelationId()),
-                        anyMap(),
-                        eq(null),
-                        eq(event),
-                        anyMap());
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        response.appendSuccessResponse(0, UUID.randomUUID().toString());
+        when(workflowExecutor.startWorkflows(anyList(), eq(event))).thenReturn(response);
 
         AtomicBoolean completed = new AtomicBoolean(false);
         doAnswer(
-                        (Answer<String>)
+                        (Answer<Boolean>)
                                 invocation -> {
                                     completed.set(true);
-                                    return null;
+                                    return true;
                                 })
                 .when(workflowExecutor)
-                .updateTask(any());
+                .updateTaskWithoutDecide(any());
 
         Task task = new Task();
         task.setReferenceTaskName(completeTaskAction.getComplete_task().getTaskRefName());
+        task.setWorkflowInstanceId(completeTaskAction.getComplete_task().getWorkflowId());
         Workflow workflow = new Workflow();
         workflow.setTasks(Collections.singletonList(task));
         when(workflowExecutor.getWorkflow(
@@ -205,12 +198,63 @@ public class TestDefaultEventProcessor {
                         objectMapper,
                         evaluators);
         eventProcessor.handle(queue, message);
-        assertTrue(started.get());
+        verifyStartWorkflowRequest(startWorkflowAction, taskToDomain);
         assertTrue(completed.get());
+        verify(workflowExecutor).decide(completeTaskAction.getComplete_task().getWorkflowId());
         verify(queue, atMost(1)).ack(any());
         verify(queue, never()).publish(any());
     }
 
+    @Test
+    public void testEventProcessorBatch() {
+        String workflowId = UUID.randomUUID().toString();
+        EventHandler eventHandler = new EventHandler();
+        eventHandler.setName(UUID.randomUUID().toString());
+        eventHandler.setActive(true);
+        eventHandler.setEvent(event);
+
+        Action completeTaskAction = new Action();
+        completeTaskAction.setAction(Type.complete_task);
+        completeTaskAction.setComplete_task(new TaskDetails());
+        completeTaskAction.getComplete_task().setTaskId("${taskId}");
+        completeTaskAction.getComplete_task().setWorkflowId(workflowId);
+        completeTaskAction.getComplete_task().setOutput(new HashMap<>());
+        eventHandler.getActions().add(completeTaskAction);
+
+        when(metadataService.getEventHandlersForEvent(event, true))
+                .thenReturn(Collections.singletonList(eventHandler));
+        when(executionService.addEventExecution(any())).thenReturn(true);
+        when(workflowExecutor.updateTaskWithoutDecide(any())).thenReturn(true);
+        for (String taskId : Arrays.asList("task_1", "task_2")) {
+            Task task = new Task();
+            task.setTaskId(taskId);
+            task.setWorkflowInstanceId(workflowId);
+            when(workflowExecutor.getTask(workflowId, taskId)).thenReturn(task);
+        }
+
+        SimpleActionProcessor actionProcessor =
+                new SimpleActionProcessor(workflowExecutor, parametersUtils, jsonUtils);
+        DefaultEventProcessor eventProcessor =
+                new DefaultEventProcessor(
+                        executionService,
+                        metadataService,
+                        actionProcessor,
+                        jsonUtils,
+                        properties,
+                        objectMapper,
+                        evaluators);
+        List<Message> messages =
+                Arrays.asList(
+                        new Message("m1", "{\"taskId\":\"task_1\"}", "m1"),
+                        new Message("m2", "{\"taskId\":\"task_2\"}", "m2"));
+        eventProcessor.handle(queue, messages);
+
+        verify(workflowExecutor, times(2)).updateTaskWithoutDecide(any());
+        verify(workflowExecutor, times(1)).decide(workflowId);
+        verify(queue, times(1)).ack(messages);
+        verify(executionService, times(2)).updateEventExecution(any());
+    }
+
     @Test
     public void testEventHandlerWithCondition() {
         EventHandler eventHandler = new EventHandler();
@@ -240,23 +284,9 @@ public class TestDefaultEventProcessor {
         when(executionService.addEventExecution(any())).thenReturn(true);
         when(queue.rePublishIfNoAck()).thenReturn(false);
 
-        String id = UUID.randomUUID().toString();
-        AtomicBoolean started = new AtomicBoolean(false);
-        doAnswer(
-                        (Answer<String>)
-                                invocation -> {
-                                    started.set(true);
-                                    return id;
-                                })
-                .when(workflowExecutor)
-                .startWorkflow(
-                        eq(startWorkflowAction.getStart_workflow().getName()),
-                        eq(startWorkflowAction.getStart_workflow().getVersion()),
-                        eq(startWorkflowAction.getStart_workflow().getCorrelationId()),
-                        anyMap(),
-                        eq(null),
-                        eq(event),
-                        eq(null));
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        response.appendSuccessResponse(0, UUID.randomUUID().toString());
+        when(workflowExecutor.startWorkflows(anyList(), eq(event))).thenReturn(response);
 
         SimpleActionProcessor actionProcessor =
                 new SimpleActionProcessor(workflowExecutor, parametersUtils, jsonUtils);
@@ -271,7 +301,7 @@ public class TestDefaultEventProcessor {
                         objectMapper,
                         evaluators);
         eventProcessor.handle(queue, message);
-        assertTrue(started.get());
+        verifyStartWorkflowRequest(startWorkflowAction, null);
     }
 
     @Test
@@ -304,23 +334,9 @@ public class TestDefaultEventProcessor {
         when(executionService.addEventExecution(any())).thenReturn(true);
         when(queue.rePublishIfNoAck()).thenReturn(false);
 
-        String id = UUID.randomUUID().toString();
-        AtomicBoolean started = new AtomicBoolean(false);
-        doAnswer(
-                        (Answer<String>)
-                                invocation -> {
-                                    started.set(true);
-                                    return id;
-                                })
-                .when(workflowExecutor)
-                .startWorkflow(
-                        eq(startWorkflowAction.getStart_workflow().getName()),
-                        eq(startWorkflowAction.getStart_workflow().getVersion()),
-                        eq(startWorkflowAction.getStart_workflow().getCorrelationId()),
-                        anyMap(),
-                        eq(null),
-                        eq(event),
-                        eq(null));
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        response.appendSuccessResponse(0, UUID.randomUUID().toString());
+        when(workflowExecutor.startWorkflows(anyList(), eq(event))).thenReturn(response);
 
         SimpleActionProcessor actionProcessor =
                 new SimpleActionProcessor(workflowExecutor, parametersUtils, jsonUtils);
@@ -335,7 +351,7 @@ public class TestDefaultEventProcessor {
                         objectMapper,
                         evaluators);
         eventProcessor.handle(queue, message);
-        assertTrue(started.get());
+        verifyStartWorkflowRequest(startWorkflowAction, null);
     }
 
     @Test
@@ -519,4 +535,19 @@ public class TestDefaultEventProcessor {
         assertEquals(3, executeInvoked.get());
         assertNull(eventExecution.getOutput().get("exception"));
     }
+
+    @SuppressWarnings("unchecked")
+    private void verifyStartWorkflowRequest(
+            Action startWorkflowAction, Map<String, String> taskToDomain) {
+        ArgumentCaptor<List<StartWorkflowRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(workflowExecutor).startWorkflows(requests.capture(), eq(event));
+        StartWorkflowRequest request = requests.getValue().get(0);
+        StartWorkflow startWorkflow = startWorkflowAction.getStart_workflow();
+        assertEquals(startWorkflow.getName(), request.getName());
+        assertEquals(startWorkflow.getVersion(), request.getVersion());
+        assertEquals(startWorkflow.getCorrelationId(), request.getCorrelationId());
+        assertNotNull(request.getInput());
+        assertNull(request.getExternalInputPayloadStoragePath());
+        assertEquals(taskToDomain, request.getTaskToDomain());
+    }
 }
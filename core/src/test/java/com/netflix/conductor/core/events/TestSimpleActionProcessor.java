@@ -12,8 +12,11 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -31,8 +34,11 @@ import com.netflix.conductor.common.metadata.events.EventHandler.TaskDetails;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.metadata.tasks.TaskResult.Status;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.events.ActionProcessor.ActionRequest;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.utils.JsonUtils;
 import com.netflix.conductor.core.utils.ParametersUtils;
@@ -45,6 +51,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -130,6 +137,77 @@ public class TestSimpleActionProcessor {
         assertEquals(taskToDomain, taskToDomainCaptor.getValue());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStartWorkflowBatch_correlationId() throws Exception {
+        StartWorkflow startWorkflow = new StartWorkflow();
+        startWorkflow.setName("testWorkflow");
+        startWorkflow.getInput().put("testInput", "${testId}");
+        startWorkflow.setCorrelationId("${correlationId}");
+
+        Map<String, String> taskToDomain = new HashMap<>();
+        taskToDomain.put("*", "dev");
+        startWorkflow.setTaskToDomain(taskToDomain);
+
+        Action action = new Action();
+        action.setAction(Type.start_workflow);
+        action.setStart_workflow(startWorkflow);
+
+        Object payload =
+                objectMapper.readValue(
+                        "{\"correlationId\":\"test-id\", \"testId\":\"test_1\"}", Object.class);
+
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        response.appendSuccessResponse(0, "workflow_1");
+        when(workflowExecutor.startWorkflows(anyList(), eq("testEvent"))).thenReturn(response);
+
+        List<CompletableFuture<Map<String, Object>>> outputs =
+                actionProcessor.execute(
+                        Collections.singletonList(
+                                new ActionRequest(action, payload, "testMessage")),
+                        "testEvent",
+                        Runnable::run);
+
+        assertEquals(1, outputs.size());
+        assertEquals("workflow_1", outputs.get(0).get().get("workflowId"));
+
+        ArgumentCaptor<List<StartWorkflowRequest>> requestsCaptor =
+                ArgumentCaptor.forClass(List.class);
+        verify(workflowExecutor).startWorkflows(requestsCaptor.capture(), eq("testEvent"));
+        StartWorkflowRequest request = requestsCaptor.getValue().get(0);
+        assertEquals("testWorkflow", request.getName());
+        assertNull(request.getVersion());
+        assertEquals("test-id", request.getCorrelationId());
+        assertEquals("test_1", request.getInput().get("testInput"));
+        assertEquals("testMessage", request.getInput().get("conductor.event.messageId"));
+        assertEquals("testEvent", request.getInput().get("conductor.event.name"));
+        assertEquals(taskToDomain, request.getTaskToDomain());
+    }
+
+    @Test
+    public void testStartWorkflowBatch_error() throws Exception {
+        StartWorkflow startWorkflow = new StartWorkflow();
+        startWorkflow.setName("testWorkflow");
+
+        Action action = new Action();
+        action.setAction(Type.start_workflow);
+        action.setStart_workflow(startWorkflow);
+
+        when(workflowExecutor.startWorkflows(anyList(), eq("testEvent")))
+                .thenThrow(new StackOverflowError());
+
+        List<CompletableFuture<Map<String, Object>>> outputs =
+                actionProcessor.execute(
+                        Collections.singletonList(
+                                new ActionRequest(action, new HashMap<>(), "testMessage")),
+                        "testEvent",
+                        Runnable::run);
+
+        // the output is not left outstanding when the batch throws an error
+        assertEquals(1, outputs.size());
+        assertTrue(outputs.get(0).isCompletedExceptionally());
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Test
     public void testStartWorkflow() throws Exception {
@@ -249,7 +327,7 @@ public class TestSimpleActionProcessor {
         task.setTaskId("task_1");
         task.setReferenceTaskName("testTask");
 
-        when(workflowExecutor.getTask(eq("task_1"))).thenReturn(task);
+        when(workflowExecutor.getTask(eq("workflow_1"), eq("task_1"))).thenReturn(task);
 
         actionProcessor.execute(action, payload, "testEvent", "testMessage");
 
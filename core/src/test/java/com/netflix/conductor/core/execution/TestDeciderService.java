@@ -598,6 +598,57 @@ public class TestDeciderService {
         assertNull(task.getReasonForIncompletion());
     }
 
+    @Test
+    public void testGetNextDeadline() {
+        long now = System.currentTimeMillis();
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setTimeoutSeconds(100);
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        workflow.setStartTime(now - 10_000);
+
+        TaskDef pollTimeoutDef = new TaskDef("poll_timeout");
+        pollTimeoutDef.setPollTimeoutSeconds(5);
+        WorkflowTask pollTimeoutTask = new WorkflowTask();
+        pollTimeoutTask.setTaskDefinition(pollTimeoutDef);
+        Task scheduledTask = new Task();
+        scheduledTask.setTaskType("poll_timeout");
+        scheduledTask.setWorkflowTask(pollTimeoutTask);
+        scheduledTask.setStatus(Status.SCHEDULED);
+        scheduledTask.setScheduledTime(now);
+
+        TaskDef timeoutDef = new TaskDef("timeout");
+        timeoutDef.setTimeoutSeconds(60);
+        timeoutDef.setResponseTimeoutSeconds(20);
+        WorkflowTask timeoutTask = new WorkflowTask();
+        timeoutTask.setTaskDefinition(timeoutDef);
+        Task inProgressTask = new Task();
+        inProgressTask.setTaskType("timeout");
+        inProgressTask.setWorkflowTask(timeoutTask);
+        inProgressTask.setStatus(Status.IN_PROGRESS);
+        inProgressTask.setStartTime(now - 59_000);
+        inProgressTask.setUpdateTime(now);
+
+        workflow.getTasks().addAll(Arrays.asList(scheduledTask, inProgressTask));
+
+        // the task timeout is the earliest deadline
+        assertEquals(now + 1_000, deciderService.getNextDeadline(workflow));
+
+        // the deadlines which have passed are left out
+        inProgressTask.setStartTime(now - 120_000);
+        assertEquals(now + 5_000, deciderService.getNextDeadline(workflow));
+
+        scheduledTask.setStatus(Status.COMPLETED);
+        assertEquals(now + 20_000, deciderService.getNextDeadline(workflow));
+
+        inProgressTask.setStatus(Status.COMPLETED);
+        assertEquals(now + 90_000, deciderService.getNextDeadline(workflow));
+
+        workflowDef.setTimeoutSeconds(0);
+        assertEquals(Long.MAX_VALUE, deciderService.getNextDeadline(workflow));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testConcurrentTaskInputCalc() throws InterruptedException {
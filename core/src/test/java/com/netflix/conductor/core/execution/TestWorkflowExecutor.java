@@ -48,8 +48,10 @@ import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
@@ -83,6 +85,7 @@ import com.netflix.conductor.core.orchestration.ExecutionDAOFacade;
 import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
 import com.netflix.conductor.core.utils.IDGenerator;
 import com.netflix.conductor.core.utils.ParametersUtils;
+import com.netflix.conductor.dao.DecideCommit;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.service.ExecutionLockService;
@@ -111,7 +114,9 @@ import static com.netflix.conductor.common.metadata.tasks.TaskType.WAIT;
 import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.COMPLETED;
 import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.PAUSED;
 import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.RUNNING;
+import static com.netflix.conductor.core.exception.ApplicationException.Code.BACKEND_ERROR;
 import static com.netflix.conductor.core.exception.ApplicationException.Code.CONFLICT;
+import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEUE;
 
 import static java.util.Comparator.comparingInt;
 import static java.util.stream.Collectors.groupingBy;
@@ -120,6 +125,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -135,6 +141,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ContextConfiguration(
@@ -152,6 +159,7 @@ public class TestWorkflowExecutor {
     private WorkflowStatusListener workflowStatusListener;
     private ExecutionLockService executionLockService;
     private ExternalPayloadStorageUtils externalPayloadStorageUtils;
+    private ConductorProperties properties;
 
     @Configuration
     @ComponentScan(basePackageClasses = {Evaluator.class}) // load all Evaluator beans.
@@ -253,7 +261,7 @@ public class TestWorkflowExecutor {
                         Duration.ofMinutes(60));
         MetadataMapperService metadataMapperService = new MetadataMapperService(metadataDAO);
 
-        ConductorProperties properties = mock(ConductorProperties.class);
+        properties = mock(ConductorProperties.class);
         when(properties.getActiveWorkerLastPollTimeout()).thenReturn(Duration.ofSeconds(100));
         when(properties.getTaskExecutionPostponeDuration()).thenReturn(Duration.ofSeconds(60));
         when(properties.getWorkflowOffsetTimeout()).thenReturn(Duration.ofSeconds(30));
@@ -422,6 +430,189 @@ public class TestWorkflowExecutor {
         assertFalse(workflowExecutor.scheduleTask(workflow, tasks));
     }
 
+    @Test
+    public void testScheduleTaskWithDecideCommit() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("wid_01");
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("wid");
+        workflowDef.setVersion(1);
+        workflow.setWorkflowDefinition(workflowDef);
+        List<Task> tasks = new LinkedList<>();
+
+        Task task1 = new Task();
+        task1.setTaskType(TaskType.TASK_TYPE_SIMPLE);
+        task1.setTaskDefName("task_1");
+        task1.setReferenceTaskName("task_1");
+        task1.setWorkflowInstanceId(workflow.getWorkflowId());
+        task1.setTaskId("tid_01");
+        task1.setStatus(Status.SCHEDULED);
+        task1.setRetryCount(0);
+
+        tasks.add(task1);
+
+        DecideCommit commit = new DecideCommit(workflow).updateWorkflow();
+        when(executionDAOFacade.commitDecide(commit)).thenReturn(tasks);
+        assertFalse(workflowExecutor.scheduleTask(workflow, tasks, commit));
+
+        assertEquals(tasks, commit.getTasksToCreate());
+        List<DecideCommit.QueueMessage> messages = commit.getMessagesToPush(tasks);
+        assertEquals(1, messages.size());
+        assertEquals("tid_01", messages.get(0).getMessageId());
+        verify(executionDAOFacade, never()).createTasks(any());
+        verify(queueDAO, never()).push(anyString(), anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    public void testDecideDoesNotTerminateWhenDecideCommitFails() {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_1");
+        workflowTask.setTaskReferenceName("task_1");
+        workflowTask.setType(TaskType.TASK_TYPE_SIMPLE);
+        workflowTask.setTaskDefinition(new TaskDef("task_1"));
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("test");
+        workflowDef.setVersion(1);
+        workflowDef.getTasks().add(workflowTask);
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("wid_01");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowStatus.RUNNING);
+
+        when(properties.isDecideCommitEnabled()).thenReturn(true);
+        when(executionLockService.acquireLock(anyString())).thenReturn(true);
+        when(executionDAOFacade.getWorkflowById("wid_01", true)).thenReturn(workflow);
+        when(executionDAOFacade.commitDecide(any()))
+                .thenThrow(new ApplicationException(BACKEND_ERROR, "deadlock"));
+
+        ApplicationException exception =
+                assertThrows(ApplicationException.class, () -> workflowExecutor.decide("wid_01"));
+
+        assertEquals(BACKEND_ERROR, exception.getCode());
+        assertEquals(WorkflowStatus.RUNNING, workflow.getStatus());
+        verify(executionDAOFacade, never()).updateWorkflow(any());
+        verify(executionLockService).releaseLock("wid_01");
+    }
+
+    @Test
+    public void testDecideSchedulesNextSweepWithWorkflowTimer() {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_1");
+        workflowTask.setTaskReferenceName("task_1");
+        workflowTask.setType(TaskType.TASK_TYPE_SIMPLE);
+        workflowTask.setTaskDefinition(new TaskDef("task_1"));
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("test");
+        workflowDef.setVersion(1);
+        workflowDef.setTimeoutSeconds(10);
+        workflowDef.getTasks().add(workflowTask);
+
+        Task task = new Task();
+        task.setTaskId("tid_01");
+        task.setTaskType(TaskType.TASK_TYPE_SIMPLE);
+        task.setTaskDefName("task_1");
+        task.setReferenceTaskName("task_1");
+        task.setWorkflowTask(workflowTask);
+        task.setStatus(Status.IN_PROGRESS);
+        task.setStartTime(System.currentTimeMillis());
+        task.setUpdateTime(System.currentTimeMillis());
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("wid_01");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        workflow.setStartTime(System.currentTimeMillis());
+        workflow.getTasks().add(task);
+
+        when(properties.isWorkflowTimerEnabled()).thenReturn(true);
+        when(properties.getWorkflowTimerMaxDelay()).thenReturn(Duration.ofSeconds(30));
+        when(executionLockService.acquireLock(anyString())).thenReturn(true);
+        when(executionDAOFacade.getWorkflowById("wid_01", true)).thenReturn(workflow);
+
+        assertFalse(workflowExecutor.decide("wid_01"));
+
+        // the workflow times out before the max delay
+        verify(queueDAO).setUnackTimeout(DECIDER_QUEUE, "wid_01", 10000);
+        verify(executionLockService).releaseLock("wid_01");
+    }
+
+    @Test
+    public void testDecideSchedulesNextSweepAtWaitDueTime() {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("wait");
+        workflowTask.setTaskReferenceName("wait");
+        workflowTask.setType(TaskType.TASK_TYPE_WAIT);
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("test");
+        workflowDef.setVersion(1);
+        workflowDef.getTasks().add(workflowTask);
+
+        Task task = new Task();
+        task.setTaskId("tid_01");
+        task.setTaskType(TaskType.TASK_TYPE_WAIT);
+        task.setTaskDefName("wait");
+        task.setReferenceTaskName("wait");
+        task.setWorkflowTask(workflowTask);
+        task.setStatus(Status.IN_PROGRESS);
+        task.setStartTime(System.currentTimeMillis() - 100_000);
+        task.getInputData().put(Wait.DURATION_INPUT, "120s");
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("wid_01");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        workflow.setStartTime(System.currentTimeMillis());
+        workflow.getTasks().add(task);
+
+        when(properties.getWorkflowTimerMaxDelay()).thenReturn(Duration.ofHours(1));
+        when(executionLockService.acquireLock(anyString())).thenReturn(true);
+        when(executionDAOFacade.getWorkflowById("wid_01", true)).thenReturn(workflow);
+
+        assertFalse(workflowExecutor.decide("wid_01"));
+
+        // the workflow timer is disabled, the wait is due in 20 seconds
+        verify(queueDAO).setUnackTimeout(DECIDER_QUEUE, "wid_01", 20000);
+        assertEquals(Status.IN_PROGRESS, task.getStatus());
+    }
+
+    @Test
+    public void testDecideSweepsWorkflowNowWhenLockIsMissedWithWorkflowTimer() {
+        when(properties.isWorkflowTimerEnabled()).thenReturn(true);
+        when(executionLockService.acquireLock(anyString())).thenReturn(false);
+
+        assertFalse(workflowExecutor.decide("wid_01"));
+        verify(queueDAO).push(DECIDER_QUEUE, "wid_01", 0);
+
+        when(queueDAO.containsMessage(DECIDER_QUEUE, "wid_01")).thenReturn(true);
+        assertFalse(workflowExecutor.decide("wid_01"));
+        verify(queueDAO).postpone(DECIDER_QUEUE, "wid_01", 0, 0);
+
+        verify(executionDAOFacade, never()).getWorkflowById(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void testSweeperDecideDoesNotSweepWorkflowWhenLockIsMissed() {
+        when(properties.isWorkflowTimerEnabled()).thenReturn(true);
+        when(executionLockService.acquireLock(anyString())).thenReturn(false);
+
+        assertFalse(workflowExecutor.decide("wid_01", workflow -> {}, false));
+
+        verifyNoInteractions(queueDAO);
+    }
+
+    @Test
+    public void testDecideDoesNotSweepWorkflowWhenLockIsMissed() {
+        when(executionLockService.acquireLock(anyString())).thenReturn(false);
+
+        assertFalse(workflowExecutor.decide("wid_01"));
+
+        verifyNoInteractions(queueDAO);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testCompleteWorkflow() {
@@ -1948,6 +2139,41 @@ public class TestWorkflowExecutor {
         verify(executionDAOFacade, times(1)).getWorkflowById(anyString(), anyBoolean());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStartWorkflows() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("test");
+        def.setVersion(1);
+        when(metadataDAO.getWorkflowDef("test", 1)).thenReturn(Optional.of(def));
+        when(metadataDAO.getWorkflowDef("unknown", 1)).thenReturn(Optional.empty());
+
+        List<StartWorkflowRequest> requests = new ArrayList<>();
+        for (String name : Arrays.asList("test", "unknown", "test")) {
+            StartWorkflowRequest request = new StartWorkflowRequest();
+            request.setName(name);
+            request.setVersion(1);
+            request.setInput(Collections.singletonMap("key", name));
+            requests.add(request);
+        }
+
+        BulkStartWorkflowResponse response = workflowExecutor.startWorkflows(requests);
+
+        ArgumentCaptor<List<Workflow>> workflowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(executionDAOFacade).createWorkflows(workflowsCaptor.capture());
+        List<Workflow> workflows = workflowsCaptor.getValue();
+        assertEquals(2, workflows.size());
+        assertEquals(workflows.get(0).getWorkflowId(), response.getWorkflowIds().get(0));
+        assertEquals(workflows.get(1).getWorkflowId(), response.getWorkflowIds().get(2));
+        assertEquals(Workflow.WorkflowStatus.RUNNING, workflows.get(0).getStatus());
+        assertEquals(1, response.getErrors().size());
+        assertTrue(response.getErrors().containsKey(1));
+        // the definition is looked up once per name and version
+        verify(metadataDAO, times(1)).getWorkflowDef("test", 1);
+        verify(executionDAOFacade, never()).createWorkflow(any());
+        verify(executionLockService, never()).acquireLock(anyString());
+    }
+
     @Test
     public void testScheduleNextIteration() {
         Workflow workflow = generateSampleWorkflow();
@@ -25,15 +25,17 @@ import org.mockito.Mockito;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.AsyncSystemTaskExecutor;
 import com.netflix.conductor.dao.QueueDAO;
-import com.netflix.conductor.service.ExecutionService;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +45,6 @@ public class TestSystemTaskWorker {
     private static final String ISOLATED_TASK = "system_task-isolated";
 
     private AsyncSystemTaskExecutor asyncSystemTaskExecutor;
-    private ExecutionService executionService;
     private QueueDAO queueDAO;
     private ConductorProperties properties;
 
@@ -52,7 +53,6 @@ public class TestSystemTaskWorker {
     @Before
     public void setUp() {
         asyncSystemTaskExecutor = mock(AsyncSystemTaskExecutor.class);
-        executionService = mock(ExecutionService.class);
         queueDAO = mock(QueueDAO.class);
         properties = mock(ConductorProperties.class);
 
@@ -61,10 +61,10 @@ public class TestSystemTaskWorker {
         when(properties.getSystemTaskWorkerCallbackDuration()).thenReturn(Duration.ofSeconds(30));
         when(properties.getSystemTaskMaxPollCount()).thenReturn(1);
         when(properties.getSystemTaskWorkerPollInterval()).thenReturn(Duration.ofSeconds(30));
+        when(properties.getSystemTaskWorkerMaxPollInterval()).thenReturn(Duration.ofMinutes(2));
+        when(properties.getSystemTaskWorkerPollerThreadCount()).thenReturn(1);
 
-        systemTaskWorker =
-                new SystemTaskWorker(
-                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
         systemTaskWorker.start();
     }
 
@@ -77,9 +77,7 @@ public class TestSystemTaskWorker {
     @Test
     public void testGetExecutionConfigForSystemTask() {
         when(properties.getSystemTaskWorkerThreadCount()).thenReturn(5);
-        systemTaskWorker =
-                new SystemTaskWorker(
-                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
         assertEquals(
                 systemTaskWorker.getExecutionConfig("").getSemaphoreUtil().availableSlots(), 5);
     }
@@ -87,9 +85,7 @@ public class TestSystemTaskWorker {
     @Test
     public void testGetExecutionConfigForIsolatedSystemTask() {
         when(properties.getIsolatedSystemTaskWorkerThreadCount()).thenReturn(7);
-        systemTaskWorker =
-                new SystemTaskWorker(
-                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
         assertEquals(
                 systemTaskWorker.getExecutionConfig("test-iso").getSemaphoreUtil().availableSlots(),
                 7);
@@ -97,7 +93,7 @@ public class TestSystemTaskWorker {
 
     @Test
     public void testPollAndExecuteSystemTask() throws Exception {
-        when(queueDAO.pop(anyString(), anyInt(), anyInt()))
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList("taskId"));
 
         CountDownLatch latch = new CountDownLatch(1);
@@ -119,7 +115,7 @@ public class TestSystemTaskWorker {
     @Test
     public void testBatchPollAndExecuteSystemTask() throws Exception {
         when(properties.getSystemTaskMaxPollCount()).thenReturn(2);
-        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(List.of("t1", "t1"));
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt())).thenReturn(List.of("t1", "t1"));
 
         CountDownLatch latch = new CountDownLatch(2);
         doAnswer(
@@ -139,7 +135,8 @@ public class TestSystemTaskWorker {
 
     @Test
     public void testPollAndExecuteIsolatedSystemTask() throws Exception {
-        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(List.of("isolated_taskId"));
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of("isolated_taskId"));
 
         CountDownLatch latch = new CountDownLatch(1);
         doAnswer(
@@ -160,7 +157,7 @@ public class TestSystemTaskWorker {
     @Test
     public void testPollException() {
         when(properties.getSystemTaskWorkerThreadCount()).thenReturn(1);
-        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenThrow(RuntimeException.class);
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt())).thenThrow(RuntimeException.class);
 
         systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK);
 
@@ -171,13 +168,112 @@ public class TestSystemTaskWorker {
     public void testBatchPollException() {
         when(properties.getSystemTaskWorkerThreadCount()).thenReturn(2);
         when(properties.getSystemTaskMaxPollCount()).thenReturn(2);
-        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenThrow(RuntimeException.class);
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt())).thenThrow(RuntimeException.class);
 
         systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK);
 
         verify(asyncSystemTaskExecutor, Mockito.never()).execute(any(), anyString());
     }
 
+    @Test
+    public void testPollIntervalBacksOffForEmptyQueue() {
+        SystemTaskWorker.QueuePoller queuePoller =
+                systemTaskWorker.new QueuePoller(new TestTask(), TEST_TASK);
+
+        assertEquals(60_000, queuePoller.nextDelay(0));
+        assertEquals(120_000, queuePoller.nextDelay(0));
+        assertEquals(120_000, queuePoller.nextDelay(0));
+        assertEquals(30_000, queuePoller.nextDelay(1));
+        assertEquals(60_000, queuePoller.nextDelay(0));
+    }
+
+    @Test
+    public void testBusyQueuesShareThreads() {
+        when(properties.getSystemTaskMaxPollCount()).thenReturn(10);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
+        systemTaskWorker.start();
+        ExecutionConfig executionConfig = systemTaskWorker.getExecutionConfig(TEST_TASK);
+        executionConfig.setBusy("other_system_task", true);
+        executionConfig.setBusy(TEST_TASK, true);
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK);
+
+        // two busy queues share the ten threads of the default config
+        verify(queueDAO).popAndAck(TEST_TASK, 5, 200);
+    }
+
+    @Test
+    public void testBusyQueuesShareThreadsByWeight() {
+        when(properties.getSystemTaskMaxPollCount()).thenReturn(10);
+        when(properties.getSystemTaskWorkerQueueWeights())
+                .thenReturn(Collections.singletonMap(TEST_TASK, 3));
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
+        systemTaskWorker.start();
+        ExecutionConfig executionConfig = systemTaskWorker.getExecutionConfig(TEST_TASK);
+        executionConfig.setBusy("other_system_task", true);
+        executionConfig.setBusy(TEST_TASK, true);
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK);
+        executionConfig.setBusy(TEST_TASK, true);
+        systemTaskWorker.pollAndExecute(new TestTask(), "other_system_task");
+
+        // the weights 3 and 1 split the ten threads of the default config
+        verify(queueDAO).popAndAck(TEST_TASK, 7, 200);
+        verify(queueDAO).popAndAck("other_system_task", 2, 200);
+    }
+
+    @Test
+    public void testQueuePollerDoesNotLongPoll() {
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+        SystemTaskWorker.QueuePoller queuePoller =
+                systemTaskWorker.new QueuePoller(new TestTask(), TEST_TASK);
+
+        queuePoller.run();
+
+        verify(queueDAO).popAndAck(TEST_TASK, 1, 1);
+    }
+
+    @Test
+    public void testBatchSizeAdaptsToQueueDepth() {
+        when(properties.getSystemTaskMaxPollCount()).thenReturn(8);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
+        SystemTaskWorker.QueuePoller queuePoller =
+                systemTaskWorker.new QueuePoller(new TestTask(), TEST_TASK);
+
+        // full polls double the batch size up to the max poll count
+        assertTrue(queuePoller.adaptBatchSize(1));
+        assertEquals(2, queuePoller.getBatchSize());
+        assertTrue(queuePoller.adaptBatchSize(2));
+        assertTrue(queuePoller.adaptBatchSize(4));
+        assertTrue(queuePoller.adaptBatchSize(8));
+        assertEquals(8, queuePoller.getBatchSize());
+
+        // partial polls shrink it to the number of tasks polled
+        assertFalse(queuePoller.adaptBatchSize(3));
+        assertEquals(3, queuePoller.getBatchSize());
+        assertFalse(queuePoller.adaptBatchSize(0));
+        assertEquals(1, queuePoller.getBatchSize());
+    }
+
+    @Test
+    public void testPollCountBoundedByRequestedCount() {
+        when(properties.getSystemTaskMaxPollCount()).thenReturn(10);
+        systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties);
+        systemTaskWorker.start();
+        when(queueDAO.popAndAck(anyString(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK, 4, 1);
+
+        verify(queueDAO).popAndAck(TEST_TASK, 4, 1);
+        verify(queueDAO, never()).pop(anyString(), anyInt(), anyInt());
+    }
+
     static class TestTask extends WorkflowSystemTask {
         public TestTask() {
             super(TEST_TASK);
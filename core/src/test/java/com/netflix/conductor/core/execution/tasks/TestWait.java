@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution.tasks;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class TestWait {
+
+    private final WorkflowExecutor executor = mock(WorkflowExecutor.class);
+    private final Workflow workflow = new Workflow();
+    private final Wait waitTask = new Wait();
+
+    @Test
+    public void should_wait_for_external_update_without_duration_or_until() {
+        Task task = new Task();
+        waitTask.start(workflow, task, executor);
+
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        assertEquals(Optional.empty(), waitTask.getEvaluationTime(task));
+        assertFalse(waitTask.execute(workflow, task, executor));
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+    }
+
+    @Test
+    public void should_complete_after_duration() {
+        Task task = new Task();
+        task.setStartTime(System.currentTimeMillis());
+        task.getInputData().put(Wait.DURATION_INPUT, "1h 30m");
+        waitTask.start(workflow, task, executor);
+
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        assertEquals(
+                Optional.of(task.getStartTime() + 90 * 60 * 1000),
+                waitTask.getEvaluationTime(task));
+        assertFalse(waitTask.execute(workflow, task, executor));
+
+        task.setStartTime(task.getStartTime() - 2 * 60 * 60 * 1000);
+        assertTrue(waitTask.execute(workflow, task, executor));
+        assertEquals(Task.Status.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    public void should_accept_iso_duration_and_seconds() {
+        Task task = new Task();
+        task.setStartTime(1000);
+        task.getInputData().put(Wait.DURATION_INPUT, "PT6H");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        assertEquals(Optional.of(1000 + 6 * 60 * 60 * 1000L), waitTask.getEvaluationTime(task));
+
+        task.getInputData().put(Wait.DURATION_INPUT, 30);
+        assertEquals(Optional.of(31_000L), waitTask.getEvaluationTime(task));
+    }
+
+    @Test
+    public void should_complete_until_time() {
+        Task task = new Task();
+        task.getInputData().put(Wait.UNTIL_INPUT, "2021-06-01 10:00 UTC");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        assertEquals(Optional.of(1622541600000L), waitTask.getEvaluationTime(task));
+
+        task.getInputData().put(Wait.UNTIL_INPUT, "2021-06-01T12:00:00+02:00");
+        assertEquals(Optional.of(1622541600000L), waitTask.getEvaluationTime(task));
+
+        // the time has passed already
+        waitTask.start(workflow, task, executor);
+        assertEquals(Task.Status.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    public void should_fail_on_invalid_input() {
+        Task task = new Task();
+        task.getInputData().put(Wait.DURATION_INPUT, "6 weeks");
+        waitTask.start(workflow, task, executor);
+        assertEquals(Task.Status.FAILED_WITH_TERMINAL_ERROR, task.getStatus());
+
+        task = new Task();
+        task.getInputData().put(Wait.DURATION_INPUT, "1h");
+        task.getInputData().put(Wait.UNTIL_INPUT, "2021-06-01 10:00 UTC");
+        waitTask.start(workflow, task, executor);
+        assertEquals(Task.Status.FAILED_WITH_TERMINAL_ERROR, task.getStatus());
+    }
+}
@@ -27,12 +27,16 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.execution.TestDeciderService;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+import com.netflix.conductor.dao.DecideCommit;
+import com.netflix.conductor.dao.DecideCommitDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.dao.PollDataDAO;
@@ -45,21 +49,26 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
 @RunWith(SpringRunner.class)
 public class ExecutionDAOFacadeTest {
 
     private ExecutionDAO executionDAO;
+    private QueueDAO queueDAO;
     private IndexDAO indexDAO;
     private ExecutionDAOFacade executionDAOFacade;
 
@@ -68,8 +77,12 @@ public class ExecutionDAOFacadeTest {
     @Before
     public void setUp() {
         executionDAO = mock(ExecutionDAO.class);
-        QueueDAO queueDAO = mock(QueueDAO.class);
+        queueDAO = mock(QueueDAO.class);
         indexDAO = mock(IndexDAO.class);
+        executionDAOFacade = newExecutionDAOFacade(executionDAO);
+    }
+
+    private ExecutionDAOFacade newExecutionDAOFacade(ExecutionDAO executionDAO) {
         RateLimitingDAO rateLimitingDao = mock(RateLimitingDAO.class);
         ConcurrentExecutionLimitDAO concurrentExecutionLimitDAO =
                 mock(ConcurrentExecutionLimitDAO.class);
@@ -77,16 +90,15 @@ public class ExecutionDAOFacadeTest {
         ConductorProperties properties = mock(ConductorProperties.class);
         when(properties.isEventExecutionIndexingEnabled()).thenReturn(true);
         when(properties.isAsyncIndexingEnabled()).thenReturn(true);
-        executionDAOFacade =
-                new ExecutionDAOFacade(
-                        executionDAO,
-                        queueDAO,
-                        indexDAO,
-                        rateLimitingDao,
-                        concurrentExecutionLimitDAO,
-                        pollDataDAO,
-                        objectMapper,
-                        properties);
+        return new ExecutionDAOFacade(
+                executionDAO,
+                queueDAO,
+                indexDAO,
+                rateLimitingDao,
+                concurrentExecutionLimitDAO,
+                pollDataDAO,
+                objectMapper,
+                properties);
     }
 
     @Test
@@ -167,4 +179,87 @@ public class ExecutionDAOFacadeTest {
         assertTrue(added);
         verify(indexDAO, times(1)).asyncAddEventExecution(any());
     }
+
+    @Test
+    public void testCommitDecide() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        Task updatedTask = newTask("updatedTask");
+        Task createdTask = newTask("createdTask");
+        Task skippedTask = newTask("skippedTask");
+        DecideCommit commit =
+                new DecideCommit(workflow)
+                        .updateWorkflow()
+                        .updateTasks(Collections.singletonList(updatedTask))
+                        .createTasks(List.of(createdTask, skippedTask))
+                        .queueTask(createdTask)
+                        .queueTask(skippedTask);
+        when(executionDAO.createTasks(any())).thenReturn(Collections.singletonList(createdTask));
+
+        List<Task> createdTasks = executionDAOFacade.commitDecide(commit);
+        assertEquals(Collections.singletonList(createdTask), createdTasks);
+        assertTrue(updatedTask.getUpdateTime() > 0);
+        assertTrue(workflow.getUpdateTime() > 0);
+        verify(executionDAO, times(1)).updateTasks(Collections.singletonList(updatedTask));
+        verify(executionDAO, times(1)).updateWorkflow(workflow);
+        verify(queueDAO, times(1)).push("task", "createdTask", 0, 0);
+        verify(queueDAO, never()).push("task", "skippedTask", 0, 0);
+    }
+
+    @Test
+    public void testCommitDecideQueueFailure() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        Task task = newTask("taskId");
+        DecideCommit commit =
+                new DecideCommit(workflow)
+                        .createTasks(Collections.singletonList(task))
+                        .queueTask(task);
+        when(executionDAO.createTasks(any())).thenReturn(Collections.singletonList(task));
+        doThrow(new RuntimeException("queue unavailable"))
+                .when(queueDAO)
+                .push(anyString(), anyString(), anyInt(), anyLong());
+
+        try {
+            executionDAOFacade.commitDecide(commit);
+            fail("the queue failure should fail the commit");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.BACKEND_ERROR, e.getCode());
+        }
+        verify(queueDAO, times(2)).push("task", "taskId", 0, 0);
+    }
+
+    @Test
+    public void testCommitDecideWithDecideCommitDAO() {
+        ExecutionDAO decideCommitDAO =
+                mock(ExecutionDAO.class, withSettings().extraInterfaces(DecideCommitDAO.class));
+        ExecutionDAOFacade executionDAOFacade = newExecutionDAOFacade(decideCommitDAO);
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        Task task = newTask("taskId");
+        DecideCommit commit =
+                new DecideCommit(workflow)
+                        .updateWorkflow()
+                        .createTasks(Collections.singletonList(task))
+                        .queueTask(task);
+        when(((DecideCommitDAO) decideCommitDAO).commitDecide(commit))
+                .thenReturn(Collections.singletonList(task));
+
+        assertEquals(Collections.singletonList(task), executionDAOFacade.commitDecide(commit));
+        verify(decideCommitDAO, never()).updateWorkflow(any());
+        verify(decideCommitDAO, never()).createTasks(any());
+        verify(queueDAO, never()).push(anyString(), anyString(), anyInt(), anyLong());
+        verify(indexDAO, times(1)).asyncIndexWorkflow(workflow);
+    }
+
+    private Task newTask(String taskId) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setTaskType("task");
+        task.setStatus(Task.Status.SCHEDULED);
+        return task;
+    }
 }
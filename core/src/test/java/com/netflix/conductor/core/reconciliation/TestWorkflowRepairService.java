@@ -13,6 +13,8 @@
 package com.netflix.conductor.core.reconciliation;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -38,8 +40,10 @@ import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_SWI
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -224,4 +228,37 @@ public class TestWorkflowRepairService {
         verify(queueDAO, times(1)).containsMessage(anyString(), anyString());
         verify(queueDAO, times(1)).push(anyString(), anyString(), anyLong());
     }
+
+    @Test
+    public void verifyAndRepairLoadedWorkflowChecksEachQueueOnce() {
+        Task queuedTask = new Task();
+        queuedTask.setTaskType("SIMPLE");
+        queuedTask.setStatus(Status.SCHEDULED);
+        queuedTask.setTaskId("task1");
+
+        Task missingTask = new Task();
+        missingTask.setTaskType("SIMPLE");
+        missingTask.setStatus(Status.SCHEDULED);
+        missingTask.setTaskId("task2");
+        missingTask.setCallbackAfterSeconds(10);
+
+        Task completedTask = new Task();
+        completedTask.setTaskType("SIMPLE");
+        completedTask.setStatus(Status.COMPLETED);
+        completedTask.setTaskId("task3");
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("abcd");
+        workflow.setTasks(Arrays.asList(queuedTask, missingTask, completedTask));
+
+        when(queueDAO.containsMessages("SIMPLE", Arrays.asList("task1", "task2")))
+                .thenReturn(Collections.singleton("task1"));
+
+        assertTrue(workflowRepairService.verifyAndRepairWorkflowTasks(workflow));
+        verify(queueDAO, times(1)).containsMessages(anyString(), anyList());
+        verify(queueDAO, never()).containsMessage(anyString(), anyString());
+        verify(queueDAO, times(1)).push("SIMPLE", "task2", 10);
+        verify(queueDAO, never()).push(anyString(), eq("task1"), anyLong());
+        verify(executionDAO, never()).getWorkflow(anyString(), eq(true));
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.reconciliation;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.dao.QueueDAO;
+
+import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEUE;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestWorkflowSweeper {
+
+    private ConductorProperties properties;
+    private WorkflowExecutor workflowExecutor;
+    private WorkflowRepairService workflowRepairService;
+    private QueueDAO queueDAO;
+    private WorkflowSweeper workflowSweeper;
+
+    @Before
+    public void setUp() {
+        properties = mock(ConductorProperties.class);
+        workflowExecutor = mock(WorkflowExecutor.class);
+        workflowRepairService = mock(WorkflowRepairService.class);
+        queueDAO = mock(QueueDAO.class);
+        when(properties.getWorkflowOffsetTimeout()).thenReturn(Duration.ofSeconds(30));
+        when(properties.getWorkflowRepairMinAge()).thenReturn(Duration.ofMinutes(5));
+        when(properties.getWorkflowRepairSampleRate()).thenReturn(1.0);
+        workflowSweeper =
+                new WorkflowSweeper(
+                        workflowExecutor, Optional.of(workflowRepairService), properties, queueDAO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSweepRepairsWorkflowLoadedForDecide() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        doAnswer(
+                        invocation -> {
+                            ((Consumer<Workflow>) invocation.getArgument(1)).accept(workflow);
+                            return false;
+                        })
+                .when(workflowExecutor)
+                .decide(eq("workflowId"), any(), eq(false));
+
+        workflowSweeper.sweep("workflowId");
+
+        verify(workflowRepairService, times(1)).verifyAndRepairWorkflowTasks(workflow);
+        verify(workflowRepairService, never()).verifyAndRepairWorkflowTasks(anyString());
+        verify(workflowExecutor, never()).decide(anyString());
+        verify(queueDAO, times(1)).setUnackTimeout(DECIDER_QUEUE, "workflowId", 30_000);
+    }
+
+    @Test
+    public void testSweepSetsOffsetTimeoutBeforeDecide() {
+        when(workflowExecutor.decide(eq("workflowId"), any(), eq(false))).thenReturn(false);
+
+        workflowSweeper.sweep("workflowId");
+
+        // the decide may defer the next sweep of a workflow which waits on a timed task
+        InOrder inOrder = inOrder(queueDAO, workflowExecutor);
+        inOrder.verify(queueDAO).setUnackTimeout(DECIDER_QUEUE, "workflowId", 30_000);
+        inOrder.verify(workflowExecutor).decide(eq("workflowId"), any(), eq(false));
+        verify(queueDAO, never()).remove(anyString(), anyString());
+    }
+
+    @Test
+    public void testSweepLeavesTimeoutToWorkflowTimer() {
+        when(properties.isWorkflowTimerEnabled()).thenReturn(true);
+        when(workflowExecutor.decide(eq("workflowId"), any(), eq(false))).thenReturn(false);
+
+        workflowSweeper.sweep("workflowId");
+
+        verify(queueDAO, never()).setUnackTimeout(anyString(), anyString(), anyLong());
+        verify(queueDAO, never()).remove(anyString(), anyString());
+    }
+
+    @Test
+    public void testRepairDueForStaleWorkflow() {
+        when(properties.getWorkflowRepairSampleRate()).thenReturn(0.0);
+
+        Workflow workflow = new Workflow();
+        workflow.setCreateTime(System.currentTimeMillis() - Duration.ofMinutes(10).toMillis());
+        assertTrue(workflowSweeper.isRepairDue(workflow));
+
+        workflow.setUpdateTime(System.currentTimeMillis());
+        assertFalse(workflowSweeper.isRepairDue(workflow));
+
+        when(properties.getWorkflowRepairSampleRate()).thenReturn(1.0);
+        assertTrue(workflowSweeper.isRepairDue(workflow));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.netflix.conductor.core.events.queue.Message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryDelayQueueTest {
+
+    private final InMemoryDelayQueue queue = new InMemoryDelayQueue();
+
+    @Test
+    public void testDeliverTimeThenPriorityOrder() {
+        long now = System.currentTimeMillis();
+        queue.schedule("priority10", 10, "payload", now);
+        queue.schedule("priority0", 0, null, now);
+        queue.schedule("earlier", 20, null, now - 1000);
+        queue.schedule("delayed", 0, null, now + 60_000);
+
+        // the priority only orders the messages due in the same millisecond, the lowest first
+        List<Message> messages = queue.poll(4, 10, 60_000);
+        assertEquals(
+                List.of("earlier", "priority0", "priority10"),
+                messages.stream().map(Message::getId).collect(Collectors.toList()));
+        assertEquals("payload", messages.get(2).getPayload());
+        assertEquals(10, messages.get(2).getPriority());
+        assertEquals(1, queue.size());
+        assertEquals(3, queue.unackedSize());
+    }
+
+    @Test
+    public void testUnackTimeout() {
+        queue.schedule("msg", 0, null, System.currentTimeMillis());
+        assertEquals(1, queue.poll(1, 10, 60_000).size());
+        assertTrue(queue.get("msg").isUnacked());
+        assertTrue(queue.poll(1, 10, 60_000).isEmpty());
+
+        assertTrue(queue.setUnackTimeout("msg", 0));
+        assertEquals(1, queue.poll(1, 10, 60_000).size());
+
+        assertEquals("msg", queue.remove("msg").getId());
+        assertFalse(queue.contains("msg"));
+        assertFalse(queue.setUnackTimeout("msg", 0));
+    }
+
+    @Test
+    public void testPollWithoutUnack() {
+        queue.schedule("msg", 0, null, System.currentTimeMillis());
+        assertEquals(1, queue.poll(1, 10, -1).size());
+        assertFalse(queue.contains("msg"));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testPollWaitsForPush() throws InterruptedException {
+        Thread pusher =
+                new Thread(
+                        () -> {
+                            try {
+                                Thread.sleep(200);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                            queue.schedule("msg", 0, null, System.currentTimeMillis());
+                        });
+        pusher.start();
+        assertEquals(1, queue.poll(1, 5000, 60_000).size());
+        pusher.join();
+    }
+}
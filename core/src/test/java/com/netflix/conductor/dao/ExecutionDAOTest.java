@@ -37,6 +37,7 @@ import com.netflix.conductor.core.exception.ApplicationException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public abstract class ExecutionDAOTest {
@@ -84,6 +85,49 @@ public abstract class ExecutionDAOTest {
         }
     }
 
+    @Test
+    public void testTaskIdsExceedingLimit() {
+        TaskDef taskDefinition = new TaskDef();
+        taskDefinition.setName("task2");
+        taskDefinition.setConcurrentExecLimit(2);
+
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task2");
+        workflowTask.setTaskDefinition(taskDefinition);
+
+        List<Task> tasks = new LinkedList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setScheduledTime(1L);
+            task.setSeq(i + 1);
+            task.setTaskId("t2_" + i);
+            task.setWorkflowInstanceId("workflow2_" + i);
+            task.setReferenceTaskName("task2");
+            task.setTaskDefName("task2");
+            tasks.add(task);
+            task.setStatus(Task.Status.SCHEDULED);
+            task.setWorkflowTask(workflowTask);
+        }
+
+        getExecutionDAO().createTasks(tasks);
+        Set<String> limitedTaskIds =
+                getConcurrentExecutionLimitDAO().getTaskIdsExceedingLimit(tasks);
+        assertEquals(3, limitedTaskIds.size());
+
+        tasks.stream()
+                .filter(task -> !limitedTaskIds.contains(task.getTaskId()))
+                .forEach(
+                        task -> {
+                            task.setStatus(Task.Status.IN_PROGRESS);
+                            getExecutionDAO().updateTask(task);
+                        });
+
+        assertTrue(
+                getConcurrentExecutionLimitDAO()
+                        .getTaskIdsExceedingLimit(tasks)
+                        .containsAll(limitedTaskIds));
+    }
+
     @Test
     public void testCreateTaskException() {
         Task task = new Task();
@@ -253,6 +297,40 @@ public abstract class ExecutionDAOTest {
         assertTrue(found.isEmpty());
     }
 
+    @Test
+    public void testGetPendingTaskByReferenceName() {
+        String workflowId = UUID.randomUUID().toString();
+        List<Task> tasks = new LinkedList<>();
+        tasks.add(createTask(workflowId, "t", 0, Task.Status.FAILED));
+        tasks.add(createTask(workflowId, "t", 1, Task.Status.IN_PROGRESS));
+        tasks.add(createTask(workflowId, "t1", 0, Task.Status.SCHEDULED));
+        getExecutionDAO().createTasks(tasks);
+
+        Task found = getExecutionDAO().getPendingTaskByReferenceName(workflowId, "t");
+        assertNotNull(found);
+        assertEquals(tasks.get(1).getTaskId(), found.getTaskId());
+
+        found = getExecutionDAO().getPendingTaskByReferenceName(workflowId, "t1");
+        assertNotNull(found);
+        assertEquals(tasks.get(2).getTaskId(), found.getTaskId());
+
+        assertNull(getExecutionDAO().getPendingTaskByReferenceName(workflowId, "t2"));
+    }
+
+    private Task createTask(
+            String workflowId, String referenceName, int retryCount, Task.Status status) {
+        Task task = new Task();
+        task.setScheduledTime(1L);
+        task.setSeq(1);
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setReferenceTaskName(referenceName);
+        task.setRetryCount(retryCount);
+        task.setWorkflowInstanceId(workflowId);
+        task.setTaskDefName("task_" + referenceName);
+        task.setStatus(status);
+        return task;
+    }
+
     @Test
     public void testPending() {
         WorkflowDef def = new WorkflowDef();
@@ -273,6 +351,37 @@ public abstract class ExecutionDAOTest {
         assertEquals(0, count);
     }
 
+    @Test
+    public void testCreateWorkflows() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("create_workflows_test");
+
+        List<Workflow> workflows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Workflow workflow = createTestWorkflow();
+            workflow.setWorkflowDefinition(def);
+            workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+            workflow.setCreateTime(System.currentTimeMillis());
+            workflows.add(workflow);
+        }
+
+        List<String> workflowIds = getExecutionDAO().createWorkflows(workflows);
+        assertEquals(
+                workflows.stream().map(Workflow::getWorkflowId).collect(Collectors.toList()),
+                workflowIds);
+        assertEquals(3, getExecutionDAO().getPendingWorkflowCount(def.getName()));
+
+        for (Workflow workflow : workflows) {
+            // the tasks are not written along with the workflow, but are kept on the given one
+            assertEquals(3, workflow.getTasks().size());
+            Workflow found = getExecutionDAO().getWorkflow(workflow.getWorkflowId(), false);
+            assertNotNull(found);
+            assertEquals(Workflow.WorkflowStatus.RUNNING, found.getStatus());
+            assertEquals(workflow.getCorrelationId(), found.getCorrelationId());
+            assertTrue(found.getTasks().isEmpty());
+        }
+    }
+
     @Test
     public void complexExecutionTest() {
         Workflow workflow = createTestWorkflow();
@@ -37,6 +37,14 @@ import com.netflix.conductor.core.orchestration.ExecutionDAOFacade;
 import com.netflix.conductor.dao.QueueDAO;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -61,6 +69,7 @@ public class ExecutionServiceTest {
     public void setup() {
         when(conductorProperties.getTaskExecutionPostponeDuration())
                 .thenReturn(Duration.ofSeconds(60));
+        when(conductorProperties.isSearchResultHydrationEnabled()).thenReturn(true);
         executionService =
                 new ExecutionService(
                         workflowExecutor,
@@ -123,6 +132,24 @@ public class ExecutionServiceTest {
         assertEquals(workflow1.getWorkflowId(), searchResult.getResults().get(0).getWorkflowId());
     }
 
+    @Test
+    public void workflowSearchFromIndexTest() {
+        ExecutionService service = createServiceWithoutHydration();
+        when(executionDAOFacade.searchWorkflowSummary("query", "*", 0, 2, sort))
+                .thenReturn(
+                        new SearchResult<>(
+                                2,
+                                Arrays.asList(
+                                        new WorkflowSummary(workflow1),
+                                        new WorkflowSummary(workflow2))));
+        SearchResult<WorkflowSummary> searchResult = service.search("query", "*", 0, 2, sort);
+        assertEquals(2, searchResult.getTotalHits());
+        assertEquals(2, searchResult.getResults().size());
+        assertEquals(workflow1.getWorkflowId(), searchResult.getResults().get(0).getWorkflowId());
+        assertEquals(workflow2.getWorkflowId(), searchResult.getResults().get(1).getWorkflowId());
+        verify(executionDAOFacade, never()).getWorkflowById(anyString(), anyBoolean());
+    }
+
     @Test
     public void workflowSearchV2Test() {
         when(executionDAOFacade.searchWorkflows("query", "*", 0, 2, sort))
@@ -268,6 +295,24 @@ public class ExecutionServiceTest {
         assertEquals(taskWorkflow1.getTaskId(), searchResult.getResults().get(0).getTaskId());
     }
 
+    @Test
+    public void TaskSearchFromIndexTest() {
+        ExecutionService service = createServiceWithoutHydration();
+        when(executionDAOFacade.searchTaskSummary("query", "*", 0, 2, sort))
+                .thenReturn(
+                        new SearchResult<>(
+                                2,
+                                Arrays.asList(
+                                        new TaskSummary(taskWorkflow1),
+                                        new TaskSummary(taskWorkflow2))));
+        SearchResult<TaskSummary> searchResult = service.getSearchTasks("query", "*", 0, 2, "Sort");
+        assertEquals(2, searchResult.getTotalHits());
+        assertEquals(2, searchResult.getResults().size());
+        assertEquals(taskWorkflow1.getTaskId(), searchResult.getResults().get(0).getTaskId());
+        assertEquals(taskWorkflow2.getTaskId(), searchResult.getResults().get(1).getTaskId());
+        verify(executionDAOFacade, never()).getTaskById(anyString());
+    }
+
     @Test
     public void TaskSearchV2Test() {
         when(executionDAOFacade.searchTasks("query", "*", 0, 2, sort))
@@ -300,4 +345,114 @@ public class ExecutionServiceTest {
         assertEquals(1, searchResult.getTotalHits());
         assertEquals(Collections.singletonList(taskWorkflow1), searchResult.getResults());
     }
+
+    @Test
+    public void pollEvaluatesLimitsForBatchTest() {
+        taskWorkflow1.setStatus(Task.Status.SCHEDULED);
+        taskWorkflow1.setTaskType("taskType");
+        taskWorkflow2.setStatus(Task.Status.SCHEDULED);
+        taskWorkflow2.setTaskType("taskType");
+        taskWorkflow2.setRateLimitPerFrequency(1);
+        when(queueDAO.pop("taskType", 2, 100))
+                .thenReturn(Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId()));
+        when(workflowExecutor.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
+        when(executionDAOFacade.getTaskIdsExceedingInProgressLimit(
+                        Arrays.asList(taskWorkflow1, taskWorkflow2)))
+                .thenReturn(Collections.emptySet());
+        when(executionDAOFacade.getTaskIdsExceedingRateLimit(
+                        Collections.singletonList(taskWorkflow2)))
+                .thenReturn(Collections.singleton(taskWorkflow2.getTaskId()));
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 2, 100);
+
+        assertEquals(Collections.singletonList(taskWorkflow1), tasks);
+        assertEquals(Task.Status.IN_PROGRESS, taskWorkflow1.getStatus());
+        verify(executionDAOFacade).updateTasks(Collections.singletonList(taskWorkflow1));
+        verify(queueDAO).postpone("taskType", taskWorkflow2.getTaskId(), 0, 60);
+    }
+
+    @Test
+    public void pollSkipsRateLimitedTaskTypeTest() {
+        when(executionDAOFacade.isRateLimited("taskType")).thenReturn(true);
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 1, 100);
+
+        assertEquals(0, tasks.size());
+        verify(queueDAO, never()).pop(anyString(), anyInt(), anyInt());
+        verify(executionDAOFacade).updateTaskLastPoll("taskType", null, "worker");
+    }
+
+    @Test
+    public void pollPostponesBatchWhenLimitEvaluationFailsTest() {
+        taskWorkflow1.setStatus(Task.Status.SCHEDULED);
+        taskWorkflow1.setTaskType("taskType");
+        when(queueDAO.pop("taskType", 1, 100))
+                .thenReturn(Collections.singletonList(taskWorkflow1.getTaskId()));
+        when(workflowExecutor.getTasks(Collections.singletonList(taskWorkflow1.getTaskId())))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
+        when(executionDAOFacade.getTaskIdsExceedingInProgressLimit(
+                        Collections.singletonList(taskWorkflow1)))
+                .thenThrow(new RuntimeException());
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 1, 100);
+
+        assertEquals(0, tasks.size());
+        verify(executionDAOFacade).updateTasks(Collections.emptyList());
+        verify(queueDAO).postpone("taskType", taskWorkflow1.getTaskId(), 0, 60);
+    }
+
+    @Test
+    public void pollLoadsAndUpdatesBatchAtOnceTest() {
+        taskWorkflow1.setStatus(Task.Status.SCHEDULED);
+        taskWorkflow1.setTaskType("taskType");
+        List<String> taskIds = Arrays.asList(taskWorkflow1.getTaskId(), "missingTaskId");
+        when(queueDAO.pop("taskType", 2, 100)).thenReturn(taskIds);
+        when(workflowExecutor.getTasks(taskIds))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
+        when(executionDAOFacade.getTaskIdsExceedingInProgressLimit(any()))
+                .thenReturn(Collections.emptySet());
+        when(executionDAOFacade.getTaskIdsExceedingRateLimit(any()))
+                .thenReturn(Collections.emptySet());
+        doThrow(new RuntimeException()).when(executionDAOFacade).updateTasks(any());
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 2, 100);
+
+        assertEquals(0, tasks.size());
+        verify(workflowExecutor, never()).getTask(anyString());
+        verify(queueDAO).remove("taskType", "missingTaskId");
+        verify(queueDAO).postpone("taskType", taskWorkflow1.getTaskId(), 0, 60);
+    }
+
+    @Test
+    public void requeuePolledTasksTest() {
+        taskWorkflow1.setStatus(Task.Status.IN_PROGRESS);
+        taskWorkflow1.setTaskType("taskType");
+        taskWorkflow1.setWorkerId("worker");
+        taskWorkflow1.setWorkflowPriority(5);
+        taskWorkflow1.setStartTime(System.currentTimeMillis());
+        taskWorkflow1.setPollCount(1);
+        List<Task> tasks = Collections.singletonList(taskWorkflow1);
+
+        executionService.requeuePolledTasks(tasks);
+
+        assertEquals(Task.Status.SCHEDULED, taskWorkflow1.getStatus());
+        assertNull(taskWorkflow1.getWorkerId());
+        assertEquals(0, taskWorkflow1.getStartTime());
+        assertEquals(0, taskWorkflow1.getPollCount());
+        verify(executionDAOFacade).updateTasks(tasks);
+        verify(queueDAO).postpone("taskType", taskWorkflow1.getTaskId(), 5, 0);
+    }
+
+    private ExecutionService createServiceWithoutHydration() {
+        when(conductorProperties.isSearchResultHydrationEnabled()).thenReturn(false);
+        return new ExecutionService(
+                workflowExecutor,
+                executionDAOFacade,
+                queueDAO,
+                conductorProperties,
+                externalPayloadStorage,
+                systemTaskRegistry);
+    }
 }
@@ -13,9 +13,13 @@
 package com.netflix.conductor.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.validation.ConstraintViolationException;
 
@@ -27,13 +31,22 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJob;
+import com.netflix.conductor.common.model.BulkJobRequest;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 
 import static com.netflix.conductor.TestUtils.getConstraintViolationMessages;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @SuppressWarnings("SpringJavaAutowiredMembersInspection")
@@ -51,7 +64,11 @@ public class WorkflowBulkServiceTest {
 
         @Bean
         public WorkflowBulkService workflowBulkService(WorkflowExecutor workflowExecutor) {
-            return new WorkflowBulkServiceImpl(workflowExecutor);
+            ConductorProperties properties = new ConductorProperties();
+            properties.setBulkJobThreadCount(1);
+            properties.setBulkJobChunkSize(2);
+            properties.setBulkJobMaxErrors(2);
+            return new WorkflowBulkServiceImpl(workflowExecutor, properties);
         }
     }
 
@@ -144,4 +161,165 @@ public class WorkflowBulkServiceTest {
             throw ex;
         }
     }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testStartWorkflowsNull() {
+        try {
+            workflowBulkService.startWorkflows(null);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("StartWorkflowRequest list cannot be null."));
+            throw ex;
+        }
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testStartWorkflowsWithoutName() {
+        try {
+            workflowBulkService.startWorkflows(
+                    Collections.singletonList(new StartWorkflowRequest()));
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("Workflow name cannot be null or empty"));
+            throw ex;
+        }
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testSubmitJobWithoutOperation() {
+        try {
+            BulkJobRequest request = new BulkJobRequest();
+            request.setWorkflowIds(Collections.singletonList("anyId"));
+            workflowBulkService.submitJob(request);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("Operation cannot be null"));
+            throw ex;
+        }
+    }
+
+    @Test
+    public void testSubmitJobCompleted() throws Exception {
+        doThrow(new RuntimeException("already terminated"))
+                .when(workflowExecutor)
+                .terminateWorkflow("terminated", "incident");
+
+        BulkJobRequest request = new BulkJobRequest();
+        request.setOperation(BulkJob.Operation.TERMINATE);
+        request.setWorkflowIds(Arrays.asList("id1", "id2", "terminated", "id3", "id4"));
+        request.setReason("incident");
+        BulkJob job = workflowBulkService.submitJob(request);
+        assertEquals(5, job.getTotal());
+
+        job = awaitJobDone(job.getJobId());
+        assertEquals(BulkJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessed());
+        assertEquals(4, job.getSucceeded());
+        assertEquals("already terminated", job.getErrors().get("terminated"));
+        verify(workflowExecutor).terminateWorkflow("id4", "incident");
+    }
+
+    @Test
+    public void testCancelJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            started.countDown();
+                            cancelled.await(5, TimeUnit.SECONDS);
+                            return null;
+                        })
+                .when(workflowExecutor)
+                .pauseWorkflow("blocking");
+
+        BulkJobRequest request = new BulkJobRequest();
+        request.setOperation(BulkJob.Operation.PAUSE);
+        request.setWorkflowIds(Arrays.asList("blocking", "skipped1", "skipped2", "skipped3"));
+        BulkJob job = workflowBulkService.submitJob(request);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(
+                BulkJob.Status.CANCELLED,
+                workflowBulkService.cancelJob(job.getJobId()).getStatus());
+        cancelled.countDown();
+
+        job = awaitJobDone(job.getJobId());
+        assertEquals(BulkJob.Status.CANCELLED, job.getStatus());
+        assertEquals(1, job.getProcessed());
+        verify(workflowExecutor, never()).pauseWorkflow("skipped1");
+        verify(workflowExecutor, never()).pauseWorkflow("skipped3");
+    }
+
+    @Test
+    public void testJobsTakeChunksInTurn() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(1);
+        List<String> resumed = new CopyOnWriteArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            String workflowId = invocation.getArgument(0);
+                            if (workflowId.equals("a1")) {
+                                started.countDown();
+                                submitted.await(5, TimeUnit.SECONDS);
+                            }
+                            resumed.add(workflowId);
+                            return null;
+                        })
+                .when(workflowExecutor)
+                .resumeWorkflow(anyString());
+
+        BulkJobRequest first = new BulkJobRequest();
+        first.setOperation(BulkJob.Operation.RESUME);
+        first.setWorkflowIds(Arrays.asList("a1", "a2", "a3", "a4", "a5"));
+        String firstJobId = workflowBulkService.submitJob(first).getJobId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        BulkJobRequest second = new BulkJobRequest();
+        second.setOperation(BulkJob.Operation.RESUME);
+        second.setWorkflowIds(Collections.singletonList("b1"));
+        String secondJobId = workflowBulkService.submitJob(second).getJobId();
+        submitted.countDown();
+
+        awaitJobDone(firstJobId);
+        awaitJobDone(secondJobId);
+        // the second job is not held back until all the chunks of the first one are processed
+        assertEquals(Arrays.asList("a1", "a2", "a3", "a4", "b1", "a5"), resumed);
+    }
+
+    @Test
+    public void testJobErrorsAreBounded() throws Exception {
+        List<String> workflowIds = Arrays.asList("failed1", "failed2", "failed3", "failed4");
+        workflowIds.forEach(
+                workflowId ->
+                        doThrow(new RuntimeException("not retryable"))
+                                .when(workflowExecutor)
+                                .retry(workflowId, false));
+
+        BulkJobRequest request = new BulkJobRequest();
+        request.setOperation(BulkJob.Operation.RETRY);
+        request.setWorkflowIds(workflowIds);
+        BulkJob job = awaitJobDone(workflowBulkService.submitJob(request).getJobId());
+        assertEquals(4, job.getProcessed());
+        assertEquals(0, job.getSucceeded());
+        assertEquals(2, job.getErrors().size());
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testGetUnknownJob() {
+        workflowBulkService.getJob("unknown");
+    }
+
+    private BulkJob awaitJobDone(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            BulkJob job = workflowBulkService.getJob(jobId);
+            if (job.getEndTime() > 0) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Bulk job " + jobId + " did not complete");
+    }
 }
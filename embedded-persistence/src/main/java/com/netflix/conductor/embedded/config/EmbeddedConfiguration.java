@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.netflix.conductor.embedded.dao.EmbeddedEventHandlerDAO;
+import com.netflix.conductor.embedded.dao.EmbeddedExecutionDAO;
+import com.netflix.conductor.embedded.dao.EmbeddedMetadataDAO;
+import com.netflix.conductor.embedded.dao.EmbeddedPollDataDAO;
+import com.netflix.conductor.embedded.dao.EmbeddedQueueDAO;
+import com.netflix.conductor.embedded.dao.EmbeddedRateLimitingDAO;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(EmbeddedProperties.class)
+@ConditionalOnProperty(name = "conductor.db.type", havingValue = "embedded")
+public class EmbeddedConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedStore embeddedStore(EmbeddedProperties properties) {
+        return new EmbeddedStore(properties);
+    }
+
+    @Bean
+    public EmbeddedMetadataDAO embeddedMetadataDAO(
+            EmbeddedStore embeddedStore, ObjectMapper objectMapper) {
+        return new EmbeddedMetadataDAO(embeddedStore, objectMapper);
+    }
+
+    @Bean
+    public EmbeddedEventHandlerDAO embeddedEventHandlerDAO(
+            EmbeddedStore embeddedStore, ObjectMapper objectMapper) {
+        return new EmbeddedEventHandlerDAO(embeddedStore, objectMapper);
+    }
+
+    @Bean
+    public EmbeddedExecutionDAO embeddedExecutionDAO(
+            EmbeddedStore embeddedStore, ObjectMapper objectMapper) {
+        return new EmbeddedExecutionDAO(embeddedStore, objectMapper);
+    }
+
+    @Bean
+    public EmbeddedQueueDAO embeddedQueueDAO(
+            EmbeddedStore embeddedStore, ObjectMapper objectMapper, EmbeddedProperties properties) {
+        return new EmbeddedQueueDAO(embeddedStore, objectMapper, properties);
+    }
+
+    @Bean
+    public EmbeddedPollDataDAO embeddedPollDataDAO(
+            EmbeddedStore embeddedStore, ObjectMapper objectMapper) {
+        return new EmbeddedPollDataDAO(embeddedStore, objectMapper);
+    }
+
+    @Bean
+    public EmbeddedRateLimitingDAO embeddedRateLimitingDAO() {
+        return new EmbeddedRateLimitingDAO();
+    }
+}
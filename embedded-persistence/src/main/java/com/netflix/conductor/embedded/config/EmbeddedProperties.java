@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.config;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DataSizeUnit;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.unit.DataUnit;
+
+@ConfigurationProperties("conductor.embedded")
+public class EmbeddedProperties {
+
+    /** The directory in which the write-ahead log and the segment files are kept */
+    private String dataDir = "data/embedded";
+
+    /**
+     * The time in milliseconds the write-ahead log waits for more writes to commit together with
+     * the first one. Writes arriving while the previous group is being forced to disk are always
+     * committed together.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration groupCommitWindow = Duration.ZERO;
+
+    /** Whether every group of writes is forced to disk before the writes return */
+    private boolean fsync = true;
+
+    /**
+     * The time in seconds after which the state is checkpointed into a segment file and the
+     * write-ahead log is truncated
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration checkpointInterval = Duration.ofMinutes(10);
+
+    /** The size in MB of the write-ahead log beyond which a checkpoint is taken ahead of time */
+    @DataSizeUnit(DataUnit.MEGABYTES)
+    private DataSize checkpointLogSize = DataSize.ofMegabytes(64);
+
+    /** The time in seconds after which a popped message that was not acked is delivered again */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration queueUnackTimeout = Duration.ofSeconds(60);
+
+    public String getDataDir() {
+        return dataDir;
+    }
+
+    public void setDataDir(String dataDir) {
+        this.dataDir = dataDir;
+    }
+
+    public Duration getGroupCommitWindow() {
+        return groupCommitWindow;
+    }
+
+    public void setGroupCommitWindow(Duration groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+    }
+
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    public void setFsync(boolean fsync) {
+        this.fsync = fsync;
+    }
+
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public DataSize getCheckpointLogSize() {
+        return checkpointLogSize;
+    }
+
+    public void setCheckpointLogSize(DataSize checkpointLogSize) {
+        this.checkpointLogSize = checkpointLogSize;
+    }
+
+    public Duration getQueueUnackTimeout() {
+        return queueUnackTimeout;
+    }
+
+    public void setQueueUnackTimeout(Duration queueUnackTimeout) {
+        this.queueUnackTimeout = queueUnackTimeout;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.io.IOException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class EmbeddedBaseDAO {
+
+    private static final String DAO_NAME = "embedded";
+
+    protected final EmbeddedStore store;
+    protected final ObjectMapper objectMapper;
+
+    protected EmbeddedBaseDAO(EmbeddedStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new ApplicationException(Code.INTERNAL_ERROR, e);
+        }
+    }
+
+    <T> T readValue(String json, Class<T> clazz) {
+        try {
+            return objectMapper.readValue(json, clazz);
+        } catch (IOException e) {
+            throw new ApplicationException(Code.INTERNAL_ERROR, e);
+        }
+    }
+
+    void recordEmbeddedDaoRequests(String action) {
+        recordEmbeddedDaoRequests(action, "n/a", "n/a");
+    }
+
+    void recordEmbeddedDaoRequests(String action, String taskType, String workflowType) {
+        Monitors.recordDaoRequests(
+                DAO_NAME,
+                action,
+                StringUtils.defaultIfBlank(taskType, "n/a"),
+                StringUtils.defaultIfBlank(workflowType, "n/a"));
+    }
+
+    void recordEmbeddedDaoEventRequests(String action, String event) {
+        Monitors.recordDaoEventRequests(DAO_NAME, action, event);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+public class EmbeddedEventHandlerDAO extends EmbeddedBaseDAO implements EventHandlerDAO {
+
+    private static final String EVENT_HANDLERS = "EVENT_HANDLERS";
+    private static final String EVENT_HANDLERS_BY_EVENT = "EVENT_HANDLERS_BY_EVENT";
+
+    public EmbeddedEventHandlerDAO(EmbeddedStore store, ObjectMapper objectMapper) {
+        super(store, objectMapper);
+    }
+
+    @Override
+    public synchronized void addEventHandler(EventHandler eventHandler) {
+        Preconditions.checkNotNull(eventHandler.getName(), "Missing Name");
+        if (getEventHandler(eventHandler.getName()) != null) {
+            throw new ApplicationException(
+                    Code.CONFLICT,
+                    "EventHandler with name " + eventHandler.getName() + " already exists!");
+        }
+        store.batch()
+                .putField(
+                        EVENT_HANDLERS_BY_EVENT,
+                        eventHandler.getEvent(),
+                        eventHandler.getName(),
+                        "")
+                .put(EVENT_HANDLERS, eventHandler.getName(), toJson(eventHandler))
+                .commit();
+        recordEmbeddedDaoRequests("addEventHandler");
+    }
+
+    @Override
+    public synchronized void updateEventHandler(EventHandler eventHandler) {
+        Preconditions.checkNotNull(eventHandler.getName(), "Missing Name");
+        EventHandler existing = getEventHandler(eventHandler.getName());
+        if (existing == null) {
+            throw new ApplicationException(
+                    Code.NOT_FOUND,
+                    "EventHandler with name " + eventHandler.getName() + " not found!");
+        }
+        EmbeddedStore.Batch batch = store.batch();
+        if (!Objects.equals(existing.getEvent(), eventHandler.getEvent())) {
+            batch.removeField(EVENT_HANDLERS_BY_EVENT, existing.getEvent(), existing.getName());
+        }
+        batch.putField(EVENT_HANDLERS_BY_EVENT, eventHandler.getEvent(), eventHandler.getName(), "")
+                .put(EVENT_HANDLERS, eventHandler.getName(), toJson(eventHandler))
+                .commit();
+        recordEmbeddedDaoRequests("updateEventHandler");
+    }
+
+    @Override
+    public synchronized void removeEventHandler(String name) {
+        EventHandler existing = getEventHandler(name);
+        if (existing == null) {
+            throw new ApplicationException(
+                    Code.NOT_FOUND, "EventHandler with name " + name + " not found!");
+        }
+        store.batch()
+                .remove(EVENT_HANDLERS, name)
+                .removeField(EVENT_HANDLERS_BY_EVENT, existing.getEvent(), name)
+                .commit();
+        recordEmbeddedDaoRequests("removeEventHandler");
+    }
+
+    @Override
+    public List<EventHandler> getAllEventHandlers() {
+        recordEmbeddedDaoRequests("getAllEventHandlers");
+        return store.getAll(EVENT_HANDLERS).values().stream()
+                .map(json -> readValue(json, EventHandler.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EventHandler> getEventHandlersForEvent(String event, boolean activeOnly) {
+        recordEmbeddedDaoEventRequests("getEventHandler", event);
+        return store.getHash(EVENT_HANDLERS_BY_EVENT, event).keySet().stream()
+                .map(this::getEventHandler)
+                .filter(Objects::nonNull)
+                .filter(eventHandler -> eventHandler.getEvent().equals(event))
+                .filter(eventHandler -> !activeOnly || eventHandler.isActive())
+                .collect(Collectors.toList());
+    }
+
+    private EventHandler getEventHandler(String name) {
+        String json = store.get(EVENT_HANDLERS, name);
+        return json == null ? null : readValue(json, EventHandler.class);
+    }
+}
@@ -0,0 +1,735 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.utils.ConcurrencyLimitUtils;
+import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps the executions in the {@link EmbeddedStore} under the same key families as the Redis
+ * implementation, with the sets kept as hashes with empty values. Every operation writes all of its
+ * keys in a single batch, so that an operation is recovered as a whole after a crash.
+ */
+public class EmbeddedExecutionDAO extends EmbeddedBaseDAO
+        implements ExecutionDAO, ConcurrentExecutionLimitDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedExecutionDAO.class);
+
+    // Keys Families
+    private static final String IN_PROGRESS_TASKS = "IN_PROGRESS_TASKS";
+    private static final String TASKS_IN_PROGRESS_STATUS =
+            "TASKS_IN_PROGRESS_STATUS"; // Tasks which are in IN_PROGRESS status.
+    private static final String WORKFLOW_TO_TASKS = "WORKFLOW_TO_TASKS";
+    private static final String SCHEDULED_TASKS = "SCHEDULED_TASKS";
+    private static final String TASK = "TASK";
+    private static final String WORKFLOW = "WORKFLOW";
+    private static final String WORKFLOW_EXPIRY = "WORKFLOW_EXPIRY";
+    private static final String PENDING_WORKFLOWS = "PENDING_WORKFLOWS";
+    private static final String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
+    private static final String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
+    private static final String EVENT_EXECUTION = "EVENT_EXECUTION";
+
+    private static final String MEMBER = "";
+    private static final long EXPIRY_SCHEDULE_MS = 60_000L;
+
+    /**
+     * The tasks of each task definition which were checked against the concurrency limit, in the
+     * order of arrival, as long as they are in progress.
+     */
+    private final Map<String, LinkedHashSet<String>> taskLimitBuckets = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService expiryExecutorService;
+
+    public EmbeddedExecutionDAO(EmbeddedStore store, ObjectMapper objectMapper) {
+        super(store, objectMapper);
+        this.expiryExecutorService =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("embedded-workflow-expiry-%d")
+                                .setDaemon(true)
+                                .build());
+        this.expiryExecutorService.scheduleWithFixedDelay(
+                this::removeExpiredWorkflows,
+                EXPIRY_SCHEDULE_MS,
+                EXPIRY_SCHEDULE_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryExecutorService.shutdown();
+    }
+
+    private static String dateStr(Long timeInMs) {
+        Date date = new Date(timeInMs);
+        return dateStr(date);
+    }
+
+    private static String dateStr(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+        return format.format(date);
+    }
+
+    private static List<String> dateStrBetweenDates(Long startdatems, Long enddatems) {
+        List<String> dates = new ArrayList<>();
+        Calendar calendar = new GregorianCalendar();
+        Date startdate = new Date(startdatems);
+        Date enddate = new Date(enddatems);
+        calendar.setTime(startdate);
+        while (calendar.getTime().before(enddate) || calendar.getTime().equals(enddate)) {
+            Date result = calendar.getTime();
+            dates.add(dateStr(result));
+            calendar.add(Calendar.DATE, 1);
+        }
+        return dates;
+    }
+
+    private static String workflowDefKey(Workflow workflow) {
+        return workflow.getWorkflowName() + "." + dateStr(workflow.getCreateTime());
+    }
+
+    private static String taskKey(Task task) {
+        return task.getReferenceTaskName() + "" + task.getRetryCount();
+    }
+
+    @Override
+    public List<Task> getPendingTasksByWorkflow(String taskName, String workflowId) {
+        return getPendingTasksForTaskType(taskName).stream()
+                .filter(task -> task.getWorkflowInstanceId().equals(workflowId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> getTasks(String taskDefName, String startKey, int count) {
+        List<Task> tasks = new LinkedList<>();
+
+        List<Task> pendingTasks = getPendingTasksForTaskType(taskDefName);
+        boolean startKeyFound = startKey == null;
+        int foundcount = 0;
+        for (Task pendingTask : pendingTasks) {
+            if (!startKeyFound) {
+                if (pendingTask.getTaskId().equals(startKey)) {
+                    startKeyFound = true;
+                    continue;
+                }
+            }
+            if (startKeyFound && foundcount < count) {
+                tasks.add(pendingTask);
+                foundcount++;
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> createTasks(List<Task> tasks) {
+        List<Task> tasksCreated = new LinkedList<>();
+
+        for (Task task : tasks) {
+            validate(task);
+            recordEmbeddedDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
+
+            long scheduledTime = task.getScheduledTime();
+            if (task.getStatus() != null
+                    && !task.getStatus().isTerminal()
+                    && task.getScheduledTime() == 0) {
+                task.setScheduledTime(System.currentTimeMillis());
+            }
+
+            // the task is scheduled and written in a single record, or not at all
+            String taskKey = taskKey(task);
+            EmbeddedStore.Batch batch =
+                    store.batch()
+                            .putFieldIfAbsent(
+                                    SCHEDULED_TASKS,
+                                    task.getWorkflowInstanceId(),
+                                    taskKey,
+                                    task.getTaskId())
+                            .putField(
+                                    IN_PROGRESS_TASKS,
+                                    task.getTaskDefName(),
+                                    task.getTaskId(),
+                                    MEMBER);
+            addTask(batch, task);
+            if (!batch.commit()) {
+                task.setScheduledTime(scheduledTime);
+                LOGGER.debug(
+                        "Task already scheduled, skipping the run {}, ref={}, key={}",
+                        task.getTaskId(),
+                        task.getReferenceTaskName(),
+                        taskKey);
+                continue;
+            }
+            tasksCreated.add(task);
+        }
+
+        return tasksCreated;
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        EmbeddedStore.Batch batch = store.batch();
+        addTask(batch, task);
+        batch.commit();
+    }
+
+    /** Writes all the tasks in a single batch. */
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        EmbeddedStore.Batch batch = store.batch();
+        tasks.forEach(task -> addTask(batch, task));
+        batch.commit();
+    }
+
+    private void addTask(EmbeddedStore.Batch batch, Task task) {
+        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+        if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
+            if (task.getStatus() != null && task.getStatus().equals(Task.Status.IN_PROGRESS)) {
+                batch.putField(
+                        TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId(), MEMBER);
+            } else {
+                batch.removeField(
+                        TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId());
+                removeFromLimitBucket(task);
+            }
+        }
+
+        recordEmbeddedDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
+        batch.put(TASK, task.getTaskId(), toJson(task));
+        if (task.getStatus() != null && task.getStatus().isTerminal()) {
+            batch.removeField(IN_PROGRESS_TASKS, task.getTaskDefName(), task.getTaskId());
+        }
+        batch.putField(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId(), task.getTaskId(), MEMBER);
+    }
+
+    @Override
+    public boolean exceedsLimit(Task task) {
+        return !getTaskIdsExceedingLimit(Collections.singletonList(task)).isEmpty();
+    }
+
+    /**
+     * Admits the tasks of each task definition in the order they first were checked, as long as the
+     * number of tasks in progress is below the limit, just as the Redis implementation does with
+     * its limit bucket. The bucket is kept in memory only, since it is rebuilt by the checks
+     * following a restart.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        return ConcurrencyLimitUtils.getTaskIdsExceedingLimit(
+                tasks, this::getTaskIdsExceedingLimit);
+    }
+
+    private Set<String> getTaskIdsExceedingLimit(String taskDefName, List<Task> tasks) {
+        int limit = tasks.get(0).getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+        Set<String> taskIds =
+                tasks.stream()
+                        .map(Task::getTaskId)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        long current = getInProgressTaskCount(taskDefName);
+        if (current >= limit) {
+            LOGGER.info(
+                    "Task execution count limited. tasks - {}:{}, limit: {}, current: {}",
+                    taskIds,
+                    taskDefName,
+                    limit,
+                    current);
+            Monitors.recordTaskConcurrentExecutionLimited(taskDefName, limit);
+            return taskIds;
+        }
+
+        LinkedHashSet<String> bucket =
+                taskLimitBuckets.computeIfAbsent(taskDefName, name -> new LinkedHashSet<>());
+        synchronized (bucket) {
+            bucket.addAll(taskIds);
+            Set<String> admittedTaskIds = bucket.stream().limit(limit).collect(Collectors.toSet());
+            Set<String> limitedTaskIds =
+                    taskIds.stream()
+                            .filter(id -> !admittedTaskIds.contains(id))
+                            .collect(Collectors.toSet());
+            if (!limitedTaskIds.isEmpty()) {
+                LOGGER.info(
+                        "Task execution count limited. tasks - {}:{}, limit: {}, current: {}",
+                        limitedTaskIds,
+                        taskDefName,
+                        limit,
+                        current);
+                // Cleanup any items that are still present in the bucket but not in progress
+                // anymore!
+                Map<String, String> inProgress =
+                        store.getHash(TASKS_IN_PROGRESS_STATUS, taskDefName);
+                admittedTaskIds.stream()
+                        .filter(id -> !taskIds.contains(id))
+                        .filter(id -> !inProgress.containsKey(id))
+                        .forEach(bucket::remove);
+                Monitors.recordTaskRateLimited(taskDefName, limit);
+            }
+            return limitedTaskIds;
+        }
+    }
+
+    private void removeFromLimitBucket(Task task) {
+        LinkedHashSet<String> bucket = taskLimitBuckets.get(task.getTaskDefName());
+        if (bucket != null) {
+            synchronized (bucket) {
+                bucket.remove(task.getTaskId());
+            }
+        }
+    }
+
+    private void removeTaskMappings(EmbeddedStore.Batch batch, Task task) {
+        batch.removeField(SCHEDULED_TASKS, task.getWorkflowInstanceId(), taskKey(task))
+                .removeField(IN_PROGRESS_TASKS, task.getTaskDefName(), task.getTaskId())
+                .removeField(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId());
+        removeFromLimitBucket(task);
+    }
+
+    @Override
+    public boolean removeTask(String taskId) {
+        Task task = getTask(taskId);
+        if (task == null) {
+            LOGGER.warn("No such task found by id {}", taskId);
+            return false;
+        }
+        EmbeddedStore.Batch batch = store.batch();
+        removeTaskMappings(batch, task);
+        batch.removeField(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId(), task.getTaskId())
+                .remove(TASK, task.getTaskId())
+                .commit();
+        recordEmbeddedDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
+        return true;
+    }
+
+    @Override
+    public Task getTask(String taskId) {
+        Preconditions.checkNotNull(taskId, "taskId cannot be null");
+        return Optional.ofNullable(store.get(TASK, taskId))
+                .map(json -> readValue(json, Task.class))
+                .orElse(null);
+    }
+
+    @Override
+    public List<Task> getTasks(List<String> taskIds) {
+        return taskIds.stream()
+                .map(taskId -> store.get(TASK, taskId))
+                .filter(Objects::nonNull)
+                .map(json -> readValue(json, Task.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> getTasksForWorkflow(String workflowId) {
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        recordEmbeddedDaoRequests("getTasksForWorkflow");
+        return getTasks(new ArrayList<>(store.getHash(WORKFLOW_TO_TASKS, workflowId).keySet()));
+    }
+
+    /**
+     * Looks the task up through the ids of the scheduled tasks of the workflow, loading the latest
+     * retry first, as the Redis implementation does. Every task is scheduled under its reference
+     * name when it is created, so the tasks of the workflow are not scanned when none is found.
+     */
+    @Override
+    public Task getPendingTaskByReferenceName(String workflowId, String taskReferenceName) {
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        recordEmbeddedDaoRequests("getPendingTaskByReferenceName");
+
+        NavigableMap<Long, String> taskIdsByRetryCount = new TreeMap<>();
+        store.getHash(SCHEDULED_TASKS, workflowId)
+                .forEach(
+                        (taskKey, taskId) -> {
+                            String retryCount = StringUtils.removeStart(taskKey, taskReferenceName);
+                            if (taskKey.startsWith(taskReferenceName)
+                                    && StringUtils.isNumeric(retryCount)) {
+                                taskIdsByRetryCount.put(Long.parseLong(retryCount), taskId);
+                            }
+                        });
+        return taskIdsByRetryCount.descendingMap().values().stream()
+                .map(this::getTask)
+                .filter(Objects::nonNull)
+                .filter(task -> !task.getStatus().isTerminal())
+                .filter(task -> task.getReferenceTaskName().equals(taskReferenceName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<Task> getPendingTasksForTaskType(String taskName) {
+        Preconditions.checkNotNull(taskName, "task name cannot be null");
+        recordEmbeddedDaoRequests("getPendingTasksForTaskType");
+        return getTasks(new ArrayList<>(store.getHash(IN_PROGRESS_TASKS, taskName).keySet()));
+    }
+
+    @Override
+    public String createWorkflow(Workflow workflow) {
+        EmbeddedStore.Batch batch = store.batch();
+        addWorkflow(batch, workflow, false);
+        batch.commit();
+        return workflow.getWorkflowId();
+    }
+
+    /** Writes all the workflows in a single batch. */
+    @Override
+    public List<String> createWorkflows(List<Workflow> workflows) {
+        EmbeddedStore.Batch batch = store.batch();
+        workflows.forEach(workflow -> addWorkflow(batch, workflow, false));
+        batch.commit();
+        return workflows.stream().map(Workflow::getWorkflowId).collect(Collectors.toList());
+    }
+
+    @Override
+    public String updateWorkflow(Workflow workflow) {
+        EmbeddedStore.Batch batch = store.batch();
+        addWorkflow(batch, workflow, true);
+        batch.commit();
+        return workflow.getWorkflowId();
+    }
+
+    /**
+     * Adds the workflow to the batch without its tasks, which are stored on their own.
+     * Additionally, if the workflow is in terminal state, it is removed from the set of pending
+     * workflows.
+     */
+    private void addWorkflow(EmbeddedStore.Batch batch, Workflow workflow, boolean update) {
+        Preconditions.checkNotNull(workflow, "workflow object cannot be null");
+
+        List<Task> tasks = workflow.getTasks();
+        workflow.setTasks(new LinkedList<>());
+        try {
+            batch.put(WORKFLOW, workflow.getWorkflowId(), toJson(workflow));
+        } finally {
+            workflow.setTasks(tasks);
+        }
+        recordEmbeddedDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
+
+        if (!update) {
+            batch.putField(
+                    WORKFLOW_DEF_TO_WORKFLOWS,
+                    workflowDefKey(workflow),
+                    workflow.getWorkflowId(),
+                    MEMBER);
+            if (workflow.getCorrelationId() != null) {
+                batch.putField(
+                        CORR_ID_TO_WORKFLOWS,
+                        workflow.getCorrelationId(),
+                        workflow.getWorkflowId(),
+                        MEMBER);
+            }
+        }
+        if (workflow.getStatus().isTerminal()) {
+            batch.removeField(
+                    PENDING_WORKFLOWS, workflow.getWorkflowName(), workflow.getWorkflowId());
+        } else {
+            batch.putField(
+                    PENDING_WORKFLOWS,
+                    workflow.getWorkflowName(),
+                    workflow.getWorkflowId(),
+                    MEMBER);
+        }
+    }
+
+    @Override
+    public boolean removeWorkflow(String workflowId) {
+        Workflow workflow = getWorkflow(workflowId, true);
+        if (workflow == null) {
+            return false;
+        }
+        recordEmbeddedDaoRequests("removeWorkflow");
+
+        EmbeddedStore.Batch batch = store.batch();
+        removeWorkflowMappings(batch, workflow);
+        batch.remove(WORKFLOW, workflowId)
+                .removeHash(WORKFLOW_TO_TASKS, workflowId)
+                .remove(WORKFLOW_EXPIRY, workflowId);
+        for (Task task : workflow.getTasks()) {
+            removeTaskMappings(batch, task);
+            batch.remove(TASK, task.getTaskId());
+        }
+        batch.commit();
+        return true;
+    }
+
+    /**
+     * Removes the workflow from the indexes right away, and records its expiry time, after which
+     * the workflow and its tasks are removed by a background sweep.
+     */
+    @Override
+    public boolean removeWorkflowWithExpiry(String workflowId, int ttlSeconds) {
+        Workflow workflow = getWorkflow(workflowId, true);
+        if (workflow == null) {
+            return false;
+        }
+        recordEmbeddedDaoRequests("removeWorkflow");
+
+        EmbeddedStore.Batch batch = store.batch();
+        removeWorkflowMappings(batch, workflow);
+        batch.put(
+                WORKFLOW_EXPIRY,
+                workflowId,
+                String.valueOf(System.currentTimeMillis() + ttlSeconds * 1000L));
+        workflow.getTasks().forEach(task -> removeTaskMappings(batch, task));
+        batch.commit();
+        return true;
+    }
+
+    private void removeWorkflowMappings(EmbeddedStore.Batch batch, Workflow workflow) {
+        String workflowId = workflow.getWorkflowId();
+        batch.removeField(WORKFLOW_DEF_TO_WORKFLOWS, workflowDefKey(workflow), workflowId)
+                .removeField(PENDING_WORKFLOWS, workflow.getWorkflowName(), workflowId);
+        if (workflow.getCorrelationId() != null) {
+            batch.removeField(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId(), workflowId);
+        }
+    }
+
+    private void removeExpiredWorkflows() {
+        try {
+            long now = System.currentTimeMillis();
+            store.getAll(WORKFLOW_EXPIRY).entrySet().stream()
+                    .filter(entry -> Long.parseLong(entry.getValue()) <= now)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(
+                            workflowId -> {
+                                EmbeddedStore.Batch batch =
+                                        store.batch()
+                                                .remove(WORKFLOW_EXPIRY, workflowId)
+                                                .remove(WORKFLOW, workflowId)
+                                                .removeHash(WORKFLOW_TO_TASKS, workflowId);
+                                store.getHash(WORKFLOW_TO_TASKS, workflowId)
+                                        .keySet()
+                                        .forEach(taskId -> batch.remove(TASK, taskId));
+                                batch.commit();
+                            });
+        } catch (Exception e) {
+            Monitors.error(EmbeddedExecutionDAO.class.getSimpleName(), "removeExpiredWorkflows");
+            LOGGER.error("Failed to remove the expired workflows", e);
+        }
+    }
+
+    @Override
+    public void removeFromPendingWorkflow(String workflowType, String workflowId) {
+        recordEmbeddedDaoRequests("removePendingWorkflow");
+        store.batch()
+                .removeHash(SCHEDULED_TASKS, workflowId)
+                .removeField(PENDING_WORKFLOWS, workflowType, workflowId)
+                .commit();
+    }
+
+    @Override
+    public Workflow getWorkflow(String workflowId) {
+        return getWorkflow(workflowId, true);
+    }
+
+    @Override
+    public Workflow getWorkflow(String workflowId, boolean includeTasks) {
+        String json = store.get(WORKFLOW, workflowId);
+        Workflow workflow = null;
+
+        if (json != null) {
+            workflow = readValue(json, Workflow.class);
+            recordEmbeddedDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
+            if (includeTasks) {
+                List<Task> tasks = getTasksForWorkflow(workflowId);
+                tasks.sort(
+                        Comparator.comparingLong(Task::getScheduledTime)
+                                .thenComparingInt(Task::getSeq));
+                workflow.setTasks(tasks);
+            }
+        }
+        return workflow;
+    }
+
+    /**
+     * @param workflowName name of the workflow
+     * @param version the workflow version
+     * @return list of workflow ids that are in RUNNING state <em>returns workflows of all versions
+     *     for the given workflow name</em>
+     */
+    @Override
+    public List<String> getRunningWorkflowIds(String workflowName, int version) {
+        Preconditions.checkNotNull(workflowName, "workflowName cannot be null");
+        recordEmbeddedDaoRequests("getRunningWorkflowsByName");
+        return new LinkedList<>(store.getHash(PENDING_WORKFLOWS, workflowName).keySet());
+    }
+
+    @Override
+    public List<Workflow> getPendingWorkflowsByType(String workflowName, int version) {
+        Preconditions.checkNotNull(workflowName, "workflowName cannot be null");
+        return getRunningWorkflowIds(workflowName, version).stream()
+                .map(this::getWorkflow)
+                .filter(Objects::nonNull)
+                .filter(workflow -> workflow.getWorkflowVersion() == version)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long getPendingWorkflowCount(String workflowName) {
+        recordEmbeddedDaoRequests("getPendingWorkflowCount");
+        return store.getHash(PENDING_WORKFLOWS, workflowName).size();
+    }
+
+    @Override
+    public long getInProgressTaskCount(String taskDefName) {
+        recordEmbeddedDaoRequests("getInProgressTaskCount");
+        return store.getHash(TASKS_IN_PROGRESS_STATUS, taskDefName).size();
+    }
+
+    @Override
+    public List<Workflow> getWorkflowsByType(String workflowName, Long startTime, Long endTime) {
+        Preconditions.checkNotNull(workflowName, "workflowName cannot be null");
+        Preconditions.checkNotNull(startTime, "startTime cannot be null");
+        Preconditions.checkNotNull(endTime, "endTime cannot be null");
+
+        List<Workflow> workflows = new LinkedList<>();
+        for (String dateStr : dateStrBetweenDates(startTime, endTime)) {
+            for (String workflowId :
+                    store.getHash(WORKFLOW_DEF_TO_WORKFLOWS, workflowName + "." + dateStr)
+                            .keySet()) {
+                Workflow workflow = getWorkflow(workflowId);
+                if (workflow != null
+                        && workflow.getCreateTime() >= startTime
+                        && workflow.getCreateTime() <= endTime) {
+                    workflows.add(workflow);
+                }
+            }
+        }
+        return workflows;
+    }
+
+    @Override
+    public List<Workflow> getWorkflowsByCorrelationId(
+            String workflowName, String correlationId, boolean includeTasks) {
+        Preconditions.checkNotNull(correlationId, "correlationId cannot be null");
+        return store.getHash(CORR_ID_TO_WORKFLOWS, correlationId).keySet().stream()
+                .map(workflowId -> getWorkflow(workflowId, includeTasks))
+                .filter(Objects::nonNull)
+                .filter(workflow -> workflow.getWorkflowName().equals(workflowName))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean canSearchAcrossWorkflows() {
+        return true;
+    }
+
+    private static String eventExecutionKey(EventExecution eventExecution) {
+        return eventExecutionKey(
+                eventExecution.getName(), eventExecution.getEvent(), eventExecution.getMessageId());
+    }
+
+    private static String eventExecutionKey(
+            String eventHandlerName, String eventName, String messageId) {
+        return eventHandlerName + "." + eventName + "." + messageId;
+    }
+
+    @Override
+    public boolean addEventExecution(EventExecution eventExecution) {
+        recordEmbeddedDaoEventRequests("addEventExecution", eventExecution.getEvent());
+        return store.putFieldIfAbsent(
+                EVENT_EXECUTION,
+                eventExecutionKey(eventExecution),
+                eventExecution.getId(),
+                toJson(eventExecution));
+    }
+
+    @Override
+    public void updateEventExecution(EventExecution eventExecution) {
+        recordEmbeddedDaoEventRequests("updateEventExecution", eventExecution.getEvent());
+        store.batch()
+                .putField(
+                        EVENT_EXECUTION,
+                        eventExecutionKey(eventExecution),
+                        eventExecution.getId(),
+                        toJson(eventExecution))
+                .commit();
+    }
+
+    @Override
+    public void removeEventExecution(EventExecution eventExecution) {
+        recordEmbeddedDaoEventRequests("removeEventExecution", eventExecution.getEvent());
+        store.batch()
+                .removeField(
+                        EVENT_EXECUTION, eventExecutionKey(eventExecution), eventExecution.getId())
+                .commit();
+    }
+
+    public List<EventExecution> getEventExecutions(
+            String eventHandlerName, String eventName, String messageId, int max) {
+        Map<String, String> executions =
+                store.getHash(
+                        EVENT_EXECUTION, eventExecutionKey(eventHandlerName, eventName, messageId));
+        List<EventExecution> eventExecutions = new LinkedList<>();
+        for (int i = 0; i < max; i++) {
+            String json = executions.get(messageId + "_" + i);
+            if (json == null) {
+                break;
+            }
+            eventExecutions.add(readValue(json, EventExecution.class));
+        }
+        return eventExecutions;
+    }
+
+    private void validate(Task task) {
+        try {
+            Preconditions.checkNotNull(task, "task object cannot be null");
+            Preconditions.checkNotNull(task.getTaskId(), "Task id cannot be null");
+            Preconditions.checkNotNull(
+                    task.getWorkflowInstanceId(), "Workflow instance id cannot be null");
+            Preconditions.checkNotNull(
+                    task.getReferenceTaskName(), "Task reference name cannot be null");
+        } catch (NullPointerException npe) {
+            throw new ApplicationException(Code.INVALID_INPUT, npe.getMessage(), npe);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.dao.MetadataDAO;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+public class EmbeddedMetadataDAO extends EmbeddedBaseDAO implements MetadataDAO {
+
+    // Keys Families
+    private static final String ALL_TASK_DEFS = "TASK_DEFS";
+    private static final String WORKFLOW_DEF = "WORKFLOW_DEF";
+    private static final String WORKFLOW_DEF_NAMES = "WORKFLOW_DEF_NAMES";
+
+    /** The task definitions are looked up for every task, so they are kept deserialized. */
+    private final Map<String, TaskDef> taskDefCache = new ConcurrentHashMap<>();
+
+    public EmbeddedMetadataDAO(EmbeddedStore store, ObjectMapper objectMapper) {
+        super(store, objectMapper);
+        store.getAll(ALL_TASK_DEFS)
+                .forEach((name, json) -> taskDefCache.put(name, readValue(json, TaskDef.class)));
+    }
+
+    @Override
+    public void createTaskDef(TaskDef taskDef) {
+        insertOrUpdateTaskDef(taskDef);
+    }
+
+    @Override
+    public String updateTaskDef(TaskDef taskDef) {
+        return insertOrUpdateTaskDef(taskDef);
+    }
+
+    private String insertOrUpdateTaskDef(TaskDef taskDef) {
+        String payload = toJson(taskDef);
+        synchronized (taskDefCache) {
+            store.batch().put(ALL_TASK_DEFS, taskDef.getName(), payload).commit();
+            taskDefCache.put(taskDef.getName(), readValue(payload, TaskDef.class));
+        }
+        recordEmbeddedDaoRequests("storeTaskDef");
+        return taskDef.getName();
+    }
+
+    @Override
+    public TaskDef getTaskDef(String name) {
+        Preconditions.checkNotNull(name, "TaskDef name cannot be null");
+        return taskDefCache.get(name);
+    }
+
+    @Override
+    public List<TaskDef> getAllTaskDefs() {
+        recordEmbeddedDaoRequests("getAllTaskDefs");
+        return store.getAll(ALL_TASK_DEFS).values().stream()
+                .map(json -> readValue(json, TaskDef.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void removeTaskDef(String name) {
+        Preconditions.checkNotNull(name, "TaskDef name cannot be null");
+        synchronized (taskDefCache) {
+            if (store.get(ALL_TASK_DEFS, name) == null) {
+                throw new ApplicationException(
+                        Code.NOT_FOUND, "Cannot remove the task - no such task definition");
+            }
+            store.batch().remove(ALL_TASK_DEFS, name).commit();
+            taskDefCache.remove(name);
+        }
+        recordEmbeddedDaoRequests("removeTaskDef");
+    }
+
+    @Override
+    public void createWorkflowDef(WorkflowDef def) {
+        if (!store.putFieldIfAbsent(
+                WORKFLOW_DEF, def.getName(), String.valueOf(def.getVersion()), toJson(def))) {
+            throw new ApplicationException(
+                    Code.CONFLICT, "Workflow with " + def.key() + " already exists!");
+        }
+        store.batch().put(WORKFLOW_DEF_NAMES, def.getName(), def.getName()).commit();
+        recordEmbeddedDaoRequests("storeWorkflowDef", "n/a", def.getName());
+    }
+
+    @Override
+    public void updateWorkflowDef(WorkflowDef def) {
+        store.batch()
+                .putField(
+                        WORKFLOW_DEF, def.getName(), String.valueOf(def.getVersion()), toJson(def))
+                .put(WORKFLOW_DEF_NAMES, def.getName(), def.getName())
+                .commit();
+        recordEmbeddedDaoRequests("storeWorkflowDef", "n/a", def.getName());
+    }
+
+    @Override
+    public Optional<WorkflowDef> getLatestWorkflowDef(String name) {
+        Preconditions.checkNotNull(name, "WorkflowDef name cannot be null");
+        Map<String, String> workflowDefs = store.getHash(WORKFLOW_DEF, name);
+        return workflowDefs.keySet().stream()
+                .map(Integer::valueOf)
+                .max(Comparator.naturalOrder())
+                .map(version -> workflowDefs.get(String.valueOf(version)))
+                .map(json -> readValue(json, WorkflowDef.class));
+    }
+
+    public List<WorkflowDef> getAllVersions(String name) {
+        Preconditions.checkNotNull(name, "WorkflowDef name cannot be null");
+        recordEmbeddedDaoRequests("getAllWorkflowDefsByName");
+        return store.getHash(WORKFLOW_DEF, name).values().stream()
+                .map(json -> readValue(json, WorkflowDef.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<WorkflowDef> getWorkflowDef(String name, int version) {
+        Preconditions.checkNotNull(name, "WorkflowDef name cannot be null");
+        recordEmbeddedDaoRequests("getWorkflowDef");
+        return Optional.ofNullable(store.getField(WORKFLOW_DEF, name, String.valueOf(version)))
+                .map(json -> readValue(json, WorkflowDef.class));
+    }
+
+    @Override
+    public void removeWorkflowDef(String name, Integer version) {
+        Preconditions.checkArgument(
+                StringUtils.isNotBlank(name), "WorkflowDef name cannot be null");
+        Preconditions.checkNotNull(version, "Input version cannot be null");
+        synchronized (this) {
+            Map<String, String> workflowDefs = store.getHash(WORKFLOW_DEF, name);
+            if (!workflowDefs.containsKey(String.valueOf(version))) {
+                throw new ApplicationException(
+                        Code.NOT_FOUND,
+                        String.format(
+                                "Cannot remove the workflow - no such workflow"
+                                        + " definition: %s version: %d",
+                                name, version));
+            }
+            EmbeddedStore.Batch batch =
+                    store.batch().removeField(WORKFLOW_DEF, name, String.valueOf(version));
+            // delete the workflow name along with its last version
+            if (workflowDefs.size() == 1) {
+                batch.remove(WORKFLOW_DEF_NAMES, name);
+            }
+            batch.commit();
+        }
+        recordEmbeddedDaoRequests("removeWorkflowDef");
+    }
+
+    public List<String> findAll() {
+        return new ArrayList<>(store.getAll(WORKFLOW_DEF_NAMES).keySet());
+    }
+
+    @Override
+    public List<WorkflowDef> getAllWorkflowDefs() {
+        recordEmbeddedDaoRequests("getAllWorkflowDefs");
+        return findAll().stream()
+                .flatMap(name -> store.getHash(WORKFLOW_DEF, name).values().stream())
+                .map(json -> readValue(json, WorkflowDef.class))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.PollData;
+import com.netflix.conductor.dao.PollDataDAO;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+/**
+ * Poll data is written to the log without waiting for it to be forced to disk, so that polls do not
+ * wait for the disk. Losing the latest poll data in a crash only delays the active domain
+ * resolution until the next poll.
+ */
+public class EmbeddedPollDataDAO extends EmbeddedBaseDAO implements PollDataDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedPollDataDAO.class);
+
+    private static final String POLL_DATA = "POLL_DATA";
+
+    public EmbeddedPollDataDAO(EmbeddedStore store, ObjectMapper objectMapper) {
+        super(store, objectMapper);
+    }
+
+    @Override
+    public void updateLastPollData(String taskDefName, String domain, String workerId) {
+        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
+        PollData pollData = new PollData(taskDefName, domain, workerId, System.currentTimeMillis());
+        String field = (domain == null) ? "DEFAULT" : domain;
+        store.batch()
+                .putField(POLL_DATA, taskDefName, field, toJson(pollData))
+                .commitAsync()
+                .exceptionally(
+                        throwable -> {
+                            LOGGER.error(
+                                    "Failed to write poll data for {}", taskDefName, throwable);
+                            return null;
+                        });
+        recordEmbeddedDaoRequests("updatePollData");
+    }
+
+    @Override
+    public PollData getPollData(String taskDefName, String domain) {
+        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
+        String field = (domain == null) ? "DEFAULT" : domain;
+        String json = store.getField(POLL_DATA, taskDefName, field);
+        recordEmbeddedDaoRequests("getPollData");
+        return json == null ? null : readValue(json, PollData.class);
+    }
+
+    @Override
+    public List<PollData> getPollData(String taskDefName) {
+        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
+        recordEmbeddedDaoRequests("getPollData");
+        return store.getHash(POLL_DATA, taskDefName).values().stream()
+                .map(json -> readValue(json, PollData.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PollData> getAllPollData() {
+        recordEmbeddedDaoRequests("getAllPollData");
+        return store.getHashKeys(POLL_DATA).stream()
+                .flatMap(taskDefName -> store.getHash(POLL_DATA, taskDefName).values().stream())
+                .map(json -> readValue(json, PollData.class))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.utils.InMemoryDelayQueue;
+import com.netflix.conductor.core.utils.InMemoryDelayQueue.QueuedMessage;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Serves the queues from memory, each of them held in an {@link InMemoryDelayQueue}, which pops the
+ * due messages in the order of the dyno-queues: by delivery time, and by priority within the same
+ * millisecond, the lowest value first.
+ *
+ * <p>The messages are written to the {@link EmbeddedStore}, so that they survive a restart, while
+ * pops are not: popped messages which were not acked are delivered again after {@link
+ * EmbeddedProperties#getQueueUnackTimeout()}, or right away after a restart. The writes are issued
+ * while holding the monitor of the queue, so that they are logged in the order of the updates.
+ */
+public class EmbeddedQueueDAO extends EmbeddedBaseDAO implements QueueDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedQueueDAO.class);
+
+    private static final String QUEUE_PREFIX = "QUEUE.";
+
+    private final Map<String, InMemoryDelayQueue> queues = new ConcurrentHashMap<>();
+    private final long unackTimeoutMillis;
+
+    public EmbeddedQueueDAO(
+            EmbeddedStore store, ObjectMapper objectMapper, EmbeddedProperties properties) {
+        super(store, objectMapper);
+        this.unackTimeoutMillis = properties.getQueueUnackTimeout().toMillis();
+        loadQueues();
+    }
+
+    private void loadQueues() {
+        int count = 0;
+        for (String table : store.getTableNames(QUEUE_PREFIX)) {
+            InMemoryDelayQueue queue = getQueue(table.substring(QUEUE_PREFIX.length()));
+            for (Map.Entry<String, String> entry : store.getAll(table).entrySet()) {
+                String[] fields = entry.getValue().split(",", 3);
+                queue.schedule(
+                        entry.getKey(),
+                        Integer.parseInt(fields[1]),
+                        fields.length > 2 ? fields[2] : null,
+                        Long.parseLong(fields[0]));
+                count++;
+            }
+        }
+        LOGGER.info("Loaded {} messages of {} queues", count, queues.size());
+    }
+
+    private InMemoryDelayQueue getQueue(String queueName) {
+        return queues.computeIfAbsent(queueName, name -> new InMemoryDelayQueue());
+    }
+
+    private static String table(String queueName) {
+        return QUEUE_PREFIX + queueName;
+    }
+
+    @Override
+    public void push(String queueName, String id, long offsetTimeInSecond) {
+        push(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    @Override
+    public void push(String queueName, String id, int priority, long offsetTimeInSecond) {
+        push(queueName, id, null, priority, offsetTimeInSecond, false);
+    }
+
+    @Override
+    public void push(String queueName, List<Message> messages) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        EmbeddedStore.Batch batch = store.batch();
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            for (Message message : messages) {
+                QueuedMessage queued =
+                        queue.schedule(
+                                message.getId(), message.getPriority(), message.getPayload(), now);
+                batch.put(table(queueName), queued.getId(), encode(queued));
+            }
+            written = batch.commitAsync();
+        }
+        store.await(written);
+    }
+
+    @Override
+    public boolean pushIfNotExists(String queueName, String id, long offsetTimeInSecond) {
+        return pushIfNotExists(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    @Override
+    public boolean pushIfNotExists(
+            String queueName, String id, int priority, long offsetTimeInSecond) {
+        return push(queueName, id, null, priority, offsetTimeInSecond, true);
+    }
+
+    /** @return false if the message exists already and is not to be pushed again */
+    private boolean push(
+            String queueName,
+            String id,
+            String payload,
+            int priority,
+            long offsetTimeInSecond,
+            boolean ifNotExists) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            if (ifNotExists && queue.contains(id)) {
+                return false;
+            }
+            QueuedMessage message =
+                    queue.schedule(id, priority, payload, now + offsetTimeInSecond * 1000);
+            written = store.batch().put(table(queueName), id, encode(message)).commitAsync();
+        }
+        store.await(written);
+        return true;
+    }
+
+    @Override
+    public List<String> pop(String queueName, int count, int timeout) {
+        return pollMessages(queueName, count, timeout).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Message> pollMessages(String queueName, int count, int timeout) {
+        return getQueue(queueName).poll(count, timeout, unackTimeoutMillis);
+    }
+
+    @Override
+    public void remove(String queueName, String messageId) {
+        ack(queueName, messageId);
+    }
+
+    @Override
+    public int getSize(String queueName) {
+        return getQueue(queueName).size();
+    }
+
+    @Override
+    public boolean ack(String queueName, String messageId) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            if (queue.remove(messageId) == null) {
+                return false;
+            }
+            written = store.batch().remove(table(queueName), messageId).commitAsync();
+        }
+        store.await(written);
+        return true;
+    }
+
+    /**
+     * Extends the time a popped message is kept unacked for. The delivery time of a message which
+     * was not popped is updated instead.
+     */
+    @Override
+    public boolean setUnackTimeout(String queueName, String messageId, long unackTimeout) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            QueuedMessage message = queue.get(messageId);
+            if (message == null) {
+                return false;
+            }
+            if (message.isUnacked()) {
+                return queue.setUnackTimeout(messageId, unackTimeout);
+            }
+            written = reschedule(queueName, queue, message, now + unackTimeout);
+        }
+        store.await(written);
+        return true;
+    }
+
+    @Override
+    public void flush(String queueName) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            queue.clear();
+            written = store.batch().clear(table(queueName)).commitAsync();
+        }
+        store.await(written);
+    }
+
+    @Override
+    public Map<String, Long> queuesDetail() {
+        return queues.keySet().stream()
+                .collect(Collectors.toMap(queueName -> queueName, name -> (long) getSize(name)));
+    }
+
+    @Override
+    public Map<String, Map<String, Map<String, Long>>> queuesDetailVerbose() {
+        Map<String, Map<String, Map<String, Long>>> result = new HashMap<>();
+        queues.forEach(
+                (queueName, queue) -> {
+                    long size;
+                    long unacked;
+                    synchronized (queue) {
+                        size = queue.size();
+                        unacked = queue.unackedSize();
+                    }
+                    // sharding not implemented, returning only one shard with all the info
+                    result.put(
+                            queueName,
+                            ImmutableMap.of("a", ImmutableMap.of("size", size, "uacked", unacked)));
+                });
+        return result;
+    }
+
+    @Override
+    public void processUnacks(String queueName) {
+        getQueue(queueName).processUnacks();
+    }
+
+    @Override
+    public boolean resetOffsetTime(String queueName, String id) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            QueuedMessage message = queue.get(id);
+            if (message == null) {
+                return false;
+            }
+            written = reschedule(queueName, queue, message, now);
+        }
+        store.await(written);
+        return true;
+    }
+
+    /** Reschedules the message in place, instead of removing and pushing it. */
+    @Override
+    public boolean postpone(
+            String queueName, String messageId, int priority, long postponeDurationInSeconds) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        CompletableFuture<Void> written;
+        synchronized (queue) {
+            QueuedMessage existing = queue.get(messageId);
+            QueuedMessage message =
+                    queue.schedule(
+                            messageId,
+                            priority,
+                            existing == null ? null : existing.getPayload(),
+                            now + postponeDurationInSeconds * 1000);
+            written = store.batch().put(table(queueName), messageId, encode(message)).commitAsync();
+        }
+        store.await(written);
+        return true;
+    }
+
+    @Override
+    public boolean containsMessage(String queueName, String messageId) {
+        return getQueue(queueName).contains(messageId);
+    }
+
+    @Override
+    public Set<String> containsMessages(String queueName, List<String> messageIds) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        synchronized (queue) {
+            return messageIds.stream().filter(queue::contains).collect(Collectors.toSet());
+        }
+    }
+
+    private CompletableFuture<Void> reschedule(
+            String queueName, InMemoryDelayQueue queue, QueuedMessage message, long deliverTime) {
+        QueuedMessage rescheduled =
+                queue.schedule(
+                        message.getId(), message.getPriority(), message.getPayload(), deliverTime);
+        return store.batch()
+                .put(table(queueName), rescheduled.getId(), encode(rescheduled))
+                .commitAsync();
+    }
+
+    private static String encode(QueuedMessage message) {
+        String value = message.getDeliverTime() + "," + message.getPriority();
+        return message.getPayload() == null ? value : value + "," + message.getPayload();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.dao.RateLimitingDAO;
+import com.netflix.conductor.metrics.Monitors;
+
+/**
+ * The rate limit buckets are kept in memory only, since a single server admits all the tasks. A
+ * restart starts with empty buckets, which admits at most one more window worth of tasks.
+ */
+public class EmbeddedRateLimitingDAO implements RateLimitingDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedRateLimitingDAO.class);
+
+    private final Map<String, Deque<Long>> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exceedsRateLimitPerFrequency(Task task, TaskDef taskDef) {
+        ImmutablePair<Integer, Integer> rateLimitPair = getRateLimitPair(task, taskDef);
+        int rateLimitPerFrequency = rateLimitPair.getLeft();
+        int rateLimitFrequencyInSeconds = rateLimitPair.getRight();
+        if (rateLimitPerFrequency <= 0 || rateLimitFrequencyInSeconds <= 0) {
+            return false;
+        }
+
+        Deque<Long> bucket =
+                buckets.computeIfAbsent(task.getTaskDefName(), name -> new ArrayDeque<>());
+        synchronized (bucket) {
+            long currentTimeEpochMillis = System.currentTimeMillis();
+            expire(bucket, rateLimitFrequencyInSeconds, currentTimeEpochMillis);
+            if (bucket.size() >= rateLimitPerFrequency) {
+                LOGGER.info(
+                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit",
+                        task.getTaskId(),
+                        task.getTaskDefName(),
+                        rateLimitPerFrequency,
+                        rateLimitFrequencyInSeconds);
+                return true;
+            }
+            bucket.addLast(currentTimeEpochMillis);
+        }
+        Monitors.recordTaskRateLimited(task.getTaskDefName(), rateLimitPerFrequency);
+        return false;
+    }
+
+    private void expire(
+            Deque<Long> bucket, int rateLimitFrequencyInSeconds, long currentTimeEpochMillis) {
+        long windowStart = currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000L);
+        while (!bucket.isEmpty() && bucket.peekFirst() <= windowStart) {
+            bucket.pollFirst();
+        }
+    }
+
+    private ImmutablePair<Integer, Integer> getRateLimitPair(Task task, TaskDef taskDef) {
+        return Optional.ofNullable(taskDef)
+                .map(
+                        definition ->
+                                new ImmutablePair<>(
+                                        definition.getRateLimitPerFrequency(),
+                                        definition.getRateLimitFrequencyInSeconds()))
+                .orElse(
+                        new ImmutablePair<>(
+                                task.getRateLimitPerFrequency(),
+                                task.getRateLimitFrequencyInSeconds()));
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.store;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A single node key-value store backing the embedded DAOs. It keeps two kinds of tables in memory:
+ * value tables mapping keys to values, and hash tables mapping keys to hashes of fields and values.
+ *
+ * <p>Every write is a batch of mutations which is applied in memory and appended to a write-ahead
+ * log as one record, so that the batch is recovered as a whole or not at all. Writes are ordered by
+ * a single lock held only to apply the batch and to enqueue its record, while the log is written
+ * and forced to disk with group commit, outside of the lock. The state is periodically checkpointed
+ * into a segment file, after which the older log files are deleted. On startup the latest segment
+ * file is loaded through memory mappings of it, and the log written since is replayed on top of it.
+ */
+public class EmbeddedStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedStore.class);
+
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int SEGMENT_RECORD_MUTATIONS = 1024;
+    private static final long CHECKPOINT_CHECK_INTERVAL_MS = 1000;
+    private static final String className = EmbeddedStore.class.getSimpleName();
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> values =
+            new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<
+                    String, ConcurrentHashMap<String, ConcurrentHashMap<String, String>>>
+            hashes = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final long checkpointIntervalMillis;
+    private final long checkpointLogSize;
+    private final Object writeLock = new Object();
+    private final WriteAheadLog log;
+    private final ScheduledExecutorService checkpointExecutor;
+
+    private long generation;
+    private volatile long lastCheckpointTime = System.currentTimeMillis();
+
+    public EmbeddedStore(EmbeddedProperties properties) {
+        this.directory = Paths.get(properties.getDataDir());
+        this.checkpointIntervalMillis = properties.getCheckpointInterval().toMillis();
+        this.checkpointLogSize = properties.getCheckpointLogSize().toBytes();
+        try {
+            Files.createDirectories(directory);
+            long position = recover();
+            this.log =
+                    new WriteAheadLog(
+                            logFile(generation),
+                            position,
+                            properties.getGroupCommitWindow(),
+                            properties.isFsync());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the embedded store in " + directory, e);
+        }
+
+        this.checkpointExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("embedded-store-checkpoint-%d")
+                                .setDaemon(true)
+                                .build());
+        this.checkpointExecutor.scheduleWithFixedDelay(
+                this::checkpointIfDue,
+                CHECKPOINT_CHECK_INTERVAL_MS,
+                CHECKPOINT_CHECK_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public String get(String table, String key) {
+        Map<String, String> tableValues = values.get(table);
+        return tableValues == null ? null : tableValues.get(key);
+    }
+
+    /** @return a read-only view of the values of the table, keyed by their keys */
+    public Map<String, String> getAll(String table) {
+        Map<String, String> tableValues = values.get(table);
+        return tableValues == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(tableValues);
+    }
+
+    public String getField(String table, String key, String field) {
+        return getHash(table, key).get(field);
+    }
+
+    /** @return a read-only view of the fields and values of the hash */
+    public Map<String, String> getHash(String table, String key) {
+        Map<String, ConcurrentHashMap<String, String>> tableHashes = hashes.get(table);
+        Map<String, String> hash = tableHashes == null ? null : tableHashes.get(key);
+        return hash == null ? Collections.emptyMap() : Collections.unmodifiableMap(hash);
+    }
+
+    /** @return a read-only view of the keys of the hashes of the table */
+    public Set<String> getHashKeys(String table) {
+        Map<String, ConcurrentHashMap<String, String>> tableHashes = hashes.get(table);
+        return tableHashes == null
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(tableHashes.keySet());
+    }
+
+    /** @return the names of the value and hash tables which start with the given prefix */
+    public Set<String> getTableNames(String prefix) {
+        return Stream.concat(values.keySet().stream(), hashes.keySet().stream())
+                .filter(table -> table.startsWith(prefix))
+                .collect(Collectors.toSet());
+    }
+
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Sets the field of the hash only if it is not set yet.
+     *
+     * @return true if the field was set, false if it was set already
+     */
+    public boolean putFieldIfAbsent(String table, String key, String field, String value) {
+        return batch().putFieldIfAbsent(table, key, field, value).commit();
+    }
+
+    /**
+     * Writes the current state into a new segment file and deletes the log files and the segment
+     * files which it supersedes.
+     */
+    public synchronized void checkpoint() {
+        long checkpointGeneration;
+        CompletableFuture<Void> rolled;
+        synchronized (writeLock) {
+            checkpointGeneration = generation + 1;
+            rolled = log.roll(logFile(checkpointGeneration));
+            generation = checkpointGeneration;
+        }
+        await(rolled);
+        lastCheckpointTime = System.currentTimeMillis();
+
+        // The state is read while writes go on, so the segment may hold some of the writes which
+        // were logged after the roll. Replaying these once more on top of it yields the same
+        // state, as every mutation sets or removes a value regardless of the previous one.
+        long start = System.currentTimeMillis();
+        Path segmentFile = segmentFile(checkpointGeneration);
+        Path tempFile = directory.resolve(segmentFile.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel =
+                    FileChannel.open(
+                            tempFile,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                writeSegment(out);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tempFile, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+            for (long obsolete : generations(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                if (obsolete < checkpointGeneration) {
+                    Files.deleteIfExists(segmentFile(obsolete));
+                }
+            }
+            for (long obsolete : generations(LOG_PREFIX, LOG_SUFFIX)) {
+                if (obsolete < checkpointGeneration) {
+                    Files.deleteIfExists(logFile(obsolete));
+                }
+            }
+        } catch (IOException e) {
+            throw new ApplicationException(
+                    Code.BACKEND_ERROR, "Unable to checkpoint the embedded store", e);
+        }
+        LOGGER.info(
+                "Checkpointed the embedded store into {} in {} ms",
+                segmentFile,
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        checkpointExecutor.shutdown();
+        try {
+            checkpointExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    private void checkpointIfDue() {
+        try {
+            long logSize = log.size();
+            if (logSize >= checkpointLogSize
+                    || (logSize > 0
+                            && System.currentTimeMillis() - lastCheckpointTime
+                                    >= checkpointIntervalMillis)) {
+                checkpoint();
+            }
+        } catch (Exception e) {
+            Monitors.error(className, "checkpoint");
+            LOGGER.error("Failed to checkpoint the embedded store", e);
+        }
+    }
+
+    private void writeSegment(OutputStream out) throws IOException {
+        List<Mutation> mutations = new ArrayList<>(SEGMENT_RECORD_MUTATIONS);
+        for (Map.Entry<String, ConcurrentHashMap<String, String>> table : values.entrySet()) {
+            for (Map.Entry<String, String> entry : table.getValue().entrySet()) {
+                mutations.add(
+                        new Mutation(
+                                Mutation.Type.PUT,
+                                table.getKey(),
+                                entry.getKey(),
+                                null,
+                                entry.getValue()));
+                flushSegmentRecord(out, mutations, false);
+            }
+        }
+        for (Map.Entry<String, ConcurrentHashMap<String, ConcurrentHashMap<String, String>>> table :
+                hashes.entrySet()) {
+            for (Map.Entry<String, ConcurrentHashMap<String, String>> hash :
+                    table.getValue().entrySet()) {
+                for (Map.Entry<String, String> field : hash.getValue().entrySet()) {
+                    mutations.add(
+                            new Mutation(
+                                    Mutation.Type.PUT_FIELD,
+                                    table.getKey(),
+                                    hash.getKey(),
+                                    field.getKey(),
+                                    field.getValue()));
+                    flushSegmentRecord(out, mutations, false);
+                }
+            }
+        }
+        flushSegmentRecord(out, mutations, true);
+    }
+
+    private static void flushSegmentRecord(
+            OutputStream out, List<Mutation> mutations, boolean force) throws IOException {
+        if (mutations.size() >= SEGMENT_RECORD_MUTATIONS || (force && !mutations.isEmpty())) {
+            ByteBuffer record = LogRecords.encode(mutations);
+            out.write(record.array(), record.arrayOffset(), record.remaining());
+            mutations.clear();
+        }
+    }
+
+    /**
+     * Loads the latest segment file and replays the log files written since.
+     *
+     * @return the offset following the last intact record of the latest log file
+     */
+    private long recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file :
+                    files.filter(path -> path.toString().endsWith(TEMP_SUFFIX))
+                            .collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        TreeSet<Long> segmentGenerations = generations(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        generation = segmentGenerations.isEmpty() ? 0 : segmentGenerations.last();
+        if (!segmentGenerations.isEmpty()) {
+            LogRecords.read(segmentFile(generation), this::apply);
+        }
+
+        long position = 0;
+        for (long logGeneration : generations(LOG_PREFIX, LOG_SUFFIX).tailSet(generation, true)) {
+            position = LogRecords.read(logFile(logGeneration), this::apply);
+            generation = logGeneration;
+        }
+        LOGGER.info(
+                "Recovered the embedded store from {} in {} ms",
+                directory,
+                System.currentTimeMillis() - start);
+        return position;
+    }
+
+    private TreeSet<Long> generations(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    private Path segmentFile(long generation) {
+        return directory.resolve(SEGMENT_PREFIX + generation + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * @param absentFields mutations naming the fields of hashes which must not be set for the
+     *     mutations to be applied
+     * @return a future which completes once the mutations are durable, or null if one of the fields
+     *     is set and nothing was written
+     */
+    private CompletableFuture<Void> write(List<Mutation> absentFields, List<Mutation> mutations) {
+        if (mutations.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ByteBuffer record = LogRecords.encode(mutations);
+        synchronized (writeLock) {
+            for (Mutation absentField : absentFields) {
+                if (getField(absentField.table, absentField.key, absentField.field) != null) {
+                    return null;
+                }
+            }
+            apply(mutations);
+            return log.append(record);
+        }
+    }
+
+    /**
+     * Waits for a write to become durable.
+     *
+     * @throws ApplicationException if the write could not be logged
+     */
+    public void await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw new ApplicationException(
+                    Code.BACKEND_ERROR, "Unable to write to the write-ahead log", e.getCause());
+        }
+    }
+
+    private void apply(List<Mutation> mutations) {
+        mutations.forEach(this::apply);
+    }
+
+    private void apply(Mutation mutation) {
+        switch (mutation.type) {
+            case PUT:
+                values.computeIfAbsent(mutation.table, table -> new ConcurrentHashMap<>())
+                        .put(mutation.key, mutation.value);
+                break;
+            case REMOVE:
+                values.computeIfPresent(
+                        mutation.table,
+                        (table, tableValues) -> {
+                            tableValues.remove(mutation.key);
+                            return tableValues;
+                        });
+                break;
+            case PUT_FIELD:
+                hashes.computeIfAbsent(mutation.table, table -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(mutation.key, key -> new ConcurrentHashMap<>())
+                        .put(mutation.field, mutation.value);
+                break;
+            case REMOVE_FIELD:
+                hashes.computeIfPresent(
+                        mutation.table,
+                        (table, tableHashes) -> {
+                            tableHashes.computeIfPresent(
+                                    mutation.key,
+                                    (key, hash) -> {
+                                        hash.remove(mutation.field);
+                                        return hash.isEmpty() ? null : hash;
+                                    });
+                            return tableHashes;
+                        });
+                break;
+            case REMOVE_HASH:
+                hashes.computeIfPresent(
+                        mutation.table,
+                        (table, tableHashes) -> {
+                            tableHashes.remove(mutation.key);
+                            return tableHashes;
+                        });
+                break;
+            case CLEAR:
+                values.remove(mutation.table);
+                hashes.remove(mutation.table);
+                break;
+        }
+    }
+
+    /**
+     * A batch of mutations which is applied and logged atomically. A batch with fields put by
+     * {@link #putFieldIfAbsent(String, String, String, String)} is applied only if none of these
+     * fields is set yet.
+     */
+    public class Batch {
+
+        private final List<Mutation> mutations = new ArrayList<>();
+        private final List<Mutation> absentFields = new ArrayList<>();
+
+        private Batch() {}
+
+        public Batch put(String table, String key, String value) {
+            mutations.add(new Mutation(Mutation.Type.PUT, table, key, null, value));
+            return this;
+        }
+
+        public Batch remove(String table, String key) {
+            mutations.add(new Mutation(Mutation.Type.REMOVE, table, key, null, null));
+            return this;
+        }
+
+        public Batch putField(String table, String key, String field, String value) {
+            mutations.add(new Mutation(Mutation.Type.PUT_FIELD, table, key, field, value));
+            return this;
+        }
+
+        /** Sets the field of the hash, and makes the batch conditional on it not being set yet. */
+        public Batch putFieldIfAbsent(String table, String key, String field, String value) {
+            absentFields.add(new Mutation(Mutation.Type.PUT_FIELD, table, key, field, value));
+            return putField(table, key, field, value);
+        }
+
+        public Batch removeField(String table, String key, String field) {
+            mutations.add(new Mutation(Mutation.Type.REMOVE_FIELD, table, key, field, null));
+            return this;
+        }
+
+        public Batch removeHash(String table, String key) {
+            mutations.add(new Mutation(Mutation.Type.REMOVE_HASH, table, key, null, null));
+            return this;
+        }
+
+        public Batch clear(String table) {
+            mutations.add(new Mutation(Mutation.Type.CLEAR, table, null, null, null));
+            return this;
+        }
+
+        /**
+         * Applies the batch and returns once it is durable in the write-ahead log.
+         *
+         * @return false if a field the batch is conditional on was set already, in which case none
+         *     of the batch was applied
+         */
+        public boolean commit() {
+            CompletableFuture<Void> written = write(absentFields, mutations);
+            if (written == null) {
+                return false;
+            }
+            await(written);
+            return true;
+        }
+
+        /**
+         * Applies the batch and returns without waiting for it to become durable, either for writes
+         * which may be lost on a crash, or for callers that apply the batch in order with their own
+         * state and {@link #await(CompletableFuture) wait} for it afterwards.
+         *
+         * @return a future which completes once the batch is durable
+         */
+        public CompletableFuture<Void> commitAsync() {
+            Preconditions.checkState(
+                    absentFields.isEmpty(), "A conditional batch must be committed with commit()");
+            return write(absentFields, mutations);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Encodes and reads the records of the write-ahead log and of the segment files. A record holds a
+ * batch of mutations which are applied together, framed by the length and the CRC32 checksum of its
+ * payload:
+ *
+ * <pre>
+ * record   := length:int checksum:int payload
+ * payload  := count:int mutation*
+ * mutation := type:byte table:string key:string field:string value:string
+ * string   := length:int utf8-bytes   (a length of -1 stands for null)
+ * </pre>
+ */
+final class LogRecords {
+
+    static final int HEADER_SIZE = 8;
+
+    /** The size of the regions of a file which are mapped into memory at a time while reading */
+    private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
+    private static final Mutation.Type[] TYPES = Mutation.Type.values();
+
+    private LogRecords() {}
+
+    static ByteBuffer encode(List<Mutation> mutations) {
+        List<byte[]> strings = new ArrayList<>(mutations.size() * 4);
+        int payloadSize = Integer.BYTES;
+        for (Mutation mutation : mutations) {
+            payloadSize += 1;
+            for (String string :
+                    new String[] {mutation.table, mutation.key, mutation.field, mutation.value}) {
+                byte[] bytes = string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+                strings.add(bytes);
+                payloadSize += Integer.BYTES + (bytes == null ? 0 : bytes.length);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize).putInt(0).putInt(mutations.size());
+        int index = 0;
+        for (Mutation mutation : mutations) {
+            buffer.put((byte) mutation.type.ordinal());
+            for (int i = 0; i < 4; i++) {
+                byte[] bytes = strings.get(index++);
+                if (bytes == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(bytes.length).put(bytes);
+                }
+            }
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(Integer.BYTES, (int) checksum.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    static List<Mutation> decode(ByteBuffer payload) {
+        int count = payload.getInt();
+        List<Mutation> mutations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Mutation.Type type = TYPES[payload.get()];
+            mutations.add(
+                    new Mutation(
+                            type,
+                            readString(payload),
+                            readString(payload),
+                            readString(payload),
+                            readString(payload)));
+        }
+        return mutations;
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the records of the given file through memory mappings of it, up to the end of the file
+     * or up to the first record which is torn or does not match its checksum, as left behind by a
+     * crash in the middle of a write.
+     *
+     * @return the offset following the last intact record
+     */
+    static long read(Path file, Consumer<List<Mutation>> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long mappingStart = 0;
+            MappedByteBuffer mapping = null;
+            while (position + HEADER_SIZE <= size) {
+                if (mapping == null || !covers(mapping, mappingStart, position, HEADER_SIZE)) {
+                    mappingStart = position;
+                    mapping = map(channel, position, HEADER_SIZE, size);
+                }
+                int offset = (int) (position - mappingStart);
+                int length = mapping.getInt(offset);
+                int expectedChecksum = mapping.getInt(offset + Integer.BYTES);
+                if (length < Integer.BYTES || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                if (!covers(mapping, mappingStart, position, HEADER_SIZE + length)) {
+                    mappingStart = position;
+                    mapping = map(channel, position, HEADER_SIZE + length, size);
+                    offset = 0;
+                }
+
+                ByteBuffer payload = mapping.duplicate();
+                payload.limit(offset + HEADER_SIZE + length).position(offset + HEADER_SIZE);
+                payload = payload.slice();
+                CRC32 checksum = new CRC32();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    break;
+                }
+                consumer.accept(decode(payload));
+                position += HEADER_SIZE + length;
+            }
+            return position;
+        }
+    }
+
+    private static boolean covers(
+            MappedByteBuffer mapping, long mappingStart, long position, int length) {
+        return position >= mappingStart && position + length <= mappingStart + mapping.capacity();
+    }
+
+    private static MappedByteBuffer map(
+            FileChannel channel, long position, int minLength, long fileSize) throws IOException {
+        long length = Math.min(fileSize - position, Math.max(MAPPING_SIZE, minLength));
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+}
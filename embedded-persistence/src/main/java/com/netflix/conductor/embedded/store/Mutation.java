@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.store;
+
+/** A single change to the {@link EmbeddedStore}, as applied in memory and recorded on disk. */
+final class Mutation {
+
+    enum Type {
+        PUT,
+        REMOVE,
+        PUT_FIELD,
+        REMOVE_FIELD,
+        REMOVE_HASH,
+        CLEAR
+    }
+
+    final Type type;
+    final String table;
+    final String key;
+    final String field;
+    final String value;
+
+    Mutation(Type type, String table, String key, String field, String value) {
+        this.type = type;
+        this.table = table;
+        this.key = key;
+        this.field = field;
+        this.value = value;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of records, written by a single thread with group commit: all the records
+ * appended while the previous group is being written (and, with a group commit window, the ones
+ * appended within the window) are written together and forced to disk once. An append completes
+ * once its record is durable. Appends and rolls after the log was closed fail right away.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final long groupCommitWindowNanos;
+    private final boolean fsync;
+    private final Thread writerThread;
+
+    private FileChannel channel;
+    private volatile long size;
+    private IOException failure;
+
+    /** Whether the log was closed, guarded by the appends queue. */
+    private boolean closed;
+
+    /**
+     * @param file the log file to append to
+     * @param position the offset to append at, any bytes beyond it are truncated
+     */
+    WriteAheadLog(Path file, long position, Duration groupCommitWindow, boolean fsync)
+            throws IOException {
+        this.groupCommitWindowNanos = groupCommitWindow.toNanos();
+        this.fsync = fsync;
+        this.channel = open(file);
+        this.channel.truncate(position);
+        this.channel.position(position);
+        this.size = position;
+        this.writerThread = new Thread(this::run, "embedded-store-wal-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /** @return the number of bytes written to the current log file */
+    long size() {
+        return size;
+    }
+
+    CompletableFuture<Void> append(ByteBuffer record) {
+        return enqueue(new Append(record, null));
+    }
+
+    /**
+     * Switches to a new log file once all the records appended so far are durable in the current
+     * one.
+     */
+    CompletableFuture<Void> roll(Path nextFile) {
+        return enqueue(new Append(null, nextFile));
+    }
+
+    @Override
+    public void close() {
+        Append append = new Append(null, null);
+        synchronized (appends) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appends.add(append);
+        }
+        append.future.join();
+    }
+
+    private CompletableFuture<Void> enqueue(Append append) {
+        synchronized (appends) {
+            if (closed) {
+                append.future.completeExceptionally(
+                        new IllegalStateException("The write-ahead log is closed"));
+            } else {
+                appends.add(append);
+            }
+        }
+        return append.future;
+    }
+
+    private void run() {
+        List<Append> group = new ArrayList<>();
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                group.add(appends.take());
+                long deadline = System.nanoTime() + groupCommitWindowNanos;
+                long remaining = groupCommitWindowNanos;
+                while (remaining > 0) {
+                    Append append = appends.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (append == null) {
+                        break;
+                    }
+                    group.add(append);
+                    remaining = deadline - System.nanoTime();
+                }
+                appends.drainTo(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Write-ahead log writer interrupted, closing the log");
+                synchronized (appends) {
+                    closed = true;
+                    appends.drainTo(group);
+                }
+                group.add(new Append(null, null));
+            }
+            stopped = write(group);
+            group.clear();
+        }
+    }
+
+    /** @return whether the log was closed */
+    private boolean write(List<Append> group) {
+        List<Append> written = new ArrayList<>(group.size());
+        for (Append append : group) {
+            if (append.record != null) {
+                try {
+                    if (failure == null) {
+                        while (append.record.hasRemaining()) {
+                            size += channel.write(append.record);
+                        }
+                    }
+                } catch (IOException e) {
+                    LOGGER.error("Failed to write to the write-ahead log", e);
+                    failure = e;
+                }
+                written.add(append);
+                continue;
+            }
+
+            sync(written);
+            try {
+                channel.close();
+                if (append.nextFile == null) {
+                    append.future.complete(null);
+                    return true;
+                }
+                if (failure == null) {
+                    channel = open(append.nextFile);
+                    size = 0;
+                }
+            } catch (IOException e) {
+                LOGGER.error("Failed to roll the write-ahead log to {}", append.nextFile, e);
+                failure = e;
+            }
+            complete(append);
+        }
+        sync(written);
+        return false;
+    }
+
+    /** Forces the written records to disk and completes their appends. */
+    private void sync(List<Append> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        if (fsync && failure == null) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                LOGGER.error("Failed to force the write-ahead log to disk", e);
+                failure = e;
+            }
+        }
+        written.forEach(this::complete);
+        written.clear();
+    }
+
+    /**
+     * Completes the append, or fails it if the log failed before. Once a write failed, the log may
+     * hold a partial record, behind which later records would not be recovered, so all of them are
+     * failed.
+     */
+    private void complete(Append append) {
+        if (failure == null) {
+            append.future.complete(null);
+        } else {
+            append.future.completeExceptionally(failure);
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private static class Append {
+
+        private final ByteBuffer record;
+        private final Path nextFile;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Append(ByteBuffer record, Path nextFile) {
+            this.record = record;
+            this.nextFile = nextFile;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class EmbeddedExecutionDAOTest extends ExecutionDAOTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired private ObjectMapper objectMapper;
+
+    private EmbeddedProperties properties;
+    private EmbeddedStore store;
+    private EmbeddedExecutionDAO executionDAO;
+
+    @Before
+    public void init() {
+        properties = new EmbeddedProperties();
+        properties.setDataDir(folder.getRoot().getAbsolutePath());
+        properties.setGroupCommitWindow(Duration.ofMillis(1));
+        store = new EmbeddedStore(properties);
+        executionDAO = new EmbeddedExecutionDAO(store, objectMapper);
+    }
+
+    @After
+    public void cleanup() {
+        executionDAO.shutdown();
+        store.close();
+    }
+
+    @Test
+    public void testWorkflowRecovered() {
+        Workflow workflow = createTestWorkflow();
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        executionDAO.createWorkflow(workflow);
+        executionDAO.createTasks(workflow.getTasks());
+
+        executionDAO.shutdown();
+        store.close();
+        store = new EmbeddedStore(properties);
+        executionDAO = new EmbeddedExecutionDAO(store, objectMapper);
+
+        Workflow found = executionDAO.getWorkflow(workflow.getWorkflowId(), true);
+        assertNotNull(found);
+        assertEquals(workflow.getTasks().size(), found.getTasks().size());
+        assertEquals(1, executionDAO.getPendingWorkflowCount(workflow.getWorkflowName()));
+    }
+
+    @Test
+    public void testGetPendingTaskByReferenceName() {
+        Workflow workflow = createTestWorkflow();
+        workflow.getTasks().forEach(task -> task.setStatus(Task.Status.SCHEDULED));
+        workflow.getTasks().get(1).setStatus(Task.Status.COMPLETED);
+        executionDAO.createWorkflow(workflow);
+        executionDAO.createTasks(workflow.getTasks());
+
+        Task found = executionDAO.getPendingTaskByReferenceName(workflow.getWorkflowId(), "t1");
+        assertNotNull(found);
+        assertEquals(workflow.getTasks().get(0).getTaskId(), found.getTaskId());
+        assertNull(executionDAO.getPendingTaskByReferenceName(workflow.getWorkflowId(), "t2"));
+        assertNull(executionDAO.getPendingTaskByReferenceName(workflow.getWorkflowId(), "t4"));
+    }
+
+    @Override
+    public ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class EmbeddedMetadataDAOTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired private ObjectMapper objectMapper;
+
+    private EmbeddedProperties properties;
+    private EmbeddedStore store;
+    private EmbeddedMetadataDAO metadataDAO;
+    private EmbeddedEventHandlerDAO eventHandlerDAO;
+
+    @Before
+    public void init() {
+        properties = new EmbeddedProperties();
+        properties.setDataDir(folder.getRoot().getAbsolutePath());
+        properties.setGroupCommitWindow(Duration.ofMillis(1));
+        store = new EmbeddedStore(properties);
+        metadataDAO = new EmbeddedMetadataDAO(store, objectMapper);
+        eventHandlerDAO = new EmbeddedEventHandlerDAO(store, objectMapper);
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testDup() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("testDup");
+        def.setVersion(1);
+
+        metadataDAO.createWorkflowDef(def);
+        metadataDAO.createWorkflowDef(def);
+    }
+
+    @Test
+    public void testWorkflowDefOperations() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("test");
+        def.setVersion(1);
+        metadataDAO.createWorkflowDef(def);
+        def.setVersion(3);
+        metadataDAO.createWorkflowDef(def);
+        def.setVersion(2);
+        def.setDescription("updated");
+        metadataDAO.updateWorkflowDef(def);
+
+        assertEquals(3, metadataDAO.getAllWorkflowDefs().size());
+        Optional<WorkflowDef> latest = metadataDAO.getLatestWorkflowDef("test");
+        assertTrue(latest.isPresent());
+        assertEquals(3, latest.get().getVersion());
+        assertEquals("updated", metadataDAO.getWorkflowDef("test", 2).get().getDescription());
+
+        metadataDAO.removeWorkflowDef("test", 3);
+        assertEquals(2, metadataDAO.getLatestWorkflowDef("test").get().getVersion());
+        metadataDAO.removeWorkflowDef("test", 1);
+        metadataDAO.removeWorkflowDef("test", 2);
+        assertFalse(metadataDAO.getLatestWorkflowDef("test").isPresent());
+        assertTrue(metadataDAO.findAll().isEmpty());
+    }
+
+    @Test
+    public void testTaskDefRecovered() {
+        TaskDef def = new TaskDef("taskA");
+        def.setDescription("description");
+        metadataDAO.createTaskDef(def);
+
+        store.close();
+        store = new EmbeddedStore(properties);
+        metadataDAO = new EmbeddedMetadataDAO(store, objectMapper);
+
+        TaskDef found = metadataDAO.getTaskDef("taskA");
+        assertNotNull(found);
+        assertEquals("description", found.getDescription());
+
+        metadataDAO.removeTaskDef("taskA");
+        assertNull(metadataDAO.getTaskDef("taskA"));
+        assertTrue(metadataDAO.getAllTaskDefs().isEmpty());
+    }
+
+    @Test
+    public void testEventHandlers() {
+        EventHandler eventHandler = new EventHandler();
+        eventHandler.setName("handler");
+        eventHandler.setEvent("event1");
+        eventHandler.setActive(true);
+        eventHandlerDAO.addEventHandler(eventHandler);
+
+        assertEquals(1, eventHandlerDAO.getEventHandlersForEvent("event1", true).size());
+
+        eventHandler.setEvent("event2");
+        eventHandler.setActive(false);
+        eventHandlerDAO.updateEventHandler(eventHandler);
+        assertTrue(eventHandlerDAO.getEventHandlersForEvent("event1", false).isEmpty());
+        assertTrue(eventHandlerDAO.getEventHandlersForEvent("event2", true).isEmpty());
+        assertEquals(1, eventHandlerDAO.getEventHandlersForEvent("event2", false).size());
+
+        eventHandlerDAO.removeEventHandler("handler");
+        assertTrue(eventHandlerDAO.getAllEventHandlers().isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.dao.PollDataDAO;
+import com.netflix.conductor.dao.PollDataDAOTest;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class EmbeddedPollDataDAOTest extends PollDataDAOTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired private ObjectMapper objectMapper;
+
+    private EmbeddedStore store;
+    private PollDataDAO pollDataDAO;
+
+    @Before
+    public void init() {
+        EmbeddedProperties properties = new EmbeddedProperties();
+        properties.setDataDir(folder.getRoot().getAbsolutePath());
+        properties.setGroupCommitWindow(Duration.ofMillis(1));
+        store = new EmbeddedStore(properties);
+        pollDataDAO = new EmbeddedPollDataDAO(store, objectMapper);
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+    }
+
+    @Override
+    protected PollDataDAO getPollDataDAO() {
+        return pollDataDAO;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.dao;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+import com.netflix.conductor.embedded.store.EmbeddedStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EmbeddedQueueDAOTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+
+    private EmbeddedProperties properties;
+    private EmbeddedStore store;
+    private EmbeddedQueueDAO queueDAO;
+
+    @Before
+    public void init() {
+        properties = new EmbeddedProperties();
+        properties.setDataDir(folder.getRoot().getAbsolutePath());
+        properties.setGroupCommitWindow(Duration.ofMillis(1));
+        properties.setQueueUnackTimeout(Duration.ofSeconds(60));
+        store = new EmbeddedStore(properties);
+        queueDAO = new EmbeddedQueueDAO(store, objectMapper, properties);
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+    }
+
+    @Test
+    public void testPushPopAck() {
+        String queueName = "TestQueue";
+        for (int i = 0; i < 10; i++) {
+            queueDAO.push(queueName, "msg" + i, 0);
+        }
+        assertFalse(queueDAO.pushIfNotExists(queueName, "msg0", 0));
+        assertEquals(10, queueDAO.getSize(queueName));
+
+        List<String> popped = queueDAO.pop(queueName, 5, 100);
+        assertEquals(Arrays.asList("msg0", "msg1", "msg2", "msg3", "msg4"), popped);
+        assertEquals(5, queueDAO.getSize(queueName));
+        assertEquals(
+                5L,
+                queueDAO.queuesDetailVerbose().get(queueName).get("a").get("uacked").longValue());
+
+        for (String id : popped) {
+            assertTrue(queueDAO.ack(queueName, id));
+        }
+        assertFalse(queueDAO.containsMessage(queueName, "msg0"));
+        assertTrue(queueDAO.containsMessage(queueName, "msg5"));
+
+        queueDAO.remove(queueName, "msg5");
+        assertEquals(4, queueDAO.getSize(queueName));
+        queueDAO.flush(queueName);
+        assertEquals(0, queueDAO.getSize(queueName));
+    }
+
+    @Test
+    public void testPriorityAndDelay() throws InterruptedException {
+        String queueName = "TestQueue";
+        queueDAO.push(queueName, "earlier", 10, 0);
+        Thread.sleep(5);
+        queueDAO.push(queueName, "later", 1, 0);
+        queueDAO.push(queueName, "delayed", 0, 2);
+
+        // the priority only orders the messages due in the same millisecond
+        assertEquals(Arrays.asList("earlier", "later"), queueDAO.pop(queueName, 3, 100));
+
+        // the delayed message is handed out once it is due, while the poll waits
+        long start = System.currentTimeMillis();
+        assertEquals(Collections.singletonList("delayed"), queueDAO.pop(queueName, 1, 5000));
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+    }
+
+    @Test
+    public void testUnackTimeout() {
+        String queueName = "TestQueue";
+        queueDAO.push(queueName, "msg", 0);
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 100));
+        assertTrue(queueDAO.pop(queueName, 1, 100).isEmpty());
+
+        assertTrue(queueDAO.setUnackTimeout(queueName, "msg", 0));
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 100));
+
+        assertTrue(queueDAO.postpone(queueName, "msg", 0, 60));
+        assertTrue(queueDAO.pop(queueName, 1, 100).isEmpty());
+        assertTrue(queueDAO.resetOffsetTime(queueName, "msg"));
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 100));
+    }
+
+    @Test
+    public void testRecovery() {
+        String queueName = "TestQueue";
+        Message message = new Message("msg1", "payload", null, 5);
+        queueDAO.push(queueName, Collections.singletonList(message));
+        queueDAO.push(queueName, "msg2", 0);
+        queueDAO.push(queueName, "msg3", 60);
+        queueDAO.ack(queueName, queueDAO.pop(queueName, 1, 100).get(0));
+
+        store.close();
+        store = new EmbeddedStore(properties);
+        queueDAO = new EmbeddedQueueDAO(store, objectMapper, properties);
+
+        // the delayed message is counted, but not handed out before it is due
+        assertEquals(2, queueDAO.getSize(queueName));
+        assertFalse(queueDAO.containsMessage(queueName, "msg1"));
+        assertEquals("msg2", queueDAO.pollMessages(queueName, 2, 100).get(0).getId());
+        assertTrue(queueDAO.pollMessages(queueName, 1, 100).isEmpty());
+        assertTrue(queueDAO.resetOffsetTime(queueName, "msg3"));
+        assertEquals("msg3", queueDAO.pollMessages(queueName, 1, 100).get(0).getId());
+    }
+}
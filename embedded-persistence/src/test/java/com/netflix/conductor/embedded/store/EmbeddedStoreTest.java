@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.embedded.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.embedded.config.EmbeddedProperties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class EmbeddedStoreTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private EmbeddedProperties properties;
+    private EmbeddedStore store;
+
+    @Before
+    public void init() {
+        properties = new EmbeddedProperties();
+        properties.setDataDir(folder.getRoot().getAbsolutePath());
+        properties.setGroupCommitWindow(Duration.ofMillis(1));
+        store = new EmbeddedStore(properties);
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+    }
+
+    @Test
+    public void testRecoverFromLog() {
+        store.batch().put("table", "key1", "value1").put("table", "key2", "value2").commit();
+        store.batch()
+                .remove("table", "key2")
+                .putField("hash", "key", "field1", "value1")
+                .putField("hash", "key", "field2", "value2")
+                .commit();
+        store.batch().removeField("hash", "key", "field2").commit();
+
+        reopen();
+
+        assertEquals("value1", store.get("table", "key1"));
+        assertNull(store.get("table", "key2"));
+        assertEquals("value1", store.getField("hash", "key", "field1"));
+        assertEquals(1, store.getHash("hash", "key").size());
+    }
+
+    @Test
+    public void testRecoverFromCheckpointAndLog() throws IOException {
+        store.batch().put("table", "key1", "value1").put("table", "key2", "value2").commit();
+        store.batch().putField("hash", "key", "field", "value").commit();
+        store.checkpoint();
+        store.batch().remove("table", "key1").put("table", "key3", "value3").commit();
+
+        assertEquals(1, countFiles("segment-"));
+        assertEquals(1, countFiles("wal-"));
+
+        reopen();
+
+        assertNull(store.get("table", "key1"));
+        assertEquals("value2", store.get("table", "key2"));
+        assertEquals("value3", store.get("table", "key3"));
+        assertEquals("value", store.getField("hash", "key", "field"));
+
+        store.batch().clear("table").commit();
+        store.checkpoint();
+        reopen();
+
+        assertTrue(store.getAll("table").isEmpty());
+        assertEquals("value", store.getField("hash", "key", "field"));
+    }
+
+    @Test
+    public void testRecoverFromTornLog() throws IOException {
+        store.batch().put("table", "key1", "value1").commit();
+        store.close();
+
+        // a record which was partially written when the process died
+        Path log = folder.getRoot().toPath().resolve("wal-0.log");
+        Files.write(log, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        store = new EmbeddedStore(properties);
+        assertEquals("value1", store.get("table", "key1"));
+
+        // the torn record is overwritten by the following writes
+        store.batch().put("table", "key2", "value2").commit();
+        reopen();
+        assertEquals("value1", store.get("table", "key1"));
+        assertEquals("value2", store.get("table", "key2"));
+    }
+
+    @Test
+    public void testPutFieldIfAbsent() {
+        assertTrue(store.putFieldIfAbsent("hash", "key", "field", "value1"));
+        assertFalse(store.putFieldIfAbsent("hash", "key", "field", "value2"));
+        assertEquals("value1", store.getField("hash", "key", "field"));
+    }
+
+    @Test
+    public void testConditionalBatch() {
+        assertTrue(
+                store.batch()
+                        .putFieldIfAbsent("hash", "key", "field", "value1")
+                        .put("table", "key", "value1")
+                        .commit());
+        assertFalse(
+                store.batch()
+                        .putFieldIfAbsent("hash", "key", "field", "value2")
+                        .put("table", "key", "value2")
+                        .commit());
+
+        reopen();
+
+        // none of the batch is written when its field is set already
+        assertEquals("value1", store.getField("hash", "key", "field"));
+        assertEquals("value1", store.get("table", "key"));
+    }
+
+    @Test(timeout = 10000)
+    public void testWriteAfterCloseFails() {
+        store.close();
+
+        assertThrows(
+                ApplicationException.class,
+                () -> store.batch().put("table", "key", "value").commit());
+        assertThrows(ApplicationException.class, () -> store.checkpoint());
+    }
+
+    private void reopen() {
+        store.close();
+        store = new EmbeddedStore(properties);
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
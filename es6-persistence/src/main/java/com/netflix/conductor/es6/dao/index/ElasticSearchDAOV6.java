@@ -707,6 +707,19 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         return search(query, start, count, sort, freeText, TASK_DOC_TYPE);
     }
 
+    @Override
+    public SearchResult<WorkflowSummary> searchWorkflowSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        return searchObjects(
+                query, start, count, sort, freeText, WORKFLOW_DOC_TYPE, WorkflowSummary.class);
+    }
+
+    @Override
+    public SearchResult<TaskSummary> searchTaskSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        return searchObjects(query, start, count, sort, freeText, TASK_DOC_TYPE, TaskSummary.class);
+    }
+
     @Override
     public void removeWorkflow(String workflowId) {
         try {
@@ -850,6 +863,39 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         }
     }
 
+    private <T> SearchResult<T> searchObjects(
+            String structuredQuery,
+            int start,
+            int size,
+            List<String> sortOptions,
+            String freeTextQuery,
+            String docType,
+            Class<T> clazz) {
+        try {
+            docType = StringUtils.isBlank(docTypeOverride) ? docType : docTypeOverride;
+            BoolQueryBuilder fq = boolQueryBuilder(structuredQuery, freeTextQuery);
+            final SearchRequestBuilder srb =
+                    elasticSearchClient
+                            .prepareSearch(getIndexName(docType))
+                            .setQuery(fq)
+                            .setTypes(docType)
+                            .setFrom(start)
+                            .setSize(size);
+
+            addSortOptions(srb, sortOptions);
+
+            SearchResponse response = srb.get();
+            List<T> result = new LinkedList<>();
+            for (SearchHit hit : response.getHits()) {
+                result.add(objectMapper.readValue(hit.getSourceAsString(), clazz));
+            }
+            return new SearchResult<>(response.getHits().getTotalHits(), result);
+        } catch (ParserException | IOException e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.BACKEND_ERROR, e.getMessage(), e);
+        }
+    }
+
     private void addSortOptions(SearchRequestBuilder srb, List<String> sortOptions) {
         if (sortOptions != null) {
             sortOptions.forEach(
@@ -790,6 +790,30 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         }
     }
 
+    @Override
+    public SearchResult<WorkflowSummary> searchWorkflowSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        try {
+            return searchObjectsViaExpression(
+                    query, start, count, sort, freeText, WORKFLOW_DOC_TYPE, WorkflowSummary.class);
+        } catch (Exception e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.BACKEND_ERROR, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SearchResult<TaskSummary> searchTaskSummary(
+            String query, String freeText, int start, int count, List<String> sort) {
+        try {
+            return searchObjectsViaExpression(
+                    query, start, count, sort, freeText, TASK_DOC_TYPE, TaskSummary.class);
+        } catch (Exception e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.BACKEND_ERROR, e.getMessage(), e);
+        }
+    }
+
     @Override
     public void removeWorkflow(String workflowId) {
         long startTime = Instant.now().toEpochMilli();
@@ -939,11 +963,57 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
             List<String> sortOptions,
             String docType)
             throws IOException {
+        SearchResponse response =
+                executeSearch(indexName, queryBuilder, start, size, sortOptions, docType, false);
+
+        List<String> result = new LinkedList<>();
+        response.getHits().forEach(hit -> result.add(hit.getId()));
+        long count = response.getHits().getTotalHits();
+        return new SearchResult<>(count, result);
+    }
+
+    private <T> SearchResult<T> searchObjectsViaExpression(
+            String structuredQuery,
+            int start,
+            int size,
+            List<String> sortOptions,
+            String freeTextQuery,
+            String docType,
+            Class<T> clazz)
+            throws ParserException, IOException {
+        QueryBuilder queryBuilder = boolQueryBuilder(structuredQuery, freeTextQuery);
+        SearchResponse response =
+                executeSearch(
+                        getIndexName(docType),
+                        queryBuilder,
+                        start,
+                        size,
+                        sortOptions,
+                        docType,
+                        true);
+
+        List<T> result = new LinkedList<>();
+        for (SearchHit hit : response.getHits()) {
+            result.add(objectMapper.readValue(hit.getSourceAsString(), clazz));
+        }
+        long count = response.getHits().getTotalHits();
+        return new SearchResult<>(count, result);
+    }
+
+    private SearchResponse executeSearch(
+            String indexName,
+            QueryBuilder queryBuilder,
+            int start,
+            int size,
+            List<String> sortOptions,
+            String docType,
+            boolean fetchSource)
+            throws IOException {
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
         searchSourceBuilder.query(queryBuilder);
         searchSourceBuilder.from(start);
         searchSourceBuilder.size(size);
-        searchSourceBuilder.fetchSource(false);
+        searchSourceBuilder.fetchSource(fetchSource);
 
         if (sortOptions != null && !sortOptions.isEmpty()) {
 
@@ -965,12 +1035,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         searchRequest.types(docType);
         searchRequest.source(searchSourceBuilder);
 
-        SearchResponse response = elasticSearchClient.search(searchRequest);
-
-        List<String> result = new LinkedList<>();
-        response.getHits().forEach(hit -> result.add(hit.getId()));
-        long count = response.getHits().getTotalHits();
-        return new SearchResult<>(count, result);
+        return elasticSearchClient.search(searchRequest);
     }
 
     @Override
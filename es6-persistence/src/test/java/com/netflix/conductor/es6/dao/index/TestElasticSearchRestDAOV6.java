@@ -202,6 +202,56 @@ public class TestElasticSearchRestDAOV6 extends ElasticSearchRestDaoBaseTest {
         assertEquals(summary.getTaskId(), tasks.get(0));
     }
 
+    @Test
+    public void shouldSearchWorkflowSummary() {
+        Workflow workflow = TestUtils.loadWorkflowSnapshot(objectMapper, "workflow");
+        WorkflowSummary summary = new WorkflowSummary(workflow);
+
+        indexDAO.indexWorkflow(workflow);
+
+        List<WorkflowSummary> summaries =
+                tryFindResults(
+                        () ->
+                                indexDAO.searchWorkflowSummary(
+                                                "",
+                                                "workflowId:\"" + workflow.getWorkflowId() + "\"",
+                                                0,
+                                                100,
+                                                Collections.emptyList())
+                                        .getResults());
+
+        assertEquals(1, summaries.size());
+        assertEquals(summary.getWorkflowId(), summaries.get(0).getWorkflowId());
+        assertEquals(summary.getWorkflowType(), summaries.get(0).getWorkflowType());
+        assertEquals(summary.getStatus(), summaries.get(0).getStatus());
+        assertEquals(summary.getInput(), summaries.get(0).getInput());
+    }
+
+    @Test
+    public void shouldSearchTaskSummary() {
+        Workflow workflow = TestUtils.loadWorkflowSnapshot(objectMapper, "workflow");
+        Task task = workflow.getTasks().get(0);
+        TaskSummary summary = new TaskSummary(task);
+
+        indexDAO.indexTask(task);
+
+        List<TaskSummary> summaries =
+                tryFindResults(
+                        () ->
+                                indexDAO.searchTaskSummary(
+                                                "",
+                                                "workflowId:\"" + workflow.getWorkflowId() + "\"",
+                                                0,
+                                                100,
+                                                Collections.emptyList())
+                                        .getResults());
+
+        assertEquals(1, summaries.size());
+        assertEquals(summary.getTaskId(), summaries.get(0).getTaskId());
+        assertEquals(summary.getTaskType(), summaries.get(0).getTaskType());
+        assertEquals(summary.getStatus(), summaries.get(0).getStatus());
+    }
+
     @Test
     public void shouldAddTaskExecutionLogs() {
         List<TaskExecLog> logs = new ArrayList<>();
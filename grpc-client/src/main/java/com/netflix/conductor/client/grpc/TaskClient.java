@@ -25,6 +25,7 @@ import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.grpc.ProtoMapper;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.TaskServiceGrpc;
 import com.netflix.conductor.grpc.TaskServicePb;
@@ -33,14 +34,41 @@ import com.netflix.conductor.proto.TaskPb;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
 
 public class TaskClient extends ClientBase {
 
     private final TaskServiceGrpc.TaskServiceBlockingStub stub;
+    private final TaskServiceGrpc.TaskServiceStub asyncStub;
+    private ProtoMapper.PayloadEncoding payloadEncoding = ProtoMapper.PayloadEncoding.STRUCT;
 
     public TaskClient(String address, int port) {
         super(address, port);
         this.stub = TaskServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = TaskServiceGrpc.newStub(this.channel);
+    }
+
+    public TaskClient(ManagedChannelBuilder<?> builder) {
+        super(builder);
+        this.stub = TaskServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = TaskServiceGrpc.newStub(this.channel);
+    }
+
+    public ProtoMapper.PayloadEncoding getPayloadEncoding() {
+        return payloadEncoding;
+    }
+
+    /**
+     * Sets how the input and output data of the polled tasks and of the task results are encoded.
+     * JSON and CBOR send them pre-serialized, which is cheaper than the default {@link
+     * ProtoMapper.PayloadEncoding#STRUCT} mapping for large payloads.
+     *
+     * @param payloadEncoding the encoding of the task payloads
+     */
+    public void setPayloadEncoding(ProtoMapper.PayloadEncoding payloadEncoding) {
+        Preconditions.checkNotNull(payloadEncoding, "Payload encoding cannot be null");
+        this.payloadEncoding = payloadEncoding;
     }
 
     /**
@@ -62,6 +90,7 @@ public class TaskClient extends ClientBase {
                                 .setTaskType(taskType)
                                 .setWorkerId(workerId)
                                 .setDomain(domain)
+                                .setPayloadEncoding(payloadEncodingProto())
                                 .build());
         return protoMapper.fromProto(response.getTask());
     }
@@ -106,6 +135,7 @@ public class TaskClient extends ClientBase {
                                 .setWorkerId(workerId)
                                 .setCount(count)
                                 .setTimeout(timeoutInMillisecond)
+                                .setPayloadEncoding(payloadEncodingProto())
                                 .build());
 
         return Iterators.transform(it, protoMapper::fromProto);
@@ -120,10 +150,31 @@ public class TaskClient extends ClientBase {
         Preconditions.checkNotNull(taskResult, "Task result cannot be null");
         stub.updateTask(
                 TaskServicePb.UpdateTaskRequest.newBuilder()
-                        .setResult(protoMapper.toProto(taskResult))
+                        .setResult(payloadMapper().toProto(taskResult))
                         .build());
     }
 
+    /**
+     * Opens a task stream, on which the server pushes tasks to the worker and acknowledges the task
+     * results sent by the worker. See {@link TaskStreamRunner}.
+     *
+     * @param responseObserver receives the responses of the server
+     * @return the observer the requests of the worker are sent to
+     */
+    StreamObserver<TaskServicePb.TaskStreamRequest> openTaskStream(
+            StreamObserver<TaskServicePb.TaskStreamResponse> responseObserver) {
+        return asyncStub.taskStream(responseObserver);
+    }
+
+    /** @return the mapper writing task results with the payload encoding of this client */
+    ProtoMapper payloadMapper() {
+        return ProtoMapper.forPayloadEncoding(payloadEncoding);
+    }
+
+    TaskServicePb.PayloadEncoding payloadEncodingProto() {
+        return TaskServicePb.PayloadEncoding.valueOf(payloadEncoding.name());
+    }
+
     /**
      * Log execution messages for a task.
      *
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.grpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb;
+
+import com.google.common.base.Preconditions;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Executes the tasks of a task type on a long lived task stream, instead of polling for them.
+ *
+ * <p>The runner advertises as many credits as it has idle threads, and the server pushes tasks as
+ * they become available, up to the advertised credits. The result of each task is sent back on the
+ * stream together with a new credit. When the stream breaks, it is reopened after a delay, and the
+ * results the server has not acknowledged yet are updated with {@link
+ * TaskClient#updateTask(TaskResult)}, as are the results the server failed to update.
+ */
+public class TaskStreamRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStreamRunner.class);
+    private static final ProtoMapper PROTO_MAPPER = ProtoMapper.INSTANCE;
+    private static final long RECONNECT_DELAY_MS = 1000;
+    private static final int UPDATE_RETRY_COUNT = 3;
+
+    private final TaskClient taskClient;
+    private final String taskType;
+    private final String workerId;
+    private final String domain;
+    private final int threadCount;
+    private final Function<Task, TaskResult> worker;
+
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService reconnectExecutorService;
+    private final Map<String, TaskResult> unacknowledgedResults = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private StreamObserver<TaskServicePb.TaskStreamRequest> requestObserver;
+    private int tasksInFlight = 0;
+    private boolean running = false;
+
+    /**
+     * @param taskClient the client used to open the task stream
+     * @param taskType the task type to execute
+     * @param workerId the id of the worker, used for logging
+     * @param domain the domain of the task type, or null
+     * @param threadCount the number of tasks executed concurrently
+     * @param worker executes a task and returns its result
+     */
+    public TaskStreamRunner(
+            TaskClient taskClient,
+            String taskType,
+            String workerId,
+            @Nullable String domain,
+            int threadCount,
+            Function<Task, TaskResult> worker) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(taskType), "Task type cannot be blank");
+        Preconditions.checkArgument(StringUtils.isNotBlank(workerId), "Worker id cannot be blank");
+        Preconditions.checkArgument(threadCount > 0, "Thread count must be greater than 0");
+        this.taskClient = taskClient;
+        this.taskType = taskType;
+        this.workerId = workerId;
+        this.domain = domain;
+        this.threadCount = threadCount;
+        this.worker = worker;
+        this.executorService =
+                Executors.newFixedThreadPool(
+                        threadCount,
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("task-stream-" + taskType + "-%d")
+                                .build());
+        this.reconnectExecutorService =
+                Executors.newSingleThreadScheduledExecutor(
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("task-stream-reconnect-%d")
+                                .daemon(true)
+                                .build());
+    }
+
+    /** Opens the task stream and starts executing the tasks pushed on it. */
+    public synchronized void start() {
+        Preconditions.checkState(!running, "The runner is already started");
+        running = true;
+        connect();
+    }
+
+    /**
+     * Closes the task stream and waits for the tasks in flight to complete.
+     *
+     * @param timeoutMs the maximum time to wait for the tasks in flight
+     */
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        synchronized (this) {
+            running = false;
+            if (requestObserver != null) {
+                requestObserver.onCompleted();
+                requestObserver = null;
+            }
+        }
+        reconnectExecutorService.shutdownNow();
+        executorService.shutdown();
+        executorService.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        updateUnacknowledgedResults();
+    }
+
+    private synchronized void connect() {
+        if (!running) {
+            return;
+        }
+        requestObserver = taskClient.openTaskStream(new ResponseObserver());
+        TaskServicePb.TaskStreamRequest.Builder request =
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setTaskType(taskType)
+                        .setWorkerId(workerId)
+                        .setCredits(threadCount - tasksInFlight)
+                        .setPayloadEncoding(taskClient.payloadEncodingProto());
+        if (domain != null) {
+            request.setDomain(domain);
+        }
+        requestObserver.onNext(request.build());
+    }
+
+    private synchronized void disconnected(Throwable t) {
+        requestObserver = null;
+        if (running) {
+            LOGGER.warn(
+                    "Task stream for {} closed, reconnecting in {} ms",
+                    taskType,
+                    RECONNECT_DELAY_MS,
+                    t);
+            reconnectExecutorService.execute(this::updateUnacknowledgedResults);
+            reconnectExecutorService.schedule(
+                    this::connect, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void execute(Task task) {
+        tasksInFlight++;
+        executorService.execute(() -> complete(executeTask(task)));
+    }
+
+    private TaskResult executeTask(Task task) {
+        try {
+            return worker.apply(task);
+        } catch (Exception e) {
+            LOGGER.error("Unable to execute task: {} of type: {}", task.getTaskId(), taskType, e);
+            TaskResult result = new TaskResult(task);
+            result.setStatus(TaskResult.Status.FAILED);
+            result.setReasonForIncompletion(e.toString());
+            return result;
+        }
+    }
+
+    private void complete(TaskResult result) {
+        unacknowledgedResults.put(result.getTaskId(), result);
+        synchronized (this) {
+            tasksInFlight--;
+            if (requestObserver != null) {
+                // the credit of the completed task is returned with its result
+                requestObserver.onNext(
+                        TaskServicePb.TaskStreamRequest.newBuilder()
+                                .setResult(taskClient.payloadMapper().toProto(result))
+                                .setCredits(1)
+                                .build());
+            }
+        }
+    }
+
+    private void updateUnacknowledgedResults() {
+        List<TaskResult> results = new ArrayList<>(unacknowledgedResults.values());
+        for (TaskResult result : results) {
+            updateTask(result);
+        }
+    }
+
+    /**
+     * Updates a result the server failed to update on the stream with {@link
+     * TaskClient#updateTask(TaskResult)}, retrying after a delay. The result is dropped once all
+     * the retries have failed.
+     */
+    private void retryUpdate(String taskId, int retryCount) {
+        TaskResult result = unacknowledgedResults.get(taskId);
+        if (result == null || updateTask(result)) {
+            return;
+        }
+        if (retryCount >= UPDATE_RETRY_COUNT) {
+            LOGGER.error(
+                    "Giving up updating task: {} of type: {} after {} retries",
+                    taskId,
+                    taskType,
+                    retryCount);
+            unacknowledgedResults.remove(taskId, result);
+            return;
+        }
+        scheduleUpdateRetry(taskId, retryCount + 1);
+    }
+
+    private void scheduleUpdateRetry(String taskId, int retryCount) {
+        try {
+            reconnectExecutorService.schedule(
+                    () -> retryUpdate(taskId, retryCount),
+                    RECONNECT_DELAY_MS * retryCount,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down, the result is updated with the other unacknowledged results
+        }
+    }
+
+    /** @return true if the result is updated */
+    private boolean updateTask(TaskResult result) {
+        try {
+            taskClient.updateTask(result);
+            unacknowledgedResults.remove(result.getTaskId(), result);
+            return true;
+        } catch (Exception e) {
+            LOGGER.error("Unable to update task: {} of type: {}", result.getTaskId(), taskType, e);
+            return false;
+        }
+    }
+
+    private class ResponseObserver implements StreamObserver<TaskServicePb.TaskStreamResponse> {
+
+        @Override
+        public void onNext(TaskServicePb.TaskStreamResponse response) {
+            switch (response.getResponseCase()) {
+                case TASK:
+                    execute(PROTO_MAPPER.fromProto(response.getTask()));
+                    break;
+                case UPDATED:
+                    unacknowledgedResults.remove(response.getUpdated().getTaskId());
+                    break;
+                case UPDATE_ERROR:
+                    LOGGER.error(
+                            "Unable to update task: {} of type: {}: {}",
+                            response.getUpdateError().getTaskId(),
+                            taskType,
+                            response.getUpdateError().getMessage());
+                    // kept until it is updated, as the error may be transient
+                    scheduleUpdateRetry(response.getUpdateError().getTaskId(), 1);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            disconnected(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            disconnected(null);
+        }
+    }
+}
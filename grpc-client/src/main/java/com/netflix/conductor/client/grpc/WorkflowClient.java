@@ -22,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -52,6 +53,30 @@ public class WorkflowClient extends ClientBase {
         return stub.startWorkflow(protoMapper.toProto(startWorkflowRequest)).getWorkflowId();
     }
 
+    /**
+     * Starts the workflows of the given requests in a single call. The workflows are not decided
+     * before the call returns, their first tasks are scheduled by the server shortly after.
+     *
+     * @param startWorkflowRequests the {@link StartWorkflowRequest} objects to start the workflows
+     * @return the {@link BulkStartWorkflowResponse} with the ids of the started workflows and the
+     *     errors, by position of their request
+     */
+    public BulkStartWorkflowResponse startWorkflows(
+            List<StartWorkflowRequest> startWorkflowRequests) {
+        Preconditions.checkArgument(
+                startWorkflowRequests != null && !startWorkflowRequests.isEmpty(),
+                "StartWorkflowRequest list cannot be null or empty");
+        WorkflowServicePb.StartWorkflowsRequest.Builder request =
+                WorkflowServicePb.StartWorkflowsRequest.newBuilder();
+        startWorkflowRequests.forEach(r -> request.addRequests(protoMapper.toProto(r)));
+        WorkflowServicePb.StartWorkflowsResponse response = stub.startWorkflows(request.build());
+
+        BulkStartWorkflowResponse bulkResponse = new BulkStartWorkflowResponse();
+        response.getWorkflowIdsMap().forEach(bulkResponse::appendSuccessResponse);
+        response.getErrorsMap().forEach(bulkResponse::appendFailedResponse);
+        return bulkResponse;
+    }
+
     /**
      * Retrieve a workflow by workflow id
      *
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.grpc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.TaskServiceGrpc;
+import com.netflix.conductor.grpc.TaskServicePb;
+import com.netflix.conductor.proto.TaskPb;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaskStreamRunnerTest {
+
+    private final List<TaskServicePb.TaskStreamRequest> requests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch resultReceived = new CountDownLatch(1);
+    private final CountDownLatch resultUpdated = new CountDownLatch(1);
+    private volatile boolean failStreamUpdates = false;
+
+    private Server server;
+    private TaskClient taskClient;
+
+    @Before
+    public void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server =
+                InProcessServerBuilder.forName(serverName)
+                        .directExecutor()
+                        .addService(new TestTaskService())
+                        .build()
+                        .start();
+        taskClient = new TaskClient(InProcessChannelBuilder.forName(serverName).directExecutor());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        taskClient.shutdown();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testTaskExecutedOnStream() throws Exception {
+        TaskStreamRunner runner =
+                new TaskStreamRunner(
+                        taskClient,
+                        "task_type",
+                        "worker",
+                        null,
+                        2,
+                        task -> {
+                            TaskResult result = new TaskResult(task);
+                            result.setStatus(TaskResult.Status.COMPLETED);
+                            return result;
+                        });
+        runner.start();
+
+        assertTrue(resultReceived.await(5, TimeUnit.SECONDS));
+        runner.shutdown(1000);
+
+        assertEquals("task_type", requests.get(0).getTaskType());
+        assertEquals(2, requests.get(0).getCredits());
+        TaskServicePb.TaskStreamRequest resultRequest = requests.get(1);
+        assertEquals("task_id", resultRequest.getResult().getTaskId());
+        assertEquals(1, resultRequest.getCredits());
+    }
+
+    @Test
+    public void testUpdateErrorRetried() throws Exception {
+        failStreamUpdates = true;
+        TaskStreamRunner runner =
+                new TaskStreamRunner(
+                        taskClient,
+                        "task_type",
+                        "worker",
+                        null,
+                        1,
+                        task -> {
+                            TaskResult result = new TaskResult(task);
+                            result.setStatus(TaskResult.Status.COMPLETED);
+                            return result;
+                        });
+        runner.start();
+
+        // the result the server failed to update on the stream is updated again
+        assertTrue(resultUpdated.await(5, TimeUnit.SECONDS));
+        runner.shutdown(1000);
+    }
+
+    private class TestTaskService extends TaskServiceGrpc.TaskServiceImplBase {
+
+        @Override
+        public StreamObserver<TaskServicePb.TaskStreamRequest> taskStream(
+                StreamObserver<TaskServicePb.TaskStreamResponse> responseObserver) {
+            return new StreamObserver<TaskServicePb.TaskStreamRequest>() {
+                @Override
+                public void onNext(TaskServicePb.TaskStreamRequest request) {
+                    requests.add(request);
+                    if (request.hasResult() && failStreamUpdates) {
+                        responseObserver.onNext(
+                                TaskServicePb.TaskStreamResponse.newBuilder()
+                                        .setUpdateError(
+                                                TaskServicePb.TaskStreamResponse.UpdateTaskError
+                                                        .newBuilder()
+                                                        .setTaskId(request.getResult().getTaskId())
+                                                        .setMessage("unavailable"))
+                                        .build());
+                    } else if (request.hasResult()) {
+                        responseObserver.onNext(
+                                TaskServicePb.TaskStreamResponse.newBuilder()
+                                        .setUpdated(
+                                                TaskServicePb.UpdateTaskResponse.newBuilder()
+                                                        .setTaskId(request.getResult().getTaskId()))
+                                        .build());
+                        resultReceived.countDown();
+                    } else {
+                        responseObserver.onNext(
+                                TaskServicePb.TaskStreamResponse.newBuilder()
+                                        .setTask(
+                                                TaskPb.Task.newBuilder()
+                                                        .setTaskId("task_id")
+                                                        .setTaskType("task_type")
+                                                        .setWorkflowInstanceId("workflow_id"))
+                                        .build());
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {}
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+
+        @Override
+        public void updateTask(
+                TaskServicePb.UpdateTaskRequest request,
+                StreamObserver<TaskServicePb.UpdateTaskResponse> responseObserver) {
+            responseObserver.onNext(
+                    TaskServicePb.UpdateTaskResponse.newBuilder()
+                            .setTaskId(request.getResult().getTaskId())
+                            .build());
+            responseObserver.onCompleted();
+            resultUpdated.countDown();
+        }
+    }
+}
@@ -14,7 +14,18 @@ package com.netflix.conductor.grpc.server.service;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,7 +44,9 @@ import com.netflix.conductor.proto.TaskPb;
 import com.netflix.conductor.service.ExecutionService;
 import com.netflix.conductor.service.TaskService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 @Service("grpcTaskService")
@@ -45,18 +58,68 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
 
     private static final int POLL_TIMEOUT_MS = 100;
     private static final int MAX_POLL_TIMEOUT_MS = 5000;
+    private static final int STREAM_POLL_TIMEOUT_MS = 1000;
+    private static final int STREAM_MAX_POLL_COUNT = 100;
 
     private final TaskService taskService;
     private final int maxSearchSize;
     private final ExecutionService executionService;
+    private final ExecutorService taskStreamExecutorService;
+    private final ScheduledExecutorService taskStreamSchedulerService;
+    private final ProtoMapper structProtoMapper;
+    private final ProtoMapper jsonProtoMapper;
+    private final ProtoMapper cborProtoMapper;
 
     public TaskServiceImpl(
             ExecutionService executionService,
             TaskService taskService,
-            @Value("${workflow.max.search.size:5000}") int maxSearchSize) {
+            ObjectMapper objectMapper,
+            @Value("${workflow.max.search.size:5000}") int maxSearchSize,
+            @Value("${conductor.grpc-server.taskStreamPollThreadCount:20}")
+                    int taskStreamPollThreadCount,
+            @Value("${conductor.grpc-server.taskStreamPollQueueSize:100}")
+                    int taskStreamPollQueueSize) {
         this.executionService = executionService;
         this.taskService = taskService;
         this.maxSearchSize = maxSearchSize;
+        // the task payloads are serialized with the object mapper configured for the server
+        this.structProtoMapper =
+                ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.STRUCT, objectMapper);
+        this.jsonProtoMapper =
+                ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.JSON, objectMapper);
+        this.cborProtoMapper =
+                ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.CBOR, objectMapper);
+        // the polls of the task streams wait for a thread in the queue, and streams whose poll
+        // finds the queue full retry it later
+        BlockingQueue<Runnable> taskStreamPollQueue =
+                taskStreamPollQueueSize > 0
+                        ? new LinkedBlockingQueue<>(taskStreamPollQueueSize)
+                        : new SynchronousQueue<>();
+        ThreadPoolExecutor taskStreamPollExecutor =
+                new ThreadPoolExecutor(
+                        taskStreamPollThreadCount,
+                        taskStreamPollThreadCount,
+                        60,
+                        TimeUnit.SECONDS,
+                        taskStreamPollQueue,
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("grpc-task-stream-%d")
+                                .daemon(true)
+                                .build());
+        taskStreamPollExecutor.allowCoreThreadTimeOut(true);
+        this.taskStreamExecutorService = taskStreamPollExecutor;
+        this.taskStreamSchedulerService =
+                Executors.newSingleThreadScheduledExecutor(
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("grpc-task-stream-scheduler-%d")
+                                .daemon(true)
+                                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskStreamSchedulerService.shutdownNow();
+        taskStreamExecutorService.shutdownNow();
     }
 
     @Override
@@ -71,7 +134,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                             1,
                             POLL_TIMEOUT_MS);
             if (!tasks.isEmpty()) {
-                TaskPb.Task t = PROTO_MAPPER.toProto(tasks.get(0));
+                TaskPb.Task t = protoMapper(req.getPayloadEncoding()).toProto(tasks.get(0));
                 response.onNext(TaskServicePb.PollResponse.newBuilder().setTask(t).build());
             }
             response.onCompleted();
@@ -105,8 +168,9 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                             GRPC_HELPER.optional(req.getDomain()),
                             count,
                             timeout);
-            LOGGER.info("polled tasks: " + polledTasks);
-            polledTasks.stream().map(PROTO_MAPPER::toProto).forEach(response::onNext);
+            LOGGER.debug("polled tasks: {}", polledTasks);
+            ProtoMapper protoMapper = protoMapper(req.getPayloadEncoding());
+            polledTasks.stream().map(protoMapper::toProto).forEach(response::onNext);
             response.onCompleted();
         } catch (Exception e) {
             GRPC_HELPER.onError(response, e);
@@ -118,7 +182,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
             TaskServicePb.UpdateTaskRequest req,
             StreamObserver<TaskServicePb.UpdateTaskResponse> response) {
         try {
-            TaskResult task = PROTO_MAPPER.fromProto(req.getResult());
+            TaskResult task = structProtoMapper.fromProto(req.getResult());
             taskService.updateTask(task);
 
             response.onNext(
@@ -131,6 +195,20 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
         }
     }
 
+    @Override
+    public StreamObserver<TaskServicePb.TaskStreamRequest> taskStream(
+            StreamObserver<TaskServicePb.TaskStreamResponse> response) {
+        return new TaskStreamObserver(
+                executionService,
+                taskService,
+                taskStreamExecutorService,
+                taskStreamSchedulerService,
+                this::protoMapper,
+                (ServerCallStreamObserver<TaskServicePb.TaskStreamResponse>) response,
+                STREAM_MAX_POLL_COUNT,
+                STREAM_POLL_TIMEOUT_MS);
+    }
+
     @Override
     public void addLog(
             TaskServicePb.AddLogRequest req,
@@ -290,4 +368,19 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                         .build());
         response.onCompleted();
     }
+
+    /**
+     * @param payloadEncoding the payload encoding requested by a worker
+     * @return the mapper writing the payloads of the tasks returned to the worker
+     */
+    ProtoMapper protoMapper(TaskServicePb.PayloadEncoding payloadEncoding) {
+        switch (payloadEncoding) {
+            case JSON:
+                return jsonProtoMapper;
+            case CBOR:
+                return cborProtoMapper;
+            default:
+                return structProtoMapper;
+        }
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc.server.service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb;
+import com.netflix.conductor.proto.TaskResultPb;
+import com.netflix.conductor.service.ExecutionService;
+import com.netflix.conductor.service.TaskService;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * The server side of a {@link TaskServicePb.TaskStreamRequest} stream. While the worker has credits
+ * left and the transport is ready to send, the queue of the task type is long polled on the given
+ * executor and the polled tasks are pushed to the worker. A poll which the saturated executor
+ * rejects is retried after the poll timeout. Polled tasks that cannot be pushed because
+ * the stream was closed in the meantime are handed back to the queue. Task results received on the
+ * stream are updated and acknowledged on the same stream.
+ */
+class TaskStreamObserver implements StreamObserver<TaskServicePb.TaskStreamRequest> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStreamObserver.class);
+
+    private final ExecutionService executionService;
+    private final TaskService taskService;
+    private final Executor pollExecutor;
+    private final ScheduledExecutorService pollScheduler;
+    private final Function<TaskServicePb.PayloadEncoding, ProtoMapper> protoMappers;
+    private final ServerCallStreamObserver<TaskServicePb.TaskStreamResponse> responseObserver;
+    private final int maxPollCount;
+    private final int pollTimeoutMs;
+
+    private final AtomicInteger credits = new AtomicInteger();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile boolean closed = false;
+
+    private volatile String taskType;
+    private volatile String workerId;
+    private volatile String domain;
+    private volatile ProtoMapper protoMapper;
+
+    TaskStreamObserver(
+            ExecutionService executionService,
+            TaskService taskService,
+            Executor pollExecutor,
+            ScheduledExecutorService pollScheduler,
+            Function<TaskServicePb.PayloadEncoding, ProtoMapper> protoMappers,
+            ServerCallStreamObserver<TaskServicePb.TaskStreamResponse> responseObserver,
+            int maxPollCount,
+            int pollTimeoutMs) {
+        this.executionService = executionService;
+        this.taskService = taskService;
+        this.pollExecutor = pollExecutor;
+        this.pollScheduler = pollScheduler;
+        this.protoMappers = protoMappers;
+        this.protoMapper = protoMappers.apply(TaskServicePb.PayloadEncoding.STRUCT);
+        this.responseObserver = responseObserver;
+        this.maxPollCount = maxPollCount;
+        this.pollTimeoutMs = pollTimeoutMs;
+        responseObserver.setOnReadyHandler(this::schedulePoll);
+        responseObserver.setOnCancelHandler(() -> closed = true);
+    }
+
+    @Override
+    public void onNext(TaskServicePb.TaskStreamRequest request) {
+        if (taskType == null) {
+            if (StringUtils.isBlank(request.getTaskType())) {
+                closeWithError(
+                        Status.INVALID_ARGUMENT.withDescription(
+                                "The first request of a task stream must set the task type"));
+                return;
+            }
+            workerId = request.getWorkerId();
+            domain = StringUtils.defaultIfBlank(request.getDomain(), null);
+            protoMapper = protoMappers.apply(request.getPayloadEncoding());
+            taskType = request.getTaskType();
+        }
+        if (request.hasResult()) {
+            updateTask(request.getResult());
+        }
+        if (request.getCredits() > 0) {
+            credits.addAndGet(request.getCredits());
+            schedulePoll();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        closed = true;
+        LOGGER.debug("Task stream for {} closed by the worker {}", taskType, workerId, t);
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (responseObserver) {
+            if (!closed) {
+                closed = true;
+                responseObserver.onCompleted();
+            }
+        }
+    }
+
+    private void updateTask(TaskResultPb.TaskResult result) {
+        TaskServicePb.TaskStreamResponse response;
+        try {
+            // any mapper reads the results, whatever the encoding of their payloads
+            TaskResult taskResult = protoMapper.fromProto(result);
+            taskService.updateTask(taskResult);
+            response =
+                    TaskServicePb.TaskStreamResponse.newBuilder()
+                            .setUpdated(
+                                    TaskServicePb.UpdateTaskResponse.newBuilder()
+                                            .setTaskId(taskResult.getTaskId()))
+                            .build();
+        } catch (Exception e) {
+            LOGGER.error("Error updating task {} on a task stream", result.getTaskId(), e);
+            response =
+                    TaskServicePb.TaskStreamResponse.newBuilder()
+                            .setUpdateError(
+                                    TaskServicePb.TaskStreamResponse.UpdateTaskError.newBuilder()
+                                            .setTaskId(result.getTaskId())
+                                            .setMessage(StringUtils.defaultString(e.getMessage())))
+                            .build();
+        }
+        send(response);
+    }
+
+    private void schedulePoll() {
+        if (!closed
+                && taskType != null
+                && credits.get() > 0
+                && responseObserver.isReady()
+                && polling.compareAndSet(false, true)) {
+            submitPoll();
+        }
+    }
+
+    private void submitPoll() {
+        if (closed) {
+            polling.set(false);
+            return;
+        }
+        try {
+            pollExecutor.execute(this::poll);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("No thread to poll {} for a task stream, retrying later", taskType);
+            delay(this::submitPoll, pollTimeoutMs);
+        }
+    }
+
+    private void poll() {
+        if (closed) {
+            polling.set(false);
+            return;
+        }
+        long delayMs = 0;
+        try {
+            long start = System.nanoTime();
+            List<Task> tasks =
+                    executionService.poll(
+                            taskType,
+                            workerId,
+                            domain,
+                            Math.min(credits.get(), maxPollCount),
+                            pollTimeoutMs);
+            for (int i = 0; i < tasks.size(); i++) {
+                credits.decrementAndGet();
+                if (!send(
+                        TaskServicePb.TaskStreamResponse.newBuilder()
+                                .setTask(protoMapper.toProto(tasks.get(i)))
+                                .build())) {
+                    requeue(tasks.subList(i, tasks.size()));
+                    break;
+                }
+            }
+            long remainingMs =
+                    pollTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (tasks.isEmpty() && remainingMs > 0) {
+                // the queue was not long polled, e.g. the task type is rate limited
+                delayMs = remainingMs;
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error polling {} for a task stream", taskType, e);
+            closeWithError(Status.INTERNAL.withDescription(e.getMessage()).withCause(e));
+        }
+        if (delayMs > 0 && !closed) {
+            // wait out the rest of the poll timeout without holding on to a poll thread
+            delay(this::resumePolling, delayMs);
+        } else {
+            resumePolling();
+        }
+    }
+
+    private void delay(Runnable action, long delayMs) {
+        try {
+            pollScheduler.schedule(action, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            closed = true;
+            polling.set(false);
+        }
+    }
+
+    private void resumePolling() {
+        polling.set(false);
+        schedulePoll();
+    }
+
+    /** Hands tasks that were polled for the closed stream back to the queue. */
+    private void requeue(List<Task> tasks) {
+        try {
+            executionService.requeuePolledTasks(tasks);
+        } catch (Exception e) {
+            LOGGER.warn(
+                    "Error requeuing tasks {} polled for a closed task stream",
+                    tasks.stream().map(Task::getTaskId).collect(Collectors.toList()),
+                    e);
+        }
+    }
+
+    /** @return false if the stream is closed and the response was not sent */
+    private boolean send(TaskServicePb.TaskStreamResponse response) {
+        synchronized (responseObserver) {
+            if (closed) {
+                return false;
+            }
+            responseObserver.onNext(response);
+            return true;
+        }
+    }
+
+    private void closeWithError(Status status) {
+        synchronized (responseObserver) {
+            if (!closed) {
+                closed = true;
+                responseObserver.onError(status.asRuntimeException());
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 
 import com.netflix.conductor.common.metadata.workflow.SkipTaskRequest;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -35,6 +36,7 @@ import com.netflix.conductor.grpc.WorkflowServicePb;
 import com.netflix.conductor.proto.RerunWorkflowRequestPb;
 import com.netflix.conductor.proto.StartWorkflowRequestPb;
 import com.netflix.conductor.proto.WorkflowPb;
+import com.netflix.conductor.service.WorkflowBulkService;
 import com.netflix.conductor.service.WorkflowService;
 
 import io.grpc.Status;
@@ -48,12 +50,15 @@ public class WorkflowServiceImpl extends WorkflowServiceGrpc.WorkflowServiceImpl
     private static final GRPCHelper GRPC_HELPER = new GRPCHelper(LOGGER);
 
     private final WorkflowService workflowService;
+    private final WorkflowBulkService workflowBulkService;
     private final int maxSearchSize;
 
     public WorkflowServiceImpl(
             WorkflowService workflowService,
+            WorkflowBulkService workflowBulkService,
             @Value("${workflow.max.search.size:5000}") int maxSearchSize) {
         this.workflowService = workflowService;
+        this.workflowBulkService = workflowBulkService;
         this.maxSearchSize = maxSearchSize;
     }
 
@@ -92,6 +97,29 @@ public class WorkflowServiceImpl extends WorkflowServiceGrpc.WorkflowServiceImpl
         }
     }
 
+    @Override
+    public void startWorkflows(
+            WorkflowServicePb.StartWorkflowsRequest req,
+            StreamObserver<WorkflowServicePb.StartWorkflowsResponse> response) {
+        List<StartWorkflowRequest> requests = new ArrayList<>(req.getRequestsCount());
+        for (StartWorkflowRequestPb.StartWorkflowRequest pbRequest : req.getRequestsList()) {
+            StartWorkflowRequest request = PROTO_MAPPER.fromProto(pbRequest);
+            request.setVersion(GRPC_HELPER.optional(request.getVersion()));
+            requests.add(request);
+        }
+        try {
+            BulkStartWorkflowResponse result = workflowBulkService.startWorkflows(requests);
+            response.onNext(
+                    WorkflowServicePb.StartWorkflowsResponse.newBuilder()
+                            .putAllWorkflowIds(result.getWorkflowIds())
+                            .putAllErrors(result.getErrors())
+                            .build());
+            response.onCompleted();
+        } catch (Exception e) {
+            GRPC_HELPER.onError(response, e);
+        }
+    }
+
     @Override
     public void getWorkflows(
             WorkflowServicePb.GetWorkflowsRequest req,
@@ -12,25 +12,34 @@
  */
 package com.netflix.conductor.grpc.server.service;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.grpc.ProtoMapper;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.TaskServicePb;
 import com.netflix.conductor.proto.TaskPb;
+import com.netflix.conductor.proto.TaskResultPb;
 import com.netflix.conductor.proto.TaskSummaryPb;
 import com.netflix.conductor.service.ExecutionService;
 import com.netflix.conductor.service.TaskService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 import static org.junit.Assert.assertEquals;
@@ -39,6 +48,9 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 public class TaskServiceImplTest {
 
+    private static final ProtoMapper PROTO_MAPPER = ProtoMapper.INSTANCE;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().getObjectMapper();
+
     @Mock private TaskService taskService;
 
     @Mock private ExecutionService executionService;
@@ -48,7 +60,8 @@ public class TaskServiceImplTest {
     @Before
     public void init() {
         initMocks(this);
-        taskServiceImpl = new TaskServiceImpl(executionService, taskService, 5000);
+        taskServiceImpl =
+                new TaskServiceImpl(executionService, taskService, OBJECT_MAPPER, 5000, 20, 100);
     }
 
     @Test
@@ -234,4 +247,134 @@ public class TaskServiceImplTest {
                 TaskPb.Task.newBuilder().setCallbackFromWorker(true).build(),
                 taskSearchResult.getResultsList().get(0));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void taskStreamTest() {
+        ServerCallStreamObserver<TaskServicePb.TaskStreamResponse> responseObserver =
+                mock(ServerCallStreamObserver.class);
+        when(responseObserver.isReady()).thenReturn(true);
+
+        Task task = new Task();
+        task.setTaskId("taskId");
+        when(executionService.poll("taskType", "workerId", null, 1, 1000))
+                .thenReturn(Collections.singletonList(task));
+
+        StreamObserver<TaskServicePb.TaskStreamRequest> requestObserver =
+                taskServiceImpl.taskStream(responseObserver);
+        requestObserver.onNext(
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setTaskType("taskType")
+                        .setWorkerId("workerId")
+                        .setCredits(1)
+                        .build());
+
+        verify(responseObserver, timeout(1000))
+                .onNext(
+                        TaskServicePb.TaskStreamResponse.newBuilder()
+                                .setTask(PROTO_MAPPER.toProto(task))
+                                .build());
+
+        requestObserver.onNext(
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setResult(
+                                TaskResultPb.TaskResult.newBuilder()
+                                        .setTaskId("taskId")
+                                        .setStatus(TaskResultPb.TaskResult.Status.COMPLETED))
+                        .build());
+
+        verify(taskService).updateTask(any(TaskResult.class));
+        verify(responseObserver)
+                .onNext(
+                        TaskServicePb.TaskStreamResponse.newBuilder()
+                                .setUpdated(
+                                        TaskServicePb.UpdateTaskResponse.newBuilder()
+                                                .setTaskId("taskId"))
+                                .build());
+        verify(executionService, times(1)).poll("taskType", "workerId", null, 1, 1000);
+
+        requestObserver.onCompleted();
+        verify(responseObserver).onCompleted();
+        taskServiceImpl.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void taskStreamRequeuesTasksPolledForClosedStreamTest() {
+        ServerCallStreamObserver<TaskServicePb.TaskStreamResponse> responseObserver =
+                mock(ServerCallStreamObserver.class);
+        when(responseObserver.isReady()).thenReturn(true);
+        ArgumentCaptor<Runnable> onCancel = ArgumentCaptor.forClass(Runnable.class);
+
+        Task task1 = new Task();
+        task1.setTaskId("taskId1");
+        Task task2 = new Task();
+        task2.setTaskId("taskId2");
+        List<Task> tasks = Arrays.asList(task1, task2);
+        when(executionService.poll("taskType", "workerId", null, 2, 1000))
+                .thenAnswer(
+                        invocation -> {
+                            // the worker goes away while the queue is polled
+                            onCancel.getValue().run();
+                            return tasks;
+                        });
+
+        StreamObserver<TaskServicePb.TaskStreamRequest> requestObserver =
+                taskServiceImpl.taskStream(responseObserver);
+        verify(responseObserver).setOnCancelHandler(onCancel.capture());
+        requestObserver.onNext(
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setTaskType("taskType")
+                        .setWorkerId("workerId")
+                        .setCredits(2)
+                        .build());
+
+        verify(executionService, timeout(1000)).requeuePolledTasks(tasks);
+        verify(responseObserver, never()).onNext(any());
+        taskServiceImpl.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void taskStreamRetriesPollRejectedBySaturatedExecutorTest() throws Exception {
+        TaskServiceImpl singleThreadServiceImpl =
+                new TaskServiceImpl(executionService, taskService, OBJECT_MAPPER, 5000, 1, 0);
+        ServerCallStreamObserver<TaskServicePb.TaskStreamResponse> responseObserver =
+                mock(ServerCallStreamObserver.class);
+        when(responseObserver.isReady()).thenReturn(true);
+        CountDownLatch busyPollReleased = new CountDownLatch(1);
+        when(executionService.poll("busyType", "workerId", null, 1, 1000))
+                .thenAnswer(
+                        invocation -> {
+                            busyPollReleased.await();
+                            return Collections.emptyList();
+                        });
+
+        StreamObserver<TaskServicePb.TaskStreamRequest> busyObserver =
+                singleThreadServiceImpl.taskStream(responseObserver);
+        busyObserver.onNext(
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setTaskType("busyType")
+                        .setWorkerId("workerId")
+                        .setCredits(1)
+                        .build());
+        verify(executionService, timeout(1000)).poll("busyType", "workerId", null, 1, 1000);
+
+        // the only poll thread is taken, so the poll of the second stream is retried later
+        StreamObserver<TaskServicePb.TaskStreamRequest> requestObserver =
+                singleThreadServiceImpl.taskStream(responseObserver);
+        requestObserver.onNext(
+                TaskServicePb.TaskStreamRequest.newBuilder()
+                        .setTaskType("taskType")
+                        .setWorkerId("workerId")
+                        .setCredits(1)
+                        .build());
+        verify(executionService, after(200).never()).poll("taskType", "workerId", null, 1, 1000);
+
+        busyPollReleased.countDown();
+        busyObserver.onCompleted();
+        verify(executionService, timeout(3000).atLeastOnce())
+                .poll("taskType", "workerId", null, 1, 1000);
+        singleThreadServiceImpl.shutdown();
+    }
 }
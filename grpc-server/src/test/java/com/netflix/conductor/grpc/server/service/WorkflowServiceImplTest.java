@@ -13,26 +13,33 @@
 package com.netflix.conductor.grpc.server.service;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.WorkflowServicePb;
+import com.netflix.conductor.proto.StartWorkflowRequestPb;
 import com.netflix.conductor.proto.WorkflowPb;
 import com.netflix.conductor.proto.WorkflowSummaryPb;
+import com.netflix.conductor.service.WorkflowBulkService;
 import com.netflix.conductor.service.WorkflowService;
 
 import io.grpc.stub.StreamObserver;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -43,12 +50,14 @@ public class WorkflowServiceImplTest {
 
     @Mock private WorkflowService workflowService;
 
+    @Mock private WorkflowBulkService workflowBulkService;
+
     private WorkflowServiceImpl workflowServiceImpl;
 
     @Before
     public void init() {
         initMocks(this);
-        workflowServiceImpl = new WorkflowServiceImpl(workflowService, 5000);
+        workflowServiceImpl = new WorkflowServiceImpl(workflowService, workflowBulkService, 5000);
     }
 
     @SuppressWarnings("unchecked")
@@ -66,6 +75,44 @@ public class WorkflowServiceImplTest {
         verify(workflowService).retryWorkflow(WORKFLOW_ID, RESUME_SUBWORKFLOW_TASKS);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void startWorkflowsTest() {
+        BulkStartWorkflowResponse bulkResponse = new BulkStartWorkflowResponse();
+        bulkResponse.appendSuccessResponse(0, WORKFLOW_ID);
+        bulkResponse.appendFailedResponse(1, "No such workflow");
+        when(workflowBulkService.startWorkflows(anyList())).thenReturn(bulkResponse);
+
+        WorkflowServicePb.StartWorkflowsRequest req =
+                WorkflowServicePb.StartWorkflowsRequest.newBuilder()
+                        .addRequests(
+                                StartWorkflowRequestPb.StartWorkflowRequest.newBuilder()
+                                        .setName("test")
+                                        .setVersion(2))
+                        .addRequests(
+                                StartWorkflowRequestPb.StartWorkflowRequest.newBuilder()
+                                        .setName("unknown"))
+                        .build();
+        StreamObserver<WorkflowServicePb.StartWorkflowsResponse> streamObserver =
+                mock(StreamObserver.class);
+        workflowServiceImpl.startWorkflows(req, streamObserver);
+
+        ArgumentCaptor<List<StartWorkflowRequest>> requestsCaptor =
+                ArgumentCaptor.forClass(List.class);
+        verify(workflowBulkService).startWorkflows(requestsCaptor.capture());
+        List<StartWorkflowRequest> requests = requestsCaptor.getValue();
+        assertEquals(2, requests.size());
+        assertEquals(Integer.valueOf(2), requests.get(0).getVersion());
+        assertNull(requests.get(1).getVersion());
+
+        ArgumentCaptor<WorkflowServicePb.StartWorkflowsResponse> responseCaptor =
+                ArgumentCaptor.forClass(WorkflowServicePb.StartWorkflowsResponse.class);
+        verify(streamObserver).onNext(responseCaptor.capture());
+        verify(streamObserver).onCompleted();
+        assertEquals(WORKFLOW_ID, responseCaptor.getValue().getWorkflowIdsMap().get(0));
+        assertEquals("No such workflow", responseCaptor.getValue().getErrorsMap().get(1));
+    }
+
     @Test
     public void searchExceptionTest() throws InterruptedException {
         CountDownLatch streamAlive = new CountDownLatch(1);
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.proto.TaskPb;
+
+/**
+ * Compares the mapping of a task with a realistic input and output payload (nested objects, lists
+ * of records, strings and numbers) for each {@link ProtoMapper.PayloadEncoding}, including the
+ * serialization of the message, which is what the server and the worker do for every task.
+ *
+ * <p>Run with {@code ./gradlew :conductor-grpc:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoMapperBenchmark {
+
+    @Param({"STRUCT", "JSON", "CBOR"})
+    public ProtoMapper.PayloadEncoding payloadEncoding;
+
+    /** The number of records in the payload lists. */
+    @Param({"10", "100"})
+    public int records;
+
+    private ProtoMapper mapper;
+    private Task task;
+    private byte[] serializedTask;
+
+    @Setup
+    public void setUp() {
+        mapper = ProtoMapper.forPayloadEncoding(payloadEncoding);
+        task = new Task();
+        task.setTaskId("a4c6d4ae-4d0e-4b38-a7a8-cdfeb1d4ffa2");
+        task.setTaskType("http_task");
+        task.setWorkflowInstanceId("0e2f1ad7-10a4-4b5c-8c1b-b33ea3a1c2e8");
+        task.setInputData(payload(records));
+        task.setOutputData(payload(records));
+        serializedTask = mapper.toProto(task).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] toProto() {
+        return mapper.toProto(task).toByteArray();
+    }
+
+    @Benchmark
+    public Task fromProto() throws Exception {
+        return mapper.fromProto(TaskPb.Task.parseFrom(serializedTask));
+    }
+
+    private static Map<String, Object> payload(int records) {
+        List<Object> items = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", "item-" + i);
+            item.put("description", "A description of the item number " + i);
+            item.put("price", i * 1.25);
+            item.put("available", i % 2 == 0);
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("color", "blue");
+            attributes.put("weight", 0.5 * i);
+            item.put("attributes", attributes);
+            items.add(item);
+        }
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("X-Request-Id", "9b1deb4d-3b7d-4bad-9bdd-2b0d7b3dcb6d");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("uri", "http://localhost:8080/api/orders");
+        payload.put("method", "POST");
+        payload.put("headers", headers);
+        payload.put("items", items);
+        payload.put("total", records * 10.0);
+        return payload;
+    }
+}
@@ -1,6 +1,7 @@
 package com.netflix.conductor.grpc;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Value;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.events.EventHandler;
@@ -493,8 +494,12 @@ public abstract class AbstractProtoMapper {
         if (from.getStatus() != null) {
             to.setStatus( toProto( from.getStatus() ) );
         }
-        for (Map.Entry<String, Object> pair : from.getInputData().entrySet()) {
-            to.putInputData( pair.getKey(), toProto( pair.getValue() ) );
+        if (isPayloadEncoded()) {
+            to.setInputDataBytes( toPayload( from.getInputData() ) );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getInputData().entrySet()) {
+                to.putInputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getReferenceTaskName() != null) {
             to.setReferenceTaskName( from.getReferenceTaskName() );
@@ -536,8 +541,12 @@ public abstract class AbstractProtoMapper {
         if (from.getWorkerId() != null) {
             to.setWorkerId( from.getWorkerId() );
         }
-        for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
-            to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+        if (isPayloadEncoded()) {
+            to.setOutputDataBytes( toPayload( from.getOutputData() ) );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
+                to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getWorkflowTask() != null) {
             to.setWorkflowTask( toProto( from.getWorkflowTask() ) );
@@ -578,11 +587,15 @@ public abstract class AbstractProtoMapper {
         Task to = new Task();
         to.setTaskType( from.getTaskType() );
         to.setStatus( fromProto( from.getStatus() ) );
-        Map<String, Object> inputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getInputDataMap().entrySet()) {
-            inputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getInputDataBytes().isEmpty()) {
+            to.setInputData( fromPayload( from.getInputDataBytes() ) );
+        } else {
+            Map<String, Object> inputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getInputDataMap().entrySet()) {
+                inputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setInputData(inputDataMap);
         }
-        to.setInputData(inputDataMap);
         to.setReferenceTaskName( from.getReferenceTaskName() );
         to.setRetryCount( from.getRetryCount() );
         to.setSeq( from.getSeq() );
@@ -605,11 +618,15 @@ public abstract class AbstractProtoMapper {
         to.setReasonForIncompletion( from.getReasonForIncompletion() );
         to.setCallbackAfterSeconds( from.getCallbackAfterSeconds() );
         to.setWorkerId( from.getWorkerId() );
-        Map<String, Object> outputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
-            outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getOutputDataBytes().isEmpty()) {
+            to.setOutputData( fromPayload( from.getOutputDataBytes() ) );
+        } else {
+            Map<String, Object> outputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
+                outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setOutputData(outputDataMap);
         }
-        to.setOutputData(outputDataMap);
         if (from.hasWorkflowTask()) {
             to.setWorkflowTask( fromProto( from.getWorkflowTask() ) );
         }
@@ -821,8 +838,12 @@ public abstract class AbstractProtoMapper {
         if (from.getStatus() != null) {
             to.setStatus( toProto( from.getStatus() ) );
         }
-        for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
-            to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+        if (isPayloadEncoded()) {
+            to.setOutputDataBytes( toPayload( from.getOutputData() ) );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
+                to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getOutputMessage() != null) {
             to.setOutputMessage( toProto( from.getOutputMessage() ) );
@@ -838,11 +859,15 @@ public abstract class AbstractProtoMapper {
         to.setCallbackAfterSeconds( from.getCallbackAfterSeconds() );
         to.setWorkerId( from.getWorkerId() );
         to.setStatus( fromProto( from.getStatus() ) );
-        Map<String, Object> outputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
-            outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getOutputDataBytes().isEmpty()) {
+            to.setOutputData( fromPayload( from.getOutputDataBytes() ) );
+        } else {
+            Map<String, Object> outputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
+                outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setOutputData(outputDataMap);
         }
-        to.setOutputData(outputDataMap);
         if (from.hasOutputMessage()) {
             to.setOutputMessage( fromProto( from.getOutputMessage() ) );
         }
@@ -1365,6 +1390,12 @@ public abstract class AbstractProtoMapper {
 
     public abstract WorkflowTaskPb.WorkflowTask.WorkflowTaskList toProto(List<WorkflowTask> in);
 
+    public abstract ByteString toPayload(Map<String, Object> in);
+
+    public abstract boolean isPayloadEncoded();
+
+    public abstract Map<String, Object> fromPayload(ByteString in);
+
     public abstract List<WorkflowTask> fromProto(WorkflowTaskPb.WorkflowTask.WorkflowTaskList in);
 
     public abstract Value toProto(Object in);
@@ -12,14 +12,21 @@
  */
 package com.netflix.conductor.grpc;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ListValue;
 import com.google.protobuf.NullValue;
 import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.proto.WorkflowTaskPb;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -34,12 +41,127 @@ import java.util.stream.Collectors;
  * The vast majority of the mapping logic is implemented in the autogenerated
  * {@link AbstractProtoMapper} class. This class only implements the custom
  * logic for objects that need to be special cased in the API.
+ *
+ * The dynamic payloads of tasks (their input and output data) are mapped
+ * according to the {@link PayloadEncoding} of the mapper. {@link #INSTANCE}
+ * maps them into {@link Struct} messages, while the mappers returned by
+ * {@link #forPayloadEncoding(PayloadEncoding)} can pre-serialize them into
+ * bytes, which avoids building a {@link Value} tree for every nested field of
+ * large payloads. Pre-serialized payloads are read back by any mapper.
+ *
+ * The payloads are serialized with the {@link ObjectMapper} customized by
+ * {@link ObjectMapperProvider}, unless the mapper is created with the
+ * {@link ObjectMapper} of the application, with
+ * {@link #forPayloadEncoding(PayloadEncoding, ObjectMapper)}.
  */
 public final class ProtoMapper extends AbstractProtoMapper {
-    public static final ProtoMapper INSTANCE = new ProtoMapper();
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapperProvider().getObjectMapper();
+    private static final ObjectMapper CBOR_MAPPER =
+            new ObjectMapperProvider().getObjectMapper(new CBORFactory());
+
+    public static final ProtoMapper INSTANCE =
+            new ProtoMapper(PayloadEncoding.STRUCT, JSON_MAPPER);
+    private static final ProtoMapper JSON_INSTANCE =
+            new ProtoMapper(PayloadEncoding.JSON, JSON_MAPPER);
+    private static final ProtoMapper CBOR_INSTANCE =
+            new ProtoMapper(PayloadEncoding.CBOR, JSON_MAPPER);
     private static final int NO_RETRY_VALUE = -1;
 
-    private ProtoMapper() {}
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE =
+            new TypeReference<Map<String, Object>>() {};
+
+    /**
+     * The representation of the dynamic payloads of tasks in the Protocol
+     * Buffers messages.
+     */
+    public enum PayloadEncoding {
+        /** Mapped into {@link Struct} messages. */
+        STRUCT,
+        /** Pre-serialized as JSON into the payload bytes fields. */
+        JSON,
+        /** Pre-serialized as CBOR into the payload bytes fields. */
+        CBOR
+    }
+
+    private final PayloadEncoding payloadEncoding;
+    private final ObjectMapper jsonMapper;
+
+    private ProtoMapper(PayloadEncoding payloadEncoding, ObjectMapper jsonMapper) {
+        this.payloadEncoding = payloadEncoding;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * @param payloadEncoding the representation of the task payloads
+     * @return the mapper writing task payloads with the given encoding
+     */
+    public static ProtoMapper forPayloadEncoding(PayloadEncoding payloadEncoding) {
+        switch (payloadEncoding) {
+            case JSON:
+                return JSON_INSTANCE;
+            case CBOR:
+                return CBOR_INSTANCE;
+            default:
+                return INSTANCE;
+        }
+    }
+
+    /**
+     * @param payloadEncoding the representation of the task payloads
+     * @param objectMapper the mapper of the JSON payloads, e.g. the one
+     *     configured for the server
+     * @return a mapper writing task payloads with the given encoding
+     */
+    public static ProtoMapper forPayloadEncoding(
+            PayloadEncoding payloadEncoding, ObjectMapper objectMapper) {
+        return new ProtoMapper(payloadEncoding, objectMapper);
+    }
+
+    public PayloadEncoding getPayloadEncoding() {
+        return payloadEncoding;
+    }
+
+    @Override
+    public boolean isPayloadEncoded() {
+        return payloadEncoding != PayloadEncoding.STRUCT;
+    }
+
+    /**
+     * Serialize a task payload with the {@link PayloadEncoding} of this mapper.
+     *
+     * @param payload the input or output data of a task
+     * @return the serialized payload, empty for a null payload
+     */
+    @Override
+    public ByteString toPayload(Map<String, Object> payload) {
+        if (payload == null) {
+            return ByteString.EMPTY;
+        }
+        ObjectMapper mapper = payloadEncoding == PayloadEncoding.CBOR ? CBOR_MAPPER : jsonMapper;
+        try {
+            return ByteString.copyFrom(mapper.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot serialize task payload", e);
+        }
+    }
+
+    /**
+     * Deserialize a task payload written by {@link #toPayload(Map)}, in either
+     * encoding: a JSON object always starts with '{', which is never the first
+     * byte of a CBOR map.
+     *
+     * @param bytes the serialized payload
+     * @return the input or output data of a task
+     */
+    @Override
+    public Map<String, Object> fromPayload(ByteString bytes) {
+        ObjectMapper mapper = bytes.byteAt(0) == '{' ? jsonMapper : CBOR_MAPPER;
+        try {
+            return mapper.readValue(bytes.newInput(), PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot deserialize task payload", e);
+        }
+    }
 
     /**
      * Convert an {@link Object} instance into its equivalent {@link Value}
@@ -12,12 +12,23 @@
  */
 package com.netflix.conductor.grpc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.proto.TaskPb;
+import com.netflix.conductor.proto.TaskResultPb;
 import com.netflix.conductor.proto.WorkflowTaskPb;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class TestProtoMapper {
   private final ProtoMapper mapper = ProtoMapper.INSTANCE;
@@ -43,4 +54,67 @@ public class TestProtoMapper {
     assertEquals(1, mapper.fromProto(taskWith1RetryCount).getRetryCount().intValue());
     assertNull(mapper.fromProto(taskWithNoRetryCount).getRetryCount());
   }
+
+  @Test
+  public void taskPayloadEncodedAsJson() {
+    final ProtoMapper jsonMapper = ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.JSON);
+    final Task task = new Task();
+    task.setInputData(payload());
+    task.setOutputData(payload());
+
+    final TaskPb.Task proto = jsonMapper.toProto(task);
+    assertTrue(proto.getInputDataMap().isEmpty());
+    assertEquals('{', proto.getInputDataBytes().byteAt(0));
+
+    final Task mapped = mapper.fromProto(proto);
+    assertEquals(payload(), mapped.getInputData());
+    assertEquals(payload(), mapped.getOutputData());
+  }
+
+  @Test
+  public void taskResultPayloadEncodedAsCbor() {
+    final ProtoMapper cborMapper = ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.CBOR);
+    final TaskResult taskResult = new TaskResult();
+    taskResult.setOutputData(payload());
+
+    final TaskResultPb.TaskResult proto = cborMapper.toProto(taskResult);
+    assertTrue(proto.getOutputDataMap().isEmpty());
+    assertEquals(payload(), mapper.fromProto(proto).getOutputData());
+  }
+
+  @Test
+  public void taskPayloadEncodedWithGivenObjectMapper() {
+    final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    final ProtoMapper jsonMapper =
+        ProtoMapper.forPayloadEncoding(ProtoMapper.PayloadEncoding.JSON, objectMapper);
+    final Task task = new Task();
+    task.setInputData(payload());
+
+    final TaskPb.Task proto = jsonMapper.toProto(task);
+    assertEquals("{\"amount\":12.5,", proto.getInputDataBytes().toStringUtf8().substring(0, 15));
+    assertEquals(payload(), mapper.fromProto(proto).getInputData());
+  }
+
+  @Test
+  public void taskPayloadMappedAsStruct() {
+    final Task task = new Task();
+    task.setInputData(payload());
+
+    final TaskPb.Task proto = mapper.toProto(task);
+    assertTrue(proto.getInputDataBytes().isEmpty());
+    assertEquals(payload(), mapper.fromProto(proto).getInputData());
+  }
+
+  private static Map<String, Object> payload() {
+    final Map<String, Object> nested = new HashMap<>();
+    nested.put("flag", true);
+    nested.put("items", Arrays.asList("a", "b"));
+    final Map<String, Object> payload = new HashMap<>();
+    payload.put("name", "value");
+    payload.put("amount", 12.5);
+    payload.put("nested", nested);
+    payload.put("missing", null);
+    return payload;
+  }
 }
@@ -46,8 +46,9 @@ public class MySQLConfiguration {
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLExecutionDAO(objectMapper, dataSource);
+    public MySQLExecutionDAO mySqlExecutionDAO(
+            ObjectMapper objectMapper, DataSource dataSource, MySQLQueueDAO mySqlQueueDAO) {
+        return new MySQLExecutionDAO(objectMapper, dataSource, mySqlQueueDAO);
     }
 
     @Bean
@@ -21,6 +21,7 @@ import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -31,7 +32,10 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.utils.ConcurrencyLimitUtils;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
+import com.netflix.conductor.dao.DecideCommit;
+import com.netflix.conductor.dao.DecideCommitDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
@@ -46,13 +50,21 @@ import com.google.common.collect.Lists;
 import static com.netflix.conductor.core.exception.ApplicationException.Code.BACKEND_ERROR;
 
 public class MySQLExecutionDAO extends MySQLBaseDAO
-        implements ExecutionDAO, RateLimitingDAO, PollDataDAO, ConcurrentExecutionLimitDAO {
+        implements ExecutionDAO,
+                RateLimitingDAO,
+                PollDataDAO,
+                ConcurrentExecutionLimitDAO,
+                DecideCommitDAO {
 
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
 
-    public MySQLExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
+    private final MySQLQueueDAO queueDAO;
+
+    public MySQLExecutionDAO(
+            ObjectMapper objectMapper, DataSource dataSource, MySQLQueueDAO queueDAO) {
         super(objectMapper, dataSource);
+        this.queueDAO = queueDAO;
     }
 
     private static String dateStr(Long timeInMs) {
@@ -119,35 +131,40 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         withTransaction(
                 connection -> {
                     for (Task task : tasks) {
-                        validate(task);
+                        if (createTask(connection, task)) {
+                            created.add(task);
+                        }
+                    }
+                });
 
-                        task.setScheduledTime(System.currentTimeMillis());
+        return created;
+    }
 
-                        final String taskKey = taskKey(task);
+    private boolean createTask(Connection connection, Task task) {
+        validate(task);
 
-                        boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
+        task.setScheduledTime(System.currentTimeMillis());
 
-                        if (!scheduledTaskAdded) {
-                            logger.trace(
-                                    "Task already scheduled, skipping the run "
-                                            + task.getTaskId()
-                                            + ", ref="
-                                            + task.getReferenceTaskName()
-                                            + ", key="
-                                            + taskKey);
-                            continue;
-                        }
+        final String taskKey = taskKey(task);
 
-                        insertOrUpdateTaskData(connection, task);
-                        addWorkflowToTaskMapping(connection, task);
-                        addTaskInProgress(connection, task);
-                        updateTask(connection, task);
+        boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
 
-                        created.add(task);
-                    }
-                });
+        if (!scheduledTaskAdded) {
+            logger.trace(
+                    "Task already scheduled, skipping the run "
+                            + task.getTaskId()
+                            + ", ref="
+                            + task.getReferenceTaskName()
+                            + ", key="
+                            + taskKey);
+            return false;
+        }
 
-        return created;
+        insertOrUpdateTaskData(connection, task);
+        addWorkflowToTaskMapping(connection, task);
+        addTaskInProgress(connection, task);
+        updateTask(connection, task);
+        return true;
     }
 
     @Override
@@ -155,6 +172,54 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         withTransaction(connection -> updateTask(connection, task));
     }
 
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        withTransaction(connection -> tasks.forEach(task -> updateTask(connection, task)));
+    }
+
+    /** Persists the decide in one transaction, along with the queue messages it pushes. */
+    @Override
+    public List<Task> commitDecide(DecideCommit commit) {
+        Workflow workflow = commit.getWorkflow();
+        List<Task> tasks = workflow.getTasks();
+        workflow.setTasks(Lists.newLinkedList());
+        try {
+            return getWithRetriedTransactions(
+                    connection -> {
+                        commit.getTasksToUpdate().forEach(task -> updateTask(connection, task));
+                        if (commit.isWorkflowUpdated()) {
+                            insertOrUpdateWorkflow(connection, workflow, true);
+                        }
+                        List<Task> created = new ArrayList<>();
+                        for (Task task : commit.getTasksToCreate()) {
+                            if (createTask(connection, task)) {
+                                created.add(task);
+                            }
+                        }
+                        commit.getMessagesToPush(created)
+                                .forEach(
+                                        message ->
+                                                queueDAO.pushMessage(
+                                                        connection,
+                                                        message.getQueueName(),
+                                                        message.getMessageId(),
+                                                        null,
+                                                        message.getPriority(),
+                                                        message.getOffsetTimeInSecond()));
+                        commit.getMessagesToRemove()
+                                .forEach(
+                                        message ->
+                                                queueDAO.removeMessage(
+                                                        connection,
+                                                        message.getQueueName(),
+                                                        message.getMessageId()));
+                        return created;
+                    });
+        } finally {
+            workflow.setTasks(tasks);
+        }
+    }
+
     /**
      * This is a dummy implementation and this feature is not for Mysql backed Conductor
      *
@@ -212,6 +277,43 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         return rateLimited;
     }
 
+    /**
+     * Reads the in progress count and the order of arrival once per task definition instead of once
+     * per task.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        return ConcurrencyLimitUtils.getTaskIdsExceedingLimit(
+                tasks, this::getTaskIdsExceedingLimit);
+    }
+
+    private Set<String> getTaskIdsExceedingLimit(String taskDefName, List<Task> tasks) {
+        Task firstTask = tasks.get(0);
+        int limit = firstTask.getTaskDefinition().get().concurrencyLimit();
+        long current = getInProgressTaskCount(taskDefName);
+        if (current >= limit) {
+            Monitors.recordTaskConcurrentExecutionLimited(taskDefName, limit);
+            return tasks.stream().map(Task::getTaskId).collect(Collectors.toSet());
+        }
+
+        List<String> tasksInProgressInOrderOfArrival =
+                findAllTasksInProgressInOrderOfArrival(firstTask, limit);
+        Set<String> limitedTaskIds =
+                tasks.stream()
+                        .map(Task::getTaskId)
+                        .filter(taskId -> !tasksInProgressInOrderOfArrival.contains(taskId))
+                        .collect(Collectors.toSet());
+        if (!limitedTaskIds.isEmpty()) {
+            logger.info(
+                    "Task execution count limited. {}, limit {}, current {}",
+                    taskDefName,
+                    limit,
+                    current);
+            Monitors.recordTaskConcurrentExecutionLimited(taskDefName, limit);
+        }
+        return limitedTaskIds;
+    }
+
     @Override
     public boolean removeTask(String taskId) {
         Task task = getTask(taskId);
@@ -285,6 +387,37 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         return insertOrUpdateWorkflow(workflow, false);
     }
 
+    @Override
+    public List<String> createWorkflows(List<Workflow> workflows) {
+        List<List<Task>> tasks = new ArrayList<>(workflows.size());
+        for (Workflow workflow : workflows) {
+            tasks.add(workflow.getTasks());
+            workflow.setTasks(Lists.newLinkedList());
+        }
+
+        try {
+            withTransaction(
+                    tx -> {
+                        for (Workflow workflow : workflows) {
+                            addWorkflow(tx, workflow);
+                            addWorkflowDefToWorkflowMapping(tx, workflow);
+                            if (workflow.getStatus().isTerminal()) {
+                                removePendingWorkflow(
+                                        tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                            } else {
+                                addPendingWorkflow(
+                                        tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                            }
+                        }
+                    });
+        } finally {
+            for (int i = 0; i < workflows.size(); i++) {
+                workflows.get(i).setTasks(tasks.get(i));
+            }
+        }
+        return workflows.stream().map(Workflow::getWorkflowId).collect(Collectors.toList());
+    }
+
     @Override
     public String updateWorkflow(Workflow workflow) {
         return insertOrUpdateWorkflow(workflow, true);
@@ -594,33 +727,30 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
     private String insertOrUpdateWorkflow(Workflow workflow, boolean update) {
         Preconditions.checkNotNull(workflow, "workflow object cannot be null");
 
-        boolean terminal = workflow.getStatus().isTerminal();
-
         List<Task> tasks = workflow.getTasks();
         workflow.setTasks(Lists.newLinkedList());
 
-        withTransaction(
-                tx -> {
-                    if (!update) {
-                        addWorkflow(tx, workflow);
-                        addWorkflowDefToWorkflowMapping(tx, workflow);
-                    } else {
-                        updateWorkflow(tx, workflow);
-                    }
-
-                    if (terminal) {
-                        removePendingWorkflow(
-                                tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-                    } else {
-                        addPendingWorkflow(
-                                tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-                    }
-                });
+        withTransaction(tx -> insertOrUpdateWorkflow(tx, workflow, update));
 
         workflow.setTasks(tasks);
         return workflow.getWorkflowId();
     }
 
+    private void insertOrUpdateWorkflow(Connection tx, Workflow workflow, boolean update) {
+        if (!update) {
+            addWorkflow(tx, workflow);
+            addWorkflowDefToWorkflowMapping(tx, workflow);
+        } else {
+            updateWorkflow(tx, workflow);
+        }
+
+        if (workflow.getStatus().isTerminal()) {
+            removePendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+        } else {
+            addPendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+        }
+    }
+
     private void updateTask(Connection connection, Task task) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
 
@@ -15,8 +15,10 @@ package com.netflix.conductor.mysql.dao;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -96,7 +98,19 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     public List<String> pop(String queueName, int count, int timeout) {
         List<Message> messages =
                 getWithTransactionWithOutErrorPropagation(
-                        tx -> popMessages(tx, queueName, count, timeout));
+                        tx -> popMessages(tx, queueName, count, timeout, false));
+        if (messages == null) {
+            return new ArrayList<>();
+        }
+        return messages.stream().map(Message::getId).collect(Collectors.toList());
+    }
+
+    /** Pops and deletes the messages in a single transaction. */
+    @Override
+    public List<String> popAndAck(String queueName, int count, int timeout) {
+        List<Message> messages =
+                getWithTransactionWithOutErrorPropagation(
+                        tx -> popMessages(tx, queueName, count, timeout, true));
         if (messages == null) {
             return new ArrayList<>();
         }
@@ -107,7 +121,7 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     public List<Message> pollMessages(String queueName, int count, int timeout) {
         List<Message> messages =
                 getWithTransactionWithOutErrorPropagation(
-                        tx -> popMessages(tx, queueName, count, timeout));
+                        tx -> popMessages(tx, queueName, count, timeout, false));
         if (messages == null) {
             return new ArrayList<>();
         }
@@ -261,7 +275,7 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
                 q -> q.addParameter(queueName).addParameter(messageId).exists());
     }
 
-    private void pushMessage(
+    void pushMessage(
             Connection connection,
             String queueName,
             String messageId,
@@ -301,7 +315,7 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         }
     }
 
-    private boolean removeMessage(Connection connection, String queueName, String messageId) {
+    boolean removeMessage(Connection connection, String queueName, String messageId) {
         final String REMOVE_MESSAGE =
                 "DELETE FROM queue_message WHERE queue_name = ? AND message_id = ?";
         return query(
@@ -338,8 +352,12 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
                                         }));
     }
 
+    /**
+     * Marks the available messages as popped, or deletes them when they are acknowledged at the
+     * same time.
+     */
     private List<Message> popMessages(
-            Connection connection, String queueName, int count, int timeout) {
+            Connection connection, String queueName, int count, int timeout, boolean ack) {
         long start = System.currentTimeMillis();
         List<Message> messages = peekMessages(connection, queueName, count);
 
@@ -355,7 +373,9 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         List<Message> poppedMessages = new ArrayList<>();
         for (Message message : messages) {
             final String POP_MESSAGE =
-                    "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
+                    ack
+                            ? "DELETE FROM queue_message WHERE queue_name = ? AND message_id = ? AND popped = false"
+                            : "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
             int result =
                     query(
                             connection,
@@ -389,4 +409,22 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         return queryWithTransaction(
                 EXISTS_QUEUE, q -> q.addParameter(queueName).addParameter(messageId).exists());
     }
+
+    @Override
+    public Set<String> containsMessages(String queueName, List<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final String GET_EXISTING_MESSAGE_IDS =
+                String.format(
+                        "SELECT message_id FROM queue_message WHERE queue_name = ? AND message_id IN (%s)",
+                        Query.generateInBindings(messageIds.size()));
+        return new HashSet<>(
+                queryWithTransaction(
+                        GET_EXISTING_MESSAGE_IDS,
+                        q ->
+                                q.addParameter(queueName)
+                                        .addParameters(messageIds)
+                                        .executeScalarList(String.class)));
+    }
 }
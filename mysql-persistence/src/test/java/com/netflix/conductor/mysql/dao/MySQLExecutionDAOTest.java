@@ -25,14 +25,18 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.QueueUtils;
+import com.netflix.conductor.dao.DecideCommit;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
 import com.netflix.conductor.mysql.config.MySQLConfiguration;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @ContextConfiguration(
         classes = {
@@ -46,6 +50,8 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
 
     @Autowired private MySQLExecutionDAO executionDAO;
 
+    @Autowired private MySQLQueueDAO queueDAO;
+
     @Autowired Flyway flyway;
 
     // clean the database between tests.
@@ -74,6 +80,34 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(10, bycorrelationId.size());
     }
 
+    @Test
+    public void testCommitDecide() {
+        Workflow workflow = createTestWorkflow();
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        List<Task> tasks = workflow.getTasks();
+        tasks.forEach(
+                task -> {
+                    task.setTaskType(task.getTaskDefName());
+                    task.setStatus(Task.Status.SCHEDULED);
+                });
+        executionDAO.createWorkflow(workflow);
+
+        Task task = tasks.get(0);
+        DecideCommit commit =
+                new DecideCommit(workflow).updateWorkflow().createTasks(tasks).queueTask(task);
+        assertEquals(tasks.size(), executionDAO.commitDecide(commit).size());
+        assertEquals(
+                tasks.size(), executionDAO.getTasksForWorkflow(workflow.getWorkflowId()).size());
+        assertEquals(tasks, workflow.getTasks());
+        assertTrue(queueDAO.containsMessage(QueueUtils.getQueueName(task), task.getTaskId()));
+
+        // the tasks already scheduled are skipped along with their messages
+        queueDAO.remove(QueueUtils.getQueueName(task), task.getTaskId());
+        commit = new DecideCommit(workflow).createTasks(tasks).queueTask(task);
+        assertTrue(executionDAO.commitDecide(commit).isEmpty());
+        assertEquals(0, queueDAO.getSize(QueueUtils.getQueueName(task)));
+    }
+
     @Override
     public ExecutionDAO getExecutionDAO() {
         return executionDAO;
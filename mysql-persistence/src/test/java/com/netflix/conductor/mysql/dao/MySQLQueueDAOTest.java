@@ -146,6 +146,22 @@ public class MySQLQueueDAOTest {
         assertEquals(0, size);
     }
 
+    @Test
+    public void popAndAckTest() {
+        String queueName = "TestQueue";
+        for (int i = 0; i < 10; i++) {
+            queueDAO.push(queueName, "msg" + i, 0);
+        }
+
+        List<String> popped = queueDAO.popAndAck(queueName, 4, 100);
+        assertEquals(4, popped.size());
+
+        Map<String, Map<String, Map<String, Long>>> verbose = queueDAO.queuesDetailVerbose();
+        assertEquals(6, verbose.get(queueName).get("a").get("size").longValue());
+        assertEquals(0, verbose.get(queueName).get("a").get("uacked").longValue());
+        popped.forEach(messageId -> assertFalse(queueDAO.containsMessage(queueName, messageId)));
+    }
+
     /** Test fix for https://github.com/Netflix/conductor/issues/1892 */
     @Test
     public void containsMessageTest() {
@@ -65,8 +65,9 @@ public class PostgresConfiguration {
 
     @Bean
     @DependsOn({"flywayForPrimaryDb"})
-    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper) {
-        return new PostgresExecutionDAO(objectMapper, dataSource);
+    public PostgresExecutionDAO postgresExecutionDAO(
+            ObjectMapper objectMapper, PostgresQueueDAO postgresQueueDAO) {
+        return new PostgresExecutionDAO(objectMapper, dataSource, postgresQueueDAO);
     }
 
     @Bean
@@ -16,8 +16,10 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -100,12 +102,24 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 .collect(Collectors.toList());
     }
 
+    /** Pops and deletes the messages in a single transaction per slice. */
+    @Override
+    public List<String> popAndAck(String queueName, int count, int timeout) {
+        return pollMessages(queueName, count, timeout, true).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Message> pollMessages(String queueName, int count, int timeout) {
+        return pollMessages(queueName, count, timeout, false);
+    }
+
+    private List<Message> pollMessages(String queueName, int count, int timeout, boolean ack) {
         if (timeout < 1) {
             List<Message> messages =
                     getWithTransactionWithOutErrorPropagation(
-                            tx -> popMessages(tx, queueName, count, timeout));
+                            tx -> popMessages(tx, queueName, count, timeout, ack));
             if (messages == null) {
                 return new ArrayList<>();
             }
@@ -118,7 +132,9 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         while (true) {
             List<Message> messagesSlice =
                     getWithTransactionWithOutErrorPropagation(
-                            tx -> popMessages(tx, queueName, count - messages.size(), timeout));
+                            tx ->
+                                    popMessages(
+                                            tx, queueName, count - messages.size(), timeout, ack));
             if (messagesSlice == null) {
                 logger.warn(
                         "Unable to poll {} messages from {} due to tx conflict, only {} popped",
@@ -348,7 +364,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 q -> q.addParameter(queueName).addParameter(messageId).exists());
     }
 
-    private void pushMessage(
+    void pushMessage(
             Connection connection,
             String queueName,
             String messageId,
@@ -388,7 +404,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         }
     }
 
-    private boolean removeMessage(Connection connection, String queueName, String messageId) {
+    boolean removeMessage(Connection connection, String queueName, String messageId) {
         final String REMOVE_MESSAGE =
                 "DELETE FROM queue_message WHERE queue_name = ? AND message_id = ?";
         return query(
@@ -425,8 +441,12 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                                         }));
     }
 
+    /**
+     * Marks the available messages as popped, or deletes them when they are acknowledged at the
+     * same time.
+     */
     private List<Message> popMessages(
-            Connection connection, String queueName, int count, int timeout) {
+            Connection connection, String queueName, int count, int timeout, boolean ack) {
         List<Message> messages = peekMessages(connection, queueName, count);
 
         if (messages.isEmpty()) {
@@ -436,7 +456,9 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         List<Message> poppedMessages = new ArrayList<>();
         for (Message message : messages) {
             final String POP_MESSAGE =
-                    "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
+                    ack
+                            ? "DELETE FROM queue_message WHERE queue_name = ? AND message_id = ? AND popped = false"
+                            : "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
             int result =
                     query(
                             connection,
@@ -458,6 +480,24 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         return getWithRetriedTransactions(tx -> existsMessage(tx, queueName, messageId));
     }
 
+    @Override
+    public Set<String> containsMessages(String queueName, List<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final String GET_EXISTING_MESSAGE_IDS =
+                String.format(
+                        "SELECT message_id FROM queue_message WHERE queue_name = ? AND message_id IN (%s)",
+                        Query.generateInBindings(messageIds.size()));
+        return new HashSet<>(
+                queryWithTransaction(
+                        GET_EXISTING_MESSAGE_IDS,
+                        q ->
+                                q.addParameter(queueName)
+                                        .addParameters(messageIds)
+                                        .executeScalarList(String.class)));
+    }
+
     private void createQueueIfNotExists(Connection connection, String queueName) {
         logger.trace("Creating new queue '{}'", queueName);
         final String EXISTS_QUEUE =
@@ -12,7 +12,11 @@
  */
 package com.netflix.conductor.redis.limit;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -20,12 +24,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.annotations.Trace;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.utils.ConcurrencyLimitUtils;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.redis.limit.config.RedisConcurrentExecutionLimitProperties;
@@ -41,6 +48,32 @@ public class RedisConcurrentExecutionLimitDAO implements ConcurrentExecutionLimi
             LoggerFactory.getLogger(RedisConcurrentExecutionLimitDAO.class);
     private static final String CLASS_NAME = RedisConcurrentExecutionLimitDAO.class.getSimpleName();
 
+    /**
+     * Evaluates a batch of task ids against the set of a single task definition in one round trip.
+     * Free slots are handed out in argument order, so that the batch is not admitted beyond the
+     * limit before the admitted tasks are added to the set.
+     *
+     * <p>KEYS[1] is the set, ARGV[1] the limit and ARGV[2..n] the task ids. Returns 1 for every
+     * task id that exceeds the limit and 0 otherwise.
+     */
+    private static final RedisScript<List> EXCEEDS_LIMIT_SCRIPT =
+            new DefaultRedisScript<>(
+                    "local size = redis.call('SCARD', KEYS[1]) "
+                            + "local limit = tonumber(ARGV[1]) "
+                            + "local result = {} "
+                            + "for i = 2, #ARGV do "
+                            + "  if redis.call('SISMEMBER', KEYS[1], ARGV[i]) == 1 then "
+                            + "    result[i - 1] = 0 "
+                            + "  elseif size < limit then "
+                            + "    size = size + 1 "
+                            + "    result[i - 1] = 0 "
+                            + "  else "
+                            + "    result[i - 1] = 1 "
+                            + "  end "
+                            + "end "
+                            + "return result",
+                    List.class);
+
     private final StringRedisTemplate stringRedisTemplate;
     private final RedisConcurrentExecutionLimitProperties properties;
 
@@ -160,6 +193,65 @@ public class RedisConcurrentExecutionLimitDAO implements ConcurrentExecutionLimi
         }
     }
 
+    /**
+     * Checks the batch of {@link Task}s with one script execution per {@link TaskDef}, instead of
+     * two round trips per task.
+     *
+     * @param tasks The {@link Task}s to be evaluated, in poll order.
+     * @return ids of the tasks which are not in the set and would not fit within the {@link
+     *     TaskDef#concurrencyLimit()}.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        return ConcurrencyLimitUtils.getTaskIdsExceedingLimit(
+                tasks, this::getTaskIdsExceedingLimit);
+    }
+
+    private Set<String> getTaskIdsExceedingLimit(String taskDefName, List<Task> tasks) {
+        Task firstTask = tasks.get(0);
+        int limit = firstTask.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+        try {
+            Monitors.recordDaoRequests(
+                    CLASS_NAME,
+                    "getTaskIdsExceedingLimit",
+                    firstTask.getTaskType(),
+                    firstTask.getWorkflowType());
+            String keyName = createKeyName(taskDefName);
+
+            List<String> args = new ArrayList<>(tasks.size() + 1);
+            args.add(String.valueOf(limit));
+            tasks.forEach(task -> args.add(task.getTaskId()));
+
+            List<?> result =
+                    stringRedisTemplate.execute(
+                            EXCEEDS_LIMIT_SCRIPT, List.of(keyName), args.toArray());
+
+            Set<String> limitedTaskIds = new HashSet<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                if (result != null && ((Number) result.get(i)).longValue() == 1) {
+                    limitedTaskIds.add(tasks.get(i).getTaskId());
+                }
+            }
+
+            LOGGER.debug(
+                    "{} of {} tasks exceed the limit: {} of {}",
+                    limitedTaskIds.size(),
+                    tasks.size(),
+                    limit,
+                    keyName);
+
+            return limitedTaskIds;
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "getTaskIdsExceedingLimit");
+            String errorMsg =
+                    String.format(
+                            "Failed to get in progress limit - %s for %d tasks",
+                            taskDefName, tasks.size());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg);
+        }
+    }
+
     private String createKeyName(String taskDefName) {
         StringBuilder builder = new StringBuilder();
         String namespace = properties.getNamespace();
@@ -152,6 +152,25 @@ class RedisConcurrentExecutionLimitDAOSpec extends Specification {
         retVal
     }
 
+    def "verify getTaskIdsExceedingLimit hands out the free slots to the batch in order"() {
+        given:
+        def taskDefName = 'task_def_name1'
+        def keyName = "${properties.namespace}:$taskDefName" as String
+        def workflowTask = new WorkflowTask(taskDefinition: new TaskDef(concurrentExecLimit: 3))
+
+        def tasks = ['taskId2', 'task1', 'task2', 'task3'].collect {
+            new Task(taskId: it, taskDefName: taskDefName, workflowTask: workflowTask)
+        }
+
+        redisTemplate.opsForSet().add(keyName, 'taskId2')
+
+        when:
+        def limitedTaskIds = dao.getTaskIdsExceedingLimit(tasks)
+
+        then:
+        limitedTaskIds == ['task3'] as Set
+    }
+
     def "verify createKeyName ignores namespace if its not present"() {
         given:
         def dao = new RedisConcurrentExecutionLimitDAO(null, conductorProperties)
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.redis.dynoqueue.RedisQueuesShardingStrategyProvider.LocalOnlyStrategy;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.dyno.connectionpool.Host;
+import com.netflix.dyno.queues.ShardSupplier;
+import com.netflix.dyno.queues.redis.RedisQueues;
+
+/**
+ * Compares the {@link QueueDAO} of the in memory database, {@link InMemoryQueueDAO}, with {@link
+ * DynoQueueDAO} running against {@link JedisMock}, which the in memory database used before. Every
+ * queue holds a backlog of delayed messages, which the sorted structures have to skip.
+ *
+ * <p>Run with {@code ./gradlew :conductor-redis-persistence:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueDAOBenchmark {
+
+    private static final String QUEUE_NAME = "benchmark_queue";
+
+    /** The queue implementation, {@code memory} for the native one and {@code dyno} for dyno. */
+    @Param({"memory", "dyno"})
+    public String implementation;
+
+    /** The number of messages pushed, popped and acked by each invocation. */
+    @Param({"1", "10"})
+    public int batchSize;
+
+    /** The number of delayed messages kept in the queue. */
+    @Param({"1000"})
+    public int backlog;
+
+    private final AtomicLong messageIdSequence = new AtomicLong();
+    private QueueDAO queueDAO;
+
+    @Setup
+    public void setUp() {
+        if (implementation.equals("memory")) {
+            queueDAO = new InMemoryQueueDAO();
+        } else {
+            JedisMock jedisMock = new JedisMock();
+            ShardSupplier shardSupplier =
+                    new ShardSupplier() {
+
+                        @Override
+                        public Set<String> getQueueShards() {
+                            return Collections.singleton("a");
+                        }
+
+                        @Override
+                        public String getCurrentShard() {
+                            return "a";
+                        }
+
+                        @Override
+                        public String getShardForHost(Host host) {
+                            return "a";
+                        }
+                    };
+            queueDAO =
+                    new DynoQueueDAO(
+                            new RedisQueues(
+                                    jedisMock,
+                                    jedisMock,
+                                    "",
+                                    shardSupplier,
+                                    60_000,
+                                    60_000,
+                                    new LocalOnlyStrategy(shardSupplier)));
+        }
+        for (int i = 0; i < backlog; i++) {
+            queueDAO.push(QUEUE_NAME, "delayed-" + i, TimeUnit.HOURS.toSeconds(1));
+        }
+    }
+
+    @Benchmark
+    public List<String> pushPopAck() {
+        for (int i = 0; i < batchSize; i++) {
+            queueDAO.push(QUEUE_NAME, "message-" + messageIdSequence.incrementAndGet(), 0);
+        }
+        List<String> messageIds = queueDAO.pop(QUEUE_NAME, batchSize, 0);
+        messageIds.forEach(messageId -> queueDAO.ack(QUEUE_NAME, messageId));
+        return messageIds;
+    }
+
+    @Benchmark
+    public boolean containsMessage() {
+        return queueDAO.containsMessage(
+                QUEUE_NAME, "delayed-" + (messageIdSequence.incrementAndGet() % backlog));
+    }
+}
@@ -90,6 +90,7 @@ public class RedisCommonConfiguration {
     }
 
     @Bean
+    @Conditional(RedisQueuesCondition.class)
     public RedisQueues redisQueues(
             @Qualifier(DEFAULT_CLIENT_INJECTION_NAME) JedisCommands jedisCommands,
             @Qualifier(READ_CLIENT_INJECTION_NAME) JedisCommands jedisCommandsRead,
@@ -94,6 +94,47 @@ public class RedisProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration eventExecutionPersistenceTTL = Duration.ofSeconds(60);
 
+    /**
+     * The number of rate limit tokens a server leases from Redis at once and then hands out
+     * locally. A value of 1 checks Redis for every task, larger values trade fairness between
+     * servers for fewer round trips.
+     */
+    private int taskRateLimitLeaseSize = 1;
+
+    /**
+     * The interval in milliseconds at which the last poll data aggregated in memory is written to
+     * Redis. At most one write per task queue and domain happens in an interval. A value of 0
+     * writes the poll data on every poll.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollDataFlushInterval = Duration.ZERO;
+
+    /**
+     * The time in milliseconds for which poll data read from Redis is served from memory, e.g. when
+     * resolving the active domain of a task. A value of 0 reads Redis every time.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollDataCacheValidityPeriod = Duration.ZERO;
+
+    /**
+     * Whether the keys holding a workflow and its tasks carry the workflow id as a hash tag, so
+     * that Redis Cluster keeps them in the same slot and a workflow is loaded from a single node.
+     * Existing keys have to be migrated with {@link #isMigrateWorkflowKeys()} before the servers
+     * are restarted with this turned on.
+     */
+    private boolean hashTagWorkflowKeys = false;
+
+    /**
+     * Whether the server migrates the keys of the existing workflows to the hash tagged layout of
+     * {@link #isHashTagWorkflowKeys()} once started, and then exits. See {@link
+     * com.netflix.conductor.redis.dao.RedisExecutionKeyMigrationRunner}.
+     */
+    private boolean migrateWorkflowKeys = false;
+
+    /** The workflows created within this period before the key migration are migrated. */
+    @DurationUnit(ChronoUnit.DAYS)
+    private Duration workflowKeyMigrationPeriod = Duration.ofDays(365);
+
     public String getDataCenterRegion() {
         return dataCenterRegion;
     }
@@ -206,6 +247,54 @@ public class RedisProperties {
         this.eventExecutionPersistenceTTL = eventExecutionPersistenceTTL;
     }
 
+    public int getTaskRateLimitLeaseSize() {
+        return taskRateLimitLeaseSize;
+    }
+
+    public void setTaskRateLimitLeaseSize(int taskRateLimitLeaseSize) {
+        this.taskRateLimitLeaseSize = taskRateLimitLeaseSize;
+    }
+
+    public Duration getPollDataFlushInterval() {
+        return pollDataFlushInterval;
+    }
+
+    public void setPollDataFlushInterval(Duration pollDataFlushInterval) {
+        this.pollDataFlushInterval = pollDataFlushInterval;
+    }
+
+    public Duration getPollDataCacheValidityPeriod() {
+        return pollDataCacheValidityPeriod;
+    }
+
+    public void setPollDataCacheValidityPeriod(Duration pollDataCacheValidityPeriod) {
+        this.pollDataCacheValidityPeriod = pollDataCacheValidityPeriod;
+    }
+
+    public boolean isHashTagWorkflowKeys() {
+        return hashTagWorkflowKeys;
+    }
+
+    public void setHashTagWorkflowKeys(boolean hashTagWorkflowKeys) {
+        this.hashTagWorkflowKeys = hashTagWorkflowKeys;
+    }
+
+    public boolean isMigrateWorkflowKeys() {
+        return migrateWorkflowKeys;
+    }
+
+    public void setMigrateWorkflowKeys(boolean migrateWorkflowKeys) {
+        this.migrateWorkflowKeys = migrateWorkflowKeys;
+    }
+
+    public Duration getWorkflowKeyMigrationPeriod() {
+        return workflowKeyMigrationPeriod;
+    }
+
+    public void setWorkflowKeyMigrationPeriod(Duration workflowKeyMigrationPeriod) {
+        this.workflowKeyMigrationPeriod = workflowKeyMigrationPeriod;
+    }
+
     public String getQueuePrefix() {
         String prefix = getQueueNamespacePrefix() + "." + conductorProperties.getStack();
         if (getKeyspaceDomain() != null) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.config;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Matches the database types which keep the queues in Redis with dyno-queues. The in memory
+ * database keeps them in {@link com.netflix.conductor.redis.dao.InMemoryQueueDAO} instead.
+ */
+public class RedisQueuesCondition extends AnyNestedCondition {
+
+    public RedisQueuesCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(name = "conductor.db.type", havingValue = "dynomite")
+    static class DynomiteClusterCondition {}
+
+    @ConditionalOnProperty(name = "conductor.db.type", havingValue = "redis_cluster")
+    static class RedisClusterConfiguration {}
+
+    @ConditionalOnProperty(name = "conductor.db.type", havingValue = "redis_sentinel")
+    static class RedisSentinelConfiguration {}
+
+    @ConditionalOnProperty(name = "conductor.db.type", havingValue = "redis_standalone")
+    static class RedisStandaloneConfiguration {}
+}
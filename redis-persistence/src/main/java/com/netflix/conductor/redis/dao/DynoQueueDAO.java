@@ -23,13 +23,13 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.dao.QueueDAO;
-import com.netflix.conductor.redis.config.AnyRedisCondition;
+import com.netflix.conductor.redis.config.RedisQueuesCondition;
 import com.netflix.dyno.queues.DynoQueue;
 import com.netflix.dyno.queues.Message;
 import com.netflix.dyno.queues.redis.RedisQueues;
 
 @Component
-@Conditional(AnyRedisCondition.class)
+@Conditional(RedisQueuesCondition.class)
 public class DynoQueueDAO implements QueueDAO {
 
     private final RedisQueues queues;
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.utils.InMemoryDelayQueue;
+import com.netflix.conductor.core.utils.InMemoryDelayQueue.QueuedMessage;
+import com.netflix.conductor.dao.QueueDAO;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The {@link QueueDAO} of the in memory database, which keeps each queue in an {@link
+ * InMemoryDelayQueue} instead of running the dyno-queues Redis commands against an emulated Redis.
+ *
+ * <p>Due messages are handed out in the order of the dyno-queues: by delivery time, and by priority
+ * within the same millisecond, the lowest value first. A popped message is handed out again if it
+ * is not acknowledged within the unack timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "conductor.db.type", havingValue = "memory")
+public class InMemoryQueueDAO implements QueueDAO {
+
+    /** The unack timeout the dyno-queues of the other database types are configured with. */
+    private static final long UNACK_TIMEOUT_MS = 60_000;
+
+    private final Map<String, InMemoryDelayQueue> queues = new ConcurrentHashMap<>();
+
+    @Override
+    public void push(String queueName, String id, long offsetTimeInSecond) {
+        push(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    @Override
+    public void push(String queueName, String id, int priority, long offsetTimeInSecond) {
+        getQueue(queueName)
+                .schedule(
+                        id, priority, null, System.currentTimeMillis() + offsetTimeInSecond * 1000);
+    }
+
+    @Override
+    public void push(String queueName, List<Message> messages) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        long now = System.currentTimeMillis();
+        synchronized (queue) {
+            for (Message message : messages) {
+                queue.schedule(message.getId(), message.getPriority(), message.getPayload(), now);
+            }
+        }
+    }
+
+    @Override
+    public boolean pushIfNotExists(String queueName, String id, long offsetTimeInSecond) {
+        return pushIfNotExists(queueName, id, 0, offsetTimeInSecond);
+    }
+
+    @Override
+    public boolean pushIfNotExists(
+            String queueName, String id, int priority, long offsetTimeInSecond) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        synchronized (queue) {
+            if (queue.contains(id)) {
+                return false;
+            }
+            queue.schedule(
+                    id, priority, null, System.currentTimeMillis() + offsetTimeInSecond * 1000);
+            return true;
+        }
+    }
+
+    @Override
+    public List<String> pop(String queueName, int count, int timeout) {
+        return pollMessages(queueName, count, timeout).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
+    /** Removes the messages as they are popped, instead of tracking them until they are acked. */
+    @Override
+    public List<String> popAndAck(String queueName, int count, int timeout) {
+        return getQueue(queueName).poll(count, timeout, -1).stream()
+                .map(Message::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Message> pollMessages(String queueName, int count, int timeout) {
+        return getQueue(queueName).poll(count, timeout, UNACK_TIMEOUT_MS);
+    }
+
+    @Override
+    public void remove(String queueName, String messageId) {
+        getQueue(queueName).remove(messageId);
+    }
+
+    @Override
+    public int getSize(String queueName) {
+        return getQueue(queueName).size();
+    }
+
+    @Override
+    public boolean ack(String queueName, String messageId) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        synchronized (queue) {
+            QueuedMessage message = queue.get(messageId);
+            if (message == null || !message.isUnacked()) {
+                return false;
+            }
+            queue.remove(messageId);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean setUnackTimeout(String queueName, String messageId, long unackTimeout) {
+        return getQueue(queueName).setUnackTimeout(messageId, unackTimeout);
+    }
+
+    @Override
+    public void flush(String queueName) {
+        InMemoryDelayQueue queue = queues.get(queueName);
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public Map<String, Long> queuesDetail() {
+        return queues.keySet().stream()
+                .collect(Collectors.toMap(queueName -> queueName, name -> (long) getSize(name)));
+    }
+
+    @Override
+    public Map<String, Map<String, Map<String, Long>>> queuesDetailVerbose() {
+        Map<String, Map<String, Map<String, Long>>> result = new HashMap<>();
+        queues.forEach(
+                (queueName, queue) -> {
+                    long size;
+                    long unacked;
+                    synchronized (queue) {
+                        size = queue.size();
+                        unacked = queue.unackedSize();
+                    }
+                    // sharding not implemented, returning only one shard with all the info
+                    result.put(
+                            queueName,
+                            ImmutableMap.of("a", ImmutableMap.of("size", size, "uacked", unacked)));
+                });
+        return result;
+    }
+
+    @Override
+    public void processUnacks(String queueName) {
+        getQueue(queueName).processUnacks();
+    }
+
+    @Override
+    public boolean resetOffsetTime(String queueName, String id) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        synchronized (queue) {
+            QueuedMessage message = queue.get(id);
+            if (message == null || message.isUnacked()) {
+                return false;
+            }
+            queue.schedule(
+                    id, message.getPriority(), message.getPayload(), System.currentTimeMillis());
+            return true;
+        }
+    }
+
+    @Override
+    public boolean containsMessage(String queueName, String messageId) {
+        return getQueue(queueName).contains(messageId);
+    }
+
+    @Override
+    public Set<String> containsMessages(String queueName, List<String> messageIds) {
+        InMemoryDelayQueue queue = getQueue(queueName);
+        synchronized (queue) {
+            return messageIds.stream().filter(queue::contains).collect(Collectors.toSet());
+        }
+    }
+
+    private InMemoryDelayQueue getQueue(String queueName) {
+        return queues.computeIfAbsent(queueName, name -> new InMemoryDelayQueue());
+    }
+}
@@ -18,13 +18,20 @@ import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Conditional;
@@ -38,6 +45,7 @@ import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.utils.ConcurrencyLimitUtils;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.metrics.Monitors;
@@ -48,6 +56,8 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 @Component
 @Conditional(AnyRedisCondition.class)
@@ -61,15 +71,24 @@ public class RedisExecutionDAO extends BaseDynoDAO
     private static final String IN_PROGRESS_TASKS = "IN_PROGRESS_TASKS";
     private static final String TASKS_IN_PROGRESS_STATUS =
             "TASKS_IN_PROGRESS_STATUS"; // Tasks which are in IN_PROGRESS status.
-    private static final String WORKFLOW_TO_TASKS = "WORKFLOW_TO_TASKS";
-    private static final String SCHEDULED_TASKS = "SCHEDULED_TASKS";
-    private static final String TASK = "TASK";
-    private static final String WORKFLOW = "WORKFLOW";
+    static final String WORKFLOW_TO_TASKS = "WORKFLOW_TO_TASKS";
+    static final String SCHEDULED_TASKS = "SCHEDULED_TASKS";
+    static final String TASK = "TASK";
+    static final String TASK_WORKFLOW = "TASK_WORKFLOW";
+    static final String WORKFLOW = "WORKFLOW";
     private static final String PENDING_WORKFLOWS = "PENDING_WORKFLOWS";
-    private static final String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
+    static final String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
     private static final String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
     private static final String EVENT_EXECUTION = "EVENT_EXECUTION";
+    private static final int TASK_WORKFLOW_CACHE_SIZE = 10_000;
     private final int ttlEventExecutionSeconds;
+    private final boolean hashTagWorkflowKeys;
+
+    /**
+     * The workflow ids of the tasks, which are needed to build the task keys when these are hash
+     * tagged. A task never moves to another workflow, so the entries are never stale.
+     */
+    private final Cache<String, String> taskWorkflowIds;
 
     public RedisExecutionDAO(
             JedisProxy jedisProxy,
@@ -79,6 +98,8 @@ public class RedisExecutionDAO extends BaseDynoDAO
         super(jedisProxy, objectMapper, conductorProperties, properties);
 
         ttlEventExecutionSeconds = (int) properties.getEventExecutionPersistenceTTL().getSeconds();
+        hashTagWorkflowKeys = properties.isHashTagWorkflowKeys();
+        taskWorkflowIds = CacheBuilder.newBuilder().maximumSize(TASK_WORKFLOW_CACHE_SIZE).build();
     }
 
     private static String dateStr(Long timeInMs) {
@@ -91,7 +112,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return format.format(date);
     }
 
-    private static List<String> dateStrBetweenDates(Long startdatems, Long enddatems) {
+    static List<String> dateStrBetweenDates(Long startdatems, Long enddatems) {
         List<String> dates = new ArrayList<>();
         Calendar calendar = new GregorianCalendar();
         Date startdate = new Date(startdatems);
@@ -105,6 +126,52 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return dates;
     }
 
+    /**
+     * Builds the key of the given family for a workflow. When hash tagged, the workflow id is
+     * wrapped in braces, so that a Redis Cluster maps all the keys of the workflow to one slot.
+     */
+    String workflowKey(String keyFamily, String workflowId, boolean hashTagged) {
+        return nsKey(keyFamily, hashTagged ? hashTag(workflowId) : workflowId);
+    }
+
+    /** Builds the key of a task, which shares the slot of its workflow when hash tagged. */
+    String taskKey(String workflowId, String taskId, boolean hashTagged) {
+        return hashTagged ? nsKey(TASK, hashTag(workflowId), taskId) : nsKey(TASK, taskId);
+    }
+
+    private static String hashTag(String workflowId) {
+        return "{" + workflowId + "}";
+    }
+
+    private String workflowKey(String keyFamily, String workflowId) {
+        return workflowKey(keyFamily, workflowId, hashTagWorkflowKeys);
+    }
+
+    private String taskKey(String workflowId, String taskId) {
+        return taskKey(workflowId, taskId, hashTagWorkflowKeys);
+    }
+
+    /**
+     * Builds the key of a task known only by its id. The hash tagged key needs the workflow id,
+     * which is resolved through the task to workflow mapping.
+     *
+     * @return the key of the task, or null if the task is not mapped to a workflow
+     */
+    private String taskKey(String taskId) {
+        if (!hashTagWorkflowKeys) {
+            return nsKey(TASK, taskId);
+        }
+        String workflowId = taskWorkflowIds.getIfPresent(taskId);
+        if (workflowId == null) {
+            workflowId = jedisProxy.get(nsKey(TASK_WORKFLOW, taskId));
+            if (workflowId == null) {
+                return null;
+            }
+            taskWorkflowIds.put(taskId, workflowId);
+        }
+        return taskKey(workflowId, taskId);
+    }
+
     @Override
     public List<Task> getPendingTasksByWorkflow(String taskName, String workflowId) {
         List<Task> tasks = new LinkedList<>();
@@ -157,7 +224,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
             String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
             Long added =
                     jedisProxy.hset(
-                            nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()),
+                            workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()),
                             taskKey,
                             task.getTaskId());
             if (added < 1) {
@@ -246,10 +313,11 @@ public class RedisExecutionDAO extends BaseDynoDAO
                 task.getWorkflowType());
 
         recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
-        jedisProxy.set(nsKey(TASK, task.getTaskId()), payload);
+        String taskKey = taskKey(task.getWorkflowInstanceId(), task.getTaskId());
+        jedisProxy.set(taskKey, payload);
         LOGGER.debug(
                 "Workflow task payload saved to TASK with taskKey: {}, workflowId: {}, taskId: {}, taskType: {} during updateTask",
-                nsKey(TASK, task.getTaskId()),
+                taskKey,
                 task.getWorkflowInstanceId(),
                 task.getTaskId(),
                 task.getTaskType());
@@ -265,7 +333,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
         }
 
         Set<String> taskIds =
-                jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
+                jedisProxy.smembers(workflowKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
         if (!taskIds.contains(task.getTaskId())) {
             correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
         }
@@ -320,12 +388,70 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return rateLimited;
     }
 
+    /**
+     * Evaluates the batch grouped by task definition, so that the in progress count and the limit
+     * bucket are read once per task definition instead of once per task.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingLimit(List<Task> tasks) {
+        return ConcurrencyLimitUtils.getTaskIdsExceedingLimit(
+                tasks, this::getTaskIdsExceedingLimit);
+    }
+
+    private Set<String> getTaskIdsExceedingLimit(String taskDefName, List<Task> tasks) {
+        Task firstTask = tasks.get(0);
+        int limit = firstTask.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+        Set<String> taskIds = tasks.stream().map(Task::getTaskId).collect(Collectors.toSet());
+
+        long current = getInProgressTaskCount(taskDefName);
+        if (current >= limit) {
+            LOGGER.info(
+                    "Task execution count limited. tasks - {}:{}, limit: {}, current: {}",
+                    taskIds,
+                    taskDefName,
+                    limit,
+                    current);
+            Monitors.recordTaskConcurrentExecutionLimited(taskDefName, limit);
+            return taskIds;
+        }
+
+        String rateLimitKey = nsKey(TASK_LIMIT_BUCKET, taskDefName);
+        double score = System.currentTimeMillis();
+        Map<String, Double> scoreMembers = new LinkedHashMap<>();
+        tasks.forEach(task -> scoreMembers.put(task.getTaskId(), score));
+        jedisProxy.zaddnx(rateLimitKey, scoreMembers);
+        recordRedisDaoRequests(
+                "checkTaskRateLimiting", firstTask.getTaskType(), firstTask.getWorkflowType());
+
+        Set<String> ids = jedisProxy.zrangeByScore(rateLimitKey, 0, score + 1, limit);
+        Set<String> limitedTaskIds =
+                taskIds.stream().filter(id -> !ids.contains(id)).collect(Collectors.toSet());
+        if (!limitedTaskIds.isEmpty()) {
+            LOGGER.info(
+                    "Task execution count limited. tasks - {}:{}, limit: {}, current: {}",
+                    limitedTaskIds,
+                    taskDefName,
+                    limit,
+                    current);
+            String inProgressKey = nsKey(TASKS_IN_PROGRESS_STATUS, taskDefName);
+            // Cleanup any items that are still present in the rate limit bucket but not in progress
+            // anymore!
+            ids.stream()
+                    .filter(id -> !taskIds.contains(id))
+                    .filter(id -> !jedisProxy.sismember(inProgressKey, id))
+                    .forEach(id2 -> jedisProxy.zrem(rateLimitKey, id2));
+            Monitors.recordTaskRateLimited(taskDefName, limit);
+        }
+        return limitedTaskIds;
+    }
+
     private void removeTaskMappings(Task task) {
         String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
 
-        jedisProxy.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
+        jedisProxy.hdel(workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
         jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
-        jedisProxy.srem(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
+        jedisProxy.srem(
+                workflowKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
         jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
     }
@@ -333,7 +459,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
     private void removeTaskMappingsWithExpiry(Task task) {
         String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
 
-        jedisProxy.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
+        jedisProxy.hdel(workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
         jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
@@ -346,30 +472,40 @@ public class RedisExecutionDAO extends BaseDynoDAO
             LOGGER.warn("No such task found by id {}", taskId);
             return false;
         }
+        removeTask(task);
+        return true;
+    }
+
+    private void removeTask(Task task) {
         removeTaskMappings(task);
 
-        jedisProxy.del(nsKey(TASK, task.getTaskId()));
+        jedisProxy.del(taskKey(task.getWorkflowInstanceId(), task.getTaskId()));
+        if (hashTagWorkflowKeys) {
+            jedisProxy.del(nsKey(TASK_WORKFLOW, task.getTaskId()));
+            taskWorkflowIds.invalidate(task.getTaskId());
+        }
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
-        return true;
     }
 
-    private boolean removeTaskWithExpiry(String taskId, int ttlSeconds) {
-        Task task = getTask(taskId);
-        if (task == null) {
-            LOGGER.warn("No such task found by id {}", taskId);
-            return false;
-        }
+    private void removeTaskWithExpiry(Task task, int ttlSeconds) {
         removeTaskMappingsWithExpiry(task);
 
-        jedisProxy.expire(nsKey(TASK, task.getTaskId()), ttlSeconds);
+        jedisProxy.expire(taskKey(task.getWorkflowInstanceId(), task.getTaskId()), ttlSeconds);
+        if (hashTagWorkflowKeys) {
+            jedisProxy.expire(nsKey(TASK_WORKFLOW, task.getTaskId()), ttlSeconds);
+        }
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
-        return true;
     }
 
     @Override
     public Task getTask(String taskId) {
         Preconditions.checkNotNull(taskId, "taskId cannot be null");
-        return Optional.ofNullable(jedisProxy.get(nsKey(TASK, taskId)))
+        String taskKey = taskKey(taskId);
+        return taskKey == null ? null : readTask(taskKey);
+    }
+
+    private Task readTask(String taskKey) {
+        return Optional.ofNullable(jedisProxy.get(taskKey))
                 .map(
                         json -> {
                             Task task = readValue(json, Task.class);
@@ -385,12 +521,89 @@ public class RedisExecutionDAO extends BaseDynoDAO
                 .orElse(null);
     }
 
+    /**
+     * Reads the task by its hash tagged key when the workflow id is given, without resolving the
+     * task to workflow mapping, which is only used if the task is not found in that workflow.
+     */
+    @Override
+    public Task getTask(String workflowId, String taskId) {
+        Preconditions.checkNotNull(taskId, "taskId cannot be null");
+        if (!hashTagWorkflowKeys || workflowId == null) {
+            return getTask(taskId);
+        }
+        Task task = readTask(taskKey(workflowId, taskId));
+        return task == null ? getTask(taskId) : task;
+    }
+
     @Override
     public List<Task> getTasks(List<String> taskIds) {
+        List<String> taskKeys =
+                hashTagWorkflowKeys
+                        ? taskKeys(taskIds)
+                        : taskIds.stream().map(this::taskKey).collect(Collectors.toList());
+        return readTasks(taskKeys.stream().map(jedisProxy::get));
+    }
+
+    /**
+     * Builds the hash tagged keys of the tasks known only by their ids. The workflow ids of the
+     * tasks which are not cached are resolved with a single read of their task to workflow
+     * mappings, the tasks which are not mapped to a workflow are left out.
+     */
+    private List<String> taskKeys(List<String> taskIds) {
+        Map<String, String> workflowIds = new HashMap<>();
+        List<String> unmappedTaskIds = new ArrayList<>();
+        for (String taskId : taskIds) {
+            String workflowId = taskWorkflowIds.getIfPresent(taskId);
+            if (workflowId == null) {
+                unmappedTaskIds.add(taskId);
+            } else {
+                workflowIds.put(taskId, workflowId);
+            }
+        }
+        if (!unmappedTaskIds.isEmpty()) {
+            List<String> mappedWorkflowIds =
+                    jedisProxy.mgetAcrossSlots(
+                            unmappedTaskIds.stream()
+                                    .map(taskId -> nsKey(TASK_WORKFLOW, taskId))
+                                    .collect(Collectors.toList()));
+            for (int i = 0; i < unmappedTaskIds.size(); i++) {
+                String workflowId = mappedWorkflowIds.get(i);
+                if (workflowId != null) {
+                    taskWorkflowIds.put(unmappedTaskIds.get(i), workflowId);
+                    workflowIds.put(unmappedTaskIds.get(i), workflowId);
+                }
+            }
+        }
         return taskIds.stream()
-                .map(taskId -> nsKey(TASK, taskId))
-                .map(jedisProxy::get)
-                .filter(Objects::nonNull)
+                .filter(workflowIds::containsKey)
+                .map(taskId -> taskKey(workflowIds.get(taskId), taskId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the tasks of the workflow. The hash tagged task keys all live in the slot of the
+     * workflow, so that these are read in a single round trip.
+     */
+    @Override
+    public List<Task> getTasksForWorkflow(String workflowId) {
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        Set<String> taskIds = jedisProxy.smembers(workflowKey(WORKFLOW_TO_TASKS, workflowId));
+        recordRedisDaoRequests("getTasksForWorkflow");
+        if (!hashTagWorkflowKeys) {
+            return getTasks(new ArrayList<>(taskIds));
+        }
+        if (taskIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> taskKeys =
+                taskIds.stream()
+                        .map(taskId -> taskKey(workflowId, taskId))
+                        .collect(Collectors.toList());
+        return readTasks(jedisProxy.mget(taskKeys).stream());
+    }
+
+    private List<Task> readTasks(Stream<String> payloads) {
+        return payloads.filter(Objects::nonNull)
                 .map(
                         jsonString -> {
                             Task task = readValue(jsonString, Task.class);
@@ -406,12 +619,37 @@ public class RedisExecutionDAO extends BaseDynoDAO
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Looks the task up through the ids of the scheduled tasks of the workflow, which are keyed by
+     * the reference name and the retry count, loading the latest retry first. Every task is
+     * scheduled under its reference name when it is created, so the tasks of the workflow are not
+     * scanned when none is found.
+     */
     @Override
-    public List<Task> getTasksForWorkflow(String workflowId) {
+    public Task getPendingTaskByReferenceName(String workflowId, String taskReferenceName) {
         Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
-        Set<String> taskIds = jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, workflowId));
-        recordRedisDaoRequests("getTasksForWorkflow");
-        return getTasks(new ArrayList<>(taskIds));
+        Map<String, String> scheduledTasks =
+                jedisProxy.hgetAll(workflowKey(SCHEDULED_TASKS, workflowId));
+        recordRedisDaoRequests("getPendingTaskByReferenceName");
+
+        NavigableMap<Long, String> taskIdsByRetryCount = new TreeMap<>();
+        scheduledTasks.forEach(
+                (taskKey, taskId) -> {
+                    String retryCount = StringUtils.removeStart(taskKey, taskReferenceName);
+                    if (taskKey.startsWith(taskReferenceName)
+                            && StringUtils.isNumeric(retryCount)) {
+                        taskIdsByRetryCount.put(Long.parseLong(retryCount), taskId);
+                    }
+                });
+        // the reference name followed by the retry count may also be the key of another reference
+        // name, which the loaded tasks are checked against
+        return taskIdsByRetryCount.descendingMap().values().stream()
+                .map(taskId -> readTask(taskKey(workflowId, taskId)))
+                .filter(Objects::nonNull)
+                .filter(task -> !task.getStatus().isTerminal())
+                .filter(task -> task.getReferenceTaskName().equals(taskReferenceName))
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
@@ -449,9 +687,9 @@ public class RedisExecutionDAO extends BaseDynoDAO
             jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
             // Remove the object
-            jedisProxy.del(nsKey(WORKFLOW, workflowId));
+            jedisProxy.del(workflowKey(WORKFLOW, workflowId));
             for (Task task : workflow.getTasks()) {
-                removeTask(task.getTaskId());
+                removeTask(task);
             }
             return true;
         }
@@ -474,11 +712,11 @@ public class RedisExecutionDAO extends BaseDynoDAO
             jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
             // Remove the object
-            jedisProxy.expire(nsKey(WORKFLOW, workflowId), ttlSeconds);
+            jedisProxy.expire(workflowKey(WORKFLOW, workflowId), ttlSeconds);
             for (Task task : workflow.getTasks()) {
-                removeTaskWithExpiry(task.getTaskId(), ttlSeconds);
+                removeTaskWithExpiry(task, ttlSeconds);
             }
-            jedisProxy.expire(nsKey(WORKFLOW_TO_TASKS, workflowId), ttlSeconds);
+            jedisProxy.expire(workflowKey(WORKFLOW_TO_TASKS, workflowId), ttlSeconds);
 
             return true;
         }
@@ -488,7 +726,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
     @Override
     public void removeFromPendingWorkflow(String workflowType, String workflowId) {
         recordRedisDaoRequests("removePendingWorkflow");
-        jedisProxy.del(nsKey(SCHEDULED_TASKS, workflowId));
+        jedisProxy.del(workflowKey(SCHEDULED_TASKS, workflowId));
         jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflowType), workflowId);
     }
 
@@ -499,7 +737,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
     @Override
     public Workflow getWorkflow(String workflowId, boolean includeTasks) {
-        String json = jedisProxy.get(nsKey(WORKFLOW, workflowId));
+        String json = jedisProxy.get(workflowKey(WORKFLOW, workflowId));
         Workflow workflow = null;
 
         if (json != null) {
@@ -610,7 +848,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
         String payload = toJson(workflow);
         // Store the workflow object
-        jedisProxy.set(nsKey(WORKFLOW, workflow.getWorkflowId()), payload);
+        jedisProxy.set(workflowKey(WORKFLOW, workflow.getWorkflowId()), payload);
         recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
         recordRedisDaoPayloadSize(
                 "storeWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
@@ -650,8 +888,12 @@ public class RedisExecutionDAO extends BaseDynoDAO
      */
     @VisibleForTesting
     void correlateTaskToWorkflowInDS(String taskId, String workflowInstanceId) {
-        String workflowToTaskKey = nsKey(WORKFLOW_TO_TASKS, workflowInstanceId);
+        String workflowToTaskKey = workflowKey(WORKFLOW_TO_TASKS, workflowInstanceId);
         jedisProxy.sadd(workflowToTaskKey, taskId);
+        if (hashTagWorkflowKeys) {
+            jedisProxy.set(nsKey(TASK_WORKFLOW, taskId), workflowInstanceId);
+            taskWorkflowIds.put(taskId, workflowInstanceId);
+        }
         LOGGER.debug(
                 "Task mapped in WORKFLOW_TO_TASKS with workflowToTaskKey: {}, workflowId: {}, taskId: {}",
                 workflowToTaskKey,
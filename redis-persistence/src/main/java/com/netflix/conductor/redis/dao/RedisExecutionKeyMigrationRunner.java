@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.dao.MetadataDAO;
+import com.netflix.conductor.redis.config.AnyRedisCondition;
+import com.netflix.conductor.redis.config.RedisProperties;
+
+/**
+ * Runs the server as a one-off command which migrates the keys of the existing workflows with the
+ * {@link RedisExecutionKeyMigrator}, and then exits. Enabled with <code>
+ * conductor.redis.migrate-workflow-keys=true</code>.
+ *
+ * <p>The workflows of every workflow definition created within {@link
+ * RedisProperties#getWorkflowKeyMigrationPeriod()} are migrated. As no server may write the
+ * workflows while they are moved, the command is run once the other servers are stopped, with the
+ * system task workers, the sweeper and the event processing of its own server disabled.
+ */
+@Component
+@Conditional(AnyRedisCondition.class)
+@ConditionalOnProperty(name = "conductor.redis.migrate-workflow-keys", havingValue = "true")
+public class RedisExecutionKeyMigrationRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(RedisExecutionKeyMigrationRunner.class);
+
+    private final RedisExecutionKeyMigrator migrator;
+    private final MetadataDAO metadataDAO;
+    private final RedisProperties properties;
+    private final ApplicationContext applicationContext;
+
+    public RedisExecutionKeyMigrationRunner(
+            RedisExecutionKeyMigrator migrator,
+            MetadataDAO metadataDAO,
+            RedisProperties properties,
+            ApplicationContext applicationContext) {
+        this.migrator = migrator;
+        this.metadataDAO = metadataDAO;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            migrate(System.currentTimeMillis());
+        } catch (Exception e) {
+            LOGGER.error("Failed to migrate the workflow keys, the migration can be run again", e);
+            exitCode = 1;
+        }
+        int finalExitCode = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> finalExitCode));
+    }
+
+    /**
+     * Migrates the workflows of every workflow definition created within the migration period
+     * before the given time.
+     *
+     * @return the number of migrated workflows
+     */
+    int migrate(long now) {
+        long startTime = now - properties.getWorkflowKeyMigrationPeriod().toMillis();
+        Set<String> workflowNames = new TreeSet<>();
+        for (WorkflowDef workflowDef : metadataDAO.getAllWorkflowDefs()) {
+            workflowNames.add(workflowDef.getName());
+        }
+        int migrated = 0;
+        for (String workflowName : workflowNames) {
+            migrated += migrator.migrateWorkflows(workflowName, startTime, now);
+        }
+        LOGGER.info(
+                "Migrated the keys of {} workflows of {} workflow definitions",
+                migrated,
+                workflowNames.size());
+        return migrated;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import com.netflix.conductor.redis.config.AnyRedisCondition;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+
+import com.google.common.base.Preconditions;
+
+import static com.netflix.conductor.redis.dao.RedisExecutionDAO.SCHEDULED_TASKS;
+import static com.netflix.conductor.redis.dao.RedisExecutionDAO.TASK_WORKFLOW;
+import static com.netflix.conductor.redis.dao.RedisExecutionDAO.WORKFLOW;
+import static com.netflix.conductor.redis.dao.RedisExecutionDAO.WORKFLOW_DEF_TO_WORKFLOWS;
+import static com.netflix.conductor.redis.dao.RedisExecutionDAO.WORKFLOW_TO_TASKS;
+
+/**
+ * Moves the keys of workflows and their tasks to the hash tagged layout of {@link
+ * RedisProperties#isHashTagWorkflowKeys()}. The migration runs while no server writes the workflows
+ * being moved, before the servers are restarted with hash tags turned on. The legacy keys are
+ * deleted once copied, so that an interrupted migration can be run again. The expiry of the keys of
+ * removed workflows is not carried over. The migration is run with {@link
+ * RedisExecutionKeyMigrationRunner}.
+ */
+@Component
+@Conditional(AnyRedisCondition.class)
+public class RedisExecutionKeyMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisExecutionKeyMigrator.class);
+
+    private final JedisProxy jedisProxy;
+    private final RedisExecutionDAO executionDAO;
+
+    public RedisExecutionKeyMigrator(JedisProxy jedisProxy, RedisExecutionDAO executionDAO) {
+        this.jedisProxy = jedisProxy;
+        this.executionDAO = executionDAO;
+    }
+
+    /**
+     * @param workflowId the id of the workflow to migrate
+     * @return true if the workflow was migrated, false if it has no legacy keys
+     */
+    public boolean migrateWorkflow(String workflowId) {
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        String legacyWorkflowKey = executionDAO.workflowKey(WORKFLOW, workflowId, false);
+        String workflow = jedisProxy.get(legacyWorkflowKey);
+        if (workflow == null) {
+            return false;
+        }
+        String legacyWorkflowToTasksKey =
+                executionDAO.workflowKey(WORKFLOW_TO_TASKS, workflowId, false);
+        String legacyScheduledTasksKey =
+                executionDAO.workflowKey(SCHEDULED_TASKS, workflowId, false);
+        Set<String> taskIds = jedisProxy.smembers(legacyWorkflowToTasksKey);
+        Map<String, String> scheduledTasks = jedisProxy.hgetAll(legacyScheduledTasksKey);
+
+        String workflowToTasksKey = executionDAO.workflowKey(WORKFLOW_TO_TASKS, workflowId, true);
+        for (String taskId : taskIds) {
+            String task = jedisProxy.get(executionDAO.taskKey(workflowId, taskId, false));
+            if (task != null) {
+                jedisProxy.set(executionDAO.taskKey(workflowId, taskId, true), task);
+            }
+            jedisProxy.set(executionDAO.nsKey(TASK_WORKFLOW, taskId), workflowId);
+            jedisProxy.sadd(workflowToTasksKey, taskId);
+        }
+        String scheduledTasksKey = executionDAO.workflowKey(SCHEDULED_TASKS, workflowId, true);
+        scheduledTasks.forEach(
+                (taskKey, taskId) -> jedisProxy.hset(scheduledTasksKey, taskKey, taskId));
+        jedisProxy.set(executionDAO.workflowKey(WORKFLOW, workflowId, true), workflow);
+
+        // the workflow key goes last, so that a migration interrupted here is picked up again
+        taskIds.forEach(taskId -> jedisProxy.del(executionDAO.taskKey(workflowId, taskId, false)));
+        jedisProxy.del(legacyScheduledTasksKey);
+        jedisProxy.del(legacyWorkflowToTasksKey);
+        jedisProxy.del(legacyWorkflowKey);
+        return true;
+    }
+
+    /**
+     * Migrates the workflows of the given name created between the given times.
+     *
+     * @return the number of migrated workflows
+     */
+    public int migrateWorkflows(String workflowName, long startTime, long endTime) {
+        Preconditions.checkNotNull(workflowName, "workflowName cannot be null");
+        int migrated = 0;
+        for (String dateStr : RedisExecutionDAO.dateStrBetweenDates(startTime, endTime)) {
+            String key = executionDAO.nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflowName, dateStr);
+            for (String workflowId : jedisProxy.smembers(key)) {
+                if (migrateWorkflow(workflowId)) {
+                    migrated++;
+                }
+            }
+        }
+        LOGGER.info("Migrated the keys of {} workflows of {}", migrated, workflowName);
+        return migrated;
+    }
+}
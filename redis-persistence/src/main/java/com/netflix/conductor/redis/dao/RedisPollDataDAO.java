@@ -13,10 +13,22 @@
 package com.netflix.conductor.redis.dao;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -28,53 +40,109 @@ import com.netflix.conductor.redis.config.RedisProperties;
 import com.netflix.conductor.redis.jedis.JedisProxy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Poll data is aggregated in memory and written to Redis at most once per {@link
+ * RedisProperties#getPollDataFlushInterval()} for each task queue and domain, so that polls do not
+ * write to Redis. Poll data read from Redis is served from memory for {@link
+ * RedisProperties#getPollDataCacheValidityPeriod()}, so that resolving the active domain of the
+ * tasks being scheduled does not read Redis for every task.
+ */
 @Component
 @Conditional(AnyRedisCondition.class)
 public class RedisPollDataDAO extends BaseDynoDAO implements PollDataDAO {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisPollDataDAO.class);
+
     private static final String POLL_DATA = "POLL_DATA";
 
+    private final ConcurrentHashMap<Pair<String, String>, PollData> pendingPollData =
+            new ConcurrentHashMap<>();
+    private final Cache<Pair<String, String>, Optional<PollData>> pollDataCache;
+    private final ScheduledExecutorService flushExecutorService;
+
     public RedisPollDataDAO(
             JedisProxy jedisProxy,
             ObjectMapper objectMapper,
             ConductorProperties conductorProperties,
             RedisProperties properties) {
         super(jedisProxy, objectMapper, conductorProperties, properties);
+
+        long cacheValidityMillis = properties.getPollDataCacheValidityPeriod().toMillis();
+        this.pollDataCache =
+                cacheValidityMillis > 0
+                        ? CacheBuilder.newBuilder()
+                                .expireAfterWrite(cacheValidityMillis, TimeUnit.MILLISECONDS)
+                                .build()
+                        : null;
+
+        long flushIntervalMillis = properties.getPollDataFlushInterval().toMillis();
+        if (flushIntervalMillis > 0) {
+            this.flushExecutorService =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("poll-data-flush-%d")
+                                    .setDaemon(true)
+                                    .build());
+            this.flushExecutorService.scheduleWithFixedDelay(
+                    this::flushPollData,
+                    flushIntervalMillis,
+                    flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutorService = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutorService != null) {
+            flushExecutorService.shutdown();
+            flushPollData();
+        }
     }
 
     @Override
     public void updateLastPollData(String taskDefName, String domain, String workerId) {
         Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
         PollData pollData = new PollData(taskDefName, domain, workerId, System.currentTimeMillis());
-
-        String key = nsKey(POLL_DATA, pollData.getQueueName());
         String field = (domain == null) ? "DEFAULT" : domain;
 
-        String payload = toJson(pollData);
-        recordRedisDaoRequests("updatePollData");
-        recordRedisDaoPayloadSize("updatePollData", payload.length(), "n/a", "n/a");
-        jedisProxy.hset(key, field, payload);
+        if (flushExecutorService != null) {
+            pendingPollData.put(Pair.of(taskDefName, field), pollData);
+        } else {
+            writePollData(field, pollData);
+        }
+        if (pollDataCache != null) {
+            pollDataCache.put(Pair.of(taskDefName, field), Optional.of(pollData));
+        }
     }
 
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
-
-        String key = nsKey(POLL_DATA, taskDefName);
         String field = (domain == null) ? "DEFAULT" : domain;
+        Pair<String, String> pollDataKey = Pair.of(taskDefName, field);
 
-        String pollDataJsonString = jedisProxy.hget(key, field);
-        recordRedisDaoRequests("getPollData");
-        recordRedisDaoPayloadSize(
-                "getPollData", StringUtils.length(pollDataJsonString), "n/a", "n/a");
-
-        PollData pollData = null;
-        if (StringUtils.isNotBlank(pollDataJsonString)) {
-            pollData = readValue(pollDataJsonString, PollData.class);
+        PollData pendingData = pendingPollData.get(pollDataKey);
+        if (pendingData != null) {
+            return pendingData;
+        }
+        if (pollDataCache == null) {
+            return readPollData(taskDefName, field);
+        }
+        try {
+            return pollDataCache
+                    .get(pollDataKey, () -> Optional.ofNullable(readPollData(taskDefName, field)))
+                    .orElse(null);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
-        return pollData;
     }
 
     @Override
@@ -84,16 +152,60 @@ public class RedisPollDataDAO extends BaseDynoDAO implements PollDataDAO {
         String key = nsKey(POLL_DATA, taskDefName);
 
         Map<String, String> pMapdata = jedisProxy.hgetAll(key);
-        List<PollData> pollData = new ArrayList<>();
+        Map<String, PollData> pollData = new HashMap<>();
         if (pMapdata != null) {
-            pMapdata.values()
-                    .forEach(
-                            pollDataJsonString -> {
-                                pollData.add(readValue(pollDataJsonString, PollData.class));
-                                recordRedisDaoRequests("getPollData");
-                                recordRedisDaoPayloadSize(
-                                        "getPollData", pollDataJsonString.length(), "n/a", "n/a");
-                            });
+            pMapdata.forEach(
+                    (field, pollDataJsonString) -> {
+                        pollData.put(field, readValue(pollDataJsonString, PollData.class));
+                        recordRedisDaoRequests("getPollData");
+                        recordRedisDaoPayloadSize(
+                                "getPollData", pollDataJsonString.length(), "n/a", "n/a");
+                    });
+        }
+        // poll data not yet flushed is more recent than the one in Redis
+        pendingPollData.forEach(
+                (pollDataKey, pendingData) -> {
+                    if (pollDataKey.getLeft().equals(taskDefName)) {
+                        pollData.put(pollDataKey.getRight(), pendingData);
+                    }
+                });
+        return new ArrayList<>(pollData.values());
+    }
+
+    /** Writes the poll data aggregated since the last flush to Redis. */
+    @VisibleForTesting
+    void flushPollData() {
+        pendingPollData.forEach(
+                (pollDataKey, pollData) -> {
+                    try {
+                        writePollData(pollDataKey.getRight(), pollData);
+                        // keep the entry if a newer poll replaced it while it was written
+                        pendingPollData.remove(pollDataKey, pollData);
+                    } catch (Exception e) {
+                        LOGGER.error("Failed to flush poll data for {}", pollDataKey, e);
+                    }
+                });
+    }
+
+    private void writePollData(String field, PollData pollData) {
+        String key = nsKey(POLL_DATA, pollData.getQueueName());
+        String payload = toJson(pollData);
+        recordRedisDaoRequests("updatePollData");
+        recordRedisDaoPayloadSize("updatePollData", payload.length(), "n/a", "n/a");
+        jedisProxy.hset(key, field, payload);
+    }
+
+    private PollData readPollData(String taskDefName, String field) {
+        String key = nsKey(POLL_DATA, taskDefName);
+
+        String pollDataJsonString = jedisProxy.hget(key, field);
+        recordRedisDaoRequests("getPollData");
+        recordRedisDaoPayloadSize(
+                "getPollData", StringUtils.length(pollDataJsonString), "n/a", "n/a");
+
+        PollData pollData = null;
+        if (StringUtils.isNotBlank(pollDataJsonString)) {
+            pollData = readValue(pollDataJsonString, PollData.class);
         }
         return pollData;
     }
@@ -12,11 +12,23 @@
  */
 package com.netflix.conductor.redis.dao;
 
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -30,6 +42,8 @@ import com.netflix.conductor.redis.config.RedisProperties;
 import com.netflix.conductor.redis.jedis.JedisProxy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import redis.clients.jedis.Tuple;
 
 @Component
 @Conditional(AnyRedisCondition.class)
@@ -39,12 +53,29 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
 
     private static final String TASK_RATE_LIMIT_BUCKET = "TASK_RATE_LIMIT_BUCKET";
 
+    private final int leaseSize;
+    private final Clock clock;
+    private final Map<String, TokenLease> tokenLeases = new ConcurrentHashMap<>();
+
+    @Autowired
     public RedisRateLimitingDAO(
             JedisProxy jedisProxy,
             ObjectMapper objectMapper,
             ConductorProperties conductorProperties,
             RedisProperties properties) {
+        this(jedisProxy, objectMapper, conductorProperties, properties, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    RedisRateLimitingDAO(
+            JedisProxy jedisProxy,
+            ObjectMapper objectMapper,
+            ConductorProperties conductorProperties,
+            RedisProperties properties,
+            Clock clock) {
         super(jedisProxy, objectMapper, conductorProperties, properties);
+        this.leaseSize = Math.max(1, properties.getTaskRateLimitLeaseSize());
+        this.clock = clock;
     }
 
     /**
@@ -54,19 +85,21 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
      * Task#getRateLimitPerFrequency()} and {@link Task#getRateLimitFrequencyInSeconds()}
      *
      * <p>The rate limiting is implemented using the Redis constructs of sorted set and TTL of each
-     * element in the rate limited bucket.
+     * element in the rate limited bucket. Every element of the bucket is a token, and tokens are
+     * leased by this server in chunks of {@link RedisProperties#getTaskRateLimitLeaseSize()} to be
+     * handed out locally.
      *
      * <ul>
-     *   <li>All the entries that are in the not in the frequency bucket are cleaned up by
-     *       leveraging {@link JedisProxy#zremrangeByScore(String, String, String)}, this is done to
-     *       make the next step of evaluation efficient
-     *   <li>A current count(tasks executed within the frequency) is calculated based on the current
-     *       time and the beginning of the rate limit frequency time(which is current time - {@link
-     *       Task#getRateLimitFrequencyInSeconds()} in millis), this is achieved by using {@link
-     *       JedisProxy#zcount(String, double, double)}
-     *   <li>Once the count is calculated then a evaluation is made to determine if it is within the
-     *       bounds of {@link Task#getRateLimitPerFrequency()}, if so the count is increased and an
-     *       expiry TTL is added to the entry
+     *   <li>A task is admitted if a token leased earlier is still left and has not aged out of the
+     *       frequency window yet, without a round trip to Redis
+     *   <li>If the bucket was found full on the last lease, no token can be leased until the oldest
+     *       element of the bucket ages out, so the task is rate limited without a round trip to
+     *       Redis
+     *   <li>Otherwise all the entries that are in the not in the frequency bucket are cleaned up by
+     *       leveraging {@link JedisProxy#zremrangeByScore(String, String, String)}, a current
+     *       count(tasks executed within the frequency) is calculated by using {@link
+     *       JedisProxy#zcount(String, double, double)}, and as many tokens as fit within {@link
+     *       Task#getRateLimitPerFrequency()} are added to the bucket with an expiry TTL
      * </ul>
      *
      * @param task: which needs to be evaluated whether it is rateLimited or not
@@ -75,19 +108,7 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
      */
     @Override
     public boolean exceedsRateLimitPerFrequency(Task task, TaskDef taskDef) {
-        // Check if the TaskDefinition is not null then pick the definition values or else pick from
-        // the Task
-        ImmutablePair<Integer, Integer> rateLimitPair =
-                Optional.ofNullable(taskDef)
-                        .map(
-                                definition ->
-                                        new ImmutablePair<>(
-                                                definition.getRateLimitPerFrequency(),
-                                                definition.getRateLimitFrequencyInSeconds()))
-                        .orElse(
-                                new ImmutablePair<>(
-                                        task.getRateLimitPerFrequency(),
-                                        task.getRateLimitFrequencyInSeconds()));
+        ImmutablePair<Integer, Integer> rateLimitPair = getRateLimitPair(task, taskDef);
 
         int rateLimitPerFrequency = rateLimitPair.getLeft();
         int rateLimitFrequencyInSeconds = rateLimitPair.getRight();
@@ -105,41 +126,269 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
                     task.getTaskDefName(),
                     rateLimitPerFrequency,
                     rateLimitFrequencyInSeconds);
-            long currentTimeEpochMillis = System.currentTimeMillis();
-            long currentTimeEpochMinusRateLimitBucket =
-                    currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000);
-            String key = nsKey(TASK_RATE_LIMIT_BUCKET, task.getTaskDefName());
-            jedisProxy.zremrangeByScore(
-                    key, "-inf", String.valueOf(currentTimeEpochMinusRateLimitBucket));
-            int currentBucketCount =
-                    Math.toIntExact(
-                            jedisProxy.zcount(
-                                    key,
-                                    currentTimeEpochMinusRateLimitBucket,
-                                    currentTimeEpochMillis));
-            if (currentBucketCount < rateLimitPerFrequency) {
-                jedisProxy.zadd(
-                        key, currentTimeEpochMillis, String.valueOf(currentTimeEpochMillis));
-                jedisProxy.expire(key, rateLimitFrequencyInSeconds);
+            int granted =
+                    acquireTokens(
+                            task.getTaskDefName(),
+                            rateLimitPerFrequency,
+                            rateLimitFrequencyInSeconds,
+                            1);
+            if (granted > 0) {
                 LOGGER.info(
-                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} within the rate limit with current count {}",
+                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} within the rate limit",
                         task.getTaskId(),
                         task.getTaskDefName(),
                         rateLimitPerFrequency,
-                        rateLimitFrequencyInSeconds,
-                        ++currentBucketCount);
+                        rateLimitFrequencyInSeconds);
                 Monitors.recordTaskRateLimited(task.getTaskDefName(), rateLimitPerFrequency);
                 return false;
             } else {
                 LOGGER.info(
-                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit with current count {}",
+                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit",
                         task.getTaskId(),
                         task.getTaskDefName(),
                         rateLimitPerFrequency,
-                        rateLimitFrequencyInSeconds,
-                        currentBucketCount);
+                        rateLimitFrequencyInSeconds);
                 return true;
             }
         }
     }
+
+    /**
+     * Evaluates the batch grouped by task definition and rate limit, so that tokens are acquired
+     * once per group instead of once per task. Tasks are admitted in order until the tokens are
+     * used up.
+     */
+    @Override
+    public Set<String> getTaskIdsExceedingRateLimit(List<Task> tasks) {
+        Map<ImmutablePair<String, ImmutablePair<Integer, Integer>>, List<Task>> groupedTasks =
+                tasks.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        task ->
+                                                new ImmutablePair<>(
+                                                        task.getTaskDefName(),
+                                                        getRateLimitPair(
+                                                                task,
+                                                                task.getTaskDefinition()
+                                                                        .orElse(null))),
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+
+        Set<String> limitedTaskIds = new HashSet<>();
+        groupedTasks.forEach(
+                (group, groupTasks) -> {
+                    String taskDefName = group.getLeft();
+                    int rateLimitPerFrequency = group.getRight().getLeft();
+                    int rateLimitFrequencyInSeconds = group.getRight().getRight();
+                    if (rateLimitPerFrequency <= 0 || rateLimitFrequencyInSeconds <= 0) {
+                        return;
+                    }
+                    int granted =
+                            acquireTokens(
+                                    taskDefName,
+                                    rateLimitPerFrequency,
+                                    rateLimitFrequencyInSeconds,
+                                    groupTasks.size());
+                    if (granted > 0) {
+                        LOGGER.info(
+                                "{} tasks with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} within the rate limit",
+                                granted,
+                                taskDefName,
+                                rateLimitPerFrequency,
+                                rateLimitFrequencyInSeconds);
+                        Monitors.recordTaskRateLimited(taskDefName, rateLimitPerFrequency);
+                    }
+                    if (granted < groupTasks.size()) {
+                        List<String> taskIds =
+                                groupTasks.subList(granted, groupTasks.size()).stream()
+                                        .map(Task::getTaskId)
+                                        .collect(Collectors.toList());
+                        LOGGER.info(
+                                "TaskIds: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit",
+                                taskIds,
+                                taskDefName,
+                                rateLimitPerFrequency,
+                                rateLimitFrequencyInSeconds);
+                        limitedTaskIds.addAll(taskIds);
+                    }
+                });
+        return limitedTaskIds;
+    }
+
+    /**
+     * A task definition is known to be rate limited when this server holds no leased tokens for it
+     * and the bucket was full on the last lease, until the oldest element of the bucket ages out.
+     */
+    @Override
+    public boolean isRateLimited(String taskDefName) {
+        TokenLease lease = tokenLeases.get(taskDefName);
+        if (lease == null) {
+            return false;
+        }
+        synchronized (lease) {
+            long currentTimeEpochMillis = clock.millis();
+            expireTokens(taskDefName, lease, currentTimeEpochMillis);
+            return lease.tokens == 0 && lease.limitedUntil > currentTimeEpochMillis;
+        }
+    }
+
+    /**
+     * Hands out up to the requested number of tokens, from the local lease first and from Redis if
+     * the lease runs short.
+     *
+     * @return the number of tokens granted
+     */
+    private int acquireTokens(
+            String taskDefName,
+            int rateLimitPerFrequency,
+            int rateLimitFrequencyInSeconds,
+            int requested) {
+        TokenLease lease = tokenLeases.computeIfAbsent(taskDefName, name -> new TokenLease());
+        synchronized (lease) {
+            long currentTimeEpochMillis = clock.millis();
+            expireTokens(taskDefName, lease, currentTimeEpochMillis);
+            if (lease.tokens < requested && lease.limitedUntil <= currentTimeEpochMillis) {
+                leaseTokens(
+                        taskDefName,
+                        lease,
+                        rateLimitPerFrequency,
+                        rateLimitFrequencyInSeconds,
+                        Math.max(requested - lease.tokens, leaseSize),
+                        currentTimeEpochMillis);
+            }
+            int granted = lease.take(requested);
+            if (granted > 0) {
+                Monitors.recordTaskRateLimitTokensSpent(taskDefName, granted);
+            }
+            return granted;
+        }
+    }
+
+    private void leaseTokens(
+            String taskDefName,
+            TokenLease lease,
+            int rateLimitPerFrequency,
+            int rateLimitFrequencyInSeconds,
+            int wanted,
+            long currentTimeEpochMillis) {
+        long currentTimeEpochMinusRateLimitBucket =
+                currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000L);
+        String key = nsKey(TASK_RATE_LIMIT_BUCKET, taskDefName);
+        jedisProxy.zremrangeByScore(
+                key, "-inf", String.valueOf(currentTimeEpochMinusRateLimitBucket));
+        int currentBucketCount =
+                Math.toIntExact(
+                        jedisProxy.zcount(
+                                key, currentTimeEpochMinusRateLimitBucket, currentTimeEpochMillis));
+
+        int leased = Math.min(Math.max(0, rateLimitPerFrequency - currentBucketCount), wanted);
+        if (leased > 0) {
+            Map<String, Double> scoreMembers = new LinkedHashMap<>();
+            for (int i = 0; i < leased; i++) {
+                scoreMembers.put(UUID.randomUUID().toString(), (double) currentTimeEpochMillis);
+            }
+            jedisProxy.zadd(key, scoreMembers);
+            jedisProxy.expire(key, rateLimitFrequencyInSeconds);
+            lease.add(leased, currentTimeEpochMillis + (rateLimitFrequencyInSeconds * 1000L));
+            Monitors.recordTaskRateLimitTokensLeased(taskDefName, leased);
+        }
+
+        lease.limitedUntil = 0;
+        if (currentBucketCount + leased >= rateLimitPerFrequency) {
+            // No more tokens can be leased until the oldest one ages out of the window.
+            lease.limitedUntil =
+                    jedisProxy.zrangeByScoreWithScores(key, currentTimeEpochMillis, 1).stream()
+                                    .findFirst()
+                                    .map(Tuple::getScore)
+                                    .map(Double::longValue)
+                                    .orElse(currentTimeEpochMillis)
+                            + (rateLimitFrequencyInSeconds * 1000L);
+        }
+        LOGGER.debug(
+                "Leased {} tokens for TaskDefinition of: {} with current count {}",
+                leased,
+                taskDefName,
+                currentBucketCount + leased);
+    }
+
+    /**
+     * Drops the leased chunks of tokens whose bucket entries aged out of the frequency window
+     * without being handed out.
+     */
+    private void expireTokens(String taskDefName, TokenLease lease, long currentTimeEpochMillis) {
+        int expired = lease.expire(currentTimeEpochMillis);
+        if (expired > 0) {
+            Monitors.recordTaskRateLimitTokensExpired(taskDefName, expired);
+        }
+    }
+
+    /**
+     * Picks the rate limit values from the {@link TaskDef} if it is not null, or else from the
+     * {@link Task}.
+     */
+    private ImmutablePair<Integer, Integer> getRateLimitPair(Task task, TaskDef taskDef) {
+        return Optional.ofNullable(taskDef)
+                .map(
+                        definition ->
+                                new ImmutablePair<>(
+                                        definition.getRateLimitPerFrequency(),
+                                        definition.getRateLimitFrequencyInSeconds()))
+                .orElse(
+                        new ImmutablePair<>(
+                                task.getRateLimitPerFrequency(),
+                                task.getRateLimitFrequencyInSeconds()));
+    }
+
+    /**
+     * The rate limit tokens of a task definition this server has leased from Redis. Each leased
+     * chunk expires along with its bucket entries, and the tokens are handed out oldest first.
+     */
+    private static class TokenLease {
+
+        private final Deque<LeasedChunk> chunks = new ArrayDeque<>();
+        private int tokens;
+        private long limitedUntil;
+
+        private void add(int count, long expiresAt) {
+            chunks.addLast(new LeasedChunk(count, expiresAt));
+            tokens += count;
+        }
+
+        /** @return the number of tokens taken, up to the requested one */
+        private int take(int requested) {
+            int taken = 0;
+            while (taken < requested && !chunks.isEmpty()) {
+                LeasedChunk chunk = chunks.peekFirst();
+                int count = Math.min(requested - taken, chunk.tokens);
+                chunk.tokens -= count;
+                taken += count;
+                if (chunk.tokens == 0) {
+                    chunks.pollFirst();
+                }
+            }
+            tokens -= taken;
+            return taken;
+        }
+
+        /** @return the number of tokens dropped along with their expired chunks */
+        private int expire(long currentTimeEpochMillis) {
+            int expired = 0;
+            while (!chunks.isEmpty() && chunks.peekFirst().expiresAt <= currentTimeEpochMillis) {
+                expired += chunks.pollFirst().tokens;
+            }
+            tokens -= expired;
+            return expired;
+        }
+    }
+
+    private static class LeasedChunk {
+
+        private final long expiresAt;
+        private int tokens;
+
+        private LeasedChunk(int tokens, long expiresAt) {
+            this.tokens = tokens;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -63,6 +63,11 @@ public class JedisCluster implements JedisCommands {
         return jedisCluster.get(key);
     }
 
+    /** Reads the values of keys which hash to the same slot, in a single round trip. */
+    public List<String> mget(String... keys) {
+        return jedisCluster.mget(keys);
+    }
+
     @Override
     public Boolean exists(String key) {
         return jedisCluster.exists(key);
@@ -704,6 +704,12 @@ public class JedisMock extends Jedis {
                     return 0L;
                 }
                 return redis.zadd(key, new ZsetPair(member, score));
+            } else if (params.getParam("nx") != null) {
+                Double existing = redis.zscore(key, member);
+                if (existing != null) {
+                    return 0L;
+                }
+                return redis.zadd(key, new ZsetPair(member, score));
             } else {
                 return redis.zadd(key, new ZsetPair(member, score));
             }
@@ -715,23 +721,17 @@ public class JedisMock extends Jedis {
 
     @Override
     public Long zadd(final String key, final Map<String, Double> scoreMembers) {
-        try {
-            Double score = null;
-            String member = null;
-            List<ZsetPair> scoresmembers = new ArrayList<>((scoreMembers.size() - 1) * 2);
-            for (String m : scoreMembers.keySet()) {
-                if (m == null) {
-                    member = m;
-                    score = scoreMembers.get(m);
-                    continue;
-                }
-                scoresmembers.add(new ZsetPair(m, scoreMembers.get(m)));
-            }
-            return redis.zadd(
-                    key, new ZsetPair(member, score), (ZsetPair[]) scoresmembers.toArray());
-        } catch (Exception e) {
-            throw new JedisException(e);
+        return zadd(key, scoreMembers, ZAddParams.zAddParams());
+    }
+
+    @Override
+    public Long zadd(
+            final String key, final Map<String, Double> scoreMembers, final ZAddParams params) {
+        long added = 0;
+        for (Entry<String, Double> scoreMember : scoreMembers.entrySet()) {
+            added += zadd(key, scoreMember.getValue(), scoreMember.getKey(), params);
         }
+        return added;
     }
 
     @Override
@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.redis.jedis;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,6 +20,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,11 +31,13 @@ import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.redis.config.AnyRedisCondition;
 
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.params.ZAddParams;
+import redis.clients.jedis.util.JedisClusterCRC16;
 
 import static com.netflix.conductor.redis.config.RedisCommonConfiguration.DEFAULT_CLIENT_INJECTION_NAME;
 
@@ -73,6 +78,45 @@ public class JedisProxy {
         return jedisCommands.get(key);
     }
 
+    /**
+     * Reads the values of the keys, in a single round trip if the client supports it. In a Redis
+     * Cluster the keys have to hash to the same slot.
+     */
+    public List<String> mget(List<String> keys) {
+        String[] keyArray = keys.toArray(new String[0]);
+        if (jedisCommands instanceof JedisCluster) {
+            return ((JedisCluster) jedisCommands).mget(keyArray);
+        } else if (jedisCommands instanceof Jedis) {
+            return ((Jedis) jedisCommands).mget(keyArray);
+        }
+        return keys.stream().map(jedisCommands::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the values of keys which may hash to different slots. In a Redis Cluster the keys are
+     * read with one mget per slot, else in a single round trip as {@link #mget(List)} does.
+     */
+    public List<String> mgetAcrossSlots(List<String> keys) {
+        if (!(jedisCommands instanceof JedisCluster)) {
+            return mget(keys);
+        }
+        Map<Integer, List<Integer>> indexesBySlot =
+                IntStream.range(0, keys.size())
+                        .boxed()
+                        .collect(
+                                Collectors.groupingBy(
+                                        index -> JedisClusterCRC16.getSlot(keys.get(index))));
+        String[] values = new String[keys.size()];
+        for (List<Integer> indexes : indexesBySlot.values()) {
+            List<String> slotValues =
+                    mget(indexes.stream().map(keys::get).collect(Collectors.toList()));
+            for (int i = 0; i < indexes.size(); i++) {
+                values[indexes.get(i)] = slotValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
     public Long zcard(String key) {
         return jedisCommands.zcard(key);
     }
@@ -110,6 +154,15 @@ public class JedisProxy {
         return jedisCommands.zadd(key, score, member, params);
     }
 
+    public Long zadd(String key, Map<String, Double> scoreMembers) {
+        return jedisCommands.zadd(key, scoreMembers);
+    }
+
+    public Long zaddnx(String key, Map<String, Double> scoreMembers) {
+        ZAddParams params = ZAddParams.zAddParams().nx();
+        return jedisCommands.zadd(key, scoreMembers, params);
+    }
+
     public Long hset(String key, String field, String value) {
         return jedisCommands.hset(key, field, value);
     }
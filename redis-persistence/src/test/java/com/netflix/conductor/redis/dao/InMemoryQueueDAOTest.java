@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.dao.QueueDAO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryQueueDAOTest {
+
+    private final QueueDAO queueDAO = new InMemoryQueueDAO();
+
+    @Test
+    public void test() {
+        String queueName = "TestQueue";
+        long offsetTimeInSecond = 0;
+
+        for (int i = 0; i < 10; i++) {
+            String messageId = "msg" + i;
+            queueDAO.push(queueName, messageId, offsetTimeInSecond);
+        }
+        int size = queueDAO.getSize(queueName);
+        assertEquals(10, size);
+        Map<String, Long> details = queueDAO.queuesDetail();
+        assertEquals(1, details.size());
+        assertEquals(10L, details.get(queueName).longValue());
+
+        for (int i = 0; i < 10; i++) {
+            String messageId = "msg" + i;
+            assertFalse(queueDAO.pushIfNotExists(queueName, messageId, offsetTimeInSecond));
+        }
+
+        List<String> popped = queueDAO.pop(queueName, 10, 100);
+        assertEquals(10, popped.size());
+
+        Map<String, Map<String, Map<String, Long>>> verbose = queueDAO.queuesDetailVerbose();
+        assertEquals(1, verbose.size());
+        long shardSize = verbose.get(queueName).get("a").get("size");
+        long unackedSize = verbose.get(queueName).get("a").get("uacked");
+        assertEquals(0, shardSize);
+        assertEquals(10, unackedSize);
+
+        popped.forEach(messageId -> assertTrue(queueDAO.ack(queueName, messageId)));
+
+        verbose = queueDAO.queuesDetailVerbose();
+        shardSize = verbose.get(queueName).get("a").get("size");
+        unackedSize = verbose.get(queueName).get("a").get("uacked");
+        assertEquals(0, shardSize);
+        assertEquals(0, unackedSize);
+
+        popped = queueDAO.pop(queueName, 10, 100);
+        assertEquals(0, popped.size());
+
+        for (int i = 0; i < 10; i++) {
+            String messageId = "msg" + i;
+            queueDAO.pushIfNotExists(queueName, messageId, offsetTimeInSecond);
+        }
+        assertTrue(queueDAO.containsMessage(queueName, "msg0"));
+        for (int i = 0; i < 10; i++) {
+            String messageId = "msg" + i;
+            queueDAO.remove(queueName, messageId);
+        }
+        assertEquals(0, queueDAO.getSize(queueName));
+        assertFalse(queueDAO.containsMessage(queueName, "msg0"));
+
+        for (int i = 0; i < 10; i++) {
+            String messageId = "msg" + i;
+            queueDAO.pushIfNotExists(queueName, messageId, offsetTimeInSecond);
+        }
+        queueDAO.flush(queueName);
+        assertEquals(0, queueDAO.getSize(queueName));
+    }
+
+    @Test
+    public void testOrdering() {
+        String queueName = "TestQueue";
+        queueDAO.push(queueName, "delayed", 0, 60);
+        queueDAO.push(
+                queueName,
+                Arrays.asList(
+                        new Message("priority10", "payload", null, 10),
+                        new Message("priority0", "payload", null, 0)));
+
+        // the messages pushed together are due at once, and ordered by priority, the lowest first
+        List<Message> messages = queueDAO.pollMessages(queueName, 3, 100);
+        assertEquals(2, messages.size());
+        assertEquals("priority0", messages.get(0).getId());
+        assertEquals("priority10", messages.get(1).getId());
+        assertEquals("payload", messages.get(1).getPayload());
+
+        // the delayed message is counted, but not handed out before it is due
+        assertEquals(1, queueDAO.getSize(queueName));
+        assertTrue(queueDAO.resetOffsetTime(queueName, "delayed"));
+        assertEquals(Collections.singletonList("delayed"), queueDAO.pop(queueName, 1, 100));
+    }
+
+    @Test
+    public void testPopWaitsForPush() throws InterruptedException {
+        String queueName = "TestQueue";
+        Thread pusher =
+                new Thread(
+                        () -> {
+                            try {
+                                Thread.sleep(100);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            queueDAO.push(queueName, "msg", 0);
+                        });
+        pusher.start();
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 5000));
+        pusher.join();
+    }
+
+    @Test
+    public void testUnackTimeout() {
+        String queueName = "TestQueue";
+        queueDAO.push(queueName, "msg", 0);
+        assertFalse(queueDAO.ack(queueName, "msg"));
+        assertFalse(queueDAO.setUnackTimeout(queueName, "msg", 0));
+
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 100));
+        assertTrue(queueDAO.pop(queueName, 1, 100).isEmpty());
+        assertFalse(queueDAO.resetOffsetTime(queueName, "msg"));
+
+        // handed out again once the unack timeout elapses
+        assertTrue(queueDAO.setUnackTimeout(queueName, "msg", 0));
+        assertEquals(Collections.singletonList("msg"), queueDAO.pop(queueName, 1, 100));
+        assertTrue(queueDAO.ack(queueName, "msg"));
+        assertFalse(queueDAO.containsMessage(queueName, "msg"));
+
+        queueDAO.push(queueName, "msg", 0);
+        assertEquals(Collections.singletonList("msg"), queueDAO.popAndAck(queueName, 1, 100));
+        assertFalse(queueDAO.containsMessage(queueName, "msg"));
+    }
+}
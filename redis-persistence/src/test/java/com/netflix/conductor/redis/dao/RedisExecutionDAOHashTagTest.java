@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.dao.MetadataDAO;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class RedisExecutionDAOHashTagTest extends ExecutionDAOTest {
+
+    private JedisMock jedisMock;
+    private RedisExecutionDAO executionDAO;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Before
+    public void init() {
+        jedisMock = new JedisMock();
+        executionDAO = newExecutionDAO(true);
+    }
+
+    private RedisExecutionDAO newExecutionDAO(boolean hashTagWorkflowKeys) {
+        ConductorProperties conductorProperties = mock(ConductorProperties.class);
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getEventExecutionPersistenceTTL()).thenReturn(Duration.ofSeconds(5));
+        when(properties.isHashTagWorkflowKeys()).thenReturn(hashTagWorkflowKeys);
+        return new RedisExecutionDAO(
+                new JedisProxy(jedisMock), objectMapper, conductorProperties, properties);
+    }
+
+    @Test
+    public void testKeysShareTheHashTagOfTheWorkflow() {
+        Workflow workflow = createRunningWorkflow();
+        executionDAO.createWorkflow(workflow);
+        executionDAO.createTasks(workflow.getTasks());
+
+        String hashTag = "{" + workflow.getWorkflowId() + "}";
+        assertTrue(
+                executionDAO
+                        .workflowKey("WORKFLOW", workflow.getWorkflowId(), true)
+                        .endsWith(hashTag));
+        assertNotNull(
+                jedisMock.get(
+                        executionDAO.workflowKey("WORKFLOW", workflow.getWorkflowId(), true)));
+        for (Task task : workflow.getTasks()) {
+            String taskKey = executionDAO.taskKey(workflow.getWorkflowId(), task.getTaskId(), true);
+            assertTrue(taskKey.contains(hashTag));
+            assertNotNull(jedisMock.get(taskKey));
+            assertNull(
+                    jedisMock.get(
+                            executionDAO.taskKey(
+                                    workflow.getWorkflowId(), task.getTaskId(), false)));
+        }
+    }
+
+    @Test
+    public void testGetTasksResolvesTheirWorkflows() {
+        Workflow workflow = createRunningWorkflow();
+        executionDAO.createWorkflow(workflow);
+        List<Task> tasks = executionDAO.createTasks(workflow.getTasks());
+        List<String> taskIds = tasks.stream().map(Task::getTaskId).collect(Collectors.toList());
+
+        // a new instance has not cached the workflows of the tasks
+        RedisExecutionDAO uncachedExecutionDAO = newExecutionDAO(true);
+        assertEquals(tasks, uncachedExecutionDAO.getTasks(taskIds));
+
+        Task task = tasks.get(0);
+        jedisMock.del(executionDAO.nsKey("TASK_WORKFLOW", task.getTaskId()));
+        RedisExecutionDAO unmappedExecutionDAO = newExecutionDAO(true);
+        assertNull(unmappedExecutionDAO.getTask(task.getTaskId()));
+        assertEquals(
+                task, unmappedExecutionDAO.getTask(workflow.getWorkflowId(), task.getTaskId()));
+    }
+
+    @Test
+    public void testMigrateWorkflow() {
+        RedisExecutionDAO legacyExecutionDAO = newExecutionDAO(false);
+        Workflow workflow = createRunningWorkflow();
+        legacyExecutionDAO.createWorkflow(workflow);
+        List<Task> tasks = legacyExecutionDAO.createTasks(workflow.getTasks());
+        assertNull(executionDAO.getWorkflow(workflow.getWorkflowId(), true));
+
+        RedisExecutionKeyMigrator migrator =
+                new RedisExecutionKeyMigrator(new JedisProxy(jedisMock), executionDAO);
+        assertEquals(
+                1,
+                migrator.migrateWorkflows(
+                        workflow.getWorkflowName(),
+                        workflow.getCreateTime(),
+                        workflow.getCreateTime()));
+        assertFalse(migrator.migrateWorkflow(workflow.getWorkflowId()));
+
+        Workflow migrated = executionDAO.getWorkflow(workflow.getWorkflowId(), true);
+        assertNotNull(migrated);
+        assertEquals(tasks.size(), migrated.getTasks().size());
+        Task task = tasks.get(0);
+        assertEquals(task, executionDAO.getTask(task.getTaskId()));
+        assertEquals(
+                task,
+                executionDAO.getPendingTaskByReferenceName(
+                        workflow.getWorkflowId(), task.getReferenceTaskName()));
+        assertNull(legacyExecutionDAO.getWorkflow(workflow.getWorkflowId(), true));
+        assertNull(legacyExecutionDAO.getTask(task.getTaskId()));
+        assertEquals(
+                Collections.singletonList(task),
+                executionDAO.getTasks(Collections.singletonList(task.getTaskId())));
+    }
+
+    @Test
+    public void testMigrationRunner() {
+        Workflow workflow = createRunningWorkflow();
+        newExecutionDAO(false).createWorkflow(workflow);
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(workflow.getWorkflowName());
+        MetadataDAO metadataDAO = mock(MetadataDAO.class);
+        when(metadataDAO.getAllWorkflowDefs()).thenReturn(Arrays.asList(workflowDef, workflowDef));
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getWorkflowKeyMigrationPeriod()).thenReturn(Duration.ofDays(1));
+
+        RedisExecutionKeyMigrationRunner runner =
+                new RedisExecutionKeyMigrationRunner(
+                        new RedisExecutionKeyMigrator(new JedisProxy(jedisMock), executionDAO),
+                        metadataDAO,
+                        properties,
+                        mock(ApplicationContext.class));
+        assertEquals(1, runner.migrate(workflow.getCreateTime()));
+        assertNotNull(executionDAO.getWorkflow(workflow.getWorkflowId(), false));
+    }
+
+    private Workflow createRunningWorkflow() {
+        Workflow workflow = createTestWorkflow();
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setCreateTime(System.currentTimeMillis());
+        workflow.getTasks().forEach(task -> task.setStatus(Task.Status.SCHEDULED));
+        return workflow;
+    }
+
+    @Override
+    protected ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
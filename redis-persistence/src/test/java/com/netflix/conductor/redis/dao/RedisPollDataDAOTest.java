@@ -12,13 +12,17 @@
  */
 package com.netflix.conductor.redis.dao;
 
+import java.time.Duration;
+
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.PollDataDAOTest;
@@ -29,22 +33,30 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import redis.clients.jedis.commands.JedisCommands;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
 @RunWith(SpringRunner.class)
 public class RedisPollDataDAOTest extends PollDataDAOTest {
 
     private PollDataDAO redisPollDataDAO;
+    private ConductorProperties conductorProperties;
+    private JedisProxy jedisProxy;
 
     @Autowired private ObjectMapper objectMapper;
 
     @Before
     public void init() {
-        ConductorProperties conductorProperties = mock(ConductorProperties.class);
+        conductorProperties = mock(ConductorProperties.class);
         RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ZERO);
+        when(properties.getPollDataCacheValidityPeriod()).thenReturn(Duration.ZERO);
         JedisCommands jedisMock = new JedisMock();
-        JedisProxy jedisProxy = new JedisProxy(jedisMock);
+        jedisProxy = new JedisProxy(jedisMock);
 
         redisPollDataDAO =
                 new RedisPollDataDAO(jedisProxy, objectMapper, conductorProperties, properties);
@@ -54,4 +66,45 @@ public class RedisPollDataDAOTest extends PollDataDAOTest {
     protected PollDataDAO getPollDataDAO() {
         return redisPollDataDAO;
     }
+
+    @Test
+    public void testPollDataFlushedBehind() {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ofHours(1));
+        when(properties.getPollDataCacheValidityPeriod()).thenReturn(Duration.ZERO);
+        RedisPollDataDAO writeBehindDAO =
+                new RedisPollDataDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        writeBehindDAO.updateLastPollData("taskDef", "domain1", "worker1");
+        writeBehindDAO.updateLastPollData("taskDef", "domain1", "worker2");
+
+        // served from memory before it is written to Redis
+        assertNull(redisPollDataDAO.getPollData("taskDef", "domain1"));
+        assertEquals("worker2", writeBehindDAO.getPollData("taskDef", "domain1").getWorkerId());
+        assertEquals(1, writeBehindDAO.getPollData("taskDef").size());
+
+        writeBehindDAO.flushPollData();
+        PollData pollData = redisPollDataDAO.getPollData("taskDef", "domain1");
+        assertNotNull(pollData);
+        assertEquals("worker2", pollData.getWorkerId());
+        writeBehindDAO.shutdown();
+    }
+
+    @Test
+    public void testPollDataServedFromCache() {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ZERO);
+        when(properties.getPollDataCacheValidityPeriod()).thenReturn(Duration.ofHours(1));
+        RedisPollDataDAO cachingDAO =
+                new RedisPollDataDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        assertNull(cachingDAO.getPollData("taskDef", "domain1"));
+        redisPollDataDAO.updateLastPollData("taskDef", "domain1", "worker1");
+        // the absence of poll data is cached as well
+        assertNull(cachingDAO.getPollData("taskDef", "domain1"));
+
+        cachingDAO.updateLastPollData("taskDef", "domain2", "worker2");
+        assertEquals("worker2", cachingDAO.getPollData("taskDef", "domain2").getWorkerId());
+        assertEquals("worker2", redisPollDataDAO.getPollData("taskDef", "domain2").getWorkerId());
+    }
 }
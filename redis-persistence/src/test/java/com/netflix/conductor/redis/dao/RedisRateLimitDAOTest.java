@@ -12,7 +12,13 @@
  */
 package com.netflix.conductor.redis.dao;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +30,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.redis.config.RedisProperties;
 import com.netflix.conductor.redis.jedis.JedisMock;
@@ -32,15 +39,18 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import redis.clients.jedis.commands.JedisCommands;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
 @RunWith(SpringRunner.class)
 public class RedisRateLimitDAOTest {
 
     private RedisRateLimitingDAO rateLimitingDao;
+    private JedisProxy jedisProxy;
 
     @Autowired private ObjectMapper objectMapper;
 
@@ -49,7 +59,7 @@ public class RedisRateLimitDAOTest {
         ConductorProperties conductorProperties = mock(ConductorProperties.class);
         RedisProperties properties = mock(RedisProperties.class);
         JedisCommands jedisMock = new JedisMock();
-        JedisProxy jedisProxy = new JedisProxy(jedisMock);
+        jedisProxy = new JedisProxy(jedisMock);
 
         rateLimitingDao =
                 new RedisRateLimitingDAO(jedisProxy, objectMapper, conductorProperties, properties);
@@ -86,4 +96,114 @@ public class RedisRateLimitDAOTest {
         assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
         assertTrue(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
     }
+
+    @Test
+    public void testTaskIdsExceedingRateLimit() {
+        TaskDef taskDef = new TaskDef("TestTaskDefinition");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(2);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+        Task task1 = createTask(workflowTask);
+        Task task2 = createTask(workflowTask);
+        Task task3 = createTask(workflowTask);
+        List<Task> tasks = Arrays.asList(task1, task2, task3);
+
+        Set<String> limitedTaskIds = rateLimitingDao.getTaskIdsExceedingRateLimit(tasks);
+        assertEquals(1, limitedTaskIds.size());
+        assertTrue(limitedTaskIds.contains(task3.getTaskId()));
+
+        assertEquals(3, rateLimitingDao.getTaskIdsExceedingRateLimit(tasks).size());
+        assertTrue(rateLimitingDao.exceedsRateLimitPerFrequency(task1, taskDef));
+    }
+
+    @Test
+    public void testIsRateLimited() {
+        TaskDef taskDef = new TaskDef("TestTaskDefinition");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(1);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+        Task task = createTask(workflowTask);
+
+        assertFalse(rateLimitingDao.isRateLimited(taskDef.getName()));
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertTrue(rateLimitingDao.isRateLimited(taskDef.getName()));
+    }
+
+    @Test
+    public void testTokensLeasedInChunks() {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getTaskRateLimitLeaseSize()).thenReturn(5);
+        RedisRateLimitingDAO leasingDao =
+                new RedisRateLimitingDAO(
+                        jedisProxy, objectMapper, mock(ConductorProperties.class), properties);
+        TaskDef taskDef = new TaskDef("TestTaskDefinition");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(20);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+        String key = leasingDao.nsKey("TASK_RATE_LIMIT_BUCKET", taskDef.getName());
+
+        assertFalse(leasingDao.exceedsRateLimitPerFrequency(createTask(workflowTask), taskDef));
+        // the whole chunk is taken from the bucket, and handed out locally
+        assertEquals(5, jedisProxy.zcard(key).intValue());
+        for (int i = 0; i < 4; i++) {
+            assertFalse(leasingDao.exceedsRateLimitPerFrequency(createTask(workflowTask), taskDef));
+        }
+        assertEquals(5, jedisProxy.zcard(key).intValue());
+        assertFalse(leasingDao.exceedsRateLimitPerFrequency(createTask(workflowTask), taskDef));
+        assertEquals(10, jedisProxy.zcard(key).intValue());
+    }
+
+    @Test
+    public void testLeasedTokensExpireWithTheirWindow() {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getTaskRateLimitLeaseSize()).thenReturn(3);
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        RedisRateLimitingDAO leasingDao =
+                new RedisRateLimitingDAO(
+                        jedisProxy,
+                        objectMapper,
+                        mock(ConductorProperties.class),
+                        properties,
+                        clock);
+        TaskDef taskDef = new TaskDef("TestTaskDefinition");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(3);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+
+        // the first lease takes the whole bucket, of which the tasks use 1 and then 2 tokens
+        assertEquals(
+                0, leasingDao.getTaskIdsExceedingRateLimit(createTasks(workflowTask, 1)).size());
+        now.addAndGet(30_000);
+        assertEquals(
+                2, leasingDao.getTaskIdsExceedingRateLimit(createTasks(workflowTask, 4)).size());
+
+        // once the first window ends, a second lease admits no more than the limit
+        now.addAndGet(40_000);
+        assertEquals(
+                1, leasingDao.getTaskIdsExceedingRateLimit(createTasks(workflowTask, 4)).size());
+        assertEquals(
+                4, leasingDao.getTaskIdsExceedingRateLimit(createTasks(workflowTask, 4)).size());
+    }
+
+    private List<Task> createTasks(WorkflowTask workflowTask, int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(createTask(workflowTask));
+        }
+        return tasks;
+    }
+
+    private Task createTask(WorkflowTask workflowTask) {
+        Task task = new Task();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName(workflowTask.getTaskDefinition().getName());
+        task.setWorkflowTask(workflowTask);
+        return task;
+    }
 }
@@ -14,6 +14,9 @@ package com.netflix.conductor.rest.controllers;
 
 import java.util.List;
 
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -21,14 +24,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJob;
+import com.netflix.conductor.common.model.BulkJobRequest;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.service.WorkflowBulkService;
 
 import io.swagger.v3.oas.annotations.Operation;
 
 import static com.netflix.conductor.rest.config.RequestMappingConstants.WORKFLOW_BULK;
 
-/** Synchronous Bulk APIs to process the workflows in batches */
+/**
+ * Bulk APIs to process the workflows in batches, either synchronously or as asynchronous jobs for
+ * large lists of workflows
+ */
 @RestController
 @RequestMapping(WORKFLOW_BULK)
 public class WorkflowBulkResource {
@@ -111,4 +121,64 @@ public class WorkflowBulkResource {
             @RequestParam(value = "reason", required = false) String reason) {
         return workflowBulkService.terminate(workflowIds, reason);
     }
+
+    /**
+     * Start the workflows of the list of requests. The workflows are not decided before returning:
+     * their first tasks are scheduled by the sweeper once it picks them off the decider queue.
+     *
+     * <p>Only the MySQL, Postgres and embedded stores write the workflows together. The Redis
+     * stores create them one at a time, so there the call saves no round-trips over starting them
+     * one by one, while it still delays their first tasks.
+     *
+     * @param startWorkflowRequests - list of requests of the workflows to start
+     * @return bulk response object containing the ids of the started workflows and the errors, by
+     *     position of their request
+     */
+    @PostMapping("/start")
+    @Operation(summary = "Start the workflows of the list of requests")
+    public BulkStartWorkflowResponse startWorkflows(
+            @RequestBody List<StartWorkflowRequest> startWorkflowRequests) {
+        return workflowBulkService.startWorkflows(startWorkflowRequests);
+    }
+
+    /**
+     * Submit an asynchronous job running an operation on a list of workflows. The job is held in
+     * memory on the server which received it, the requests for the job must be sent to the server
+     * reported in its status.
+     *
+     * @param request - the operation and the list of workflow Ids to run it on
+     * @return the status of the submitted job, including its id
+     */
+    @PostMapping("/jobs")
+    @Operation(
+            summary = "Submit an asynchronous job running an operation on a list of workflows",
+            description =
+                    "The job is held in memory on the server which received it. Its progress can only be retrieved, and it can only be cancelled, on the server given by the serverId of its status.")
+    public BulkJob submitJob(@RequestBody BulkJobRequest request) {
+        return workflowBulkService.submitJob(request);
+    }
+
+    /**
+     * Get the progress of a bulk job.
+     *
+     * @param jobId - id of the job
+     * @return the status of the job, including the failed workflows with errors
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get the progress of a bulk job")
+    public BulkJob getJob(@PathVariable("jobId") String jobId) {
+        return workflowBulkService.getJob(jobId);
+    }
+
+    /**
+     * Cancel a bulk job. The workflows already processed are not reverted.
+     *
+     * @param jobId - id of the job
+     * @return the status of the cancelled job
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancel a bulk job")
+    public BulkJob cancelJob(@PathVariable("jobId") String jobId) {
+        return workflowBulkService.cancelJob(jobId);
+    }
 }
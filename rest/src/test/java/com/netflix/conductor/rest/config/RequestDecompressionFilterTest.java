@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.rest.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class RequestDecompressionFilterTest {
+
+    private final RequestDecompressionFilter filter =
+            new RequestDecompressionFilter(DataSize.ofKilobytes(1));
+
+    @Test
+    public void testGzipRequestDecompressed() throws Exception {
+        String body = "{\"taskId\":\"taskId\",\"status\":\"COMPLETED\"}";
+        MockHttpServletRequest request = gzipRequest(body);
+
+        AtomicReference<String> filteredBody = new AtomicReference<>();
+        filter.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (filteredRequest, response) -> {
+                    HttpServletRequest httpRequest = (HttpServletRequest) filteredRequest;
+                    assertNull(httpRequest.getHeader(HttpHeaders.CONTENT_ENCODING));
+                    assertEquals(body.length(), httpRequest.getContentLength());
+                    filteredBody.set(
+                            StreamUtils.copyToString(
+                                    httpRequest.getInputStream(), StandardCharsets.UTF_8));
+                });
+
+        assertEquals(body, filteredBody.get());
+    }
+
+    @Test
+    public void testUncompressedRequestPassedThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (filteredRequest, response) -> assertSame(request, filteredRequest));
+    }
+
+    @Test
+    public void testTooLargeRequestRejected() throws Exception {
+        MockHttpServletRequest request =
+                gzipRequest(String.join("", Collections.nCopies(2048, "a")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+                request,
+                response,
+                (filteredRequest, filteredResponse) -> fail("The request must not pass"));
+
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+    }
+
+    private MockHttpServletRequest gzipRequest(String body) throws IOException {
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+            gzipOutputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(compressedBody.toByteArray());
+        return request;
+    }
+}